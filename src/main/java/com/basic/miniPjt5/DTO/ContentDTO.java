@@ -45,6 +45,42 @@ public class ContentDTO {
 
         @Schema(description = "이전 페이지 존재 여부", example = "false")
         private Boolean hasPrevious;
+
+        @Schema(description = "영화 다음 페이지 커서 (커서 모드에서만, 더 없으면 null)")
+        private String nextMovieCursor;
+
+        @Schema(description = "드라마 다음 페이지 커서 (커서 모드에서만, 더 없으면 null)")
+        private String nextDramaCursor;
+
+        @Schema(description = "TMDB 보강 검색 진행 중 여부 (true면 잠시 후 같은 검색을 다시 하면 결과가 늘어날 수 있음)", example = "false")
+        private Boolean refreshing;
+
+        @Schema(description = "일부 타입 검색이 제한 시간을 넘겨 빠진 부분 결과인지 여부", example = "false")
+        private Boolean partial;
+    }
+
+    @Schema(description = "자동완성 추천 제목 DTO")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Suggestion {
+
+        @Schema(description = "콘텐츠 타입", example = "MOVIE", allowableValues = {"MOVIE", "DRAMA"})
+        private String contentType;
+
+        @Schema(description = "콘텐츠 ID", example = "1")
+        private Long id;
+
+        @Schema(description = "제목", example = "기생충")
+        private String title;
+
+        @Schema(description = "포스터 이미지 경로", example = "/7IiTTgloJzvGI1TAYymCfbfl3vT.jpg")
+        private String posterPath;
+
+        @Schema(description = "통합 평점", example = "4.3")
+        private Double rating;
     }
 
     @Schema(description = "통합 검색 요청 DTO")
@@ -83,4 +119,49 @@ public class ContentDTO {
         @Schema(description = "TMDB API 사용 여부", example = "false")
         private Boolean useApi = false;
     }
-}
\ No newline at end of file
+
+    @Schema(description = "영화/드라마 통합 정렬 검색 결과 DTO")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RankedResult {
+
+        @Schema(description = "정렬 순서대로 섞인 영화/드라마 목록")
+        private List<RankedItem> items;
+
+        @Schema(description = "검색 키워드", example = "아바타")
+        private String query;
+
+        @Schema(description = "페이지 크기", example = "20")
+        private Integer size;
+
+        @Schema(description = "다음 페이지 존재 여부", example = "true")
+        private Boolean hasNext;
+
+        @Schema(description = "다음 페이지 커서 (영화/드라마 위치를 함께 담음, 마지막 페이지면 null)")
+        private String next;
+
+        @Schema(description = "TMDB 보강 검색 진행 중 여부 (true면 잠시 후 같은 검색을 다시 하면 결과가 늘어날 수 있음)", example = "false")
+        private Boolean refreshing;
+    }
+
+    @Schema(description = "통합 정렬 검색 항목 (contentType 에 따라 movie 또는 drama 중 하나만 채워짐)")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RankedItem {
+
+        @Schema(description = "콘텐츠 타입", example = "MOVIE", allowableValues = {"MOVIE", "DRAMA"})
+        private String contentType;
+
+        @Schema(description = "영화 (contentType 이 MOVIE 일 때)")
+        private MovieDTO.ListResponse movie;
+
+        @Schema(description = "드라마 (contentType 이 DRAMA 일 때)")
+        private DramaDTO.ListResponse drama;
+    }
+}
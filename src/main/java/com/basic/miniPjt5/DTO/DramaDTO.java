@@ -1,6 +1,7 @@
 package com.basic.miniPjt5.DTO;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -202,6 +203,11 @@ public class DramaDTO {
         @Schema(description = "통합 평점 (TMDB + 사용자)", example = "9.1")
         private Double combinedRating;
 
+        // 키셋 커서용 DB 저장 값 (combinedRating 은 아직 반영되지 않은 별점을 합친 값이라 DB 정렬과 다를 수 있음)
+        @JsonIgnore
+        @Schema(hidden = true)
+        private Double storedCombinedRating;
+
         @Schema(description = "첫 방영일", example = "2021-09-17")
         private String firstAirDate;
 
@@ -217,6 +223,9 @@ public class DramaDTO {
         @Schema(description = "리뷰 개수", example = "45")
         private Integer reviewCount;
 
+        @Schema(description = "사용자 별점 수", example = "40")
+        private Integer ratingCount;
+
         @Schema(description = "사용자 평균 평점", example = "9.1")
         private Double userAverageRating;
     }
@@ -1,6 +1,7 @@
 package com.basic.miniPjt5.DTO;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -171,6 +172,11 @@ public class MovieDTO {
         @Schema(description = "통합 평점 (TMDB + 사용자)", example = "8.7")
         private Double combinedRating;
 
+        // 키셋 커서용 DB 저장 값 (combinedRating 은 아직 반영되지 않은 별점을 합친 값이라 DB 정렬과 다를 수 있음)
+        @JsonIgnore
+        @Schema(hidden = true)
+        private Double storedCombinedRating;
+
         @Schema(description = "개봉일", example = "2022-12-14")
         private String releaseDate;
 
@@ -180,6 +186,9 @@ public class MovieDTO {
         @Schema(description = "리뷰 개수", example = "25")
         private Integer reviewCount;
 
+        @Schema(description = "사용자 별점 수", example = "40")
+        private Integer ratingCount;
+
         @Schema(description = "사용자 평균 평점", example = "8.7")
         private Double userAverageRating;
     }
@@ -2,6 +2,7 @@ package com.basic.miniPjt5.DTO;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -39,4 +40,33 @@ public class PageResponseDTO<T> {
 
     @Schema(description = "마지막 페이지 여부", example = "false")
     private Boolean isLast;
+
+    @Schema(description = "다음 페이지 커서 (커서 모드에서만, 마지막 페이지면 null)", example = "Y29tYmluZWRSYXRpbmd8RHw0MnxWOC43")
+    private String next;
+
+    @Schema(description = "TMDB 보강 검색 진행 중 여부 (true면 잠시 후 같은 검색을 다시 하면 결과가 늘어날 수 있음)", example = "false")
+    private Boolean refreshing;
+
+    // COUNT 없는 응답: 전체 페이지 수/개수 없이 다음 페이지 존재 여부만 내려줌
+    public static <T> PageResponseDTO<T> ofSlice(Slice<T> slice) {
+        return PageResponseDTO.<T>builder()
+                .content(slice.getContent())
+                .currentPage(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .isFirst(slice.isFirst())
+                .isLast(slice.isLast())
+                .build();
+    }
+
+    // 커서 모드 응답: 전체 개수/페이지 번호 없이 다음 커서만 내려줌
+    public static <T> PageResponseDTO<T> ofCursor(List<T> content, int size, String next) {
+        return PageResponseDTO.<T>builder()
+                .content(content)
+                .size(size)
+                .hasNext(next != null)
+                .next(next)
+                .build();
+    }
 }
\ No newline at end of file
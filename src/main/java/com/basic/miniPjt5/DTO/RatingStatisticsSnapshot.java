@@ -0,0 +1,59 @@
+package com.basic.miniPjt5.DTO;
+
+import com.basic.miniPjt5.util.CombinedRatingCalculator;
+import com.basic.miniPjt5.util.HalfStarStatistics;
+import lombok.Getter;
+
+// 평점 통계 계산에 필요한 컨텐츠 정보 + 별점 분포를 한 번의 조회로 담는 프로젝션
+@Getter
+public class RatingStatisticsSnapshot {
+
+    private final Long contentId;
+    private final String title;
+    private final String posterPath;
+    private final Double voteAverage;
+    private final Integer voteCount;
+    private Double userScoreSum;
+    private Long userRatingCount;
+    private final long[] bucketCounts;
+
+    // JPQL 생성자 표현식용 (분포 행이 없으면 구간 값은 null)
+    public RatingStatisticsSnapshot(Long contentId, String title, String posterPath,
+                                    Double voteAverage, Integer voteCount,
+                                    Double userScoreSum, Long userRatingCount,
+                                    Long bucket1, Long bucket2, Long bucket3, Long bucket4, Long bucket5,
+                                    Long bucket6, Long bucket7, Long bucket8, Long bucket9, Long bucket10) {
+        this.contentId = contentId;
+        this.title = title;
+        this.posterPath = posterPath;
+        this.voteAverage = voteAverage;
+        this.voteCount = voteCount;
+        this.userScoreSum = userScoreSum;
+        this.userRatingCount = userRatingCount;
+        this.bucketCounts = new long[]{
+                orZero(bucket1), orZero(bucket2), orZero(bucket3), orZero(bucket4), orZero(bucket5),
+                orZero(bucket6), orZero(bucket7), orZero(bucket8), orZero(bucket9), orZero(bucket10)
+        };
+    }
+
+    // 아직 DB에 반영되지 않은 별점 변화량 병합
+    public void mergePending(double scoreSum, long count, long[] bucketDeltas) {
+        this.userScoreSum = (userScoreSum != null ? userScoreSum : 0.0) + scoreSum;
+        this.userRatingCount = (userRatingCount != null ? userRatingCount : 0L) + count;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = Math.max(0, bucketCounts[i] + bucketDeltas[i]);
+        }
+    }
+
+    public HalfStarStatistics getStatistics() {
+        return HalfStarStatistics.of(bucketCounts);
+    }
+
+    public Double getCombinedRating() {
+        return CombinedRatingCalculator.calculate(voteAverage, voteCount, userScoreSum, userRatingCount);
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -1,8 +1,15 @@
 package com.basic.miniPjt5.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
@@ -11,5 +18,31 @@ public class WebClientConfig {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
-}
 
+    // TMDB 전용 커넥션 풀: 동시 연결 수와 연결 대기열을 제한하고 오래 쉬는 연결은 정리
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider tmdbConnectionProvider(
+            @Value("${tmdb.client.max-connections:20}") int maxConnections,
+            @Value("${tmdb.client.pending-acquire-max-count:500}") int pendingAcquireMaxCount) {
+        return ConnectionProvider.builder("tmdb")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofSeconds(30))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+    }
+
+    @Bean
+    public WebClient tmdbWebClient(ConnectionProvider tmdbConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(tmdbConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
+                .responseTimeout(Duration.ofSeconds(30))
+                .compress(true);
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // 목록 응답(20건)보다 충분히 크게
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+                .build();
+    }
+}
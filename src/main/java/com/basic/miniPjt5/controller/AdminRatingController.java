@@ -0,0 +1,50 @@
+package com.basic.miniPjt5.controller;
+
+import com.basic.miniPjt5.service.CombinedRatingRecomputeJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/ratings")
+@Tag(name = "관리자", description = "별점 누적 값 정합성 관리 API")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminRatingController {
+
+    private final CombinedRatingRecomputeJob combinedRatingRecomputeJob;
+
+    // ✅ POST: 별점 누적 값/통합 평점 일괄 재계산 시작
+    @Operation(summary = "통합 평점 일괄 재계산 (관리자)", description = "ratings 테이블 기준으로 영화/드라마의 사용자 별점 합계·개수와 통합 평점을 ID 구간 단위로 재계산합니다. resume=true면 마지막 체크포인트부터 이어서 실행합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "재계산 시작"),
+            @ApiResponse(responseCode = "409", description = "이미 실행 중")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileRatingAccumulators(
+            @RequestParam(defaultValue = "false") boolean resume) {
+        if (!combinedRatingRecomputeJob.start(resume)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(combinedRatingRecomputeJob.getStatus());
+        }
+        log.info("통합 평점 일괄 재계산 요청: resume={}", resume);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(combinedRatingRecomputeJob.getStatus());
+    }
+
+    // ✅ GET: 재계산 진행 상황
+    @Operation(summary = "통합 평점 재계산 진행 상황 (관리자)", description = "구간 처리 현황, 갱신 행 수, 체크포인트를 조회합니다.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/reconcile/status")
+    public ResponseEntity<Map<String, Object>> getReconcileStatus() {
+        return ResponseEntity.ok(combinedRatingRecomputeJob.getStatus());
+    }
+}
@@ -11,6 +11,8 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/content")
 @Tag(name = "통합 검색", description = "영화와 드라마 통합 검색 API")
@@ -39,6 +41,19 @@ public class ContentController {
         return ResponseEntity.ok(searchResult);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "자동완성", description = "제목 접두사(단어 시작 포함) 또는 한글 초성(예: ㄱㅅㅊ)으로 추천 제목을 평점/인기 순으로 조회")
+    public ResponseEntity<List<ContentDTO.Suggestion>> suggest(
+            @Parameter(description = "입력 중인 검색어", example = "기생")
+            @RequestParam String query,
+            @Parameter(description = "콘텐츠 타입", example = "ALL")
+            @RequestParam(defaultValue = "ALL") String contentType,
+            @Parameter(description = "추천 개수 (최대 20)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(contentService.suggest(query, contentType, limit));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "간단 검색", description = "GET 방식으로 간단한 키워드 검색")
     public ResponseEntity<ContentDTO.SearchResult> searchContentByQuery(
@@ -51,7 +66,13 @@ public class ContentController {
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "커서 방식 사용 여부 (첫 페이지)", example = "false")
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @Parameter(description = "영화 다음 페이지 커서 (이전 응답의 nextMovieCursor)")
+            @RequestParam(required = false) String movieCursor,
+            @Parameter(description = "드라마 다음 페이지 커서 (이전 응답의 nextDramaCursor)")
+            @RequestParam(required = false) String dramaCursor) {
 
         ContentDTO.SearchRequest searchRequest = ContentDTO.SearchRequest.builder()
                 .query(query)
@@ -61,7 +82,34 @@ public class ContentController {
                 .sortDirection("desc")
                 .build();
 
+        if (scroll || movieCursor != null || dramaCursor != null) {
+            return ResponseEntity.ok(contentService.searchContentByCursor(searchRequest, movieCursor, dramaCursor, size));
+        }
+
         ContentDTO.SearchResult searchResult = contentService.searchContent(searchRequest, page, size);
         return ResponseEntity.ok(searchResult);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search/ranked")
+    @Operation(summary = "통합 정렬 검색", description = "영화와 드라마를 하나의 정렬 기준으로 합쳐 커서 방식으로 조회 (다음 페이지는 이전 응답의 next 사용)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "검색 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (잘못된 커서, 페이지 크기 등)")
+    })
+    public ResponseEntity<ContentDTO.RankedResult> searchContentRanked(
+            @Parameter(description = "검색 키워드", example = "아바타")
+            @RequestParam String query,
+            @Parameter(description = "콘텐츠 타입", example = "ALL")
+            @RequestParam(defaultValue = "ALL") String contentType,
+            @Parameter(description = "정렬 기준 (rating, tmdbRating, voteCount, title, date)", example = "rating")
+            @RequestParam(defaultValue = "rating") String sortBy,
+            @Parameter(description = "정렬 방향 (asc, desc)", example = "desc")
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "페이지 크기", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 next)")
+            @RequestParam(required = false) String cursor) {
+
+        return ResponseEntity.ok(contentService.searchContentRanked(query, contentType, sortBy, sortDirection, cursor, size));
+    }
+}
@@ -35,7 +35,21 @@ public class DramaController {
             @Parameter(description = "정렬 기준", example = "combinedRating")
             @RequestParam(defaultValue = "combinedRating") String sortBy,
             @Parameter(description = "정렬 방향", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "커서 방식 사용 여부 (첫 페이지)", example = "false")
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 next, 지정 시 커서 방식)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (scroll || cursor != null) {
+            return ResponseEntity.ok(dramaService.getDramasByCursor(cursor, size, sortBy, sortDirection));
+        }
+
+        if (!withTotal) {
+            return ResponseEntity.ok(PageResponseDTO.ofSlice(dramaService.getDramasSlice(page, size, sortBy, sortDirection)));
+        }
 
         Page<DramaDTO.ListResponse> dramaPage = dramaService.getDramas(page, size, sortBy, sortDirection);
 
@@ -108,7 +122,15 @@ public class DramaController {
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (!withTotal) {
+            PageResponseDTO<DramaDTO.ListResponse> sliceResponse = PageResponseDTO.ofSlice(dramaService.searchDramasSlice(searchRequest, page, size));
+            sliceResponse.setRefreshing(dramaService.isTitleSearchRefreshing(searchRequest.getTitle(), page));
+            return ResponseEntity.ok(sliceResponse);
+        }
 
         Page<DramaDTO.ListResponse> dramaPage = dramaService.searchDramas(searchRequest, page, size);
 
@@ -122,6 +144,7 @@ public class DramaController {
                 .hasPrevious(dramaPage.hasPrevious())
                 .isFirst(dramaPage.isFirst())
                 .isLast(dramaPage.isLast())
+                .refreshing(dramaService.isTitleSearchRefreshing(searchRequest.getTitle(), page))
                 .build();
 
         return ResponseEntity.ok(response);
@@ -139,7 +162,17 @@ public class DramaController {
             @Parameter(description = "정렬 기준", example = "combinedRating")
             @RequestParam(defaultValue = "combinedRating") String sortBy,
             @Parameter(description = "정렬 방향", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "커서 방식 사용 여부 (첫 페이지)", example = "false")
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 next, 지정 시 커서 방식)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (scroll || cursor != null) {
+            return ResponseEntity.ok(dramaService.searchDramasByTitleWithCursor(title, cursor, size, sortBy, sortDirection));
+        }
 
         DramaDTO.SearchRequest searchRequest = DramaDTO.SearchRequest.builder()
                 .title(title)
@@ -147,6 +180,12 @@ public class DramaController {
                 .sortDirection(sortDirection)
                 .build();
 
+        if (!withTotal) {
+            PageResponseDTO<DramaDTO.ListResponse> sliceResponse = PageResponseDTO.ofSlice(dramaService.searchDramasSlice(searchRequest, page, size));
+            sliceResponse.setRefreshing(dramaService.isTitleSearchRefreshing(searchRequest.getTitle(), page));
+            return ResponseEntity.ok(sliceResponse);
+        }
+
         Page<DramaDTO.ListResponse> dramaPage = dramaService.searchDramas(searchRequest, page, size);
 
         PageResponseDTO<DramaDTO.ListResponse> response = PageResponseDTO.<DramaDTO.ListResponse>builder()
@@ -159,6 +198,7 @@ public class DramaController {
                 .hasPrevious(dramaPage.hasPrevious())
                 .isFirst(dramaPage.isFirst())
                 .isLast(dramaPage.isLast())
+                .refreshing(dramaService.isTitleSearchRefreshing(searchRequest.getTitle(), page))
                 .build();
 
         return ResponseEntity.ok(response);
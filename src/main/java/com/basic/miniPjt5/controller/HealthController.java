@@ -49,9 +49,9 @@ public class HealthController {
             health.put("genreCount", genreCount);
             health.put("timestamp", System.currentTimeMillis());
             
-            // TMDB API 연결 체크 (선택적)
+            // TMDB API 연결 체크 (선택적) - 캐시/요청 한도를 거치지 않는 직접 요청
             try {
-                tmdbApiService.getMovieGenres();
+                tmdbApiService.probe();
                 health.put("tmdbApi", "CONNECTED");
             } catch (Exception e) {
                 health.put("tmdbApi", "DISCONNECTED");
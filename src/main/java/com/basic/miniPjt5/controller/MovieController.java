@@ -37,7 +37,21 @@ public class MovieController {
             @Parameter(description = "정렬 기준", example = "combinedRating")
             @RequestParam(defaultValue = "combinedRating") String sortBy,
             @Parameter(description = "정렬 방향", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "커서 방식 사용 여부 (첫 페이지)", example = "false")
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 next, 지정 시 커서 방식)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (scroll || cursor != null) {
+            return ResponseEntity.ok(movieService.getMoviesByCursor(cursor, size, sortBy, sortDirection));
+        }
+
+        if (!withTotal) {
+            return ResponseEntity.ok(PageResponseDTO.ofSlice(movieService.getMoviesSlice(page, size, sortBy, sortDirection)));
+        }
 
         Page<MovieDTO.ListResponse> moviePage = movieService.getMovies(page, size, sortBy, sortDirection);
 
@@ -119,7 +133,15 @@ public class MovieController {
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (!withTotal) {
+            PageResponseDTO<MovieDTO.ListResponse> sliceResponse = PageResponseDTO.ofSlice(movieService.searchMoviesSlice(searchRequest, page, size));
+            sliceResponse.setRefreshing(movieService.isTitleSearchRefreshing(searchRequest.getTitle(), page));
+            return ResponseEntity.ok(sliceResponse);
+        }
 
         Page<MovieDTO.ListResponse> moviePage = movieService.searchMovies(searchRequest, page, size);
 
@@ -133,6 +155,7 @@ public class MovieController {
                 .hasPrevious(moviePage.hasPrevious())
                 .isFirst(moviePage.isFirst())
                 .isLast(moviePage.isLast())
+                .refreshing(movieService.isTitleSearchRefreshing(searchRequest.getTitle(), page))
                 .build();
 
         return ResponseEntity.ok(response);
@@ -150,7 +173,17 @@ public class MovieController {
             @Parameter(description = "정렬 기준", example = "combinedRating")
             @RequestParam(defaultValue = "combinedRating") String sortBy,
             @Parameter(description = "정렬 방향", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "커서 방식 사용 여부 (첫 페이지)", example = "false")
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 next, 지정 시 커서 방식)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (scroll || cursor != null) {
+            return ResponseEntity.ok(movieService.searchMoviesByTitleWithCursor(title, cursor, size, sortBy, sortDirection));
+        }
 
         MovieDTO.SearchRequest searchRequest = MovieDTO.SearchRequest.builder()
                 .title(title)
@@ -158,6 +191,12 @@ public class MovieController {
                 .sortDirection(sortDirection)
                 .build();
 
+        if (!withTotal) {
+            PageResponseDTO<MovieDTO.ListResponse> sliceResponse = PageResponseDTO.ofSlice(movieService.searchMoviesSlice(searchRequest, page, size));
+            sliceResponse.setRefreshing(movieService.isTitleSearchRefreshing(searchRequest.getTitle(), page));
+            return ResponseEntity.ok(sliceResponse);
+        }
+
         Page<MovieDTO.ListResponse> moviePage = movieService.searchMovies(searchRequest, page, size);
 
         PageResponseDTO<MovieDTO.ListResponse> response = PageResponseDTO.<MovieDTO.ListResponse>builder()
@@ -170,6 +209,7 @@ public class MovieController {
                 .hasPrevious(moviePage.hasPrevious())
                 .isFirst(moviePage.isFirst())
                 .isLast(moviePage.isLast())
+                .refreshing(movieService.isTitleSearchRefreshing(searchRequest.getTitle(), page))
                 .build();
 
         return ResponseEntity.ok(response);
@@ -183,7 +223,21 @@ public class MovieController {
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "커서 방식 사용 여부 (첫 페이지)", example = "false")
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 next, 지정 시 커서 방식)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (scroll || cursor != null) {
+            return ResponseEntity.ok(movieService.getMoviesByGenreWithCursor(genreId, cursor, size));
+        }
+
+        if (!withTotal) {
+            return ResponseEntity.ok(PageResponseDTO.ofSlice(movieService.getMoviesByGenreSlice(genreId, page, size)));
+        }
 
         Page<MovieDTO.ListResponse> moviePage = movieService.getMoviesByGenre(genreId, page, size);
 
@@ -17,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -126,15 +127,21 @@ public class RatingController {
 
     @GetMapping("/movies/{movieId}")
     @Operation(summary = "영화 별점 목록", description = "특정 영화의 모든 별점 목록 조회")
-    public ResponseEntity<Page<RatingDTO.Response>> getMovieRatings(
+    public ResponseEntity<Slice<RatingDTO.Response>> getMovieRatings(
             @Parameter(description = "영화 ID", example = "1")
             @PathVariable Long movieId,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(ratingService.getMovieRatingsSlice(movieId, pageable));
+        }
+
         Page<RatingDTO.Response> ratings = ratingService.getMovieRatings(movieId, pageable);
 
         return ResponseEntity.ok(ratings);
@@ -143,15 +150,21 @@ public class RatingController {
     @GetMapping("/my")
     @Operation(summary = "내 별점 목록", description = "내가 등록한 모든 별점 목록 조회")
     @SecurityRequirement(name = "bearerAuth")
-    public ResponseEntity<Page<RatingDTO.Response>> getMyRatings(
+    public ResponseEntity<Slice<RatingDTO.Response>> getMyRatings(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Long userId = userPrincipal.getId();
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(ratingService.getUserRatingsSlice(userId, pageable));
+        }
+
         Page<RatingDTO.Response> ratings = ratingService.getUserRatings(userId, pageable);
 
         return ResponseEntity.ok(ratings);
@@ -159,15 +172,21 @@ public class RatingController {
 
     @GetMapping("/dramas/{dramaId}")
     @Operation(summary = "드라마 별점 목록", description = "특정 드라마의 모든 별점 목록 조회")
-    public ResponseEntity<Page<RatingDTO.Response>> getDramaRatings(
+    public ResponseEntity<Slice<RatingDTO.Response>> getDramaRatings(
             @Parameter(description = "드라마 ID", example = "1")
             @PathVariable Long dramaId,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(ratingService.getDramaRatingsSlice(dramaId, pageable));
+        }
+
         Page<RatingDTO.Response> ratings = ratingService.getDramaRatings(dramaId, pageable);
 
         return ResponseEntity.ok(ratings);
@@ -175,15 +194,21 @@ public class RatingController {
 
     @GetMapping("/users/{userId}")
     @Operation(summary = "사용자 별점 목록", description = "특정 사용자의 모든 별점 목록 조회")
-    public ResponseEntity<Page<RatingDTO.Response>> getUserRatings(
+    public ResponseEntity<Slice<RatingDTO.Response>> getUserRatings(
             @Parameter(description = "사용자 ID", example = "1")
             @PathVariable Long userId,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(ratingService.getUserRatingsSlice(userId, pageable));
+        }
+
         Page<RatingDTO.Response> ratings = ratingService.getUserRatings(userId, pageable);
 
         return ResponseEntity.ok(ratings);
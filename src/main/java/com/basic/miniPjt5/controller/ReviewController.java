@@ -15,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -86,15 +87,21 @@ public class ReviewController {
 
     @GetMapping("/movies/{movieId}")
     @Operation(summary = "영화 리뷰 목록", description = "특정 영화의 모든 리뷰 목록 조회")
-    public ResponseEntity<Page<ReviewDTO.ListResponse>> getMovieReviews(
+    public ResponseEntity<Slice<ReviewDTO.ListResponse>> getMovieReviews(
             @Parameter(description = "영화 ID", example = "1")
             @PathVariable Long movieId,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(reviewService.getMovieReviewsSlice(movieId, pageable));
+        }
+
         Page<ReviewDTO.ListResponse> reviews = reviewService.getMovieReviews(movieId, pageable);
 
         return ResponseEntity.ok(reviews);
@@ -102,15 +109,21 @@ public class ReviewController {
 
     @GetMapping("/dramas/{dramaId}")
     @Operation(summary = "드라마 리뷰 목록", description = "특정 드라마의 모든 리뷰 목록 조회")
-    public ResponseEntity<Page<ReviewDTO.ListResponse>> getDramaReviews(
+    public ResponseEntity<Slice<ReviewDTO.ListResponse>> getDramaReviews(
             @Parameter(description = "드라마 ID", example = "1")
             @PathVariable Long dramaId,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(reviewService.getDramaReviewsSlice(dramaId, pageable));
+        }
+
         Page<ReviewDTO.ListResponse> reviews = reviewService.getDramaReviews(dramaId, pageable);
 
         return ResponseEntity.ok(reviews);
@@ -118,15 +131,21 @@ public class ReviewController {
 
     @GetMapping("/users/{userId}")
     @Operation(summary = "사용자 리뷰 목록", description = "특정 사용자의 모든 리뷰 목록 조회")
-    public ResponseEntity<Page<ReviewDTO.ListResponse>> getUserReviews(
+    public ResponseEntity<Slice<ReviewDTO.ListResponse>> getUserReviews(
             @Parameter(description = "사용자 ID", example = "1")
             @PathVariable Long userId,
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(reviewService.getUserReviewsSlice(userId, pageable));
+        }
+
         Page<ReviewDTO.ListResponse> reviews = reviewService.getUserReviews(userId, pageable);
 
         return ResponseEntity.ok(reviews);
@@ -135,14 +154,20 @@ public class ReviewController {
     @GetMapping("/my")
     @Operation(summary = "내 리뷰 목록", description = "내가 작성한 모든 리뷰 목록 조회")
     @SecurityRequirement(name = "bearerAuth")
-    public ResponseEntity<Page<ReviewDTO.ListResponse>> getMyReviews(
+    public ResponseEntity<Slice<ReviewDTO.ListResponse>> getMyReviews(
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Long userId = jwtAuthenticationHelper.getCurrentUserId();
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(reviewService.getUserReviewsSlice(userId, pageable));
+        }
+
         Page<ReviewDTO.ListResponse> reviews = reviewService.getUserReviews(userId, pageable);
 
         return ResponseEntity.ok(reviews);
@@ -150,13 +175,19 @@ public class ReviewController {
 
     @GetMapping("/latest")
     @Operation(summary = "최신 리뷰 목록", description = "최근에 작성된 리뷰 목록 조회")
-    public ResponseEntity<Page<ReviewDTO.ListResponse>> getLatestReviews(
+    public ResponseEntity<Slice<ReviewDTO.ListResponse>> getLatestReviews(
             @Parameter(description = "페이지 번호", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 없이 다음 페이지 여부만)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
+        if (!withTotal) {
+            return ResponseEntity.ok(reviewService.getLatestReviewsSlice(pageable));
+        }
+
         Page<ReviewDTO.ListResponse> reviews = reviewService.getLatestReviews(pageable);
 
         return ResponseEntity.ok(reviews);
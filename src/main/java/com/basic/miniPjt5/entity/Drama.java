@@ -1,5 +1,6 @@
 package com.basic.miniPjt5.entity;
 
+import com.basic.miniPjt5.util.CombinedRatingCalculator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -13,7 +14,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "dramas")
+@Table(name = "dramas", indexes = {
+        @Index(name = "idx_drama_combined_rating", columnList = "combined_rating") // 검색/목록 기본 정렬
+})
 public class Drama implements Content {
 
     @Id
@@ -61,11 +64,38 @@ public class Drama implements Content {
     @Builder.Default
     private List<Rating> ratings = new ArrayList<>();
 
-    // 통합 평균 평점 (TMDB + 사용자)
-    @Column
+    // 통합 평균 평점 (TMDB + 사용자) - 저장 후에는 Repository의 UPDATE 쿼리로만 변경 (엔티티 저장이 최신 값을 덮어쓰지 않도록)
+    @Column(updatable = false)
     private Double combinedRating;
 
+    // 사용자 별점 누적 합계 (별점 등록/수정/삭제 시 변화량만 반영, applyUserRatingDelta 쿼리로만 변경)
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Double userScoreSum = 0.0;
+
+    // 사용자 별점 누적 개수
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Long userRatingCount = 0L;
+
     public void setCombinedRating(Double combinedRating) {
         this.combinedRating = combinedRating;
     }
+
+    // 사용자 별점 변화량 반영 (통합 평점은 CombinedRatingFlusher가 주기적으로 재계산)
+    public void applyUserRatingDelta(double scoreDelta, long countDelta) {
+        this.userScoreSum = (userScoreSum != null ? userScoreSum : 0.0) + scoreDelta;
+        this.userRatingCount = (userRatingCount != null ? userRatingCount : 0L) + countDelta;
+    }
+
+    // 누적 값 기반 통합 평점 계산
+    public Double calculateCombinedRating() {
+        return CombinedRatingCalculator.calculate(voteAverage, voteCount, userScoreSum, userRatingCount);
+    }
+
+    // 아직 반영되지 않은 별점 변화량을 더한 통합 평점 (조회 시 write-behind 버퍼 병합용)
+    public Double calculateCombinedRating(double pendingScoreSum, long pendingCount) {
+        return CombinedRatingCalculator.calculate(voteAverage, voteCount,
+                userScoreSum + pendingScoreSum, userRatingCount + pendingCount);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.basic.miniPjt5.entity;
+
+import com.basic.miniPjt5.enums.ContentType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 장르 + 컨텐츠 타입별 평점 누적 값 - 컨텐츠의 평점/장르가 바뀔 때 같은 트랜잭션에서 증감
+@Entity
+@Table(name = "genre_rating_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_genre_type", columnNames = {"genre_id", "content_type"})
+        }
+)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class GenreRatingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @Column(name = "genre_id", nullable = false)
+    private Long genreId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", nullable = false, length = 10)
+    private ContentType contentType;
+
+    // 평점(통합 평점, 없으면 TMDB 평점) 합계
+    @Column(name = "score_sum", nullable = false)
+    private double scoreSum;
+
+    // 평점이 있는 컨텐츠 수 (평균의 분모)
+    @Column(name = "scored_count", nullable = false)
+    private long scoredCount;
+
+    // 장르에 속한 전체 컨텐츠 수
+    @Column(name = "content_count", nullable = false)
+    private long contentCount;
+
+    public Double getAverageScore() {
+        return scoredCount > 0 ? scoreSum / scoredCount : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.basic.miniPjt5.entity;
+
+import com.basic.miniPjt5.util.HalfStarStatistics;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+
+// 0.5점 단위 별점 10개 구간의 개수 (bucket_1 ~ bucket_10 컬럼) - 컨텐츠별/사용자별 분포 행에서 공통 사용
+@Embeddable
+@Getter
+public class HalfStarBuckets {
+
+    public static final int BUCKET_COUNT = HalfStarStatistics.BUCKET_COUNT;
+
+    // bucketN = 별점 N * 0.5 점의 개수
+    @Column(name = "bucket_1", nullable = false)
+    private long bucket1;
+
+    @Column(name = "bucket_2", nullable = false)
+    private long bucket2;
+
+    @Column(name = "bucket_3", nullable = false)
+    private long bucket3;
+
+    @Column(name = "bucket_4", nullable = false)
+    private long bucket4;
+
+    @Column(name = "bucket_5", nullable = false)
+    private long bucket5;
+
+    @Column(name = "bucket_6", nullable = false)
+    private long bucket6;
+
+    @Column(name = "bucket_7", nullable = false)
+    private long bucket7;
+
+    @Column(name = "bucket_8", nullable = false)
+    private long bucket8;
+
+    @Column(name = "bucket_9", nullable = false)
+    private long bucket9;
+
+    @Column(name = "bucket_10", nullable = false)
+    private long bucket10;
+
+    // 구간별 변화량 반영 (bucketDeltas[0] = 0.5점 구간)
+    public void applyDeltas(long[] bucketDeltas) {
+        for (int bucket = 1; bucket <= BUCKET_COUNT; bucket++) {
+            if (bucketDeltas[bucket - 1] != 0) {
+                addToBucket(bucket, bucketDeltas[bucket - 1]);
+            }
+        }
+    }
+
+    public long getBucketCount(int bucket) {
+        return switch (bucket) {
+            case 1 -> bucket1;
+            case 2 -> bucket2;
+            case 3 -> bucket3;
+            case 4 -> bucket4;
+            case 5 -> bucket5;
+            case 6 -> bucket6;
+            case 7 -> bucket7;
+            case 8 -> bucket8;
+            case 9 -> bucket9;
+            case 10 -> bucket10;
+            default -> throw new IllegalArgumentException("잘못된 별점 구간입니다: " + bucket);
+        };
+    }
+
+    // 구간 하나 증감 (0 미만으로 내려가지 않음)
+    public void addToBucket(int bucket, long delta) {
+        switch (bucket) {
+            case 1 -> bucket1 = Math.max(0, bucket1 + delta);
+            case 2 -> bucket2 = Math.max(0, bucket2 + delta);
+            case 3 -> bucket3 = Math.max(0, bucket3 + delta);
+            case 4 -> bucket4 = Math.max(0, bucket4 + delta);
+            case 5 -> bucket5 = Math.max(0, bucket5 + delta);
+            case 6 -> bucket6 = Math.max(0, bucket6 + delta);
+            case 7 -> bucket7 = Math.max(0, bucket7 + delta);
+            case 8 -> bucket8 = Math.max(0, bucket8 + delta);
+            case 9 -> bucket9 = Math.max(0, bucket9 + delta);
+            case 10 -> bucket10 = Math.max(0, bucket10 + delta);
+            default -> throw new IllegalArgumentException("잘못된 별점 구간입니다: " + bucket);
+        }
+    }
+
+    public long[] toCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int bucket = 1; bucket <= BUCKET_COUNT; bucket++) {
+            counts[bucket - 1] = getBucketCount(bucket);
+        }
+        return counts;
+    }
+
+    // 분포 기반 통계
+    public HalfStarStatistics getStatistics() {
+        return HalfStarStatistics.of(toCounts());
+    }
+}
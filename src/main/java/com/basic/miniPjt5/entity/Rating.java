@@ -1,8 +1,7 @@
 package com.basic.miniPjt5.entity;
 
+import com.basic.miniPjt5.util.HalfStarScore;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMax;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AccessLevel;
@@ -30,19 +29,16 @@ import java.math.BigDecimal;
 @Getter
 public class Rating extends BaseEntity {
 
-    private static final BigDecimal MIN_SCORE = new BigDecimal("0.5");
-    private static final BigDecimal MAX_SCORE = new BigDecimal("5");
-
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "rating_id")
     private Long id;
 
-    // 별점 점수 (1~10)
-    @Column(nullable = false)
-    @DecimalMin(value = "0.5", message = "별점은 0.5 이상이어야 합니다.")
-    @DecimalMax(value = "5.0", message = "별점은 5.0 이하여야 합니다.")
-    private BigDecimal score;
+    // 별점 점수 - 0.5점 단위 정수 (1~10 = 0.5~5.0점)
+    @Column(name = "score_half_stars", nullable = false, columnDefinition = "TINYINT")
+    @Min(value = HalfStarScore.MIN, message = "별점은 0.5 이상이어야 합니다.")
+    @Max(value = HalfStarScore.MAX, message = "별점은 5.0 이하여야 합니다.")
+    private int halfStars;
 
     // 작성자 (User FK)
     @ManyToOne(fetch = FetchType.LAZY)
@@ -68,50 +64,38 @@ public class Rating extends BaseEntity {
 
     // 별점 수정 메서드
     public void updateScore(BigDecimal newScore) {
-        if (newScore.compareTo(MIN_SCORE) >= 0 &&
-                newScore.compareTo(MAX_SCORE) <= 0) {
-            this.score = newScore;
-        } else {
-            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
-        }
+        this.halfStars = HalfStarScore.fromDecimal(newScore);
+    }
+
+    // DTO 응답용 소수 점수
+    public BigDecimal getScore() {
+        return HalfStarScore.toDecimal(halfStars);
     }
 
     // 🆕 기존 생성자들 유지 (하위 호환성)
     public Rating(User user, BigDecimal score, Movie movie) {
-        if (score.compareTo(MIN_SCORE) < 0 || score.compareTo(MAX_SCORE) > 0) {
-            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
-        }
+        this.halfStars = HalfStarScore.fromDecimal(score);
         this.user = user;
-        this.score = score;
         this.movie = movie;
     }
 
     public Rating(User user, BigDecimal score, Drama drama) {
-        if (score.compareTo(MIN_SCORE) < 0 || score.compareTo(MAX_SCORE) > 0) {
-            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
-        }
+        this.halfStars = HalfStarScore.fromDecimal(score);
         this.user = user;
-        this.score = score;
         this.drama = drama;
     }
 
     // 🆕 새로운 생성자들 (Review 포함)
     public Rating(User user, BigDecimal score, Movie movie, Review review) {
-        if (score.compareTo(MIN_SCORE) < 0 || score.compareTo(MAX_SCORE) > 0) {
-            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
-        }
+        this.halfStars = HalfStarScore.fromDecimal(score);
         this.user = user;
-        this.score = score;
         this.movie = movie;
         this.review = review;
     }
 
     public Rating(User user, BigDecimal score, Drama drama, Review review) {
-        if (score.compareTo(MIN_SCORE) < 0 || score.compareTo(MAX_SCORE) > 0) {
-            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
-        }
+        this.halfStars = HalfStarScore.fromDecimal(score);
         this.user = user;
-        this.score = score;
         this.drama = drama;
         this.review = review;
     }
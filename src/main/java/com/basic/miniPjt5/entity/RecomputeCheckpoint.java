@@ -0,0 +1,35 @@
+package com.basic.miniPjt5.entity;
+
+import com.basic.miniPjt5.enums.ContentType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 통합 평점 일괄 재계산 작업의 진행 위치 (중단 후 이어서 실행하기 위한 체크포인트)
+@Entity
+@Table(name = "combined_rating_recompute_checkpoints")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class RecomputeCheckpoint extends BaseEntity {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", length = 10)
+    private ContentType contentType;
+
+    // 이 ID까지는 빠짐없이 재계산 완료
+    @Column(name = "last_completed_id", nullable = false)
+    private Long lastCompletedId;
+
+    public RecomputeCheckpoint(ContentType contentType, Long lastCompletedId) {
+        this.contentType = contentType;
+        this.lastCompletedId = lastCompletedId;
+    }
+
+    public void advanceTo(Long completedId) {
+        if (completedId > this.lastCompletedId) {
+            this.lastCompletedId = completedId;
+        }
+    }
+}
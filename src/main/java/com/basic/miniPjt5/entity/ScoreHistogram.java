@@ -0,0 +1,60 @@
+package com.basic.miniPjt5.entity;
+
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.util.HalfStarStatistics;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 컨텐츠별 사용자 별점 분포 (0.5점 단위 10개 구간) - 별점 버퍼를 반영하는 CombinedRatingFlusher만 갱신 (조회 시 미반영분은 RatingDeltaBuffer에서 합침)
+@Entity
+@Table(name = "score_histograms",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_histogram_content", columnNames = {"content_type", "content_id"})
+        }
+)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class ScoreHistogram {
+
+    public static final int BUCKET_COUNT = HalfStarBuckets.BUCKET_COUNT;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "histogram_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", nullable = false, length = 10)
+    private ContentType contentType;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Embedded
+    private HalfStarBuckets buckets = new HalfStarBuckets();
+
+    public ScoreHistogram(ContentType contentType, Long contentId) {
+        this.contentType = contentType;
+        this.contentId = contentId;
+    }
+
+    // 구간별 변화량 반영 (bucketDeltas[0] = 0.5점 구간)
+    public void applyDeltas(long[] bucketDeltas) {
+        buckets.applyDeltas(bucketDeltas);
+    }
+
+    public long getBucketCount(int bucket) {
+        return buckets.getBucketCount(bucket);
+    }
+
+    public long[] toCounts() {
+        return buckets.toCounts();
+    }
+
+    // 분포 기반 통계 (엔티티 조회 없이 한 행으로 계산)
+    public HalfStarStatistics getStatistics() {
+        return buckets.getStatistics();
+    }
+}
@@ -0,0 +1,46 @@
+package com.basic.miniPjt5.entity;
+
+import com.basic.miniPjt5.entity.UserRatingStats.TopRatedItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+// 최근 5점 작품 목록 <-> JSON 문자열
+@Converter
+public class TopRatedItemListConverter implements AttributeConverter<List<TopRatedItem>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final TypeReference<List<TopRatedItem>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<TopRatedItem> items) {
+        if (items == null) return null;
+        try {
+            return OBJECT_MAPPER.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("최근 5점 작품 목록 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public List<TopRatedItem> convertToEntityAttribute(String json) {
+        if (json == null) return null;
+        try {
+            return OBJECT_MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            // 손상된 값은 다음 갱신 시 ratings 기준으로 다시 채움
+            return null;
+        }
+    }
+}
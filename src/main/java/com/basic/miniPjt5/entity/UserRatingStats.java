@@ -0,0 +1,101 @@
+package com.basic.miniPjt5.entity;
+
+import com.basic.miniPjt5.util.HalfStarScore;
+import com.basic.miniPjt5.util.HalfStarStatistics;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+// 사용자별 별점 통계 (개수/합계/분포 + 최근 5점 작품 목록) - 별점 변경과 같은 트랜잭션에서 갱신
+@Entity
+@Table(name = "user_rating_stats")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class UserRatingStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    // 0.5점 단위 정수 합계
+    @Column(name = "half_star_sum", nullable = false)
+    private long halfStarSum;
+
+    @Embedded
+    private HalfStarBuckets buckets = new HalfStarBuckets();
+
+    // 최근 5점 작품 (별점 등록 시각 내림차순, 최대 개수 제한) - null 이면 다음 갱신 시 ratings 기준으로 다시 채움
+    @Convert(converter = TopRatedItemListConverter.class)
+    @Column(name = "recent_top_rated", columnDefinition = "TEXT")
+    private List<TopRatedItem> recentTopRated;
+
+    // 별점 변경 반영 (old == null: 신규, new == null: 삭제)
+    public void applyChange(Integer oldHalfStars, Integer newHalfStars) {
+        if (oldHalfStars != null) {
+            ratingCount = Math.max(0, ratingCount - 1);
+            halfStarSum = Math.max(0, halfStarSum - oldHalfStars);
+            buckets.addToBucket(oldHalfStars, -1);
+        }
+        if (newHalfStars != null) {
+            ratingCount++;
+            halfStarSum += newHalfStars;
+            buckets.addToBucket(newHalfStars, 1);
+        }
+    }
+
+    // 등록 시각 순서를 유지하며 추가 후 limit개로 자름 (변경 감지를 위해 항상 새 리스트로 교체)
+    public void addRecentTopRated(TopRatedItem item, int limit) {
+        List<TopRatedItem> items = without(item.getContentType(), item.getContentId());
+        items.add(item);
+        items.sort(Comparator.comparing(TopRatedItem::getRatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        this.recentTopRated = items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+
+    public void removeRecentTopRated(String contentType, Long contentId) {
+        this.recentTopRated = without(contentType, contentId);
+    }
+
+    public void replaceRecentTopRated(List<TopRatedItem> items) {
+        this.recentTopRated = new ArrayList<>(items);
+    }
+
+    // 목록 밖에 남아 있는 5점 작품이 있어 다시 채워야 하는지
+    public boolean isRecentTopRatedIncomplete(int limit) {
+        return recentTopRated.size() < limit && recentTopRated.size() < buckets.getBucketCount(HalfStarScore.MAX);
+    }
+
+    public HalfStarStatistics getStatistics() {
+        return buckets.getStatistics();
+    }
+
+    private List<TopRatedItem> without(String contentType, Long contentId) {
+        List<TopRatedItem> items = new ArrayList<>();
+        for (TopRatedItem existing : recentTopRated) {
+            if (!(existing.getContentType().equals(contentType) && Objects.equals(existing.getContentId(), contentId))) {
+                items.add(existing);
+            }
+        }
+        return items;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TopRatedItem {
+        private String contentType;
+        private Long contentId;
+        private String title;
+        private LocalDateTime ratedAt;
+    }
+}
@@ -2,16 +2,23 @@ package com.basic.miniPjt5.mapper;
 
 import com.basic.miniPjt5.DTO.DramaDTO;
 import com.basic.miniPjt5.entity.Drama;
-import com.basic.miniPjt5.entity.Genre;
 import com.basic.miniPjt5.repository.DramaRepository;
 import com.basic.miniPjt5.repository.RatingRepository;
 import com.basic.miniPjt5.repository.ReviewRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer;
 import com.basic.miniPjt5.service.RatingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -29,6 +36,9 @@ public class DramaMapper {
     @Autowired
     private RatingService ratingService; // 🆕 추가
 
+    @Autowired
+    private RatingDeltaBuffer ratingDeltaBuffer;
+
     // 🔥 수정된 Entity -> Response DTO (상세)
     public DramaDTO.Response toResponse(Drama drama) {
         // 🔥 Repository 기반으로 필요한 데이터 조회
@@ -46,7 +56,7 @@ public class DramaMapper {
                 .posterPath(drama.getPosterPath())
                 .voteAverage(drama.getVoteAverage())
                 .voteCount(drama.getVoteCount())
-                .combinedRating(drama.getCombinedRating()) // 이미 계산된 값 사용
+                .combinedRating(ratingDeltaBuffer.combinedRating(drama)) // 저장된 값 + 아직 반영되지 않은 별점
                 .numberOfSeasons(drama.getNumberOfSeasons())
                 .numberOfEpisodes(drama.getNumberOfEpisodes())
                 .genres(drama.getGenres() != null ?
@@ -62,32 +72,9 @@ public class DramaMapper {
                 .build();
     }
 
-    // 🔥 수정된 Entity -> ListResponse DTO (목록용)
+    // 🔥 수정된 Entity -> ListResponse DTO (목록용) - 여러 건이면 toListResponseList/toListResponsePage 사용
     public DramaDTO.ListResponse toListResponse(Drama drama) {
-        // 🔥 Repository 기반으로 필요한 데이터 조회
-        Long dramaId = drama.getId();
-        Double userAverageRating = ratingRepository.findAverageScoreByDramaId(dramaId).orElse(null);
-        Long reviewCount = reviewRepository.countByDramaId(dramaId);
-
-        return DramaDTO.ListResponse.builder()
-                .id(drama.getId())
-                .tmdbId(drama.getTmdbId())
-                .title(drama.getTitle())
-                .posterPath(drama.getPosterPath())
-                .voteAverage(drama.getVoteAverage())
-                .voteCount(drama.getVoteCount())
-                .combinedRating(drama.getCombinedRating()) // 이미 계산된 값 사용
-                .firstAirDate(drama.getFirstAirDate())
-                .numberOfSeasons(drama.getNumberOfSeasons())
-                .numberOfEpisodes(drama.getNumberOfEpisodes())
-                .genreNames(drama.getGenres() != null ?
-                        drama.getGenres().stream()
-                                .map(Genre::getName)
-                                .collect(Collectors.toList()) :
-                        Collections.emptyList())
-                .reviewCount(reviewCount.intValue()) // 🔥 Repository 기반
-                .userAverageRating(userAverageRating) // 🔥 Repository 기반
-                .build();
+        return toListResponseList(List.of(drama)).get(0);
     }
 
     // 🔥 수정된 CreateRequest -> Entity
@@ -117,9 +104,60 @@ public class DramaMapper {
                 .collect(Collectors.toList());
     }
 
+    // 🔥 목록 일괄 변환: 페이지의 ID로 지표별 IN 조회를 한 번씩만 하고 한 번에 매핑
     public List<DramaDTO.ListResponse> toListResponseList(List<Drama> dramas) {
-        return dramas.stream()
-                .map(this::toListResponse)
-                .collect(Collectors.toList());
+        if (dramas.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> dramaIds = dramas.stream().map(Drama::getId).toList();
+
+        // 컨텐츠 ID -> (평균 별점, 별점 수)
+        Map<Long, Object[]> ratingSummaries = new HashMap<>();
+        for (Object[] row : ratingRepository.findRatingSummaryByDramaIdIn(dramaIds)) {
+            ratingSummaries.put((Long) row[0], row);
+        }
+
+        // 컨텐츠 ID -> 리뷰 수
+        Map<Long, Long> reviewCounts = new HashMap<>();
+        for (Object[] row : reviewRepository.countByDramaIdIn(dramaIds)) {
+            reviewCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        // 컨텐츠 ID -> 장르명
+        Map<Long, List<String>> genreNames = new HashMap<>();
+        for (Object[] row : dramaRepository.findGenreNamesByDramaIdIn(dramaIds)) {
+            genreNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<DramaDTO.ListResponse> responses = new ArrayList<>(dramas.size());
+        for (Drama drama : dramas) {
+            Object[] ratingSummary = ratingSummaries.get(drama.getId());
+            responses.add(DramaDTO.ListResponse.builder()
+                    .id(drama.getId())
+                    .tmdbId(drama.getTmdbId())
+                    .title(drama.getTitle())
+                    .posterPath(drama.getPosterPath())
+                    .voteAverage(drama.getVoteAverage())
+                    .voteCount(drama.getVoteCount())
+                    .combinedRating(ratingDeltaBuffer.combinedRating(drama)) // 저장된 값 + 아직 반영되지 않은 별점
+                    .storedCombinedRating(drama.getCombinedRating())
+                    .firstAirDate(drama.getFirstAirDate())
+                    .numberOfSeasons(drama.getNumberOfSeasons())
+                    .numberOfEpisodes(drama.getNumberOfEpisodes())
+                    .genreNames(genreNames.getOrDefault(drama.getId(), Collections.emptyList()))
+                    .reviewCount(reviewCounts.getOrDefault(drama.getId(), 0L).intValue())
+                    .ratingCount(ratingSummary != null ? ((Number) ratingSummary[2]).intValue() : 0)
+                    .userAverageRating(ratingSummary != null ? ((Number) ratingSummary[1]).doubleValue() : null)
+                    .build());
+        }
+        return responses;
+    }
+
+    public Page<DramaDTO.ListResponse> toListResponsePage(Page<Drama> dramaPage) {
+        return new PageImpl<>(toListResponseList(dramaPage.getContent()), dramaPage.getPageable(), dramaPage.getTotalElements());
+    }
+
+    public Slice<DramaDTO.ListResponse> toListResponseSlice(Slice<Drama> dramaSlice) {
+        return new SliceImpl<>(toListResponseList(dramaSlice.getContent()), dramaSlice.getPageable(), dramaSlice.hasNext());
     }
 }
\ No newline at end of file
@@ -2,17 +2,24 @@
 package com.basic.miniPjt5.mapper;
 
 import com.basic.miniPjt5.DTO.MovieDTO;
-import com.basic.miniPjt5.entity.Genre;
 import com.basic.miniPjt5.entity.Movie;
 import com.basic.miniPjt5.repository.MovieRepository;
 import com.basic.miniPjt5.repository.RatingRepository;
 import com.basic.miniPjt5.repository.ReviewRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer;
 import com.basic.miniPjt5.service.RatingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,6 +37,9 @@ public class MovieMapper {
     @Autowired
     private RatingService ratingService; // 🆕 추가
 
+    @Autowired
+    private RatingDeltaBuffer ratingDeltaBuffer;
+
     // 🔥 수정된 Entity -> Response DTO (상세)
     public MovieDTO.Response toResponse(Movie movie) {
         // 🔥 Repository 기반으로 필요한 데이터 조회
@@ -46,7 +56,7 @@ public class MovieMapper {
                 .posterPath(movie.getPosterPath())
                 .voteAverage(movie.getVoteAverage())
                 .voteCount(movie.getVoteCount())
-                .combinedRating(movie.getCombinedRating()) // 이미 계산된 값 사용
+                .combinedRating(ratingDeltaBuffer.combinedRating(movie)) // 저장된 값 + 아직 반영되지 않은 별점
                 .genres(movie.getGenres() != null ?
                         movie.getGenres().stream()
                                 .map(genre -> MovieDTO.GenreInfo.builder()
@@ -60,30 +70,9 @@ public class MovieMapper {
                 .build();
     }
 
-    // 🔥 수정된 Entity -> ListResponse DTO (목록용)
+    // 🔥 수정된 Entity -> ListResponse DTO (목록용) - 여러 건이면 toListResponseList/toListResponsePage 사용
     public MovieDTO.ListResponse toListResponse(Movie movie) {
-        // 🔥 Repository 기반으로 필요한 데이터 조회
-        Long movieId = movie.getId();
-        Double userAverageRating = ratingRepository.findAverageScoreByMovieId(movieId).orElse(null);
-        Long reviewCount = reviewRepository.countByMovieId(movieId);
-
-        return MovieDTO.ListResponse.builder()
-                .id(movie.getId())
-                .tmdbId(movie.getTmdbId())
-                .title(movie.getTitle())
-                .posterPath(movie.getPosterPath())
-                .voteAverage(movie.getVoteAverage())
-                .voteCount(movie.getVoteCount())
-                .combinedRating(movie.getCombinedRating()) // 이미 계산된 값 사용
-                .releaseDate(movie.getReleaseDate())
-                .genreNames(movie.getGenres() != null ?
-                        movie.getGenres().stream()
-                                .map(Genre::getName)
-                                .collect(Collectors.toList()) :
-                        Collections.emptyList())
-                .reviewCount(reviewCount.intValue()) // 🔥 Repository 기반
-                .userAverageRating(userAverageRating) // 🔥 Repository 기반
-                .build();
+        return toListResponseList(List.of(movie)).get(0);
     }
 
     // 🔥 수정된 CreateRequest -> Entity
@@ -110,9 +99,58 @@ public class MovieMapper {
                 .collect(Collectors.toList());
     }
 
+    // 🔥 목록 일괄 변환: 페이지의 ID로 지표별 IN 조회를 한 번씩만 하고 한 번에 매핑
     public List<MovieDTO.ListResponse> toListResponseList(List<Movie> movies) {
-        return movies.stream()
-                .map(this::toListResponse)
-                .collect(Collectors.toList());
+        if (movies.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> movieIds = movies.stream().map(Movie::getId).toList();
+
+        // 컨텐츠 ID -> (평균 별점, 별점 수)
+        Map<Long, Object[]> ratingSummaries = new HashMap<>();
+        for (Object[] row : ratingRepository.findRatingSummaryByMovieIdIn(movieIds)) {
+            ratingSummaries.put((Long) row[0], row);
+        }
+
+        // 컨텐츠 ID -> 리뷰 수
+        Map<Long, Long> reviewCounts = new HashMap<>();
+        for (Object[] row : reviewRepository.countByMovieIdIn(movieIds)) {
+            reviewCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        // 컨텐츠 ID -> 장르명
+        Map<Long, List<String>> genreNames = new HashMap<>();
+        for (Object[] row : movieRepository.findGenreNamesByMovieIdIn(movieIds)) {
+            genreNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<MovieDTO.ListResponse> responses = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            Object[] ratingSummary = ratingSummaries.get(movie.getId());
+            responses.add(MovieDTO.ListResponse.builder()
+                    .id(movie.getId())
+                    .tmdbId(movie.getTmdbId())
+                    .title(movie.getTitle())
+                    .posterPath(movie.getPosterPath())
+                    .voteAverage(movie.getVoteAverage())
+                    .voteCount(movie.getVoteCount())
+                    .combinedRating(ratingDeltaBuffer.combinedRating(movie)) // 저장된 값 + 아직 반영되지 않은 별점
+                    .storedCombinedRating(movie.getCombinedRating())
+                    .releaseDate(movie.getReleaseDate())
+                    .genreNames(genreNames.getOrDefault(movie.getId(), Collections.emptyList()))
+                    .reviewCount(reviewCounts.getOrDefault(movie.getId(), 0L).intValue())
+                    .ratingCount(ratingSummary != null ? ((Number) ratingSummary[2]).intValue() : 0)
+                    .userAverageRating(ratingSummary != null ? ((Number) ratingSummary[1]).doubleValue() : null)
+                    .build());
+        }
+        return responses;
+    }
+
+    public Page<MovieDTO.ListResponse> toListResponsePage(Page<Movie> moviePage) {
+        return new PageImpl<>(toListResponseList(moviePage.getContent()), moviePage.getPageable(), moviePage.getTotalElements());
+    }
+
+    public Slice<MovieDTO.ListResponse> toListResponseSlice(Slice<Movie> movieSlice) {
+        return new SliceImpl<>(toListResponseList(movieSlice.getContent()), movieSlice.getPageable(), movieSlice.hasNext());
     }
 }
\ No newline at end of file
@@ -1,30 +1,119 @@
 package com.basic.miniPjt5.repository;
 
+import com.basic.miniPjt5.DTO.RatingStatisticsSnapshot;
 import com.basic.miniPjt5.entity.Drama;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;  // ✅ JPA Repository
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DramaRepository extends JpaRepository<Drama, Long> {  // ✅ JpaRepository
+public interface DramaRepository extends JpaRepository<Drama, Long>, JpaSpecificationExecutor<Drama> {  // ✅ JpaRepository
 
     boolean existsByTmdbId(Long tmdbId);
     Optional<Drama> findByTmdbId(Long tmdbId);
 
+    // 평점 통계용: 컨텐츠 정보와 별점 분포 행을 한 번에 조회 (엔티티 로딩 없음)
+    @Query("""
+        SELECT new com.basic.miniPjt5.DTO.RatingStatisticsSnapshot(
+            d.id, d.title, d.posterPath, d.voteAverage, d.voteCount, d.userScoreSum, d.userRatingCount,
+            h.buckets.bucket1, h.buckets.bucket2, h.buckets.bucket3, h.buckets.bucket4, h.buckets.bucket5,
+            h.buckets.bucket6, h.buckets.bucket7, h.buckets.bucket8, h.buckets.bucket9, h.buckets.bucket10)
+        FROM Drama d
+        LEFT JOIN ScoreHistogram h
+            ON h.contentType = com.basic.miniPjt5.enums.ContentType.DRAMA AND h.contentId = d.id
+        WHERE d.id = :id
+        """)
+    Optional<RatingStatisticsSnapshot> findRatingStatisticsSnapshot(@Param("id") Long id);
+
+    @Query("SELECT MIN(d.id) FROM Drama d")
+    Long findMinId();
+
+    @Query("SELECT MAX(d.id) FROM Drama d")
+    Long findMaxId();
+
+    // 별점 기록 전 컨텐츠 행 공유 잠금: 별점끼리는 막지 않고, 구간 재계산(lockIdsInRange)과만 순서를 맞춤
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT d FROM Drama d WHERE d.id = :id")
+    Optional<Drama> findByIdForShare(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT d FROM Drama d WHERE d.id IN :ids ORDER BY d.id")
+    List<Drama> findAllByIdForShare(@Param("ids") Collection<Long> ids);
+
+    // 구간 재계산 전 행 잠금 (같은 구간의 별점 기록은 재계산이 커밋될 때까지 대기)
+    @Query(value = "SELECT d.drama_id FROM dramas d WHERE d.drama_id BETWEEN :fromId AND :toId FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 별점 변화량을 현재 DB 값에 더해서 반영 (엔티티를 거치지 않으므로 다른 트랜잭션의 저장이 덮어쓰지 않음)
+    @Modifying
+    @Query(value = """
+        UPDATE dramas d
+        SET d.combined_rating = CASE
+                WHEN d.vote_count + d.user_rating_count + :countDelta = 0 THEN 0
+                ELSE ROUND((d.vote_average / 2 * d.vote_count + d.user_score_sum + :scoreDelta)
+                           / (d.vote_count + d.user_rating_count + :countDelta), 2)
+            END,
+            d.user_score_sum = d.user_score_sum + :scoreDelta,
+            d.user_rating_count = d.user_rating_count + :countDelta
+        WHERE d.drama_id = :id
+        """, nativeQuery = true)
+    int applyUserRatingDelta(@Param("id") Long id, @Param("scoreDelta") double scoreDelta,
+                             @Param("countDelta") long countDelta);
+
+    // TMDB 평점/투표 수가 바뀐 뒤 통합 평점을 DB의 사용자 누적 값 기준으로 다시 계산
+    @Modifying
+    @Query(value = """
+        UPDATE dramas d
+        SET d.combined_rating = CASE
+                WHEN d.vote_count + d.user_rating_count = 0 THEN 0
+                ELSE ROUND((d.vote_average / 2 * d.vote_count + d.user_score_sum)
+                           / (d.vote_count + d.user_rating_count), 2)
+            END
+        WHERE d.drama_id = :id
+        """, nativeQuery = true)
+    int refreshCombinedRating(@Param("id") Long id);
+
+    @Query("SELECT d.combinedRating FROM Drama d WHERE d.id = :id")
+    Double findCombinedRatingById(@Param("id") Long id);
+
+    // ID 구간 단위로 사용자 별점 누적 값과 통합 평점을 집계 조인 한 번으로 재계산 (구간별 독립 트랜잭션)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE dramas d
+        LEFT JOIN (
+            SELECT r.drama_id, SUM(r.score_half_stars) / 2 AS score_sum, COUNT(r.rating_id) AS rating_count
+            FROM ratings r
+            WHERE r.drama_id BETWEEN :fromId AND :toId
+            GROUP BY r.drama_id
+        ) agg ON agg.drama_id = d.drama_id
+        SET d.user_score_sum = COALESCE(agg.score_sum, 0),
+            d.user_rating_count = COALESCE(agg.rating_count, 0),
+            d.combined_rating = CASE
+                WHEN d.vote_count + COALESCE(agg.rating_count, 0) = 0 THEN 0
+                ELSE ROUND((d.vote_average / 2 * d.vote_count + COALESCE(agg.score_sum, 0))
+                           / (d.vote_count + COALESCE(agg.rating_count, 0)), 2)
+            END
+        WHERE d.drama_id BETWEEN :fromId AND :toId
+        """, nativeQuery = true)
+    int recomputeCombinedRatingsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     // 제목으로 검색
     @Query("SELECT d FROM Drama d WHERE LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     List<Drama> findByTitleContainingIgnoreCase(@Param("title") String title);
 
-    // 페이징 지원 제목 검색
-    @Query("SELECT d FROM Drama d WHERE LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    Page<Drama> findByTitleContainingIgnoreCase(@Param("title") String title, Pageable pageable);
-
     List<Drama> findByTitleContaining(String title);
 
     // 평점 기준 정렬
@@ -37,104 +126,31 @@ public interface DramaRepository extends JpaRepository<Drama, Long> {  // ✅ Jp
 
     // 시즌 수 기준 검색
     List<Drama> findByNumberOfSeasonsGreaterThan(Integer seasons);
-    Page<Drama> findByNumberOfSeasonsBetween(Integer minSeasons, Integer maxSeasons, Pageable pageable);
 
     // 페이징 지원 메서드들
     Page<Drama> findByGenres_Id(Long genreId, Pageable pageable);
 
-    // 여러 장르 검색
-    @Query("SELECT DISTINCT d FROM Drama d JOIN d.genres g WHERE g.id IN :genreIds")
-    Page<Drama> findByGenres_IdIn(@Param("genreIds") List<Long> genreIds, Pageable pageable);
-
     // 평점 범위 검색
     Page<Drama> findByVoteAverageBetween(Double minRating, Double maxRating, Pageable pageable);
 
-    // ⭐ 통합 평점 기준 정렬된 드라마 목록
-    @Query("SELECT d FROM Drama d WHERE d.combinedRating IS NOT NULL ORDER BY d.combinedRating DESC")
-    List<Drama> findTop20ByOrderByCombinedRatingDesc();
-
-    // ⭐ 통합 평점 범위 검색
-    @Query("SELECT d FROM Drama d WHERE COALESCE(d.combinedRating, d.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Drama> findByCombinedRatingBetween(@Param("minRating") Double minRating,
-                                            @Param("maxRating") Double maxRating,
-                                            Pageable pageable);
-
-    @Query("SELECT DISTINCT d FROM Drama d WHERE " +
-            "LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "COALESCE(d.combinedRating, d.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Drama> findByTitleContainingIgnoreCaseAndCombinedRatingBetween(
-            @Param("title") String title,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            Pageable pageable
-    );
-
-    // 장르 + 통합평점 범위 검색
-    @Query("SELECT DISTINCT d FROM Drama d JOIN d.genres g WHERE " +
-            "g.id IN :genreIds AND " +
-            "COALESCE(d.combinedRating, d.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Drama> findByGenres_IdInAndCombinedRatingBetween(
-            @Param("genreIds") List<Long> genreIds,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            Pageable pageable
-    );
-
-    // 🏆 최고급 복합 검색: 제목 + 장르 + 통합평점
-    @Query("SELECT DISTINCT d FROM Drama d JOIN d.genres g WHERE " +
-            "LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "g.id IN :genreIds AND " +
-            "COALESCE(d.combinedRating, d.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Drama> findByTitleContainingIgnoreCaseAndGenres_IdInAndCombinedRatingBetween(
-            @Param("title") String title,
-            @Param("genreIds") List<Long> genreIds,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            Pageable pageable
-    );
-
-    // 제목 + 시즌수 범위 검색
-    @Query("SELECT DISTINCT d FROM Drama d WHERE " +
-            "LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "d.numberOfSeasons BETWEEN :minSeasons AND :maxSeasons")
-    Page<Drama> findByTitleContainingIgnoreCaseAndNumberOfSeasonsBetween(
-            @Param("title") String title,
-            @Param("minSeasons") Integer minSeasons,
-            @Param("maxSeasons") Integer maxSeasons,
-            Pageable pageable
-    );
-
-    // 장르 + 시즌수 범위 검색
-    @Query("SELECT DISTINCT d FROM Drama d JOIN d.genres g WHERE " +
-            "g.id IN :genreIds AND " +
-            "d.numberOfSeasons BETWEEN :minSeasons AND :maxSeasons")
-    Page<Drama> findByGenres_IdInAndNumberOfSeasonsBetween(
-            @Param("genreIds") List<Long> genreIds,
-            @Param("minSeasons") Integer minSeasons,
-            @Param("maxSeasons") Integer maxSeasons,
-            Pageable pageable
-    );
-
-    // 제목 + 장르 복합 검색 (기존에 없다면 추가)
-    @Query("SELECT DISTINCT d FROM Drama d JOIN d.genres g WHERE " +
-            "LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "g.id IN :genreIds")
-    Page<Drama> findByTitleContainingIgnoreCaseAndGenres_IdIn(
-            @Param("title") String title,
-            @Param("genreIds") List<Long> genreIds,
-            Pageable pageable
-    );
-
-    // 드라마만의 추가 메서드
-    @Query("SELECT DISTINCT d FROM Drama d JOIN d.genres g WHERE " +
-            "LOWER(d.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "g.id IN :genreIds AND " +
-            "d.numberOfSeasons BETWEEN :minSeasons AND :maxSeasons")
-    Page<Drama> findByTitleAndGenresAndSeasons(
-            @Param("title") String title,
-            @Param("genreIds") List<Long> genreIds,
-            @Param("minSeasons") Integer minSeasons,
-            @Param("maxSeasons") Integer maxSeasons,
-            Pageable pageable
-    );
+    // ⭐ 평점 순위표 재구성용 (ID, 통합 평점(없으면 TMDB 평점 / 2), TMDB 투표 수, 사용자 별점 수)
+    @Query("SELECT d.id, COALESCE(d.combinedRating, d.voteAverage / 2.0), COALESCE(d.voteCount, 0), " +
+            "COALESCE(d.userRatingCount, 0) FROM Drama d")
+    List<Object[]> findLeaderboardRows();
+
+    // 제목 n-gram 색인 재구성용 (ID, 제목)
+    @Query("SELECT d.id, d.title FROM Drama d")
+    List<Object[]> findTitleRows();
+
+    // 자동완성 색인 재구성용 (ID, 제목, 포스터, 통합 평점, TMDB 평점, TMDB 투표 수, 사용자 별점 수)
+    @Query("SELECT d.id, d.title, d.posterPath, d.combinedRating, d.voteAverage, d.voteCount, d.userRatingCount FROM Drama d")
+    List<Object[]> findSuggestRows();
+
+    // 장르 누적 값 갱신용 (ID, 장르 ID)
+    @Query("SELECT d.id, g.id FROM Drama d JOIN d.genres g WHERE d.id IN :ids")
+    List<Object[]> findGenreIdsByDramaIdIn(@Param("ids") Collection<Long> ids);
+
+    // 목록 페이지 일괄 조회용 (ID, 장르명) - 드라마별 장르 컬렉션 지연 로딩 대신 사용
+    @Query("SELECT d.id, g.name FROM Drama d JOIN d.genres g WHERE d.id IN :ids ORDER BY g.id")
+    List<Object[]> findGenreNamesByDramaIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.basic.miniPjt5.repository;
+
+import com.basic.miniPjt5.entity.GenreRatingRollup;
+import com.basic.miniPjt5.enums.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface GenreRatingRollupRepository extends JpaRepository<GenreRatingRollup, Long> {
+
+    // 장르별 평균 평점 (장르명, 평점 합계, 평점 있는 컨텐츠 수, 전체 컨텐츠 수) - 평균 내림차순
+    @Query("SELECT g.name, r.scoreSum, r.scoredCount, r.contentCount FROM GenreRatingRollup r " +
+            "JOIN Genre g ON g.id = r.genreId " +
+            "WHERE r.contentType = :contentType AND r.scoredCount >= :minScoredCount " +
+            "ORDER BY r.scoreSum / r.scoredCount DESC")
+    List<Object[]> findAverages(@Param("contentType") ContentType contentType,
+                                @Param("minScoredCount") long minScoredCount);
+
+    // 누적 값 증감 (행이 없으면 생성) - 동시 갱신에도 DB에서 원자적으로 더함
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO genre_rating_rollups (genre_id, content_type, score_sum, scored_count, content_count)
+        VALUES (:genreId, :contentType, :scoreDelta, :scoredDelta, :contentDelta)
+        ON DUPLICATE KEY UPDATE
+            score_sum = score_sum + VALUES(score_sum),
+            scored_count = scored_count + VALUES(scored_count),
+            content_count = content_count + VALUES(content_count)
+        """, nativeQuery = true)
+    int addDelta(@Param("genreId") Long genreId,
+                 @Param("contentType") String contentType,
+                 @Param("scoreDelta") double scoreDelta,
+                 @Param("scoredDelta") long scoredDelta,
+                 @Param("contentDelta") long contentDelta);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GenreRatingRollup r WHERE r.contentType = :contentType")
+    int deleteByContentType(@Param("contentType") ContentType contentType);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GenreRatingRollup r WHERE r.genreId = :genreId")
+    int deleteByGenreId(@Param("genreId") Long genreId);
+
+    // 영화 장르 구성/평점 기준으로 전체 재구성 (일괄 재계산용)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO genre_rating_rollups (genre_id, content_type, score_sum, scored_count, content_count)
+        SELECT mg.genre_id, 'MOVIE',
+               COALESCE(SUM(COALESCE(m.combined_rating, m.vote_average)), 0),
+               COUNT(COALESCE(m.combined_rating, m.vote_average)),
+               COUNT(*)
+        FROM movie_genre mg
+        INNER JOIN movies m ON m.movie_id = mg.movie_id
+        GROUP BY mg.genre_id
+        """, nativeQuery = true)
+    int rebuildMovieRollups();
+
+    // 드라마 장르 구성/평점 기준으로 전체 재구성 (일괄 재계산용)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO genre_rating_rollups (genre_id, content_type, score_sum, scored_count, content_count)
+        SELECT dg.genre_id, 'DRAMA',
+               COALESCE(SUM(COALESCE(d.combined_rating, d.vote_average)), 0),
+               COUNT(COALESCE(d.combined_rating, d.vote_average)),
+               COUNT(*)
+        FROM drama_genre dg
+        INNER JOIN dramas d ON d.drama_id = dg.drama_id
+        GROUP BY dg.genre_id
+        """, nativeQuery = true)
+    int rebuildDramaRollups();
+}
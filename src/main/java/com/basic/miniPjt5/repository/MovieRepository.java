@@ -1,30 +1,119 @@
 package com.basic.miniPjt5.repository;
 
+import com.basic.miniPjt5.DTO.RatingStatisticsSnapshot;
 import com.basic.miniPjt5.entity.Movie;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;  // ✅ JPA Repository
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
 
     boolean existsByTmdbId(Long tmdbId);
     Optional<Movie> findByTmdbId(Long tmdbId);
 
+    // 평점 통계용: 컨텐츠 정보와 별점 분포 행을 한 번에 조회 (엔티티 로딩 없음)
+    @Query("""
+        SELECT new com.basic.miniPjt5.DTO.RatingStatisticsSnapshot(
+            m.id, m.title, m.posterPath, m.voteAverage, m.voteCount, m.userScoreSum, m.userRatingCount,
+            h.buckets.bucket1, h.buckets.bucket2, h.buckets.bucket3, h.buckets.bucket4, h.buckets.bucket5,
+            h.buckets.bucket6, h.buckets.bucket7, h.buckets.bucket8, h.buckets.bucket9, h.buckets.bucket10)
+        FROM Movie m
+        LEFT JOIN ScoreHistogram h
+            ON h.contentType = com.basic.miniPjt5.enums.ContentType.MOVIE AND h.contentId = m.id
+        WHERE m.id = :id
+        """)
+    Optional<RatingStatisticsSnapshot> findRatingStatisticsSnapshot(@Param("id") Long id);
+
+    @Query("SELECT MIN(m.id) FROM Movie m")
+    Long findMinId();
+
+    @Query("SELECT MAX(m.id) FROM Movie m")
+    Long findMaxId();
+
+    // 별점 기록 전 컨텐츠 행 공유 잠금: 별점끼리는 막지 않고, 구간 재계산(lockIdsInRange)과만 순서를 맞춤
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT m FROM Movie m WHERE m.id = :id")
+    Optional<Movie> findByIdForShare(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT m FROM Movie m WHERE m.id IN :ids ORDER BY m.id")
+    List<Movie> findAllByIdForShare(@Param("ids") Collection<Long> ids);
+
+    // 구간 재계산 전 행 잠금 (같은 구간의 별점 기록은 재계산이 커밋될 때까지 대기)
+    @Query(value = "SELECT m.movie_id FROM movies m WHERE m.movie_id BETWEEN :fromId AND :toId FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 별점 변화량을 현재 DB 값에 더해서 반영 (엔티티를 거치지 않으므로 다른 트랜잭션의 저장이 덮어쓰지 않음)
+    @Modifying
+    @Query(value = """
+        UPDATE movies m
+        SET m.combined_rating = CASE
+                WHEN m.vote_count + m.user_rating_count + :countDelta = 0 THEN 0
+                ELSE ROUND((m.vote_average / 2 * m.vote_count + m.user_score_sum + :scoreDelta)
+                           / (m.vote_count + m.user_rating_count + :countDelta), 2)
+            END,
+            m.user_score_sum = m.user_score_sum + :scoreDelta,
+            m.user_rating_count = m.user_rating_count + :countDelta
+        WHERE m.movie_id = :id
+        """, nativeQuery = true)
+    int applyUserRatingDelta(@Param("id") Long id, @Param("scoreDelta") double scoreDelta,
+                             @Param("countDelta") long countDelta);
+
+    // TMDB 평점/투표 수가 바뀐 뒤 통합 평점을 DB의 사용자 누적 값 기준으로 다시 계산
+    @Modifying
+    @Query(value = """
+        UPDATE movies m
+        SET m.combined_rating = CASE
+                WHEN m.vote_count + m.user_rating_count = 0 THEN 0
+                ELSE ROUND((m.vote_average / 2 * m.vote_count + m.user_score_sum)
+                           / (m.vote_count + m.user_rating_count), 2)
+            END
+        WHERE m.movie_id = :id
+        """, nativeQuery = true)
+    int refreshCombinedRating(@Param("id") Long id);
+
+    @Query("SELECT m.combinedRating FROM Movie m WHERE m.id = :id")
+    Double findCombinedRatingById(@Param("id") Long id);
+
+    // ID 구간 단위로 사용자 별점 누적 값과 통합 평점을 집계 조인 한 번으로 재계산 (구간별 독립 트랜잭션)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE movies m
+        LEFT JOIN (
+            SELECT r.movie_id, SUM(r.score_half_stars) / 2 AS score_sum, COUNT(r.rating_id) AS rating_count
+            FROM ratings r
+            WHERE r.movie_id BETWEEN :fromId AND :toId
+            GROUP BY r.movie_id
+        ) agg ON agg.movie_id = m.movie_id
+        SET m.user_score_sum = COALESCE(agg.score_sum, 0),
+            m.user_rating_count = COALESCE(agg.rating_count, 0),
+            m.combined_rating = CASE
+                WHEN m.vote_count + COALESCE(agg.rating_count, 0) = 0 THEN 0
+                ELSE ROUND((m.vote_average / 2 * m.vote_count + COALESCE(agg.score_sum, 0))
+                           / (m.vote_count + COALESCE(agg.rating_count, 0)), 2)
+            END
+        WHERE m.movie_id BETWEEN :fromId AND :toId
+        """, nativeQuery = true)
+    int recomputeCombinedRatingsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     // 제목으로 검색 (대소문자 구분 없음)
     @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     List<Movie> findByTitleContainingIgnoreCase(@Param("title") String title);
 
-    // 페이징 지원 제목 검색
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    Page<Movie> findByTitleContainingIgnoreCase(@Param("title") String title, Pageable pageable);
-
     // 기본 검색
     List<Movie> findByTitleContaining(String title);
 
@@ -54,89 +143,31 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE m.releaseDate LIKE CONCAT(:year, '%')")
     List<Movie> findByReleaseYear(@Param("year") String year);
 
-    // 여러 장르 검색
-    @Query("SELECT DISTINCT m FROM Movie m JOIN m.genres g WHERE g.id IN :genreIds")
-    Page<Movie> findByGenres_IdIn(@Param("genreIds") List<Long> genreIds, Pageable pageable);
-
     // 평점 범위 검색
     Page<Movie> findByVoteAverageBetween(Double minRating, Double maxRating, Pageable pageable);
 
-    // 복합 검색 (제목 + 장르)
-    @Query("SELECT DISTINCT m FROM Movie m JOIN m.genres g WHERE " +
-            "LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND g.id IN :genreIds")
-    Page<Movie> findByTitleContainingIgnoreCaseAndGenres_IdIn(
-            @Param("title") String title,
-            @Param("genreIds") List<Long> genreIds,
-            Pageable pageable);
-
-    // ⭐ 통합 평점 기준 정렬된 영화 목록
-    @Query("SELECT m FROM Movie m WHERE m.combinedRating IS NOT NULL ORDER BY m.combinedRating DESC")
-    List<Movie> findTop20ByOrderByCombinedRatingDesc();
-
-    // ⭐ 통합 평점 범위 검색
-    @Query("SELECT m FROM Movie m WHERE COALESCE(m.combinedRating, m.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Movie> findByCombinedRatingBetween(@Param("minRating") Double minRating,
-                                            @Param("maxRating") Double maxRating,
-                                            Pageable pageable);
-
-    // 제목 + 통합평점 범위 검색
-    @Query("SELECT DISTINCT m FROM Movie m WHERE " +
-            "LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "COALESCE(m.combinedRating, m.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Movie> findByTitleContainingIgnoreCaseAndCombinedRatingBetween(
-            @Param("title") String title,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            Pageable pageable
-    );
-
-    // 장르 + 통합평점 범위 검색
-    @Query("SELECT DISTINCT m FROM Movie m JOIN m.genres g WHERE " +
-            "g.id IN :genreIds AND " +
-            "COALESCE(m.combinedRating, m.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Movie> findByGenres_IdInAndCombinedRatingBetween(
-            @Param("genreIds") List<Long> genreIds,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            Pageable pageable
-    );
-
-    // 🏆 최고급 복합 검색: 제목 + 장르 + 통합평점
-    @Query("SELECT DISTINCT m FROM Movie m JOIN m.genres g WHERE " +
-            "LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "g.id IN :genreIds AND " +
-            "COALESCE(m.combinedRating, m.voteAverage/2) BETWEEN :minRating AND :maxRating")
-    Page<Movie> findByTitleContainingIgnoreCaseAndGenres_IdInAndCombinedRatingBetween(
-            @Param("title") String title,
-            @Param("genreIds") List<Long> genreIds,
-            @Param("minRating") Double minRating,
-            @Param("maxRating") Double maxRating,
-            Pageable pageable
-    );
-
-    // 개봉년도 + 제목 복합 검색 (페이징 지원)
-    @Query("SELECT DISTINCT m FROM Movie m WHERE " +
-            "LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "m.releaseDate LIKE CONCAT(:year, '%')")
-    Page<Movie> findByTitleContainingIgnoreCaseAndReleaseYear(
-            @Param("title") String title,
-            @Param("year") String year,
-            Pageable pageable
-    );
+    // ⭐ 평점 순위표 재구성용 (ID, 통합 평점(없으면 TMDB 평점 / 2), TMDB 투표 수, 사용자 별점 수)
+    @Query("SELECT m.id, COALESCE(m.combinedRating, m.voteAverage / 2.0), COALESCE(m.voteCount, 0), " +
+            "COALESCE(m.userRatingCount, 0) FROM Movie m")
+    List<Object[]> findLeaderboardRows();
+
+    // 제목 n-gram 색인 재구성용 (ID, 제목)
+    @Query("SELECT m.id, m.title FROM Movie m")
+    List<Object[]> findTitleRows();
+
+    // 자동완성 색인 재구성용 (ID, 제목, 포스터, 통합 평점, TMDB 평점, TMDB 투표 수, 사용자 별점 수)
+    @Query("SELECT m.id, m.title, m.posterPath, m.combinedRating, m.voteAverage, m.voteCount, m.userRatingCount FROM Movie m")
+    List<Object[]> findSuggestRows();
+
+    // 장르 누적 값 갱신용 (ID, 장르 ID)
+    @Query("SELECT m.id, g.id FROM Movie m JOIN m.genres g WHERE m.id IN :ids")
+    List<Object[]> findGenreIdsByMovieIdIn(@Param("ids") Collection<Long> ids);
+
+    // 목록 페이지 일괄 조회용 (ID, 장르명) - 영화별 장르 컬렉션 지연 로딩 대신 사용
+    @Query("SELECT m.id, g.name FROM Movie m JOIN m.genres g WHERE m.id IN :ids ORDER BY g.id")
+    List<Object[]> findGenreNamesByMovieIdIn(@Param("ids") Collection<Long> ids);
 
     // 개봉년도 검색 (페이징 지원)
     @Query("SELECT m FROM Movie m WHERE m.releaseDate LIKE CONCAT(:year, '%')")
     Page<Movie> findByReleaseYear(@Param("year") String year, Pageable pageable);
-
-    // 🌟 추가: 제목 + 장르 + 개봉년도 복합 검색
-    @Query("SELECT DISTINCT m FROM Movie m JOIN m.genres g WHERE " +
-            "LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND " +
-            "g.id IN :genreIds AND " +
-            "m.releaseDate LIKE CONCAT(:year, '%')")
-    Page<Movie> findByTitleContainingIgnoreCaseAndGenres_IdInAndReleaseYear(
-            @Param("title") String title,
-            @Param("genreIds") List<Long> genreIds,
-            @Param("year") String year,
-            Pageable pageable
-    );
 }
\ No newline at end of file
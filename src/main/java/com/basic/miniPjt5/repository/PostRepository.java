@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +23,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     void deleteByContentTypeAndContentId(ContentType contentType, Long contentId);
 
+    // 인기 작품 순위 재구성용: 기준 시각 이후 작성된 게시글 (컨텐츠 타입, 컨텐츠 ID, 작성 시각)
+    @Query("SELECT p.contentType, p.contentId, p.createdAt FROM Post p WHERE p.createdAt >= :since")
+    List<Object[]> findActivitySince(@Param("since") LocalDateTime since);
+
 }
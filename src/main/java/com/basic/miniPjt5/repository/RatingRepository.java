@@ -3,11 +3,14 @@ package com.basic.miniPjt5.repository;
 import com.basic.miniPjt5.entity.Rating;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,17 +30,31 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     @Query("SELECT r FROM Rating r WHERE r.user.userId = :userId ORDER BY r.createdAt DESC")
     Page<Rating> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, Pageable pageable);
 
+    // 사용자 하드 삭제 전 누적 값 차감용 (영화 ID, 드라마 ID, 0.5점 단위 점수)
+    @Query("SELECT m.id, d.id, r.halfStars FROM Rating r LEFT JOIN r.movie m LEFT JOIN r.drama d WHERE r.user.userId = :userId")
+    List<Object[]> findScoreRowsByUserId(@Param("userId") Long userId);
+
     // 컨텐츠별 모든 별점 조회
     List<Rating> findByMovieId(Long movieId);
     List<Rating> findByDramaId(Long dramaId);
     Page<Rating> findByMovieIdOrderByCreatedAtDesc(Long movieId, Pageable pageable);
     Page<Rating> findByDramaIdOrderByCreatedAtDesc(Long dramaId, Pageable pageable);
 
+    // COUNT 없는 목록 조회 (size + 1개로 다음 페이지 여부만 판단)
+    @Query("SELECT r FROM Rating r WHERE r.movie.id = :movieId ORDER BY r.createdAt DESC")
+    Slice<Rating> findSliceByMovieId(@Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT r FROM Rating r WHERE r.drama.id = :dramaId ORDER BY r.createdAt DESC")
+    Slice<Rating> findSliceByDramaId(@Param("dramaId") Long dramaId, Pageable pageable);
+
+    @Query("SELECT r FROM Rating r WHERE r.user.userId = :userId ORDER BY r.createdAt DESC")
+    Slice<Rating> findSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
     // 컨텐츠별 평균 별점 조회
-    @Query("SELECT AVG(r.score) FROM Rating r WHERE r.movie.id = :movieId")
+    @Query("SELECT AVG(r.halfStars) / 2.0 FROM Rating r WHERE r.movie.id = :movieId")
     Optional<Double> findAverageScoreByMovieId(@Param("movieId") Long movieId);
 
-    @Query("SELECT AVG(r.score) FROM Rating r WHERE r.drama.id = :dramaId")
+    @Query("SELECT AVG(r.halfStars) / 2.0 FROM Rating r WHERE r.drama.id = :dramaId")
     Optional<Double> findAverageScoreByDramaId(@Param("dramaId") Long dramaId);
 
     // 컨텐츠별 별점 수 조회
@@ -47,129 +64,33 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     @Query("SELECT COUNT(r) FROM Rating r WHERE r.drama.id = :dramaId")
     Long countByDramaId(@Param("dramaId") Long dramaId);
 
-    // 점수 분포 조회
-    @Query("SELECT r.score, COUNT(r) FROM Rating r WHERE r.movie.id = :movieId GROUP BY r.score")
+    // 목록 페이지 일괄 조회용 (컨텐츠 ID, 평균 별점, 별점 수)
+    @Query("SELECT r.movie.id, AVG(r.halfStars) / 2.0, COUNT(r) FROM Rating r WHERE r.movie.id IN :movieIds GROUP BY r.movie.id")
+    List<Object[]> findRatingSummaryByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    @Query("SELECT r.drama.id, AVG(r.halfStars) / 2.0, COUNT(r) FROM Rating r WHERE r.drama.id IN :dramaIds GROUP BY r.drama.id")
+    List<Object[]> findRatingSummaryByDramaIdIn(@Param("dramaIds") Collection<Long> dramaIds);
+
+    // 점수 분포 조회 (0.5점 단위 정수, 개수)
+    @Query("SELECT r.halfStars, COUNT(r) FROM Rating r WHERE r.movie.id = :movieId GROUP BY r.halfStars")
     Object[][] findScoreDistributionByMovieId(@Param("movieId") Long movieId);
 
-    @Query("SELECT r.score, COUNT(r) FROM Rating r WHERE r.drama.id = :dramaId GROUP BY r.score")
+    @Query("SELECT r.halfStars, COUNT(r) FROM Rating r WHERE r.drama.id = :dramaId GROUP BY r.halfStars")
     Object[][] findScoreDistributionByDramaId(@Param("dramaId") Long dramaId);
 
     // === 평점 통계 관련 추가 쿼리들 ===
 
-    // 평점 높은 영화 목록 (평점 3개 이상인 작품만)
-    @Query(value = """
-        SELECT m.movie_id, 'MOVIE' as content_type, m.title, m.poster_path, 
-               COALESCE(m.combined_rating, m.vote_average) as combined_score, 
-               (m.vote_count + COALESCE(user_ratings.rating_count, 0)) as total_count
-        FROM movies m 
-        LEFT JOIN (
-            SELECT r.movie_id, COUNT(r.rating_id) as rating_count 
-            FROM ratings r 
-            GROUP BY r.movie_id
-        ) user_ratings ON m.movie_id = user_ratings.movie_id
-        WHERE COALESCE(m.combined_rating, m.vote_average) IS NOT NULL
-        ORDER BY combined_score DESC, total_count DESC
-        """, nativeQuery = true)
-    Page<Object[]> findTopRatedMovies(Pageable pageable);
-
-    // 통합 평점 높은 드라마 목록 (combinedRating 기준)
-    @Query(value = """
-        SELECT d.drama_id, 'DRAMA' as content_type, d.title, d.poster_path, 
-               COALESCE(d.combined_rating, d.vote_average) as combined_score,
-               (d.vote_count + COALESCE(user_ratings.rating_count, 0)) as total_count
-        FROM dramas d 
-        LEFT JOIN (
-            SELECT r.drama_id, COUNT(r.rating_id) as rating_count 
-            FROM ratings r 
-            GROUP BY r.drama_id
-        ) user_ratings ON d.drama_id = user_ratings.drama_id
-        WHERE COALESCE(d.combined_rating, d.vote_average) IS NOT NULL
-        ORDER BY combined_score DESC, total_count DESC
-        """, nativeQuery = true)
-    Page<Object[]> findTopRatedDramas(Pageable pageable);
-
-    // 최근 1주일간 평점이 많이 등록된 영화들 (통합 평점 포함)
-    @Query(value = """
-        SELECT m.movie_id, m.title, m.poster_path, 
-               COALESCE(m.combined_rating, m.vote_average) as combined_score, 
-               COUNT(r.rating_id) as recent_count
-        FROM movies m 
-        INNER JOIN ratings r ON m.movie_id = r.movie_id 
-        WHERE r.created_at >= DATE_SUB(NOW(), INTERVAL 7 DAY)
-        GROUP BY m.movie_id, m.title, m.poster_path, m.combined_rating, m.vote_average
-        ORDER BY recent_count DESC, combined_score DESC 
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Object[]> findRecentlyPopularMovies(@Param("limit") int limit);
-
-    // 최근 1주일간 평점이 많이 등록된 드라마들 (통합 평점 포함)
-    @Query(value = """
-        SELECT d.drama_id, d.title, d.poster_path, 
-               COALESCE(d.combined_rating, d.vote_average) as combined_score, 
-               COUNT(r.rating_id) as recent_count
-        FROM dramas d 
-        INNER JOIN ratings r ON d.drama_id = r.drama_id 
-        WHERE r.created_at >= DATE_SUB(NOW(), INTERVAL 7 DAY)
-        GROUP BY d.drama_id, d.title, d.poster_path, d.combined_rating, d.vote_average
-        ORDER BY recent_count DESC, combined_score DESC 
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Object[]> findRecentlyPopularDramas(@Param("limit") int limit);
-
-    // 영화 장르별 평균 평점 (통합 평점 기준)
-    @Query(value = """
-        SELECT g.name as genre_name, 
-               AVG(COALESCE(m.combined_rating, m.vote_average)) as avg_combined_score, 
-               COUNT(DISTINCT m.movie_id) as movie_count
-        FROM genres g 
-        INNER JOIN movie_genre mg ON g.genre_id = mg.genre_id 
-        INNER JOIN movies m ON mg.movie_id = m.movie_id 
-        WHERE COALESCE(m.combined_rating, m.vote_average) IS NOT NULL
-        GROUP BY g.genre_id, g.name 
-        HAVING COUNT(DISTINCT m.movie_id) >= 3
-        ORDER BY avg_combined_score DESC
-        """, nativeQuery = true)
-    List<Object[]> findAverageRatingByMovieGenre();
-
-    // 드라마 장르별 평균 평점 (통합 평점 기준)
-    @Query(value = """
-        SELECT g.name as genre_name, 
-               AVG(COALESCE(d.combined_rating, d.vote_average)) as avg_combined_score, 
-               COUNT(DISTINCT d.drama_id) as drama_count
-        FROM genres g 
-        INNER JOIN drama_genre dg ON g.genre_id = dg.genre_id 
-        INNER JOIN dramas d ON dg.drama_id = d.drama_id 
-        WHERE COALESCE(d.combined_rating, d.vote_average) IS NOT NULL
-        GROUP BY g.genre_id, g.name 
-        HAVING COUNT(DISTINCT d.drama_id) >= 3
-        ORDER BY avg_combined_score DESC
-        """, nativeQuery = true)
-    List<Object[]> findAverageRatingByDramaGenre();
-
-    // 사용자별 평균 평점 - userId 필드명으로 수정
-    @Query("SELECT AVG(r.score) FROM Rating r WHERE r.user.userId = :userId")
-    Optional<Double> findAverageScoreByUserId(@Param("userId") Long userId);
-
-    // 사용자 평점 개수 - @Query로 명시적 작성
-    @Query("SELECT COUNT(r) FROM Rating r WHERE r.user.userId = :userId")
-    Long countByUserId(@Param("userId") Long userId);
-
-    // 사용자 평점 분포 - userId 필드명으로 수정
-    @Query("SELECT r.score, COUNT(r) FROM Rating r WHERE r.user.userId = :userId GROUP BY r.score ORDER BY r.score")
+    // 인기 작품 순위 재구성용: 기준 시각 이후 등록된 별점 (영화 ID, 드라마 ID, 등록 시각)
+    @Query("SELECT m.id, d.id, r.createdAt FROM Rating r LEFT JOIN r.movie m LEFT JOIN r.drama d WHERE r.createdAt >= :since")
+    List<Object[]> findActivitySince(@Param("since") LocalDateTime since);
+
+    // 사용자 평점 분포 (0.5점 단위 정수, 개수)
+    @Query("SELECT r.halfStars, COUNT(r) FROM Rating r WHERE r.user.userId = :userId GROUP BY r.halfStars ORDER BY r.halfStars")
     Object[][] findScoreDistributionByUserId(@Param("userId") Long userId);
 
-    // 사용자가 5점을 준 작품들
-    @Query(value = """
-    SELECT 'MOVIE' as content_type, m.title, r.score, r.created_at
-    FROM ratings r 
-    INNER JOIN movies m ON r.movie_id = m.movie_id 
-    WHERE r.user_id = :userId AND r.score = 5.0
-    UNION ALL
-    SELECT 'DRAMA' as content_type, d.title, r.score, r.created_at
-    FROM ratings r 
-    INNER JOIN dramas d ON r.drama_id = d.drama_id 
-    WHERE r.user_id = :userId AND r.score = 5.0
-    ORDER BY created_at DESC
-    """, nativeQuery = true)
-    List<Object[]> findUserTopRatedContents(@Param("userId") Long userId);
+    // 사용자가 5점을 준 작품들 - 최근 순 (영화 ID, 영화 제목, 드라마 ID, 드라마 제목, 등록 시각)
+    @Query("SELECT m.id, m.title, d.id, d.title, r.createdAt FROM Rating r " +
+            "LEFT JOIN r.movie m LEFT JOIN r.drama d " +
+            "WHERE r.user.userId = :userId AND r.halfStars = 10 ORDER BY r.createdAt DESC")
+    List<Object[]> findRecentTopRatedByUserId(@Param("userId") Long userId, Pageable pageable);
 }
\ No newline at end of file
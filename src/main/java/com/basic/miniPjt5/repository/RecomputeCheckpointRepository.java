@@ -0,0 +1,10 @@
+package com.basic.miniPjt5.repository;
+
+import com.basic.miniPjt5.entity.RecomputeCheckpoint;
+import com.basic.miniPjt5.enums.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecomputeCheckpointRepository extends JpaRepository<RecomputeCheckpoint, ContentType> {
+}
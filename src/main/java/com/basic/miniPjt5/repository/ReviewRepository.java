@@ -3,17 +3,45 @@ package com.basic.miniPjt5.repository;
 import com.basic.miniPjt5.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    // 인기 작품 순위 재구성용: 기준 시각 이후 작성된 리뷰 (영화 ID, 드라마 ID, 작성 시각)
+    @Query("SELECT m.id, d.id, r.createdAt FROM Review r LEFT JOIN r.movie m LEFT JOIN r.drama d WHERE r.createdAt >= :since")
+    List<Object[]> findActivitySince(@Param("since") LocalDateTime since);
+
+    // 리뷰 키워드 색인 재구성용 (리뷰 ID, 본문)
+    @Query("SELECT r.id, r.content FROM Review r")
+    List<Object[]> findContentRows();
+
+    // 색인 스냅샷 이후 새로 작성되었거나 수정된 리뷰 (리뷰 ID, 본문)
+    @Query("SELECT r.id, r.content FROM Review r WHERE r.id > :afterId OR r.updatedAt >= :since")
+    List<Object[]> findContentRowsChangedAfter(@Param("afterId") Long afterId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT r.id FROM Review r")
+    List<Long> findAllIds();
+
+    // 컨텐츠/사용자 삭제 시 함께 지워지는 리뷰 ID (검색 색인에서 제거용)
+    @Query("SELECT r.id FROM Review r WHERE r.movie.id = :movieId")
+    List<Long> findIdsByMovieId(@Param("movieId") Long movieId);
+
+    @Query("SELECT r.id FROM Review r WHERE r.drama.id = :dramaId")
+    List<Long> findIdsByDramaId(@Param("dramaId") Long dramaId);
+
+    @Query("SELECT r.id FROM Review r WHERE r.user.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
     // 영화별 리뷰 조회
     Page<Review> findByMovieIdOrderByCreatedAtDesc(Long movieId, Pageable pageable);
     List<Review> findByMovieId(Long movieId);
@@ -40,6 +68,19 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r ORDER BY r.createdAt DESC")
     Page<Review> findLatestReviews(Pageable pageable);
 
+    // COUNT 없는 목록 조회 (size + 1개로 다음 페이지 여부만 판단)
+    @Query("SELECT r FROM Review r WHERE r.movie.id = :movieId ORDER BY r.createdAt DESC")
+    Slice<Review> findSliceByMovieId(@Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.drama.id = :dramaId ORDER BY r.createdAt DESC")
+    Slice<Review> findSliceByDramaId(@Param("dramaId") Long dramaId, Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.user.userId = :userId ORDER BY r.createdAt DESC")
+    Slice<Review> findSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT r FROM Review r ORDER BY r.createdAt DESC")
+    Slice<Review> findLatestReviewsSlice(Pageable pageable);
+
     // 컨텐츠별 리뷰 수 조회
     @Query("SELECT COUNT(r) FROM Review r WHERE r.movie.id = :movieId")
     Long countByMovieId(@Param("movieId") Long movieId);
@@ -47,6 +88,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT COUNT(r) FROM Review r WHERE r.drama.id = :dramaId")
     Long countByDramaId(@Param("dramaId") Long dramaId);
 
+    // 목록 페이지 일괄 조회용 (컨텐츠 ID, 리뷰 수)
+    @Query("SELECT r.movie.id, COUNT(r) FROM Review r WHERE r.movie.id IN :movieIds GROUP BY r.movie.id")
+    List<Object[]> countByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    @Query("SELECT r.drama.id, COUNT(r) FROM Review r WHERE r.drama.id IN :dramaIds GROUP BY r.drama.id")
+    List<Object[]> countByDramaIdIn(@Param("dramaIds") Collection<Long> dramaIds);
+
     // 특정 사용자가 작성한 리뷰인지 확인
     @Query("SELECT COUNT(r) > 0 FROM Review r WHERE r.id = :reviewId AND r.user.userId = :userId")
     boolean existsByIdAndUserId(@Param("reviewId") Long reviewId, @Param("userId") Long userId);
@@ -72,8 +120,4 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // 스포일러가 아닌 리뷰만 조회 (드라마)
     @Query("SELECT r FROM Review r WHERE r.drama.id = :dramaId AND r.isSpoiler = false ORDER BY r.createdAt DESC")
     Page<Review> findNonSpoilerReviewsByDramaId(@Param("dramaId") Long dramaId, Pageable pageable);
-
-    // 텍스트 검색 (제목 + 내용)
-    @Query("SELECT r FROM Review r WHERE (LOWER(r.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) ORDER BY r.createdAt DESC")
-    Page<Review> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.basic.miniPjt5.repository;
+
+import com.basic.miniPjt5.entity.ScoreHistogram;
+import com.basic.miniPjt5.enums.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScoreHistogramRepository extends JpaRepository<ScoreHistogram, Long> {
+
+    Optional<ScoreHistogram> findByContentTypeAndContentId(ContentType contentType, Long contentId);
+
+    List<ScoreHistogram> findByContentTypeAndContentIdIn(ContentType contentType, Collection<Long> contentIds);
+
+    void deleteByContentTypeAndContentId(ContentType contentType, Long contentId);
+
+    // ID 구간의 분포 행을 ratings 테이블 기준으로 재구성 (일괄 재계산용)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO score_histograms (content_type, content_id,
+            bucket_1, bucket_2, bucket_3, bucket_4, bucket_5, bucket_6, bucket_7, bucket_8, bucket_9, bucket_10)
+        SELECT 'MOVIE', c.movie_id,
+            SUM(CASE WHEN r.score_half_stars = 1 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 2 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 3 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 4 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 5 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 6 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 7 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 8 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 9 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 10 THEN 1 ELSE 0 END)
+        FROM movies c
+        LEFT JOIN ratings r ON r.movie_id = c.movie_id
+        WHERE c.movie_id BETWEEN :fromId AND :toId
+        GROUP BY c.movie_id
+        ON DUPLICATE KEY UPDATE
+            bucket_1 = VALUES(bucket_1),
+            bucket_2 = VALUES(bucket_2),
+            bucket_3 = VALUES(bucket_3),
+            bucket_4 = VALUES(bucket_4),
+            bucket_5 = VALUES(bucket_5),
+            bucket_6 = VALUES(bucket_6),
+            bucket_7 = VALUES(bucket_7),
+            bucket_8 = VALUES(bucket_8),
+            bucket_9 = VALUES(bucket_9),
+            bucket_10 = VALUES(bucket_10)
+        """, nativeQuery = true)
+    int rebuildMovieHistogramsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // ID 구간의 분포 행을 ratings 테이블 기준으로 재구성 (일괄 재계산용)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO score_histograms (content_type, content_id,
+            bucket_1, bucket_2, bucket_3, bucket_4, bucket_5, bucket_6, bucket_7, bucket_8, bucket_9, bucket_10)
+        SELECT 'DRAMA', c.drama_id,
+            SUM(CASE WHEN r.score_half_stars = 1 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 2 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 3 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 4 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 5 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 6 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 7 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 8 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 9 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN r.score_half_stars = 10 THEN 1 ELSE 0 END)
+        FROM dramas c
+        LEFT JOIN ratings r ON r.drama_id = c.drama_id
+        WHERE c.drama_id BETWEEN :fromId AND :toId
+        GROUP BY c.drama_id
+        ON DUPLICATE KEY UPDATE
+            bucket_1 = VALUES(bucket_1),
+            bucket_2 = VALUES(bucket_2),
+            bucket_3 = VALUES(bucket_3),
+            bucket_4 = VALUES(bucket_4),
+            bucket_5 = VALUES(bucket_5),
+            bucket_6 = VALUES(bucket_6),
+            bucket_7 = VALUES(bucket_7),
+            bucket_8 = VALUES(bucket_8),
+            bucket_9 = VALUES(bucket_9),
+            bucket_10 = VALUES(bucket_10)
+        """, nativeQuery = true)
+    int rebuildDramaHistogramsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
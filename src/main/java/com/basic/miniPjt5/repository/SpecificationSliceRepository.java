@@ -0,0 +1,49 @@
+package com.basic.miniPjt5.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Specification 조건의 COUNT 없는 페이지 조회 (JpaSpecificationExecutor.findAll(spec, pageable)은 항상 COUNT 실행)
+@Repository
+public class SpecificationSliceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // size + 1개를 읽어 다음 페이지 존재 여부만 판단
+    public <T> Slice<T> findSlice(Class<T> domainClass, Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, criteriaBuilder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        int pageSize = pageable.getPageSize();
+        List<T> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageSize;
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageSize) : rows, pageable, hasNext);
+    }
+}
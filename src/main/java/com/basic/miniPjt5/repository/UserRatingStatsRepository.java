@@ -0,0 +1,114 @@
+package com.basic.miniPjt5.repository;
+
+import com.basic.miniPjt5.entity.UserRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface UserRatingStatsRepository extends JpaRepository<UserRatingStats, Long> {
+
+    // 같은 사용자의 동시 별점 변경 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserRatingStats s WHERE s.userId = :userId")
+    Optional<UserRatingStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    // 통계 행이 없으면 ratings 기준으로 생성 (최근 5점 목록은 null → 첫 갱신 시 채움), 이미 있으면 그대로 둠
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_rating_stats (user_id, rating_count, half_star_sum,
+            bucket_1, bucket_2, bucket_3, bucket_4, bucket_5, bucket_6, bucket_7, bucket_8, bucket_9, bucket_10)
+        SELECT :userId, COUNT(r.rating_id), COALESCE(SUM(r.score_half_stars), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 1 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 2 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 3 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 4 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 5 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 6 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 7 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 8 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 9 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 10 THEN 1 ELSE 0 END), 0)
+        FROM ratings r
+        WHERE r.user_id = :userId
+        ON DUPLICATE KEY UPDATE user_id = user_id
+        """, nativeQuery = true)
+    int initializeFromRatings(@Param("userId") Long userId);
+
+    // 통계 행이 없는 사용자 전체를 ratings 기준으로 한 번에 생성 (기존 데이터 이관용)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_rating_stats (user_id, rating_count, half_star_sum,
+            bucket_1, bucket_2, bucket_3, bucket_4, bucket_5, bucket_6, bucket_7, bucket_8, bucket_9, bucket_10)
+        SELECT r.user_id, COUNT(r.rating_id), COALESCE(SUM(r.score_half_stars), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 1 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 2 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 3 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 4 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 5 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 6 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 7 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 8 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 9 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN r.score_half_stars = 10 THEN 1 ELSE 0 END), 0)
+        FROM ratings r
+        WHERE NOT EXISTS (SELECT 1 FROM user_rating_stats s WHERE s.user_id = r.user_id)
+        GROUP BY r.user_id
+        ON DUPLICATE KEY UPDATE user_id = user_id
+        """, nativeQuery = true)
+    int backfillMissing();
+
+    // 컨텐츠 삭제 전: 해당 컨텐츠에 별점을 준 사용자들의 통계에서 빼고, 5점이었으면 최근 5점 목록을 다시 채우도록 비움
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE user_rating_stats s
+        INNER JOIN ratings r ON r.user_id = s.user_id
+        SET s.rating_count = GREATEST(s.rating_count - 1, 0),
+            s.half_star_sum = GREATEST(s.half_star_sum - r.score_half_stars, 0),
+            s.bucket_1 = GREATEST(s.bucket_1 - (r.score_half_stars = 1), 0),
+            s.bucket_2 = GREATEST(s.bucket_2 - (r.score_half_stars = 2), 0),
+            s.bucket_3 = GREATEST(s.bucket_3 - (r.score_half_stars = 3), 0),
+            s.bucket_4 = GREATEST(s.bucket_4 - (r.score_half_stars = 4), 0),
+            s.bucket_5 = GREATEST(s.bucket_5 - (r.score_half_stars = 5), 0),
+            s.bucket_6 = GREATEST(s.bucket_6 - (r.score_half_stars = 6), 0),
+            s.bucket_7 = GREATEST(s.bucket_7 - (r.score_half_stars = 7), 0),
+            s.bucket_8 = GREATEST(s.bucket_8 - (r.score_half_stars = 8), 0),
+            s.bucket_9 = GREATEST(s.bucket_9 - (r.score_half_stars = 9), 0),
+            s.bucket_10 = GREATEST(s.bucket_10 - (r.score_half_stars = 10), 0),
+            s.recent_top_rated = CASE WHEN r.score_half_stars = 10 THEN NULL ELSE s.recent_top_rated END
+        WHERE r.movie_id = :movieId
+        """, nativeQuery = true)
+    int subtractMovieRatings(@Param("movieId") Long movieId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE user_rating_stats s
+        INNER JOIN ratings r ON r.user_id = s.user_id
+        SET s.rating_count = GREATEST(s.rating_count - 1, 0),
+            s.half_star_sum = GREATEST(s.half_star_sum - r.score_half_stars, 0),
+            s.bucket_1 = GREATEST(s.bucket_1 - (r.score_half_stars = 1), 0),
+            s.bucket_2 = GREATEST(s.bucket_2 - (r.score_half_stars = 2), 0),
+            s.bucket_3 = GREATEST(s.bucket_3 - (r.score_half_stars = 3), 0),
+            s.bucket_4 = GREATEST(s.bucket_4 - (r.score_half_stars = 4), 0),
+            s.bucket_5 = GREATEST(s.bucket_5 - (r.score_half_stars = 5), 0),
+            s.bucket_6 = GREATEST(s.bucket_6 - (r.score_half_stars = 6), 0),
+            s.bucket_7 = GREATEST(s.bucket_7 - (r.score_half_stars = 7), 0),
+            s.bucket_8 = GREATEST(s.bucket_8 - (r.score_half_stars = 8), 0),
+            s.bucket_9 = GREATEST(s.bucket_9 - (r.score_half_stars = 9), 0),
+            s.bucket_10 = GREATEST(s.bucket_10 - (r.score_half_stars = 10), 0),
+            s.recent_top_rated = CASE WHEN r.score_half_stars = 10 THEN NULL ELSE s.recent_top_rated END
+        WHERE r.drama_id = :dramaId
+        """, nativeQuery = true)
+    int subtractDramaRatings(@Param("dramaId") Long dramaId);
+}
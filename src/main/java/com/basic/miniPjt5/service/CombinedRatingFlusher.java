@@ -0,0 +1,184 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import com.basic.miniPjt5.service.GenreRatingRollupService.ScoreChange;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.ContentKey;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.RatingDelta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// RatingDeltaBuffer에 모인 별점 변화량을 주기적으로 합쳐서 영화/드라마 누적 값·통합 평점·별점 분포·평점 순위표·장르별 누적 값에 일괄 반영
+@Service
+@Slf4j
+public class CombinedRatingFlusher {
+
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final MovieRepository movieRepository;
+    private final DramaRepository dramaRepository;
+    private final ScoreHistogramService scoreHistogramService;
+    private final ContentLeaderboard contentLeaderboard;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    // 반영 작업(쓰기 락)과 일괄 재계산 구간(읽기 락, 구간끼리는 병렬)이 같은 변화량을 두 번 반영하지 않도록 분리
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    // 실행 중 표시 파일: 기동 시 만들고, 종료 시 남은 변화량을 모두 반영하면 지움 (남아 있으면 지난 종료가 비정상)
+    @Value("${rating.buffer.running-marker:${java.io.tmpdir}/seenit-rating-buffer.running}")
+    private String runningMarker;
+
+    private boolean uncleanShutdown;
+
+    public CombinedRatingFlusher(RatingDeltaBuffer ratingDeltaBuffer,
+                                 MovieRepository movieRepository,
+                                 DramaRepository dramaRepository,
+                                 ScoreHistogramService scoreHistogramService,
+                                 ContentLeaderboard contentLeaderboard,
+                                 ContentSuggestIndex contentSuggestIndex,
+                                 GenreRatingRollupService genreRatingRollupService,
+                                 PlatformTransactionManager transactionManager) {
+        this.ratingDeltaBuffer = ratingDeltaBuffer;
+        this.movieRepository = movieRepository;
+        this.dramaRepository = dramaRepository;
+        this.scoreHistogramService = scoreHistogramService;
+        this.contentLeaderboard = contentLeaderboard;
+        this.contentSuggestIndex = contentSuggestIndex;
+        this.genreRatingRollupService = genreRatingRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void markRunning() {
+        Path marker = Paths.get(runningMarker);
+        uncleanShutdown = Files.exists(marker);
+        try {
+            Files.createDirectories(marker.toAbsolutePath().getParent());
+            Files.write(marker, new byte[0]);
+        } catch (IOException e) {
+            log.warn("별점 버퍼 실행 표시 파일 생성 실패: {}", marker, e);
+        }
+        if (uncleanShutdown) {
+            log.warn("지난 종료 때 별점 변화량이 모두 반영되지 않았을 수 있음 - 기동 후 일괄 재계산으로 복구");
+        }
+    }
+
+    // 지난 실행이 남은 변화량을 반영하지 못하고 끝났는지 (CombinedRatingRecomputeJob 기동 시 재계산 여부)
+    public boolean wasUncleanShutdown() {
+        return uncleanShutdown;
+    }
+
+    @Scheduled(fixedDelayString = "${rating.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            Map<ContentKey, RatingDelta> deltas = ratingDeltaBuffer.drain();
+            if (deltas.isEmpty()) return;
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(deltas));
+            } catch (RuntimeException e) {
+                // 실패한 변화량은 다음 주기에 다시 반영
+                ratingDeltaBuffer.restore(deltas);
+                log.error("별점 변화량 반영 실패: contents={}", deltas.size(), e);
+                throw e;
+            }
+            log.debug("별점 변화량 반영 완료: contents={}", deltas.size());
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    // 종료 시 남은 변화량 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+            Files.deleteIfExists(Paths.get(runningMarker));
+        } catch (RuntimeException e) {
+            log.error("종료 시 별점 변화량 반영 실패 - 다음 기동 시 일괄 재계산으로 복구됩니다.", e);
+        } catch (IOException e) {
+            log.warn("별점 버퍼 실행 표시 파일 삭제 실패: {}", runningMarker, e);
+        }
+    }
+
+    // 반영을 멈춘 상태에서 작업 실행 (일괄 재계산용)
+    public <T> T runWithFlushPaused(Supplier<T> action) {
+        flushLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    private void apply(Map<ContentKey, RatingDelta> deltas) {
+        Map<Long, RatingDelta> movieDeltas = new HashMap<>();
+        Map<Long, RatingDelta> dramaDeltas = new HashMap<>();
+        deltas.forEach((key, delta) -> {
+            if (key.getContentType() == ContentType.MOVIE) {
+                movieDeltas.put(key.getContentId(), delta);
+            } else {
+                dramaDeltas.put(key.getContentId(), delta);
+            }
+        });
+
+        // 한 번의 IN 조회 후 컨텐츠마다 상대 UPDATE (누적 컬럼은 updatable=false라 관리자 수정/TMDB 저장이 덮어쓰지 않음).
+        // 누적 값은 이 반영 작업과 구간 재계산(서로 배타적)만 바꾸므로 조회 값 + 변화량 = 반영 후 DB 값
+        if (!movieDeltas.isEmpty()) {
+            Map<Long, RatingDelta> applied = new HashMap<>();
+            Map<Long, ScoreChange> scoreChanges = new HashMap<>();
+            for (Movie movie : movieRepository.findAllById(movieDeltas.keySet())) {
+                RatingDelta delta = movieDeltas.get(movie.getId());
+                Double oldScore = GenreRatingRollupService.scoreOf(movie);
+                movieRepository.applyUserRatingDelta(movie.getId(), delta.getScoreSum(), delta.getCount());
+                movie.applyUserRatingDelta(delta.getScoreSum(), delta.getCount());
+                movie.setCombinedRating(movie.calculateCombinedRating());
+                contentLeaderboard.update(movie);
+                contentSuggestIndex.update(movie);
+                applied.put(movie.getId(), delta);
+                scoreChanges.put(movie.getId(), new ScoreChange(oldScore, GenreRatingRollupService.scoreOf(movie)));
+            }
+            // 그 사이 삭제된 컨텐츠의 변화량은 버림
+            scoreHistogramService.applyDeltas(ContentType.MOVIE, applied);
+            genreRatingRollupService.applyScoreChanges(ContentType.MOVIE, scoreChanges);
+        }
+        if (!dramaDeltas.isEmpty()) {
+            Map<Long, RatingDelta> applied = new HashMap<>();
+            Map<Long, ScoreChange> scoreChanges = new HashMap<>();
+            for (Drama drama : dramaRepository.findAllById(dramaDeltas.keySet())) {
+                RatingDelta delta = dramaDeltas.get(drama.getId());
+                Double oldScore = GenreRatingRollupService.scoreOf(drama);
+                dramaRepository.applyUserRatingDelta(drama.getId(), delta.getScoreSum(), delta.getCount());
+                drama.applyUserRatingDelta(delta.getScoreSum(), delta.getCount());
+                drama.setCombinedRating(drama.calculateCombinedRating());
+                contentLeaderboard.update(drama);
+                contentSuggestIndex.update(drama);
+                applied.put(drama.getId(), delta);
+                scoreChanges.put(drama.getId(), new ScoreChange(oldScore, GenreRatingRollupService.scoreOf(drama)));
+            }
+            // 그 사이 삭제된 컨텐츠의 변화량은 버림
+            scoreHistogramService.applyDeltas(ContentType.DRAMA, applied);
+            genreRatingRollupService.applyScoreChanges(ContentType.DRAMA, scoreChanges);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.RecomputeCheckpoint;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import com.basic.miniPjt5.repository.RecomputeCheckpointRepository;
+import com.basic.miniPjt5.repository.ScoreHistogramRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.ContentKey;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.RatingDelta;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 영화/드라마 전체의 사용자 별점 누적 값·별점 분포·통합 평점을 ID 구간 단위로 일괄 재계산하는 작업.
+ * 구간마다 (행 잠금 → 버퍼 변화량 폐기 → 분포 재구성 → 집계 조인 UPDATE)를 하나의 트랜잭션으로 실행하고, 연속으로 완료된 구간까지 체크포인트를 남겨
+ * 중단되더라도 resume 옵션으로 이어서 실행할 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CombinedRatingRecomputeJob {
+
+    private final MovieRepository movieRepository;
+    private final DramaRepository dramaRepository;
+    private final RecomputeCheckpointRepository checkpointRepository;
+    private final ScoreHistogramRepository scoreHistogramRepository;
+    private final CombinedRatingFlusher combinedRatingFlusher;
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final ContentLeaderboard contentLeaderboard;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${rating.recompute.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${rating.recompute.parallelism:4}")
+    private int parallelism;
+
+    @Value("${rating.recompute.timeout-minutes:60}")
+    private long timeoutMinutes;
+
+    // true 면 기동할 때마다 재계산 (기본은 비정상 종료로 버퍼 변화량이 유실됐을 때만)
+    @Value("${rating.buffer.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    // 커밋된 별점 변화량이 버퍼에 합쳐지기를 기다리는 최대 시간 (넘으면 구간 실패 → 다음 실행에서 재시도)
+    @Value("${rating.recompute.pending-timeout-ms:5000}")
+    private long pendingTimeoutMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<ContentType, Progress> progressByType = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup || combinedRatingFlusher.wasUncleanShutdown()) {
+            start(false);
+        }
+    }
+
+    // 백그라운드로 재계산 시작 (이미 실행 중이면 false)
+    public boolean start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Thread worker = new Thread(() -> {
+            try {
+                run(resume);
+            } finally {
+                running.set(false);
+            }
+        }, "combined-rating-recompute");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        for (ContentType type : ContentType.values()) {
+            Progress progress = progressByType.get(type);
+            if (progress != null) {
+                status.put(type.name().toLowerCase(), progress.toMap());
+            }
+        }
+        return status;
+    }
+
+    private void run(boolean resume) {
+        log.info("통합 평점 일괄 재계산 시작: resume={}, chunkSize={}, parallelism={}", resume, chunkSize, parallelism);
+        for (ContentType type : ContentType.values()) {
+            try {
+                recompute(type, resume);
+                // 구간별 UPDATE는 엔티티를 거치지 않으므로 순위표/자동완성 순위/장르별 누적 값은 DB 기준으로 다시 구성
+                combinedRatingFlusher.runWithFlushPaused(() -> {
+                    contentLeaderboard.rebuild(type);
+                    contentSuggestIndex.rebuild(type);
+                    genreRatingRollupService.rebuild(type);
+                    return null;
+                });
+            } catch (Exception e) {
+                log.error("통합 평점 일괄 재계산 실패: type={}", type, e);
+            }
+        }
+        log.info("통합 평점 일괄 재계산 종료: {}", getStatus());
+    }
+
+    private void recompute(ContentType type, boolean resume) throws InterruptedException {
+        Long minId = type == ContentType.MOVIE ? movieRepository.findMinId() : dramaRepository.findMinId();
+        Long maxId = type == ContentType.MOVIE ? movieRepository.findMaxId() : dramaRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            progressByType.put(type, new Progress(0, null));
+            checkpointRepository.deleteById(type);
+            return;
+        }
+
+        long startId = minId;
+        if (resume) {
+            Optional<RecomputeCheckpoint> checkpoint = checkpointRepository.findById(type);
+            if (checkpoint.isPresent()) {
+                startId = Math.max(minId, checkpoint.get().getLastCompletedId() + 1);
+            }
+        } else {
+            checkpointRepository.deleteById(type);
+        }
+
+        List<long[]> chunks = new ArrayList<>();
+        for (long from = startId; from <= maxId; from += chunkSize) {
+            chunks.add(new long[]{from, Math.min(from + chunkSize - 1, maxId)});
+        }
+
+        Progress progress = new Progress(chunks.size(), startId - 1);
+        progressByType.put(type, progress);
+        Watermark watermark = new Watermark(type, chunks, startId - 1);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                int index = i;
+                executor.execute(() -> processChunk(type, index, chunks.get(index), progress, watermark));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (!executor.awaitTermination(timeoutMinutes, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+            log.warn("통합 평점 재계산 시간 초과: type={}, 체크포인트부터 다시 실행 가능", type);
+        }
+
+        progress.finish();
+        if (progress.failedChunks.get() == 0 && progress.completedChunks.get() == chunks.size()) {
+            // 전체 완료 시 다음 실행은 처음부터
+            checkpointRepository.deleteById(type);
+        }
+    }
+
+    private void processChunk(ContentType type, int index, long[] range, Progress progress, Watermark watermark) {
+        long startedAt = System.nanoTime();
+        try {
+            // 버퍼 반영을 잠시 막고 한 트랜잭션에서: 구간 행 잠금(새 별점 기록은 커밋까지 대기) →
+            // 이미 커밋된 미반영 변화량 폐기(ratings 기준 재계산에 포함됨) → 분포/누적 값 재계산
+            Integer updated = combinedRatingFlusher.runWithFlushPaused(() -> transactionTemplate().execute(status -> {
+                if (type == ContentType.MOVIE) {
+                    movieRepository.lockIdsInRange(range[0], range[1]);
+                } else {
+                    dramaRepository.lockIdsInRange(range[0], range[1]);
+                }
+                Map<ContentKey, RatingDelta> discarded =
+                        ratingDeltaBuffer.discard(type, range[0], range[1], pendingTimeoutMs);
+                restoreOnRollback(discarded);
+
+                if (type == ContentType.MOVIE) {
+                    scoreHistogramRepository.rebuildMovieHistogramsInRange(range[0], range[1]);
+                    return movieRepository.recomputeCombinedRatingsInRange(range[0], range[1]);
+                }
+                scoreHistogramRepository.rebuildDramaHistogramsInRange(range[0], range[1]);
+                return dramaRepository.recomputeCombinedRatingsInRange(range[0], range[1]);
+            }));
+
+            progress.completedChunks.incrementAndGet();
+            progress.updatedRows.addAndGet(updated);
+            meterRegistry.counter("rating.recompute.rows", "type", type.name()).increment(updated);
+            progress.lastCompletedId.set(watermark.complete(index));
+        } catch (Exception e) {
+            progress.failedChunks.incrementAndGet();
+            meterRegistry.counter("rating.recompute.failures", "type", type.name()).increment();
+            log.error("통합 평점 재계산 구간 실패: type={}, range={}~{}", type, range[0], range[1], e);
+        } finally {
+            meterRegistry.timer("rating.recompute.chunk", "type", type.name())
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    // 재계산이 롤백되면 폐기했던 변화량을 버퍼에 되돌림 (DB 값에 반영되지 않았으므로)
+    private void restoreOnRollback(Map<ContentKey, RatingDelta> discarded) {
+        if (discarded.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    ratingDeltaBuffer.restore(discarded);
+                }
+            }
+        });
+    }
+
+    // 앞에서부터 빈틈없이 완료된 구간까지만 체크포인트로 기록 (병렬 처리로 완료 순서가 뒤섞여도 안전하게 재개)
+    private class Watermark {
+        private final ContentType type;
+        private final List<long[]> chunks;
+        private final BitSet done = new BitSet();
+        private int nextIndex = 0;
+        private long lastCompletedId;
+
+        Watermark(ContentType type, List<long[]> chunks, long lastCompletedId) {
+            this.type = type;
+            this.chunks = chunks;
+            this.lastCompletedId = lastCompletedId;
+        }
+
+        synchronized long complete(int index) {
+            done.set(index);
+            int before = nextIndex;
+            while (done.get(nextIndex)) {
+                nextIndex++;
+            }
+
+            if (nextIndex > before) {
+                lastCompletedId = chunks.get(nextIndex - 1)[1];
+                RecomputeCheckpoint checkpoint = checkpointRepository.findById(type)
+                        .orElseGet(() -> new RecomputeCheckpoint(type, lastCompletedId));
+                checkpoint.advanceTo(lastCompletedId);
+                checkpointRepository.save(checkpoint);
+            }
+            return lastCompletedId;
+        }
+    }
+
+    private static class Progress {
+        private final int totalChunks;
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+        private final AtomicLong updatedRows = new AtomicLong();
+        private final AtomicLong lastCompletedId = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        Progress(int totalChunks, Long lastCompletedId) {
+            this.totalChunks = totalChunks;
+            if (lastCompletedId != null) {
+                this.lastCompletedId.set(lastCompletedId);
+            }
+            if (totalChunks == 0) {
+                this.finishedAt = startedAt;
+            }
+        }
+
+        void finish() {
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("totalChunks", totalChunks);
+            map.put("completedChunks", completedChunks.get());
+            map.put("failedChunks", failedChunks.get());
+            map.put("updatedRows", updatedRows.get());
+            map.put("lastCompletedId", lastCompletedId.get());
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import com.basic.miniPjt5.util.IndexedSkipList;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 영화/드라마 통합 평점 순위표.
+ * (통합 평점 내림차순, 전체 투표 수 내림차순, ID 오름차순)으로 정렬된 스킵 리스트를 메모리에 유지해
+ * 순위 페이지를 ratings 집계/전체 정렬 없이 O(log n + 페이지 크기)로 조회한다.
+ * 통합 평점이 바뀌는 곳(별점 반영, 컨텐츠 생성/수정/삭제, 일괄 재계산)에서 커밋 후 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentLeaderboard {
+
+    private static final Comparator<RankedContent> RANKING = Comparator
+            .comparingDouble(RankedContent::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(RankedContent::getTotalCount).reversed())
+            .thenComparingLong(RankedContent::getContentId);
+
+    private final MovieRepository movieRepository;
+    private final DramaRepository dramaRepository;
+
+    private final Map<ContentType, Board> boards = new ConcurrentHashMap<>();
+
+    // 재구성 중에 커밋된 변경 (ID → 마지막 값, null 이면 삭제). 새 순위표로 교체하기 직전에 다시 적용
+    private final Object swapLock = new Object();
+    private final Map<ContentType, Map<Long, RankedContent>> replayLogs = new EnumMap<>(ContentType.class);
+
+    public void update(Movie movie) {
+        RankedContent ranked = RankedContent.of(movie.getId(), movie.getCombinedRating(), movie.getVoteAverage(),
+                movie.getVoteCount(), movie.getUserRatingCount());
+        afterCommit(() -> apply(ContentType.MOVIE, movie.getId(), ranked));
+    }
+
+    public void update(Drama drama) {
+        RankedContent ranked = RankedContent.of(drama.getId(), drama.getCombinedRating(), drama.getVoteAverage(),
+                drama.getVoteCount(), drama.getUserRatingCount());
+        afterCommit(() -> apply(ContentType.DRAMA, drama.getId(), ranked));
+    }
+
+    public void remove(ContentType contentType, Long contentId) {
+        afterCommit(() -> apply(contentType, contentId, null));
+    }
+
+    private void apply(ContentType contentType, Long contentId, RankedContent ranked) {
+        synchronized (swapLock) {
+            board(contentType).put(contentId, ranked);
+            Map<Long, RankedContent> replayLog = replayLogs.get(contentType);
+            if (replayLog != null) {
+                replayLog.put(contentId, ranked);
+            }
+        }
+    }
+
+    // 순위 페이지 (전체 개수 = 순위표 크기)
+    public Page<RankedContent> getPage(ContentType contentType, Pageable pageable) {
+        return board(contentType).page(pageable);
+    }
+
+    // 상위 limit개
+    public List<RankedContent> getTop(ContentType contentType, int limit) {
+        return board(contentType).range(0, limit);
+    }
+
+    // 순위 페이지의 영화 (한 번의 IN 조회 후 순위 순서로 정렬, 그 사이 삭제된 컨텐츠는 제외)
+    public Page<Movie> getMoviePage(Pageable pageable) {
+        Page<RankedContent> page = getPage(ContentType.MOVIE, pageable);
+        return new PageImpl<>(inRankOrder(page.getContent(), movieRepository.findAllById(contentIds(page.getContent())),
+                Movie::getId), pageable, page.getTotalElements());
+    }
+
+    public Page<Drama> getDramaPage(Pageable pageable) {
+        Page<RankedContent> page = getPage(ContentType.DRAMA, pageable);
+        return new PageImpl<>(inRankOrder(page.getContent(), dramaRepository.findAllById(contentIds(page.getContent())),
+                Drama::getId), pageable, page.getTotalElements());
+    }
+
+    public List<Movie> getTopMovies(int limit) {
+        List<RankedContent> top = getTop(ContentType.MOVIE, limit);
+        return inRankOrder(top, movieRepository.findAllById(contentIds(top)), Movie::getId);
+    }
+
+    public List<Drama> getTopDramas(int limit) {
+        List<RankedContent> top = getTop(ContentType.DRAMA, limit);
+        return inRankOrder(top, dramaRepository.findAllById(contentIds(top)), Drama::getId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        for (ContentType type : ContentType.values()) {
+            rebuild(type);
+        }
+    }
+
+    // DB 기준으로 새 순위표를 만든 뒤 교체 (DB를 읽기 전부터 모은 변경을 교체 직전에 다시 적용해, 재구성 중 갱신을 잃지 않음)
+    public synchronized void rebuild(ContentType contentType) {
+        synchronized (swapLock) {
+            replayLogs.put(contentType, new HashMap<>());
+        }
+        try {
+            List<Object[]> rows = contentType == ContentType.MOVIE
+                    ? movieRepository.findLeaderboardRows()
+                    : dramaRepository.findLeaderboardRows();
+
+            Board rebuilt = new Board();
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                Double score = row[1] != null ? ((Number) row[1]).doubleValue() : null;
+                long totalCount = ((Number) row[2]).longValue() + ((Number) row[3]).longValue();
+                if (score != null) {
+                    rebuilt.put(id, new RankedContent(id, score, totalCount));
+                }
+            }
+
+            int replayed;
+            synchronized (swapLock) {
+                Map<Long, RankedContent> replayLog = replayLogs.get(contentType);
+                replayLog.forEach(rebuilt::put);
+                replayed = replayLog.size();
+                boards.put(contentType, rebuilt);
+            }
+            log.info("평점 순위표 재구성 완료: type={}, contents={}, replayed={}", contentType, rows.size(), replayed);
+        } finally {
+            synchronized (swapLock) {
+                replayLogs.remove(contentType);
+            }
+        }
+    }
+
+    private List<Long> contentIds(List<RankedContent> ranked) {
+        return ranked.stream().map(RankedContent::getContentId).toList();
+    }
+
+    private <T> List<T> inRankOrder(List<RankedContent> ranked, List<T> loaded, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T content : loaded) {
+            byId.put(idOf.apply(content), content);
+        }
+        List<T> ordered = new ArrayList<>(ranked.size());
+        for (RankedContent entry : ranked) {
+            T content = byId.get(entry.getContentId());
+            if (content != null) {
+                ordered.add(content);
+            }
+        }
+        return ordered;
+    }
+
+    private Board board(ContentType contentType) {
+        return boards.computeIfAbsent(contentType, type -> new Board());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 타입 하나의 순위표 (조회끼리는 읽기 락으로 동시에, 갱신은 쓰기 락)
+    private static final class Board {
+        private final IndexedSkipList<RankedContent> ranking = new IndexedSkipList<>(RANKING);
+        private final Map<Long, RankedContent> byId = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // ranked == null 이면 삭제
+        void put(Long contentId, RankedContent ranked) {
+            lock.writeLock().lock();
+            try {
+                RankedContent previous = ranked != null ? byId.put(contentId, ranked) : byId.remove(contentId);
+                if (previous != null) {
+                    ranking.remove(previous);
+                }
+                if (ranked != null) {
+                    ranking.add(ranked);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<RankedContent> range(int offset, int limit) {
+            lock.readLock().lock();
+            try {
+                return ranking.range(offset, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Page<RankedContent> page(Pageable pageable) {
+            lock.readLock().lock();
+            try {
+                List<RankedContent> content = ranking.range((int) pageable.getOffset(), pageable.getPageSize());
+                return new PageImpl<>(content, pageable, ranking.size());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    @Getter
+    public static final class RankedContent {
+        private final Long contentId;
+        private final double score;       // 통합 평점 (없으면 TMDB 평점을 5점 만점으로 환산)
+        private final long totalCount;    // TMDB 투표 수 + 사용자 별점 수
+
+        RankedContent(Long contentId, double score, long totalCount) {
+            this.contentId = contentId;
+            this.score = score;
+            this.totalCount = totalCount;
+        }
+
+        // 점수가 없으면 순위에서 제외 (null)
+        static RankedContent of(Long contentId, Double combinedRating, Double voteAverage,
+                                Integer voteCount, Long userRatingCount) {
+            // TMDB 평점은 10점 만점이므로 통합 평점(5점 만점)과 같은 척도로 (combinedRatingBetween 과 같은 규칙)
+            Double score = combinedRating != null ? combinedRating
+                    : voteAverage != null ? voteAverage / 2.0 : null;
+            if (score == null) return null;
+
+            long totalCount = (voteCount != null ? voteCount : 0) + (userRatingCount != null ? userRatingCount : 0L);
+            return new RankedContent(contentId, score, totalCount);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.basic.miniPjt5.DTO.*;
 import com.basic.miniPjt5.entity.Drama;
 import com.basic.miniPjt5.entity.Genre;
 import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
 import com.basic.miniPjt5.repository.DramaRepository;
 import com.basic.miniPjt5.repository.GenreRepository;
 import com.basic.miniPjt5.repository.MovieRepository;
@@ -30,15 +31,30 @@ public class ContentSearchService {
     private final MovieRepository movieRepository;
     private final DramaRepository dramaRepository;
     private final GenreRepository genreRepository;
+    private final ContentLeaderboard contentLeaderboard;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final TitleNgramIndex titleNgramIndex;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final SearchResultCache searchResultCache;
     
     public ContentSearchService(TMDBApiService tmdbApiService,
                               MovieRepository movieRepository,
                               DramaRepository dramaRepository,
-                              GenreRepository genreRepository) {
+                              GenreRepository genreRepository,
+                              ContentLeaderboard contentLeaderboard,
+                              GenreRatingRollupService genreRatingRollupService,
+                              TitleNgramIndex titleNgramIndex,
+                              ContentSuggestIndex contentSuggestIndex,
+                              SearchResultCache searchResultCache) {
         this.tmdbApiService = tmdbApiService;
         this.movieRepository = movieRepository;
         this.dramaRepository = dramaRepository;
         this.genreRepository = genreRepository;
+        this.contentLeaderboard = contentLeaderboard;
+        this.genreRatingRollupService = genreRatingRollupService;
+        this.titleNgramIndex = titleNgramIndex;
+        this.contentSuggestIndex = contentSuggestIndex;
+        this.searchResultCache = searchResultCache;
     }
     
     // ========== 로컬 DB 검색 메서드들 ==========
@@ -52,8 +68,8 @@ public class ContentSearchService {
         }
         
         try {
-            // 대소문자 구분 없이 검색
-            return movieRepository.findByTitleContainingIgnoreCase(query.trim());
+            // 대소문자 구분 없이 검색 (제목 n-gram 색인의 후보 ID로 조회)
+            return movieRepository.findAllById(titleNgramIndex.search(ContentType.MOVIE, query));
         } catch (Exception e) {
             logger.error("로컬 DB 영화 검색 실패: {}", query, e);
             return new ArrayList<>();
@@ -69,7 +85,7 @@ public class ContentSearchService {
         }
         
         try {
-            return dramaRepository.findByTitleContainingIgnoreCase(query.trim());
+            return dramaRepository.findAllById(titleNgramIndex.search(ContentType.DRAMA, query));
         } catch (Exception e) {
             logger.error("로컬 DB 드라마 검색 실패: {}", query, e);
             return new ArrayList<>();
@@ -179,6 +195,12 @@ public class ContentSearchService {
             }
             
             Movie savedMovie = movieRepository.save(movie);
+            contentLeaderboard.update(savedMovie);
+            titleNgramIndex.update(savedMovie);
+            contentSuggestIndex.update(savedMovie);
+            searchResultCache.invalidate(ContentType.MOVIE, savedMovie.getTitle());
+            genreRatingRollupService.applyMembershipChange(ContentType.MOVIE, List.of(), null,
+                    savedMovie.getGenres(), GenreRatingRollupService.scoreOf(savedMovie));
             logger.debug("새 영화 저장 완료: {} (TMDB ID: {})", savedMovie.getTitle(), savedMovie.getTmdbId());
             return savedMovie;
             
@@ -227,6 +249,12 @@ public class ContentSearchService {
             }
             
             Drama savedDrama = dramaRepository.save(drama);
+            contentLeaderboard.update(savedDrama);
+            titleNgramIndex.update(savedDrama);
+            contentSuggestIndex.update(savedDrama);
+            searchResultCache.invalidate(ContentType.DRAMA, savedDrama.getTitle());
+            genreRatingRollupService.applyMembershipChange(ContentType.DRAMA, List.of(), null,
+                    savedDrama.getGenres(), GenreRatingRollupService.scoreOf(savedDrama));
             logger.debug("새 드라마 저장 완료: {} (TMDB ID: {})", savedDrama.getTitle(), savedDrama.getTmdbId());
             return savedDrama;
             
@@ -316,8 +344,7 @@ public class ContentSearchService {
     public List<Movie> getPopularMovies(int limit) {
         try {
             if (limit <= 0) limit = 20;
-            List<Movie> movies = movieRepository.findTop20ByOrderByCombinedRatingDesc();
-            return movies.size() > limit ? movies.subList(0, limit) : movies;
+            return contentLeaderboard.getTopMovies(limit);
         } catch (Exception e) {
             logger.error("인기 영화 조회 실패", e);
             return new ArrayList<>();
@@ -330,8 +357,7 @@ public class ContentSearchService {
     public List<Drama> getTopRatedDramas(int limit) {
         try {
             if (limit <= 0) limit = 20;
-            List<Drama> dramas = dramaRepository.findTop20ByOrderByCombinedRatingDesc();
-            return dramas.size() > limit ? dramas.subList(0, limit) : dramas;
+            return contentLeaderboard.getTopDramas(limit);
         } catch (Exception e) {
             logger.error("평점 높은 드라마 조회 실패", e);
             return new ArrayList<>();
@@ -3,29 +3,108 @@ package com.basic.miniPjt5.service;
 import com.basic.miniPjt5.DTO.ContentDTO;
 import com.basic.miniPjt5.DTO.DramaDTO;
 import com.basic.miniPjt5.DTO.MovieDTO;
+import com.basic.miniPjt5.DTO.PageResponseDTO;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.exception.BusinessException;
+import com.basic.miniPjt5.exception.ErrorCode;
+import com.basic.miniPjt5.util.CombinedCursor;
+import com.basic.miniPjt5.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.text.Collator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
+@Slf4j
 @Transactional(readOnly = true)
 public class ContentService {
 
+    // 1차 강도: 대소문자/악센트 차이는 같은 값으로 (RuleBasedCollator.compare 는 동기화되어 있어 공유 가능)
+    private static final Collator TITLE_COLLATOR = titleCollator();
+
     private final MovieService movieService;
     private final DramaService dramaService;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // 통합 검색 영화/드라마 동시 조회용 스레드 수 / 대기열 크기 (가득 차면 그 타입은 빈 결과로 응답하고 partial=true)
+    @Value("${search.fanout.threads:8}")
+    private int fanOutThreads;
+
+    @Value("${search.fanout.queue-capacity:100}")
+    private int fanOutQueueCapacity;
+
+    // 타입별 검색 제한 시간 (넘으면 그 타입은 빈 결과로 응답하고 partial=true)
+    @Value("${search.fanout.timeout-ms:2000}")
+    private long branchTimeoutMs;
+
+    private ThreadPoolExecutor fanOutExecutor;
 
-    public ContentService(MovieService movieService, DramaService dramaService) {
+    public ContentService(MovieService movieService, DramaService dramaService, ContentSuggestIndex contentSuggestIndex,
+                          MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
         this.movieService = movieService;
         this.dramaService = dramaService;
+        this.contentSuggestIndex = contentSuggestIndex;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
-    //통합검색
+
+    @PostConstruct
+    void initFanOutExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        fanOutExecutor = new ThreadPoolExecutor(
+                fanOutThreads, fanOutThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanOutQueueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "content-search-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 대기열이 가득 차면 요청 스레드에서 실행하지 않고 거절 → 그 타입은 시간 초과와 같이 부분 결과로
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdownFanOutExecutor() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    //통합검색 - 각 타입 검색이 자기 트랜잭션을 쓰므로 기다리는 동안 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ContentDTO.SearchResult searchContent(ContentDTO.SearchRequest searchRequest, int page, int size) {
         List<MovieDTO.ListResponse> movies;
         List<DramaDTO.ListResponse> dramas;
         int totalMovieResults;
         int totalDramaResults;
+        boolean refreshing;
+        boolean partial = false;
 
         if ("MOVIE".equals(searchRequest.getContentType())) {
             // 영화만 검색
@@ -36,6 +115,7 @@ public class ContentService {
             dramas = List.of();
             totalMovieResults = (int) movieResults.getTotalElements();
             totalDramaResults = 0;
+            refreshing = movieService.isTitleSearchRefreshing(movieSearch.getTitle(), page);
 
         } else if ("DRAMA".equals(searchRequest.getContentType())) {
             // 드라마만 검색
@@ -46,19 +126,28 @@ public class ContentService {
             dramas = dramaResults.getContent();
             totalMovieResults = 0;
             totalDramaResults = (int) dramaResults.getTotalElements();
+            refreshing = dramaService.isTitleSearchRefreshing(dramaSearch.getTitle(), page);
 
         } else {
-            // 모든 컨텐츠 검색
+            // 모든 컨텐츠 검색: 영화/드라마를 동시에 조회하고 제한 시간 안에 끝난 쪽만 응답에 포함
             MovieDTO.SearchRequest movieSearch = convertToMovieSearch(searchRequest);
             DramaDTO.SearchRequest dramaSearch = convertToDramaSearch(searchRequest);
 
-            Page<MovieDTO.ListResponse> movieResults = movieService.searchMovies(movieSearch, page, size);
-            Page<DramaDTO.ListResponse> dramaResults = dramaService.searchDramas(dramaSearch, page, size);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(branchTimeoutMs);
+            CompletableFuture<Page<MovieDTO.ListResponse>> movieFuture =
+                    searchAsync(ContentType.MOVIE, () -> movieService.searchMovies(movieSearch, page, size));
+            CompletableFuture<Page<DramaDTO.ListResponse>> dramaFuture =
+                    searchAsync(ContentType.DRAMA, () -> dramaService.searchDramas(dramaSearch, page, size));
+            Page<MovieDTO.ListResponse> movieResults = await(ContentType.MOVIE, movieFuture, deadline);
+            Page<DramaDTO.ListResponse> dramaResults = await(ContentType.DRAMA, dramaFuture, deadline);
 
-            movies = movieResults.getContent();
-            dramas = dramaResults.getContent();
-            totalMovieResults = (int) movieResults.getTotalElements();
-            totalDramaResults = (int) dramaResults.getTotalElements();
+            movies = movieResults != null ? movieResults.getContent() : List.of();
+            dramas = dramaResults != null ? dramaResults.getContent() : List.of();
+            totalMovieResults = movieResults != null ? (int) movieResults.getTotalElements() : 0;
+            totalDramaResults = dramaResults != null ? (int) dramaResults.getTotalElements() : 0;
+            partial = movieResults == null || dramaResults == null;
+            refreshing = movieService.isTitleSearchRefreshing(searchRequest.getQuery(), page)
+                    || dramaService.isTitleSearchRefreshing(searchRequest.getQuery(), page);
         }
 
         return ContentDTO.SearchResult.builder()
@@ -69,9 +158,182 @@ public class ContentService {
                 .totalDramaResults(totalDramaResults)
                 .totalResults(totalMovieResults + totalDramaResults)
                 .currentPage(page)
+                .refreshing(refreshing)
+                .partial(partial)
                 .build();
     }
 
+    // 커서 방식 통합 검색: 첫 페이지는 두 타입 모두, 이후에는 커서가 남아 있는 타입만 조회
+    public ContentDTO.SearchResult searchContentByCursor(ContentDTO.SearchRequest searchRequest,
+                                                         String movieCursor, String dramaCursor, int size) {
+        boolean firstPage = movieCursor == null && dramaCursor == null;
+        boolean includeMovies = !"DRAMA".equals(searchRequest.getContentType()) && (firstPage || movieCursor != null);
+        boolean includeDramas = !"MOVIE".equals(searchRequest.getContentType()) && (firstPage || dramaCursor != null);
+
+        List<MovieDTO.ListResponse> movies = List.of();
+        String nextMovieCursor = null;
+        boolean refreshing = false;
+        if (includeMovies) {
+            PageResponseDTO<MovieDTO.ListResponse> movieResults = movieService.searchMoviesByTitleWithCursor(
+                    searchRequest.getQuery(), movieCursor, size, searchRequest.getSortBy(), searchRequest.getSortDirection());
+            movies = movieResults.getContent();
+            nextMovieCursor = movieResults.getNext();
+            refreshing = Boolean.TRUE.equals(movieResults.getRefreshing());
+        }
+
+        List<DramaDTO.ListResponse> dramas = List.of();
+        String nextDramaCursor = null;
+        if (includeDramas) {
+            PageResponseDTO<DramaDTO.ListResponse> dramaResults = dramaService.searchDramasByTitleWithCursor(
+                    searchRequest.getQuery(), dramaCursor, size, searchRequest.getSortBy(), searchRequest.getSortDirection());
+            dramas = dramaResults.getContent();
+            nextDramaCursor = dramaResults.getNext();
+            refreshing |= Boolean.TRUE.equals(dramaResults.getRefreshing());
+        }
+
+        return ContentDTO.SearchResult.builder()
+                .query(searchRequest.getQuery())
+                .movies(movies)
+                .dramas(dramas)
+                .hasNext(nextMovieCursor != null || nextDramaCursor != null)
+                .nextMovieCursor(nextMovieCursor)
+                .nextDramaCursor(nextDramaCursor)
+                .refreshing(refreshing)
+                .build();
+    }
+
+    // 🔥 영화/드라마 통합 정렬 검색: 타입별 정렬 결과를 필요한 만큼만 읽어 병합하고, 두 타입의 위치를 합친 커서를 돌려줌
+    public ContentDTO.RankedResult searchContentRanked(String query, String contentType, String sortBy, String sortDirection,
+                                                       String cursor, int size) {
+        if (size < 1) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "페이지 크기는 1 이상이어야 합니다.");
+        }
+        MergedSort sort = MergedSort.from(sortBy);
+        boolean descending = !"asc".equalsIgnoreCase(sortDirection);
+        String direction = descending ? "desc" : "asc";
+        CombinedCursor position = cursor != null
+                ? CombinedCursor.decode(cursor)
+                : CombinedCursor.of(null, "DRAMA".equals(contentType), null, "MOVIE".equals(contentType));
+
+        MergeSource<MovieDTO.ListResponse> movies = new MergeSource<>(position.getMovieCursor(), position.isMovieDone(),
+                (after, limit) -> movieService.searchMoviesByTitleWithCursor(query, after, limit, sort.movieSortBy, direction),
+                sort.movieKey, sort.movieValue, MovieDTO.ListResponse::getId, descending);
+        MergeSource<DramaDTO.ListResponse> dramas = new MergeSource<>(position.getDramaCursor(), position.isDramaDone(),
+                (after, limit) -> dramaService.searchDramasByTitleWithCursor(query, after, limit, sort.dramaSortBy, direction),
+                sort.dramaKey, sort.dramaValue, DramaDTO.ListResponse::getId, descending);
+
+        // 첫 조회는 타입별로 절반 + 1개만 (한쪽이 모자라면 그쪽에서 남은 개수만큼 더 읽음)
+        int firstBatch = size / 2 + 1;
+        List<ContentDTO.RankedItem> items = new ArrayList<>(size);
+        while (items.size() < size) {
+            int remaining = size - items.size();
+            MovieDTO.ListResponse movie = movies.peek(firstBatch, remaining);
+            DramaDTO.ListResponse drama = dramas.peek(firstBatch, remaining);
+            if (movie == null && drama == null) {
+                break;
+            }
+            // 정렬 값이 같으면 영화 먼저
+            boolean takeMovie = drama == null || (movie != null && compareKeys(
+                    sort.movieValue.apply(movie), sort.dramaValue.apply(drama), descending) <= 0);
+            if (takeMovie) {
+                items.add(ContentDTO.RankedItem.builder().contentType("MOVIE").movie(movies.poll()).build());
+            } else {
+                items.add(ContentDTO.RankedItem.builder().contentType("DRAMA").drama(dramas.poll()).build());
+            }
+        }
+
+        boolean hasNext = movies.hasMore() || dramas.hasMore();
+        String next = hasNext
+                ? CombinedCursor.of(movies.consumedCursor, !movies.hasMore(), dramas.consumedCursor, !dramas.hasMore()).encode()
+                : null;
+        return ContentDTO.RankedResult.builder()
+                .query(query)
+                .items(items)
+                .size(size)
+                .hasNext(hasNext)
+                .next(next)
+                .refreshing(movies.refreshing || dramas.refreshing)
+                .build();
+    }
+
+    // 자동완성: 메모리 색인에서 제목 접두사(또는 초성) 일치 상위 limit개 (DB 조회 없음)
+    public List<ContentDTO.Suggestion> suggest(String query, String contentType, int limit) {
+        if (limit < 1) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "추천 개수는 1 이상이어야 합니다.");
+        }
+        List<ContentSuggestIndex.Suggestion> suggestions;
+        if ("MOVIE".equals(contentType)) {
+            suggestions = contentSuggestIndex.suggest(ContentType.MOVIE, query, limit);
+        } else if ("DRAMA".equals(contentType)) {
+            suggestions = contentSuggestIndex.suggest(ContentType.DRAMA, query, limit);
+        } else {
+            suggestions = contentSuggestIndex.suggestAll(query, limit);
+        }
+
+        return suggestions.stream()
+                .map(suggestion -> ContentDTO.Suggestion.builder()
+                        .contentType(suggestion.getContentType().name())
+                        .id(suggestion.getContentId())
+                        .title(suggestion.getTitle())
+                        .posterPath(suggestion.getPosterPath())
+                        .rating(suggestion.getScore())
+                        .build())
+                .toList();
+    }
+
+    // 검색 스레드에서 읽기 전용 트랜잭션으로 실행 (과부하로 거절되면 null 결과 = 시간 초과와 같이 처리)
+    private <T> CompletableFuture<T> searchAsync(ContentType contentType, Supplier<T> search) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> search.get()), fanOutExecutor);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("search.fanout.timeouts", "type", contentType.name()).increment();
+            log.warn("통합 검색 대기열 초과 - 부분 결과로 응답: type={}, queueCapacity={}", contentType, fanOutQueueCapacity);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // 제한 시각까지 기다리고, 넘으면 null (결과는 버리고 검색은 끝까지 진행 - 캐시에는 채워짐)
+    private <T> T await(ContentType contentType, CompletableFuture<T> future, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        try {
+            return future.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter("search.fanout.timeouts", "type", contentType.name()).increment();
+            log.warn("통합 검색 시간 초과 - 부분 결과로 응답: type={}, timeoutMs={}", contentType, branchTimeoutMs);
+            return null;
+        } catch (ExecutionException e) {
+            // 검색 중 발생한 예외(잘못된 정렬 조건 등)는 그대로 전달
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // 타입별 키셋 정렬과 같은 규칙 (NULL 은 가장 작은 값: ASC 맨 앞, DESC 맨 뒤)
+    // 제목은 DB 정렬 규칙(_ci/_ai 콜레이션)처럼 대소문자/악센트를 무시하고 비교 - String.compareTo 면 "apple" 이 "Banana" 뒤로 감
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object left, Object right, boolean descending) {
+        int result;
+        if (left == null || right == null) {
+            result = left == null ? (right == null ? 0 : -1) : 1;
+        } else if (left instanceof String leftTitle && right instanceof String rightTitle) {
+            result = TITLE_COLLATOR.compare(leftTitle, rightTitle);
+        } else {
+            result = ((Comparable<Object>) left).compareTo(right);
+        }
+        return descending ? -result : result;
+    }
+
+    private static Collator titleCollator() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    }
+
     private MovieDTO.SearchRequest convertToMovieSearch(ContentDTO.SearchRequest request) {
         return MovieDTO.SearchRequest.builder()
                 .title(request.getQuery())
@@ -91,4 +353,108 @@ public class ContentService {
                 .sortDirection(request.getSortDirection())
                 .build();
     }
-}
\ No newline at end of file
+
+    // 통합 정렬 기준: 타입별 요청 정렬 값 / 커서 정렬 키 / 응답에서 정렬 값을 읽는 방법
+    private enum MergedSort {
+        // 응답 값에는 아직 반영되지 않은 별점이 합쳐져 있으므로 병합/커서에는 DB 정렬 값을 사용
+        RATING("rating", "rating", "combinedRating", "combinedRating",
+                MovieDTO.ListResponse::getStoredCombinedRating, DramaDTO.ListResponse::getStoredCombinedRating),
+        TMDB_RATING("tmdbRating", "tmdbRating", "voteAverage", "voteAverage",
+                MovieDTO.ListResponse::getVoteAverage, DramaDTO.ListResponse::getVoteAverage),
+        VOTE_COUNT("voteCount", "voteCount", "voteCount", "voteCount",
+                MovieDTO.ListResponse::getVoteCount, DramaDTO.ListResponse::getVoteCount),
+        TITLE("title", "title", "title", "title",
+                MovieDTO.ListResponse::getTitle, DramaDTO.ListResponse::getTitle),
+        DATE("releaseDate", "firstAirDate", "releaseDate", "firstAirDate",     // 개봉일 / 첫 방송일
+                MovieDTO.ListResponse::getReleaseDate, DramaDTO.ListResponse::getFirstAirDate);
+
+        private final String movieSortBy;
+        private final String dramaSortBy;
+        private final String movieKey;
+        private final String dramaKey;
+        private final Function<MovieDTO.ListResponse, Object> movieValue;
+        private final Function<DramaDTO.ListResponse, Object> dramaValue;
+
+        MergedSort(String movieSortBy, String dramaSortBy, String movieKey, String dramaKey,
+                   Function<MovieDTO.ListResponse, Object> movieValue, Function<DramaDTO.ListResponse, Object> dramaValue) {
+            this.movieSortBy = movieSortBy;
+            this.dramaSortBy = dramaSortBy;
+            this.movieKey = movieKey;
+            this.dramaKey = dramaKey;
+            this.movieValue = movieValue;
+            this.dramaValue = dramaValue;
+        }
+
+        static MergedSort from(String sortBy) {
+            if (sortBy == null) {
+                return RATING;
+            }
+            switch (sortBy.toLowerCase()) {
+                case "tmdbrating":
+                case "voteaverage":
+                    return TMDB_RATING;
+                case "votecount":
+                    return VOTE_COUNT;
+                case "title":
+                    return TITLE;
+                case "date":
+                case "releasedate":
+                case "release_date":
+                case "firstairdate":
+                    return DATE;
+                default:
+                    return RATING;
+            }
+        }
+    }
+
+    // 병합 대상 하나: 키셋 커서로 필요한 만큼만 읽어 두고, 내려준 마지막 행 위치를 커서로 기억
+    private static final class MergeSource<T> {
+        private final BiFunction<String, Integer, PageResponseDTO<T>> fetch;
+        private final String sortKey;
+        private final Function<T, Object> valueOf;
+        private final Function<T, Long> idOf;
+        private final boolean descending;
+        private final Deque<T> buffer = new ArrayDeque<>();
+        private String fetchCursor;         // 다음에 읽을 위치 (읽어 둔 마지막 행 다음)
+        private String consumedCursor;      // 응답 커서 (내려준 마지막 행 다음)
+        private boolean exhausted;
+        private boolean fetched;
+        private boolean refreshing;
+
+        private MergeSource(String cursor, boolean done, BiFunction<String, Integer, PageResponseDTO<T>> fetch,
+                            String sortKey, Function<T, Object> valueOf, Function<T, Long> idOf, boolean descending) {
+            this.fetchCursor = cursor;
+            this.consumedCursor = cursor;
+            this.exhausted = done;
+            this.fetch = fetch;
+            this.sortKey = sortKey;
+            this.valueOf = valueOf;
+            this.idOf = idOf;
+            this.descending = descending;
+        }
+
+        T peek(int firstBatch, int remaining) {
+            if (buffer.isEmpty() && !exhausted) {
+                int limit = fetched ? remaining : Math.min(firstBatch, remaining);
+                PageResponseDTO<T> page = fetch.apply(fetchCursor, limit);
+                fetched = true;
+                buffer.addAll(page.getContent());
+                refreshing |= Boolean.TRUE.equals(page.getRefreshing());
+                fetchCursor = page.getNext();
+                exhausted = page.getNext() == null;
+            }
+            return buffer.peekFirst();
+        }
+
+        T poll() {
+            T item = buffer.pollFirst();
+            consumedCursor = KeysetCursor.of(sortKey, descending, valueOf.apply(item), idOf.apply(item)).encode();
+            return item;
+        }
+
+        boolean hasMore() {
+            return !buffer.isEmpty() || !exhausted;
+        }
+    }
+}
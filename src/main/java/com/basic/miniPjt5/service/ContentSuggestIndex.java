@@ -0,0 +1,278 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import com.basic.miniPjt5.util.HangulChoseong;
+import com.basic.miniPjt5.util.PrefixTrie;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 제목 자동완성 색인.
+ * 타입별로 제목 접두사 트라이와 한글 초성 트라이("ㄱㅅㅊ" → 기생충)를 메모리에 두고,
+ * 노드마다 (통합 평점, 전체 투표 수) 상위 목록을 유지해 입력할 때마다 DB 조회 없이 추천 제목을 돌려준다.
+ * 제목은 전체와 각 단어 시작 위치부터의 접미사를 키로 넣어 중간 단어로도 찾을 수 있다.
+ * 제목/평점이 바뀌는 곳(컨텐츠 생성/수정/삭제, TMDB 저장, 별점 반영)에서 커밋 후 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentSuggestIndex {
+
+    // 노드별로 미리 정렬해 두는 개수 (한 번에 돌려줄 수 있는 최대 추천 수)
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingDouble(Suggestion::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(Suggestion::getPopularity).reversed())
+            .thenComparingLong(Suggestion::getContentId);
+
+    private final MovieRepository movieRepository;
+    private final DramaRepository dramaRepository;
+
+    private final Map<ContentType, Board> boards = new ConcurrentHashMap<>();
+
+    // 재구성 중에 커밋된 변경 (ID → 마지막 값, null 이면 삭제). 새 색인으로 교체하기 직전에 다시 적용
+    private final Object swapLock = new Object();
+    private final Map<ContentType, Map<Long, Suggestion>> replayLogs = new EnumMap<>(ContentType.class);
+
+    public void update(Movie movie) {
+        Suggestion suggestion = Suggestion.of(ContentType.MOVIE, movie.getId(), movie.getTitle(), movie.getPosterPath(),
+                movie.getCombinedRating(), movie.getVoteAverage(), movie.getVoteCount(), movie.getUserRatingCount());
+        afterCommit(() -> apply(ContentType.MOVIE, movie.getId(), suggestion));
+    }
+
+    public void update(Drama drama) {
+        Suggestion suggestion = Suggestion.of(ContentType.DRAMA, drama.getId(), drama.getTitle(), drama.getPosterPath(),
+                drama.getCombinedRating(), drama.getVoteAverage(), drama.getVoteCount(), drama.getUserRatingCount());
+        afterCommit(() -> apply(ContentType.DRAMA, drama.getId(), suggestion));
+    }
+
+    public void remove(ContentType contentType, Long contentId) {
+        afterCommit(() -> apply(contentType, contentId, null));
+    }
+
+    private void apply(ContentType contentType, Long contentId, Suggestion suggestion) {
+        synchronized (swapLock) {
+            board(contentType).put(contentId, suggestion);
+            Map<Long, Suggestion> replayLog = replayLogs.get(contentType);
+            if (replayLog != null) {
+                replayLog.put(contentId, suggestion);
+            }
+        }
+    }
+
+    // 검색어로 시작하는 (또는 단어 시작이 검색어인) 제목 상위 limit개 - 초성이 섞여 있으면 초성으로 비교
+    public List<Suggestion> suggest(ContentType contentType, String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return board(contentType).top(normalized, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    // 영화/드라마를 합쳐 상위 limit개
+    public List<Suggestion> suggestAll(String query, int limit) {
+        List<Suggestion> merged = new ArrayList<>();
+        for (ContentType type : ContentType.values()) {
+            merged.addAll(suggest(type, query, limit));
+        }
+        merged.sort(RANKING);
+        return merged.subList(0, Math.min(limit, merged.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        for (ContentType type : ContentType.values()) {
+            rebuild(type);
+        }
+    }
+
+    // DB 기준으로 새 색인을 만든 뒤 교체 (DB를 읽기 전부터 모은 변경을 교체 직전에 다시 적용해, 재구성 중 갱신을 잃지 않음)
+    public synchronized void rebuild(ContentType contentType) {
+        synchronized (swapLock) {
+            replayLogs.put(contentType, new HashMap<>());
+        }
+        try {
+            List<Object[]> rows = contentType == ContentType.MOVIE
+                    ? movieRepository.findSuggestRows()
+                    : dramaRepository.findSuggestRows();
+
+            Board rebuilt = new Board();
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                Suggestion suggestion = Suggestion.of(contentType, id, (String) row[1], (String) row[2],
+                        (Double) row[3], (Double) row[4], (Integer) row[5], (Long) row[6]);
+                rebuilt.put(id, suggestion);
+            }
+
+            int replayed;
+            synchronized (swapLock) {
+                Map<Long, Suggestion> replayLog = replayLogs.get(contentType);
+                replayLog.forEach(rebuilt::put);
+                replayed = replayLog.size();
+                boards.put(contentType, rebuilt);
+            }
+            log.info("자동완성 색인 재구성 완료: type={}, contents={}, replayed={}", contentType, rows.size(), replayed);
+        } finally {
+            synchronized (swapLock) {
+                replayLogs.remove(contentType);
+            }
+        }
+    }
+
+    // 소문자 + 연속 공백을 하나로
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // 제목 전체 + 단어 시작 위치부터의 접미사 ("the dark knight" → the dark knight, dark knight, knight)
+    private static Set<String> titleKeys(String normalizedTitle) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalizedTitle);
+        for (int i = normalizedTitle.indexOf(' '); i >= 0; i = normalizedTitle.indexOf(' ', i + 1)) {
+            if (i + 1 < normalizedTitle.length()) {
+                keys.add(normalizedTitle.substring(i + 1));
+            }
+        }
+        return keys;
+    }
+
+    // 초성 키는 공백 없이 ("오징어 게임" → ㅇㅈㅇㄱㅇ)
+    private static String choseongKey(String text) {
+        return HangulChoseong.toChoseong(text).replace(" ", "");
+    }
+
+    private Board board(ContentType contentType) {
+        return boards.computeIfAbsent(contentType, type -> new Board());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 타입 하나의 자동완성 색인 (조회끼리는 읽기 락으로 동시에, 갱신은 쓰기 락)
+    private static final class Board {
+        private final PrefixTrie<Suggestion> titles = new PrefixTrie<>(RANKING, MAX_SUGGESTIONS);
+        private final PrefixTrie<Suggestion> choseong = new PrefixTrie<>(RANKING, MAX_SUGGESTIONS);
+        private final Map<Long, Suggestion> byId = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // suggestion == null 이면 삭제
+        void put(Long contentId, Suggestion suggestion) {
+            lock.writeLock().lock();
+            try {
+                Suggestion previous = suggestion != null ? byId.put(contentId, suggestion) : byId.remove(contentId);
+                if (previous != null) {
+                    index(previous, false);
+                }
+                if (suggestion != null) {
+                    index(suggestion, true);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Suggestion> top(String query, int limit) {
+            lock.readLock().lock();
+            try {
+                if (HangulChoseong.containsChoseong(query)) {
+                    // "기ㅅ" 처럼 음절과 초성이 섞인 입력도 초성으로 맞춰 비교
+                    return choseong.top(choseongKey(query), limit);
+                }
+                return titles.top(query, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void index(Suggestion suggestion, boolean insert) {
+            String title = normalize(suggestion.getTitle());
+            if (title.isEmpty()) {
+                return;
+            }
+            for (String key : titleKeys(title)) {
+                if (insert) {
+                    titles.insert(key, suggestion);
+                } else {
+                    titles.remove(key, suggestion);
+                }
+                if (HangulChoseong.containsSyllable(key)) {
+                    String initials = choseongKey(key);
+                    if (insert) {
+                        choseong.insert(initials, suggestion);
+                    } else {
+                        choseong.remove(initials, suggestion);
+                    }
+                }
+            }
+        }
+    }
+
+    @Getter
+    public static final class Suggestion {
+        private final ContentType contentType;
+        private final Long contentId;
+        private final String title;
+        private final String posterPath;
+        private final double score;         // 통합 평점 (없으면 TMDB 평점 / 2, 둘 다 없으면 0)
+        private final long popularity;      // TMDB 투표 수 + 사용자 별점 수
+
+        Suggestion(ContentType contentType, Long contentId, String title, String posterPath, double score, long popularity) {
+            this.contentType = contentType;
+            this.contentId = contentId;
+            this.title = title;
+            this.posterPath = posterPath;
+            this.score = score;
+            this.popularity = popularity;
+        }
+
+        static Suggestion of(ContentType contentType, Long contentId, String title, String posterPath,
+                             Double combinedRating, Double voteAverage, Integer voteCount, Long userRatingCount) {
+            // TMDB 평점(10점 만점)은 통합 평점과 같은 5점 만점으로 환산해 정렬
+            Double score = combinedRating != null ? combinedRating
+                    : voteAverage != null ? voteAverage / 2.0 : null;
+            long popularity = (voteCount != null ? voteCount : 0) + (userRatingCount != null ? userRatingCount : 0L);
+            return new Suggestion(contentType, contentId, title, posterPath, score != null ? score : 0.0, popularity);
+        }
+
+        // 트라이에서 같은 컨텐츠인지는 ID로만 판단 (평점이 바뀐 새 값과 이전 값 구분은 remove/insert 순서로 처리)
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Suggestion other)) return false;
+            return contentType == other.contentType && Objects.equals(contentId, other.contentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentType, contentId);
+        }
+    }
+}
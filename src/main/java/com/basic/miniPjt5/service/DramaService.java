@@ -1,6 +1,7 @@
 package com.basic.miniPjt5.service;
 
 import com.basic.miniPjt5.DTO.DramaDTO;
+import com.basic.miniPjt5.DTO.PageResponseDTO;
 import com.basic.miniPjt5.entity.Drama;
 import com.basic.miniPjt5.entity.Genre;
 import com.basic.miniPjt5.enums.ContentType;
@@ -10,12 +11,21 @@ import com.basic.miniPjt5.repository.DramaRepository;
 import com.basic.miniPjt5.repository.GenreRepository;
 import com.basic.miniPjt5.mapper.DramaMapper;
 import com.basic.miniPjt5.repository.PostRepository;
+import com.basic.miniPjt5.repository.SpecificationSliceRepository;
+import com.basic.miniPjt5.specification.DramaSpecifications;
+import com.basic.miniPjt5.specification.KeysetSpecifications;
+import com.basic.miniPjt5.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +37,16 @@ public class DramaService {
     private final GenreRepository genreRepository;
     private final PostRepository postRepository;
     private final DramaMapper dramaMapper;
-    private final ContentSearchService contentSearchService;
-    private final RatingService ratingService; // 🆕 추가
+    private final ScoreHistogramService scoreHistogramService;
+    private final ContentLeaderboard contentLeaderboard;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final UserRatingStatsService userRatingStatsService;
+    private final SpecificationSliceRepository specificationSliceRepository;
+    private final TitleNgramIndex titleNgramIndex;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final SearchResultCache searchResultCache;
+    private final TmdbSearchRefresher tmdbSearchRefresher;
+    private final ReviewSearchIndex reviewSearchIndex;
 
     // 🔥 수정된 드라마 목록 조회
     public Page<DramaDTO.ListResponse> getDramas(int page, int size, String sortBy, String sortDirection) {
@@ -39,16 +57,7 @@ public class DramaService {
 
         Page<Drama> dramaPage = dramaRepository.findAll(pageable);
 
-        // 🔥 수정: Repository 기반 평점 계산
-        if (!dramaPage.getContent().isEmpty()) {
-            for (Drama drama : dramaPage.getContent()) {
-                Double newRating = ratingService.calculateDramaCombinedRating(drama.getId());
-                drama.setCombinedRating(newRating);
-            }
-            dramaRepository.saveAll(dramaPage.getContent());
-        }
-
-        return dramaPage.map(dramaMapper::toListResponse);
+        return dramaMapper.toListResponsePage(dramaPage);
     }
 
     // 🔥 수정된 드라마 상세 조회
@@ -56,11 +65,7 @@ public class DramaService {
         Drama drama = dramaRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
 
-        // Repository 기반 평점 계산
-        Double newRating = ratingService.calculateDramaCombinedRating(id);
-        drama.setCombinedRating(newRating);
-        dramaRepository.save(drama);
-
+        // 조회 경로에서는 저장하지 않음 (통합 평점은 별점 변경 시 CombinedRatingFlusher가 갱신)
         return dramaMapper.toResponse(drama);
     }
 
@@ -81,12 +86,15 @@ public class DramaService {
             drama.setGenres(genres);
         }
 
+        // 🔥 누적 값 기반 평점 계산 (신규 드라마는 TMDB 평점만 반영)
+        drama.setCombinedRating(drama.calculateCombinedRating());
         Drama savedDrama = dramaRepository.save(drama);
-
-        // 🔥 Repository 기반 평점 계산
-        Double newRating = ratingService.calculateDramaCombinedRating(savedDrama.getId());
-        savedDrama.setCombinedRating(newRating);
-        dramaRepository.save(savedDrama);
+        contentLeaderboard.update(savedDrama);
+        titleNgramIndex.update(savedDrama);
+        contentSuggestIndex.update(savedDrama);
+        searchResultCache.invalidate(ContentType.DRAMA, savedDrama.getTitle());
+        genreRatingRollupService.applyMembershipChange(ContentType.DRAMA, List.of(), null,
+                savedDrama.getGenres(), GenreRatingRollupService.scoreOf(savedDrama));
 
         return dramaMapper.toResponse(savedDrama);
     }
@@ -96,6 +104,9 @@ public class DramaService {
     public DramaDTO.Response updateDrama(Long id, DramaDTO.UpdateRequest request) {
         Drama drama = dramaRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
+        List<Genre> oldGenres = new ArrayList<>(drama.getGenres());
+        Double oldScore = GenreRatingRollupService.scoreOf(drama);
+        String oldTitle = drama.getTitle();
 
         updateDramaFields(drama, request);
 
@@ -108,211 +119,195 @@ public class DramaService {
             drama.setGenres(genres);
         }
 
-        // 🔥 Repository 기반 평점 계산
-        Double newRating = ratingService.calculateDramaCombinedRating(id);
-        drama.setCombinedRating(newRating);
-
-        Drama updatedDrama = dramaRepository.save(drama);
+        // 🔥 TMDB 평점/투표 수가 바뀔 수 있으므로 저장 후 DB의 사용자 누적 값 기준으로 재계산 (그 사이 반영된 별점을 덮어쓰지 않음)
+        Drama updatedDrama = dramaRepository.saveAndFlush(drama);
+        dramaRepository.refreshCombinedRating(updatedDrama.getId());
+        updatedDrama.setCombinedRating(dramaRepository.findCombinedRatingById(updatedDrama.getId()));
+        contentLeaderboard.update(updatedDrama);
+        titleNgramIndex.update(updatedDrama);
+        contentSuggestIndex.update(updatedDrama);
+        searchResultCache.invalidate(ContentType.DRAMA, oldTitle);
+        searchResultCache.invalidate(ContentType.DRAMA, updatedDrama.getTitle());
+        genreRatingRollupService.applyMembershipChange(ContentType.DRAMA, oldGenres, oldScore,
+                updatedDrama.getGenres(), GenreRatingRollupService.scoreOf(updatedDrama));
         return dramaMapper.toResponse(updatedDrama);
     }
 
     // 🔥 수정된 드라마 검색
     public Page<DramaDTO.ListResponse> searchDramas(DramaDTO.SearchRequest searchRequest, int page, int size) {
-        Page<Drama> localResults = performLocalSearch(searchRequest, page, size);
+        normalizeTitle(searchRequest);
+        return searchResultCache.get(searchKey(searchRequest, "page", page, size),
+                () -> loadSearchDramas(searchRequest, page, size), Page::isEmpty,
+                () -> !isTitleSearchRefreshing(searchRequest.getTitle(), page));
+    }
 
-        // 🔥 수정: Repository 기반 평점 계산
-        if (!localResults.getContent().isEmpty()) {
-            for (Drama drama : localResults.getContent()) {
-                Double newRating = ratingService.calculateDramaCombinedRating(drama.getId());
-                drama.setCombinedRating(newRating);
-            }
-            dramaRepository.saveAll(localResults.getContent());
-        }
+    private Page<DramaDTO.ListResponse> loadSearchDramas(DramaDTO.SearchRequest searchRequest, int page, int size) {
+        // 로컬 DB 검색 결과를 바로 반환하고, 제목 검색이면 TMDB 검색/저장은 백그라운드로 (다시 조회하면 보강된 결과)
+        requestTmdbRefresh(searchRequest.getTitle(), page);
+        return dramaMapper.toListResponsePage(performLocalSearch(searchRequest, page, size));
+    }
 
-        if (localResults.getTotalElements() < 10 || searchRequest.getTitle() != null) {
-            if (contentSearchService != null) {
-                contentSearchService.searchAndSaveDramas(searchRequest.getTitle(), page);
-                localResults = performLocalSearch(searchRequest, page, size);
-            }
-        }
+    // 🔥 COUNT 없는 드라마 목록 조회 (size + 1개로 다음 페이지 여부만 판단)
+    public Slice<DramaDTO.ListResponse> getDramasSlice(int page, int size, String sortBy, String sortDirection) {
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), validateAndConvertSortBy(sortBy));
+        Slice<Drama> dramaSlice = specificationSliceRepository.findSlice(
+                Drama.class, Specification.where(null), PageRequest.of(page, size, sort));
+        return dramaMapper.toListResponseSlice(dramaSlice);
+    }
 
-        return localResults.map(dramaMapper::toListResponse);
+    // 🔥 COUNT 없는 드라마 검색 - TMDB 보강은 페이지 검색과 같이 백그라운드로
+    public Slice<DramaDTO.ListResponse> searchDramasSlice(DramaDTO.SearchRequest searchRequest, int page, int size) {
+        normalizeTitle(searchRequest);
+        return searchResultCache.get(searchKey(searchRequest, "slice", page, size),
+                () -> loadSearchDramasSlice(searchRequest, page, size), Slice::isEmpty,
+                () -> !isTitleSearchRefreshing(searchRequest.getTitle(), page));
     }
 
-    // 🔥 완전히 새로운 안전한 평점 수정 메서드
-    @Transactional
-    public void fixAllCombinedRatings() {
-        List<Drama> allDramas = dramaRepository.findAll();
-
-        for (Drama drama : allDramas) {
-            try {
-                // 🔥 Repository 기반 계산 (컬렉션 참조 X)
-                Double newRating = ratingService.calculateDramaCombinedRating(drama.getId());
-                drama.setCombinedRating(newRating);
-
-                System.out.println("드라마 ID " + drama.getId() + " (" + drama.getTitle() + ") - " +
-                        "combinedRating: " + drama.getCombinedRating());
-            } catch (Exception e) {
-                System.err.println("드라마 ID " + drama.getId() + " 업데이트 실패: " + e.getMessage());
-            }
-        }
+    private Slice<DramaDTO.ListResponse> loadSearchDramasSlice(DramaDTO.SearchRequest searchRequest, int page, int size) {
+        requestTmdbRefresh(searchRequest.getTitle(), page);
+        return dramaMapper.toListResponseSlice(performLocalSearchSlice(searchRequest, page, size));
+    }
+
+    // 제목 검색의 TMDB 보강이 진행 중인지 (true면 잠시 후 같은 검색을 다시 하면 결과가 늘어날 수 있음)
+    public boolean isTitleSearchRefreshing(String title, int page) {
+        return tmdbSearchRefresher.isPending(ContentType.DRAMA, SearchResultCache.normalize(title), page);
+    }
 
-        dramaRepository.saveAll(allDramas);
-        System.out.println("모든 드라마 combinedRating 업데이트 완료!");
+    // 🔥 커서(키셋) 방식 드라마 목록 조회 - OFFSET/COUNT 없이 마지막 행 다음부터 조회
+    public PageResponseDTO<DramaDTO.ListResponse> getDramasByCursor(String cursor, int size, String sortBy, String sortDirection) {
+        return scrollDramas(Specification.where(null), cursor, size, validateAndConvertSortBy(sortBy), sortDirection);
+    }
+
+    // 🔥 커서 방식 제목 검색 (TMDB 검색/저장은 첫 페이지에서만, 백그라운드로)
+    public PageResponseDTO<DramaDTO.ListResponse> searchDramasByTitleWithCursor(String title, String cursor, int size,
+                                                                           String sortBy, String sortDirection) {
+        boolean refreshing = cursor == null && requestTmdbRefresh(title, 0);
+        PageResponseDTO<DramaDTO.ListResponse> response =
+                scrollDramas(Specification.where(titleMatches(title)), cursor, size, validateAndConvertSortBy(sortBy), sortDirection);
+        response.setRefreshing(refreshing);
+        return response;
+    }
+
+    private PageResponseDTO<DramaDTO.ListResponse> scrollDramas(Specification<Drama> filter, String cursor, int size,
+                                                              String sortKey, String sortDirection) {
+        if (size < 1) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "페이지 크기는 1 이상이어야 합니다.");
+        }
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        Specification<Drama> spec = cursor != null
+                ? filter.and(KeysetSpecifications.after(KeysetCursor.decode(cursor, sortKey, descending)))
+                : filter;
+
+        // size + 1개를 읽어 다음 페이지 존재 여부 판단 (COUNT 쿼리 없음)
+        List<Drama> rows = dramaRepository.findBy(spec, query -> query
+                .sortBy(KeysetSpecifications.sort(sortKey, descending))
+                .limit(size + 1)
+                .all());
+        boolean hasNext = rows.size() > size;
+        List<Drama> dramas = hasNext ? rows.subList(0, size) : rows;
+
+        String next = null;
+        if (hasNext) {
+            Drama last = dramas.get(dramas.size() - 1);
+            Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(sortKey);
+            next = KeysetCursor.of(sortKey, descending, lastValue, last.getId()).encode();
+        }
+        return PageResponseDTO.ofCursor(dramaMapper.toListResponseList(dramas), size, next);
     }
 
     // 영화 삭제 (관리자용)
     @Transactional
     public void deleteDrama(Long id) {
-        if (!dramaRepository.existsById(id)) {
-            throw new BusinessException(ErrorCode.MOVIE_NOT_FOUND);
-        }
-        dramaRepository.deleteById(id);
+        Drama drama = dramaRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
+        genreRatingRollupService.applyMembershipChange(ContentType.DRAMA, drama.getGenres(),
+                GenreRatingRollupService.scoreOf(drama), List.of(), null);
+        // 컨텐츠와 함께 삭제되는 별점을 사용자 통계에서 먼저 뺌
+        userRatingStatsService.subtractContentRatings(ContentType.DRAMA, id);
+        reviewSearchIndex.removeContentReviews(ContentType.DRAMA, id);
+        dramaRepository.delete(drama);
         postRepository.deleteByContentTypeAndContentId(ContentType.DRAMA, id);
+        scoreHistogramService.deleteHistogram(ContentType.DRAMA, id);
+        contentLeaderboard.remove(ContentType.DRAMA, id);
+        titleNgramIndex.remove(ContentType.DRAMA, id);
+        contentSuggestIndex.remove(ContentType.DRAMA, id);
+        searchResultCache.invalidate(ContentType.DRAMA, drama.getTitle());
     }
 
     // 평점 높은 드라마 조회
     public List<DramaDTO.ListResponse> getTopRatedDramas() {
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("combinedRating").descending());
-        Page<Drama> dramaPage = dramaRepository.findAll(pageable);
-        return dramaPage.getContent().stream()
-                .map(dramaMapper::toListResponse)
-                .toList();
+        return dramaMapper.toListResponseList(contentLeaderboard.getTopDramas(20));
     }
 
     // 시즌 수 기준 드라마 조회
     public List<DramaDTO.ListResponse> getDramasBySeasons(Integer minSeasons) {
         List<Drama> dramas = dramaRepository.findByNumberOfSeasonsGreaterThan(minSeasons);
-        return dramas.stream()
-                .map(dramaMapper::toListResponse)
-                .toList();
+        return dramaMapper.toListResponseList(dramas);
     }
 
+    // 🔥 주어진 조건 조합과 관계없이 Specification 하나로 조회 (전체 개수는 조인 없는 별도 COUNT 쿼리, 첫 페이지가 덜 차면 생략)
     private Page<Drama> performLocalSearch(DramaDTO.SearchRequest searchRequest, int page, int size) {
-        String validatedSortBy = validateAndConvertSortBy(searchRequest.getSortBy());
-        Sort sort = Sort.by(
-                Sort.Direction.fromString(searchRequest.getSortDirection()),
-                validatedSortBy
-        );
-        Pageable pageable = PageRequest.of(page, size, sort);
+        return dramaRepository.findAll(searchSpecification(searchRequest), PageRequest.of(page, size, searchSort(searchRequest)));
+    }
 
-        // 🎯 핵심 조건들만 사용한 복합 검색
-        boolean hasTitle = searchRequest.getTitle() != null && !searchRequest.getTitle().trim().isEmpty();
-        boolean hasGenres = searchRequest.getGenreIds() != null && !searchRequest.getGenreIds().isEmpty();
-        boolean hasRating = searchRequest.getMinRating() != null || searchRequest.getMaxRating() != null;
-        boolean hasSeasons = searchRequest.getMinSeasons() != null || searchRequest.getMaxSeasons() != null;
-
-        // 1. 🏆 최고급 검색: 제목 + 장르 + 평점
-        if (hasTitle && hasGenres && hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-
-            return dramaRepository.findByTitleContainingIgnoreCaseAndGenres_IdInAndCombinedRatingBetween(
-                    searchRequest.getTitle(),
-                    searchRequest.getGenreIds(),
-                    minRating,
-                    maxRating,
-                    pageable
-            );
-        }
+    // COUNT 없는 검색: 같은 조건으로 size + 1개만 조회
+    private Slice<Drama> performLocalSearchSlice(DramaDTO.SearchRequest searchRequest, int page, int size) {
+        return specificationSliceRepository.findSlice(
+                Drama.class, searchSpecification(searchRequest), PageRequest.of(page, size, searchSort(searchRequest)));
+    }
 
-        // 2. 제목 + 장르 + 시즌수
-        else if (hasTitle && hasGenres && hasSeasons) {
-            Integer minSeasons = searchRequest.getMinSeasons() != null ? searchRequest.getMinSeasons() : 1;
-            Integer maxSeasons = searchRequest.getMaxSeasons() != null ? searchRequest.getMaxSeasons() : 50;
-
-            return dramaRepository.findByTitleAndGenresAndSeasons(
-                    searchRequest.getTitle(),
-                    searchRequest.getGenreIds(),
-                    minSeasons,
-                    maxSeasons,
-                    pageable
-            );
-        }
+    // 검색 조건: 제목(n-gram 색인 후보 ID) + 장르(EXISTS) + 통합 평점 범위 + 시즌 수 범위 - 주어지지 않은 조건은 생략
+    private Specification<Drama> searchSpecification(DramaDTO.SearchRequest searchRequest) {
+        List<Long> genreIds = searchRequest.getGenreIds() != null
+                ? searchRequest.getGenreIds().stream().filter(Objects::nonNull).toList()
+                : null;
 
-        // 3. 제목 + 장르
-        else if (hasTitle && hasGenres) {
-            return dramaRepository.findByTitleContainingIgnoreCaseAndGenres_IdIn(
-                    searchRequest.getTitle(),
-                    searchRequest.getGenreIds(),
-                    pageable
-            );
-        }
+        return Specification.where(titleMatches(searchRequest.getTitle()))
+                .and(DramaSpecifications.hasGenres(genreIds))
+                .and(DramaSpecifications.ratingBetween(searchRequest.getMinRating(), searchRequest.getMaxRating()))
+                .and(DramaSpecifications.seasonsBetween(searchRequest.getMinSeasons(), searchRequest.getMaxSeasons()));
+    }
 
-        // 4. 제목 + 평점
-        else if (hasTitle && hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-
-            return dramaRepository.findByTitleContainingIgnoreCaseAndCombinedRatingBetween(
-                    searchRequest.getTitle(),
-                    minRating,
-                    maxRating,
-                    pageable
-            );
-        }
+    private Sort searchSort(DramaDTO.SearchRequest searchRequest) {
+        return Sort.by(
+                Sort.Direction.fromString(searchRequest.getSortDirection()),
+                validateAndConvertSortBy(searchRequest.getSortBy())
+        );
+    }
 
-        // 5. 제목 + 시즌수
-        else if (hasTitle && hasSeasons) {
-            Integer minSeasons = searchRequest.getMinSeasons() != null ? searchRequest.getMinSeasons() : 1;
-            Integer maxSeasons = searchRequest.getMaxSeasons() != null ? searchRequest.getMaxSeasons() : 50;
-
-            return dramaRepository.findByTitleContainingIgnoreCaseAndNumberOfSeasonsBetween(
-                    searchRequest.getTitle(),
-                    minSeasons,
-                    maxSeasons,
-                    pageable
-            );
+    // 검색어 정규화 (캐시 키와 실제 검색이 같은 검색어를 쓰도록)
+    private void normalizeTitle(DramaDTO.SearchRequest searchRequest) {
+        if (searchRequest.getTitle() != null) {
+            searchRequest.setTitle(SearchResultCache.normalize(searchRequest.getTitle()));
         }
+    }
 
-        // 6. 장르 + 평점
-        else if (hasGenres && hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-
-            return dramaRepository.findByGenres_IdInAndCombinedRatingBetween(
-                    searchRequest.getGenreIds(),
-                    minRating,
-                    maxRating,
-                    pageable
-            );
-        }
+    private SearchResultCache.SearchKey searchKey(DramaDTO.SearchRequest searchRequest, String mode, int page, int size) {
+        List<Long> genreIds = searchRequest.getGenreIds() != null
+                ? searchRequest.getGenreIds().stream().filter(Objects::nonNull).sorted().toList()
+                : List.of();
+        return new SearchResultCache.SearchKey(ContentType.DRAMA, searchRequest.getTitle(), mode, genreIds,
+                searchRequest.getMinRating(), searchRequest.getMaxRating(), searchRequest.getMinSeasons(), searchRequest.getMaxSeasons(),
+                validateAndConvertSortBy(searchRequest.getSortBy()), searchRequest.getSortDirection(), page, size);
+    }
 
-        // 7. 장르 + 시즌수
-        else if (hasGenres && hasSeasons) {
-            Integer minSeasons = searchRequest.getMinSeasons() != null ? searchRequest.getMinSeasons() : 1;
-            Integer maxSeasons = searchRequest.getMaxSeasons() != null ? searchRequest.getMaxSeasons() : 50;
-
-            return dramaRepository.findByGenres_IdInAndNumberOfSeasonsBetween(
-                    searchRequest.getGenreIds(),
-                    minSeasons,
-                    maxSeasons,
-                    pageable
-            );
-        }
+    // 제목이 있으면 TMDB 검색/저장을 백그라운드 작업으로 요청 (진행 중이면 true)
+    private boolean requestTmdbRefresh(String title, int page) {
+        String query = SearchResultCache.normalize(title);
+        return !query.isEmpty() && tmdbSearchRefresher.request(ContentType.DRAMA, query, page);
+    }
 
-        // 8. 단일 조건들
-        else if (hasTitle) {
-            return dramaRepository.findByTitleContainingIgnoreCase(searchRequest.getTitle(), pageable);
-        }
-        else if (hasGenres) {
-            return dramaRepository.findByGenres_IdIn(searchRequest.getGenreIds(), pageable);
+    // 제목 부분 일치 조건: 제목 n-gram 색인이 찾은 후보 ID로 제한 (제목이 없으면 조건 없음)
+    // 후보가 너무 많은 짧은 검색어는 수만 개짜리 IN 목록 대신 LIKE 조건으로
+    private Specification<Drama> titleMatches(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            return null;
         }
-        else if (hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-            return dramaRepository.findByCombinedRatingBetween(minRating, maxRating, pageable);
-        }
-        else if (hasSeasons) {
-            Integer minSeasons = searchRequest.getMinSeasons() != null ? searchRequest.getMinSeasons() : 1;
-            Integer maxSeasons = searchRequest.getMaxSeasons() != null ? searchRequest.getMaxSeasons() : 50;
-            return dramaRepository.findByNumberOfSeasonsBetween(minSeasons, maxSeasons, pageable);
-        }
-
-        // 9. 조건 없으면 통합 평점 순으로 전체 조회
-        else {
-            return dramaRepository.findAll(pageable);
+        Set<Long> ids = titleNgramIndex.search(ContentType.DRAMA, title);
+        if (titleNgramIndex.exceedsInListLimit(ids)) {
+            return DramaSpecifications.titleContains(SearchResultCache.normalize(title));
         }
+        return DramaSpecifications.idIn(ids);
     }
 
     private String validateAndConvertSortBy(String sortBy) {
@@ -0,0 +1,145 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Genre;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.GenreRatingRollupRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 장르별 평점 누적 값(평점 합계/평점 있는 컨텐츠 수/전체 컨텐츠 수) 관리.
+ * 컨텐츠의 평점(통합 평점, 없으면 TMDB 평점)이나 장르 구성이 바뀌는 곳에서 이전 기여분을 빼고 새 기여분을 더해
+ * 장르별 평균 조회가 조인/집계 없이 누적 행만 읽도록 한다. 누락/오차는 일괄 재계산 작업의 rebuild로 바로잡는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class GenreRatingRollupService {
+
+    // 평균을 보여줄 최소 컨텐츠 수
+    private static final long MIN_SCORED_COUNT = 3;
+
+    private final GenreRatingRollupRepository genreRatingRollupRepository;
+    private final MovieRepository movieRepository;
+    private final DramaRepository dramaRepository;
+
+    // 장르 통계에서 사용하는 컨텐츠 평점 (통합 평점, 없으면 TMDB 평점)
+    public static Double scoreOf(Movie movie) {
+        return movie.getCombinedRating() != null ? movie.getCombinedRating() : movie.getVoteAverage();
+    }
+
+    public static Double scoreOf(Drama drama) {
+        return drama.getCombinedRating() != null ? drama.getCombinedRating() : drama.getVoteAverage();
+    }
+
+    // 장르 구성은 그대로이고 평점만 바뀐 컨텐츠들 (contentId -> 이전/새 평점)
+    @Transactional
+    public void applyScoreChanges(ContentType contentType, Map<Long, ScoreChange> changes) {
+        Map<Long, ScoreChange> changed = new HashMap<>();
+        changes.forEach((contentId, change) -> {
+            if (!Objects.equals(change.getOldScore(), change.getNewScore())) {
+                changed.put(contentId, change);
+            }
+        });
+        if (changed.isEmpty()) return;
+
+        // 변경된 컨텐츠의 장르를 한 번에 조회 (컨텐츠 ID, 장르 ID)
+        List<Object[]> memberships = contentType == ContentType.MOVIE
+                ? movieRepository.findGenreIdsByMovieIdIn(changed.keySet())
+                : dramaRepository.findGenreIdsByDramaIdIn(changed.keySet());
+
+        RollupDelta delta = new RollupDelta();
+        for (Object[] row : memberships) {
+            ScoreChange change = changed.get((Long) row[0]);
+            Long genreId = (Long) row[1];
+            delta.add(genreId, change.getOldScore(), -1, false);
+            delta.add(genreId, change.getNewScore(), 1, false);
+        }
+        apply(contentType, delta);
+    }
+
+    // 컨텐츠 생성(oldGenres 비어 있음)/수정/삭제(newGenres 비어 있음)
+    @Transactional
+    public void applyMembershipChange(ContentType contentType,
+                                      Collection<Genre> oldGenres, Double oldScore,
+                                      Collection<Genre> newGenres, Double newScore) {
+        RollupDelta delta = new RollupDelta();
+        for (Genre genre : oldGenres) {
+            delta.add(genre.getId(), oldScore, -1, true);
+        }
+        for (Genre genre : newGenres) {
+            delta.add(genre.getId(), newScore, 1, true);
+        }
+        apply(contentType, delta);
+    }
+
+    // 장르 구성/평점 기준으로 타입 전체 재구성
+    @Transactional
+    public void rebuild(ContentType contentType) {
+        genreRatingRollupRepository.deleteByContentType(contentType);
+        if (contentType == ContentType.MOVIE) {
+            genreRatingRollupRepository.rebuildMovieRollups();
+        } else {
+            genreRatingRollupRepository.rebuildDramaRollups();
+        }
+    }
+
+    @Transactional
+    public void deleteGenre(Long genreId) {
+        genreRatingRollupRepository.deleteByGenreId(genreId);
+    }
+
+    // 장르별 평균 평점 (평균 내림차순): 장르명, 평균, 컨텐츠 수
+    public List<Object[]> getAverages(ContentType contentType) {
+        List<Object[]> averages = new ArrayList<>();
+        for (Object[] row : genreRatingRollupRepository.findAverages(contentType, MIN_SCORED_COUNT)) {
+            double scoreSum = ((Number) row[1]).doubleValue();
+            long scoredCount = ((Number) row[2]).longValue();
+            averages.add(new Object[]{row[0], scoreSum / scoredCount, row[3]});
+        }
+        return averages;
+    }
+
+    private void apply(ContentType contentType, RollupDelta delta) {
+        delta.deltas.forEach((genreId, values) -> {
+            if (values[0] == 0.0 && values[1] == 0 && values[2] == 0) return;
+            genreRatingRollupRepository.addDelta(genreId, contentType.name(),
+                    values[0], (long) values[1], (long) values[2]);
+        });
+    }
+
+    // 장르별 [평점 합계, 평점 있는 컨텐츠 수, 전체 컨텐츠 수] 변화량
+    private static final class RollupDelta {
+        private final Map<Long, double[]> deltas = new HashMap<>();
+
+        void add(Long genreId, Double score, int sign, boolean membership) {
+            double[] values = deltas.computeIfAbsent(genreId, id -> new double[3]);
+            if (score != null) {
+                values[0] += sign * score;
+                values[1] += sign;
+            }
+            if (membership) {
+                values[2] += sign;
+            }
+        }
+    }
+
+    @Getter
+    public static final class ScoreChange {
+        private final Double oldScore;
+        private final Double newScore;
+
+        public ScoreChange(Double oldScore, Double newScore) {
+            this.oldScore = oldScore;
+            this.newScore = newScore;
+        }
+    }
+}
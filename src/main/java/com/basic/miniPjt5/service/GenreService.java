@@ -23,17 +23,20 @@ public class GenreService {
     private final DramaRepository dramaRepository;
     private final GenreMapper genreMapper;
     private final TMDBGenreService tmdbGenreService;
+    private final GenreRatingRollupService genreRatingRollupService;
 
     public GenreService(GenreRepository genreRepository,
                         MovieRepository movieRepository,
                         DramaRepository dramaRepository,
                         GenreMapper genreMapper,
-                        TMDBGenreService tmdbGenreService) {
+                        TMDBGenreService tmdbGenreService,
+                        GenreRatingRollupService genreRatingRollupService) {
         this.genreRepository = genreRepository;
         this.movieRepository = movieRepository;
         this.dramaRepository = dramaRepository;
         this.genreMapper = genreMapper;
         this.tmdbGenreService = tmdbGenreService;
+        this.genreRatingRollupService = genreRatingRollupService;
     }
 
     // 모든 장르 조회 (상세 정보 포함)
@@ -100,6 +103,7 @@ public class GenreService {
         }
 
         genreRepository.delete(genre);
+        genreRatingRollupService.deleteGenre(id);
     }
 
     // 장르 통계 조회
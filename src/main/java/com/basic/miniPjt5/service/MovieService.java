@@ -1,6 +1,7 @@
 package com.basic.miniPjt5.service;
 
 import com.basic.miniPjt5.DTO.MovieDTO;
+import com.basic.miniPjt5.DTO.PageResponseDTO;
 import com.basic.miniPjt5.entity.Genre;
 import com.basic.miniPjt5.entity.Movie;
 import com.basic.miniPjt5.enums.ContentType;
@@ -10,15 +11,26 @@ import com.basic.miniPjt5.mapper.MovieMapper;
 import com.basic.miniPjt5.repository.GenreRepository;
 import com.basic.miniPjt5.repository.MovieRepository;
 import com.basic.miniPjt5.repository.PostRepository;
+import com.basic.miniPjt5.repository.SpecificationSliceRepository;
+import com.basic.miniPjt5.specification.KeysetSpecifications;
+import com.basic.miniPjt5.specification.MovieSpecifications;
+import com.basic.miniPjt5.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,8 +42,16 @@ public class MovieService {
     private final GenreRepository genreRepository;
     private final PostRepository postRepository;
     private final MovieMapper movieMapper;
-    private final ContentSearchService contentSearchService;
-    private final RatingService ratingService; // 🆕 추가
+    private final ScoreHistogramService scoreHistogramService;
+    private final ContentLeaderboard contentLeaderboard;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final UserRatingStatsService userRatingStatsService;
+    private final SpecificationSliceRepository specificationSliceRepository;
+    private final TitleNgramIndex titleNgramIndex;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final SearchResultCache searchResultCache;
+    private final TmdbSearchRefresher tmdbSearchRefresher;
+    private final ReviewSearchIndex reviewSearchIndex;
 
     // 🔥 수정된 영화 목록 조회
     public Page<MovieDTO.ListResponse> getMovies(int page, int size, String sortBy, String sortDirection) {
@@ -39,7 +59,7 @@ public class MovieService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Page<Movie> moviePage = movieRepository.findAll(pageable);
-        return moviePage.map(movieMapper::toListResponse);
+        return movieMapper.toListResponsePage(moviePage);
     }
 
     // 🔥 수정된 영화 상세 조회
@@ -47,11 +67,7 @@ public class MovieService {
         Movie movie = movieRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
-        // Repository 기반 평점 계산
-        Double newRating = ratingService.calculateMovieCombinedRating(id);
-        movie.setCombinedRating(newRating);
-        movieRepository.save(movie);
-
+        // 조회 경로에서는 저장하지 않음 (통합 평점은 별점 변경 시 CombinedRatingFlusher가 갱신)
         return movieMapper.toResponse(movie);
     }
 
@@ -60,11 +76,6 @@ public class MovieService {
         Movie movie = movieRepository.findByTmdbId(tmdbId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
-        // Repository 기반 평점 계산
-        Double newRating = ratingService.calculateMovieCombinedRating(movie.getId());
-        movie.setCombinedRating(newRating);
-        movieRepository.save(movie);
-
         return movieMapper.toResponse(movie);
     }
 
@@ -87,12 +98,15 @@ public class MovieService {
             movie.setGenres(genres);
         }
 
+        // 🔥 누적 값 기반 평점 계산 (신규 영화는 TMDB 평점만 반영)
+        movie.setCombinedRating(movie.calculateCombinedRating());
         Movie savedMovie = movieRepository.save(movie);
-
-        // 🔥 Repository 기반 평점 계산
-        Double newRating = ratingService.calculateMovieCombinedRating(savedMovie.getId());
-        savedMovie.setCombinedRating(newRating);
-        movieRepository.save(savedMovie);
+        contentLeaderboard.update(savedMovie);
+        titleNgramIndex.update(savedMovie);
+        contentSuggestIndex.update(savedMovie);
+        searchResultCache.invalidate(ContentType.MOVIE, savedMovie.getTitle());
+        genreRatingRollupService.applyMembershipChange(ContentType.MOVIE, List.of(), null,
+                savedMovie.getGenres(), GenreRatingRollupService.scoreOf(savedMovie));
 
         return movieMapper.toResponse(savedMovie);
     }
@@ -102,6 +116,9 @@ public class MovieService {
     public MovieDTO.Response updateMovie(Long id, MovieDTO.UpdateRequest request) {
         Movie movie = movieRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
+        List<Genre> oldGenres = new ArrayList<>(movie.getGenres());
+        Double oldScore = GenreRatingRollupService.scoreOf(movie);
+        String oldTitle = movie.getTitle();
 
         updateMovieFields(movie, request);
 
@@ -114,39 +131,120 @@ public class MovieService {
             movie.setGenres(genres);
         }
 
-        // 🔥 Repository 기반 평점 계산
-        Double newRating = ratingService.calculateMovieCombinedRating(id);
-        movie.setCombinedRating(newRating);
-
-        Movie updatedMovie = movieRepository.save(movie);
+        // 🔥 TMDB 평점/투표 수가 바뀔 수 있으므로 저장 후 DB의 사용자 누적 값 기준으로 재계산 (그 사이 반영된 별점을 덮어쓰지 않음)
+        Movie updatedMovie = movieRepository.saveAndFlush(movie);
+        movieRepository.refreshCombinedRating(updatedMovie.getId());
+        updatedMovie.setCombinedRating(movieRepository.findCombinedRatingById(updatedMovie.getId()));
+        contentLeaderboard.update(updatedMovie);
+        titleNgramIndex.update(updatedMovie);
+        contentSuggestIndex.update(updatedMovie);
+        searchResultCache.invalidate(ContentType.MOVIE, oldTitle);
+        searchResultCache.invalidate(ContentType.MOVIE, updatedMovie.getTitle());
+        genreRatingRollupService.applyMembershipChange(ContentType.MOVIE, oldGenres, oldScore,
+                updatedMovie.getGenres(), GenreRatingRollupService.scoreOf(updatedMovie));
         return movieMapper.toResponse(updatedMovie);
     }
 
     // 🔥 수정된 영화 검색
     public Page<MovieDTO.ListResponse> searchMovies(MovieDTO.SearchRequest searchRequest, int page, int size) {
-        // 로컬 DB 검색
-        Page<Movie> localResults = performLocalSearch(searchRequest, page, size);
-
-        // API 검색이 필요한 경우 (결과가 적거나 제목 검색인 경우)
-        if (localResults.getTotalElements() < 10 || searchRequest.getTitle() != null) {
-            // TMDB API 검색 및 저장 (ContentSearchService 활용)
-            if (contentSearchService != null) {
-                contentSearchService.searchAndSaveMovies(searchRequest.getTitle(), page);
-                // 다시 로컬 검색
-                localResults = performLocalSearch(searchRequest, page, size);
-            }
+        normalizeTitle(searchRequest);
+        return searchResultCache.get(searchKey(searchRequest, "page", page, size),
+                () -> loadSearchMovies(searchRequest, page, size), Page::isEmpty,
+                () -> !isTitleSearchRefreshing(searchRequest.getTitle(), page));
+    }
+
+    private Page<MovieDTO.ListResponse> loadSearchMovies(MovieDTO.SearchRequest searchRequest, int page, int size) {
+        // 로컬 DB 검색 결과를 바로 반환하고, 제목 검색이면 TMDB 검색/저장은 백그라운드로 (다시 조회하면 보강된 결과)
+        requestTmdbRefresh(searchRequest.getTitle(), page);
+        return movieMapper.toListResponsePage(performLocalSearch(searchRequest, page, size));
+    }
+
+    // 🔥 COUNT 없는 영화 목록 조회 (size + 1개로 다음 페이지 여부만 판단)
+    public Slice<MovieDTO.ListResponse> getMoviesSlice(int page, int size, String sortBy, String sortDirection) {
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        Slice<Movie> movieSlice = specificationSliceRepository.findSlice(
+                Movie.class, Specification.where(null), PageRequest.of(page, size, sort));
+        return movieMapper.toListResponseSlice(movieSlice);
+    }
+
+    // 🔥 COUNT 없는 영화 검색 - TMDB 보강은 페이지 검색과 같이 백그라운드로
+    public Slice<MovieDTO.ListResponse> searchMoviesSlice(MovieDTO.SearchRequest searchRequest, int page, int size) {
+        normalizeTitle(searchRequest);
+        return searchResultCache.get(searchKey(searchRequest, "slice", page, size),
+                () -> loadSearchMoviesSlice(searchRequest, page, size), Slice::isEmpty,
+                () -> !isTitleSearchRefreshing(searchRequest.getTitle(), page));
+    }
+
+    private Slice<MovieDTO.ListResponse> loadSearchMoviesSlice(MovieDTO.SearchRequest searchRequest, int page, int size) {
+        requestTmdbRefresh(searchRequest.getTitle(), page);
+        return movieMapper.toListResponseSlice(performLocalSearchSlice(searchRequest, page, size));
+    }
+
+    // 제목 검색의 TMDB 보강이 진행 중인지 (true면 잠시 후 같은 검색을 다시 하면 결과가 늘어날 수 있음)
+    public boolean isTitleSearchRefreshing(String title, int page) {
+        return tmdbSearchRefresher.isPending(ContentType.MOVIE, SearchResultCache.normalize(title), page);
+    }
+
+    // COUNT 없는 장르별 영화 조회
+    public Slice<MovieDTO.ListResponse> getMoviesByGenreSlice(Long genreId, int page, int size) {
+        if (!genreRepository.existsById(genreId)) {
+            throw new BusinessException(ErrorCode.GENRE_NOT_FOUND);
         }
 
-        // 🔥 수정: 컬렉션 참조 대신 Repository 기반 계산
-        if (!localResults.getContent().isEmpty()) {
-            for (Movie movie : localResults.getContent()) {
-                Double newRating = ratingService.calculateMovieCombinedRating(movie.getId());
-                movie.setCombinedRating(newRating);
-            }
-            movieRepository.saveAll(localResults.getContent());
+        Pageable pageable = PageRequest.of(page, size, Sort.by("combinedRating").descending());
+        Slice<Movie> movieSlice = specificationSliceRepository.findSlice(
+                Movie.class, MovieSpecifications.hasGenres(List.of(genreId)), pageable);
+        return movieMapper.toListResponseSlice(movieSlice);
+    }
+
+    // 🔥 커서(키셋) 방식 영화 목록 조회 - OFFSET/COUNT 없이 마지막 행 다음부터 조회
+    public PageResponseDTO<MovieDTO.ListResponse> getMoviesByCursor(String cursor, int size, String sortBy, String sortDirection) {
+        return scrollMovies(Specification.where(null), cursor, size, validateAndConvertSortBy(sortBy), sortDirection);
+    }
+
+    // 🔥 커서 방식 제목 검색 (TMDB 검색/저장은 첫 페이지에서만, 백그라운드로)
+    public PageResponseDTO<MovieDTO.ListResponse> searchMoviesByTitleWithCursor(String title, String cursor, int size,
+                                                                           String sortBy, String sortDirection) {
+        boolean refreshing = cursor == null && requestTmdbRefresh(title, 0);
+        PageResponseDTO<MovieDTO.ListResponse> response =
+                scrollMovies(Specification.where(titleMatches(title)), cursor, size, validateAndConvertSortBy(sortBy), sortDirection);
+        response.setRefreshing(refreshing);
+        return response;
+    }
+
+    // 커서 방식 장르별 영화 조회
+    public PageResponseDTO<MovieDTO.ListResponse> getMoviesByGenreWithCursor(Long genreId, String cursor, int size) {
+        if (!genreRepository.existsById(genreId)) {
+            throw new BusinessException(ErrorCode.GENRE_NOT_FOUND);
         }
+        return scrollMovies(MovieSpecifications.hasGenres(List.of(genreId)), cursor, size, "combinedRating", "desc");
+    }
 
-        return localResults.map(movieMapper::toListResponse);
+    private PageResponseDTO<MovieDTO.ListResponse> scrollMovies(Specification<Movie> filter, String cursor, int size,
+                                                              String sortKey, String sortDirection) {
+        if (size < 1) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "페이지 크기는 1 이상이어야 합니다.");
+        }
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        Specification<Movie> spec = cursor != null
+                ? filter.and(KeysetSpecifications.after(KeysetCursor.decode(cursor, sortKey, descending)))
+                : filter;
+
+        // size + 1개를 읽어 다음 페이지 존재 여부 판단 (COUNT 쿼리 없음)
+        List<Movie> rows = movieRepository.findBy(spec, query -> query
+                .sortBy(KeysetSpecifications.sort(sortKey, descending))
+                .limit(size + 1)
+                .all());
+        boolean hasNext = rows.size() > size;
+        List<Movie> movies = hasNext ? rows.subList(0, size) : rows;
+
+        String next = null;
+        if (hasNext) {
+            Movie last = movies.get(movies.size() - 1);
+            Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(sortKey);
+            next = KeysetCursor.of(sortKey, descending, lastValue, last.getId()).encode();
+        }
+        return PageResponseDTO.ofCursor(movieMapper.toListResponseList(movies), size, next);
     }
 
     // 🔥 수정된 평점 수정 메서드 (완전 제거하거나 Repository 기반으로)
@@ -155,43 +253,35 @@ public class MovieService {
         for (Long movieId : movieIds) {
             Movie movie = movieRepository.findById(movieId).orElse(null);
             if (movie != null) {
-                Double newRating = ratingService.calculateMovieCombinedRating(movieId);
-                movie.setCombinedRating(newRating);
-                movieRepository.save(movie);
-            }
-        }
-    }
-
-    // 🔥 완전히 새로운 안전한 평점 수정 메서드
-    @Transactional
-    public void fixAllCombinedRatings() {
-        List<Movie> allMovies = movieRepository.findAll();
-
-        for (Movie movie : allMovies) {
-            try {
-                // 🔥 Repository 기반 계산 (컬렉션 참조 X)
-                Double newRating = ratingService.calculateMovieCombinedRating(movie.getId());
-                movie.setCombinedRating(newRating);
-
-                System.out.println("영화 ID " + movie.getId() + " (" + movie.getTitle() + ") - " +
-                        "combinedRating: " + movie.getCombinedRating());
-            } catch (Exception e) {
-                System.err.println("영화 ID " + movie.getId() + " 업데이트 실패: " + e.getMessage());
+                Double oldScore = GenreRatingRollupService.scoreOf(movie);
+                movieRepository.refreshCombinedRating(movieId);
+                movie.setCombinedRating(movieRepository.findCombinedRatingById(movieId));
+                contentLeaderboard.update(movie);
+                contentSuggestIndex.update(movie);
+                Double newScore = GenreRatingRollupService.scoreOf(movie);
+                genreRatingRollupService.applyScoreChanges(ContentType.MOVIE,
+                        Map.of(movieId, new GenreRatingRollupService.ScoreChange(oldScore, newScore)));
             }
         }
-
-        movieRepository.saveAll(allMovies);
-        System.out.println("모든 영화 combinedRating 업데이트 완료!");
     }
 
     // 영화 삭제 (관리자용)
     @Transactional
     public void deleteMovie(Long id) {
-        if (!movieRepository.existsById(id)) {
-            throw new BusinessException(ErrorCode.MOVIE_NOT_FOUND);
-        }
-        movieRepository.deleteById(id);
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
+        genreRatingRollupService.applyMembershipChange(ContentType.MOVIE, movie.getGenres(),
+                GenreRatingRollupService.scoreOf(movie), List.of(), null);
+        // 컨텐츠와 함께 삭제되는 별점을 사용자 통계에서 먼저 뺌
+        userRatingStatsService.subtractContentRatings(ContentType.MOVIE, id);
+        reviewSearchIndex.removeContentReviews(ContentType.MOVIE, id);
+        movieRepository.delete(movie);
         postRepository.deleteByContentTypeAndContentId(ContentType.MOVIE, id);
+        scoreHistogramService.deleteHistogram(ContentType.MOVIE, id);
+        contentLeaderboard.remove(ContentType.MOVIE, id);
+        titleNgramIndex.remove(ContentType.MOVIE, id);
+        contentSuggestIndex.remove(ContentType.MOVIE, id);
+        searchResultCache.invalidate(ContentType.MOVIE, movie.getTitle());
     }
 
     // 장르별 영화 조회
@@ -201,9 +291,9 @@ public class MovieService {
         }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("combinedRating").descending());
-        Page<Movie> moviePage = movieRepository.findByGenreId(genreId, pageable);
+        Page<Movie> moviePage = movieRepository.findAll(MovieSpecifications.hasGenres(List.of(genreId)), pageable);
 
-        return moviePage.map(movieMapper::toListResponse);
+        return movieMapper.toListResponsePage(moviePage);
     }
 
     public Page<MovieDTO.ListResponse> getMoviesByGenreName(String genreName, int page, int size) {
@@ -218,7 +308,7 @@ public class MovieService {
             moviePage = movieRepository.findByGenreNameContainingIgnoreCase(genreName, pageable);
         }
 
-        return moviePage.map(movieMapper::toListResponse);
+        return movieMapper.toListResponsePage(moviePage);
     }
 
     // 인기 영화 조회
@@ -226,26 +316,18 @@ public class MovieService {
         Pageable pageable = PageRequest.of(0, limit, Sort.by("combinedRating").descending());
         Page<Movie> moviePage = movieRepository.findAll(pageable);
 
-        return moviePage.getContent().stream()
-                .map(movieMapper::toListResponse)
-                .toList();
+        return movieMapper.toListResponseList(moviePage.getContent());
     }
 
     // 평점 높은 영화 조회
     public List<MovieDTO.ListResponse> getTopRatedMovies() {
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("combinedRating").descending());
-        Page<Movie> moviePage = movieRepository.findAll(pageable);
-        return moviePage.getContent().stream()
-                .map(movieMapper::toListResponse)
-                .toList();
+        return movieMapper.toListResponseList(contentLeaderboard.getTopMovies(20));
     }
 
     // 개봉년도별 영화 조회
     public List<MovieDTO.ListResponse> getMoviesByReleaseYear(String year) {
         List<Movie> movies = movieRepository.findByReleaseYear(year);
-        return movies.stream()
-                .map(movieMapper::toListResponse)
-                .toList();
+        return movieMapper.toListResponseList(movies);
     }
 
     // private 메서드들
@@ -270,87 +352,68 @@ public class MovieService {
         }
     }
 
+    // 🔥 주어진 조건 조합과 관계없이 Specification 하나로 조회 (전체 개수는 조인 없는 별도 COUNT 쿼리, 첫 페이지가 덜 차면 생략)
     private Page<Movie> performLocalSearch(MovieDTO.SearchRequest searchRequest, int page, int size) {
-        String validatedSortBy = validateAndConvertSortBy(searchRequest.getSortBy());
-        Sort sort = Sort.by(
+        return movieRepository.findAll(searchSpecification(searchRequest), PageRequest.of(page, size, searchSort(searchRequest)));
+    }
+
+    // COUNT 없는 검색: 같은 조건으로 size + 1개만 조회
+    private Slice<Movie> performLocalSearchSlice(MovieDTO.SearchRequest searchRequest, int page, int size) {
+        return specificationSliceRepository.findSlice(
+                Movie.class, searchSpecification(searchRequest), PageRequest.of(page, size, searchSort(searchRequest)));
+    }
+
+    // 검색 조건: 제목(n-gram 색인 후보 ID) + 장르(EXISTS) + 통합 평점 범위 - 주어지지 않은 조건은 생략
+    private Specification<Movie> searchSpecification(MovieDTO.SearchRequest searchRequest) {
+        List<Long> genreIds = searchRequest.getGenreIds() != null
+                ? searchRequest.getGenreIds().stream().filter(Objects::nonNull).toList()
+                : null;
+
+        return Specification.where(titleMatches(searchRequest.getTitle()))
+                .and(MovieSpecifications.hasGenres(genreIds))
+                .and(MovieSpecifications.ratingBetween(searchRequest.getMinRating(), searchRequest.getMaxRating()));
+    }
+
+    private Sort searchSort(MovieDTO.SearchRequest searchRequest) {
+        return Sort.by(
                 Sort.Direction.fromString(searchRequest.getSortDirection()),
-                validatedSortBy
+                validateAndConvertSortBy(searchRequest.getSortBy())
         );
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        // 🎯 3가지 핵심 조건만 사용한 복합 검색
-        boolean hasTitle = searchRequest.getTitle() != null && !searchRequest.getTitle().trim().isEmpty();
-        boolean hasGenres = searchRequest.getGenreIds() != null &&
-                !searchRequest.getGenreIds().isEmpty() &&
-                searchRequest.getGenreIds().stream().anyMatch(id -> id != null); // null 요소 체크 추가
-        boolean hasRating = searchRequest.getMinRating() != null || searchRequest.getMaxRating() != null;
-
-        // 1. 🏆 최고급 검색: 제목 + 장르 + 평점
-        if (hasTitle && hasGenres && hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-
-            return movieRepository.findByTitleContainingIgnoreCaseAndGenres_IdInAndCombinedRatingBetween(
-                    searchRequest.getTitle(),
-                    searchRequest.getGenreIds(),
-                    minRating,
-                    maxRating,
-                    pageable
-            );
-        }
+    }
 
-        // 2. 제목 + 장르
-        else if (hasTitle && hasGenres) {
-            return movieRepository.findByTitleContainingIgnoreCaseAndGenres_IdIn(
-                    searchRequest.getTitle(),
-                    searchRequest.getGenreIds(),
-                    pageable
-            );
+    // 검색어 정규화 (캐시 키와 실제 검색이 같은 검색어를 쓰도록)
+    private void normalizeTitle(MovieDTO.SearchRequest searchRequest) {
+        if (searchRequest.getTitle() != null) {
+            searchRequest.setTitle(SearchResultCache.normalize(searchRequest.getTitle()));
         }
+    }
 
-        // 3. 제목 + 평점
-        else if (hasTitle && hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-
-            return movieRepository.findByTitleContainingIgnoreCaseAndCombinedRatingBetween(
-                    searchRequest.getTitle(),
-                    minRating,
-                    maxRating,
-                    pageable
-            );
-        }
+    private SearchResultCache.SearchKey searchKey(MovieDTO.SearchRequest searchRequest, String mode, int page, int size) {
+        List<Long> genreIds = searchRequest.getGenreIds() != null
+                ? searchRequest.getGenreIds().stream().filter(Objects::nonNull).sorted().toList()
+                : List.of();
+        return new SearchResultCache.SearchKey(ContentType.MOVIE, searchRequest.getTitle(), mode, genreIds,
+                searchRequest.getMinRating(), searchRequest.getMaxRating(),
+                validateAndConvertSortBy(searchRequest.getSortBy()), searchRequest.getSortDirection(), page, size);
+    }
 
-        // 4. 장르 + 평점
-        else if (hasGenres && hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-
-            return movieRepository.findByGenres_IdInAndCombinedRatingBetween(
-                    searchRequest.getGenreIds(),
-                    minRating,
-                    maxRating,
-                    pageable
-            );
-        }
+    // 제목이 있으면 TMDB 검색/저장을 백그라운드 작업으로 요청 (진행 중이면 true)
+    private boolean requestTmdbRefresh(String title, int page) {
+        String query = SearchResultCache.normalize(title);
+        return !query.isEmpty() && tmdbSearchRefresher.request(ContentType.MOVIE, query, page);
+    }
 
-        // 5. 단일 조건들
-        else if (hasTitle) {
-            return movieRepository.findByTitleContainingIgnoreCase(searchRequest.getTitle(), pageable);
+    // 제목 부분 일치 조건: 제목 n-gram 색인이 찾은 후보 ID로 제한 (제목이 없으면 조건 없음)
+    // 후보가 너무 많은 짧은 검색어는 수만 개짜리 IN 목록 대신 LIKE 조건으로
+    private Specification<Movie> titleMatches(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            return null;
         }
-        else if (hasGenres) {
-            return movieRepository.findByGenres_IdIn(searchRequest.getGenreIds(), pageable);
-        }
-        else if (hasRating) {
-            Double minRating = searchRequest.getMinRating() != null ? searchRequest.getMinRating() : 0.0;
-            Double maxRating = searchRequest.getMaxRating() != null ? searchRequest.getMaxRating() : 5.0;
-            return movieRepository.findByCombinedRatingBetween(minRating, maxRating, pageable);
-        }
-
-        // 6. 조건 없으면 통합 평점 순으로 전체 조회
-        else {
-            return movieRepository.findAll(pageable);
+        Set<Long> ids = titleNgramIndex.search(ContentType.MOVIE, title);
+        if (titleNgramIndex.exceedsInListLimit(ids)) {
+            return MovieSpecifications.titleContains(SearchResultCache.normalize(title));
         }
+        return MovieSpecifications.idIn(ids);
     }
 
     private String validateAndConvertSortBy(String sortBy) {
@@ -36,6 +36,7 @@ public class PostService {
     private final UserRepository userRepository;
     private final MovieRepository movieRepository; // MovieRepository 주입
     private final DramaRepository dramaRepository;
+    private final TrendingEngine trendingEngine;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -105,6 +106,7 @@ public class PostService {
         post.setCode(postCode);
 
         Post createPost = postRepository.save(post);
+        trendingEngine.record(createPost.getContentType(), createPost.getContentId(), TrendingEngine.Activity.POST);
         return PostDTO.Response.fromEntity(createPost);
     }
 
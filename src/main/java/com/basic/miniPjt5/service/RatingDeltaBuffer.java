@@ -0,0 +1,311 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.entity.ScoreHistogram;
+import com.basic.miniPjt5.enums.ContentType;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 컨텐츠별 사용자 별점 변화량(합계/개수/분포)을 메모리에 모아 두는 write-behind 버퍼.
+ * 컨텐츠 키를 해시로 나눈 구간(stripe)마다 별도의 락을 사용해 인기 작품에 몰리는 별점 요청이
+ * movies/dramas 행 잠금 대신 짧은 메모리 락에서만 경합하도록 한다. 실제 반영은 CombinedRatingFlusher가 담당한다.
+ * 별점 트랜잭션은 커밋 직전(컨텐츠 행 공유 잠금을 쥔 상태)에 변화량을 "대기 중"으로 등록하고 커밋 후 버퍼에 합친다.
+ * 일괄 재계산은 구간 행을 잠근 뒤 대기 중인 변화량이 모두 합쳐질 때까지 기다렸다가 폐기하므로 같은 별점이 두 번 반영되지 않는다.
+ */
+@Component
+public class RatingDeltaBuffer {
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPE_COUNT];
+    private final Map<ContentKey, RatingDelta>[] stripes;
+    // 커밋됐거나 커밋 중이지만 아직 버퍼에 합쳐지지 않은 변화량 수 (컨텐츠별)
+    private final Map<ContentKey, Integer>[] pendingCounts;
+    private final Condition[] settled;
+
+    @SuppressWarnings("unchecked")
+    public RatingDeltaBuffer() {
+        stripes = new Map[STRIPE_COUNT];
+        pendingCounts = new Map[STRIPE_COUNT];
+        settled = new Condition[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            locks[i] = new ReentrantLock();
+            stripes[i] = new HashMap<>();
+            pendingCounts[i] = new HashMap<>();
+            settled[i] = locks[i].newCondition();
+        }
+    }
+
+    /**
+     * 별점 변경 기록 (0.5점 단위 정수, old == null: 신규, new == null: 삭제) - 트랜잭션 커밋 후에만 버퍼에 반영.
+     * 호출하는 트랜잭션은 먼저 컨텐츠 행을 공유 잠금해야 한다 (MovieRepository/DramaRepository.findByIdForShare).
+     */
+    public void record(ContentType contentType, Long contentId, Integer oldHalfStars, Integer newHalfStars) {
+        RatingDelta delta = new RatingDelta();
+        if (oldHalfStars != null) {
+            delta.add(oldHalfStars, -1);
+        }
+        if (newHalfStars != null) {
+            delta.add(newHalfStars, 1);
+        }
+
+        ContentKey key = new ContentKey(contentType, contentId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            merge(key, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean pending;
+
+            // 행 잠금이 아직 유지되는 시점에 등록 → 구간 재계산이 행을 잠갔을 때 남은 대기분은 이미 커밋된 별점뿐
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                addPending(key);
+                pending = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (pending) {
+                    settle(key, status == STATUS_COMMITTED ? delta : null);
+                }
+            }
+        });
+    }
+
+    // 아직 반영되지 않은 변화량 (조회 시 DB 값에 더해서 사용, 없으면 null)
+    public RatingDelta peek(ContentType contentType, Long contentId) {
+        ContentKey key = new ContentKey(contentType, contentId);
+        int stripe = stripeOf(key);
+        locks[stripe].lock();
+        try {
+            RatingDelta delta = stripes[stripe].get(key);
+            return delta != null ? delta.copy() : null;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // 조회 응답용 통합 평점: 아직 반영되지 않은 변화량이 있으면 누적 값에 더해 다시 계산 (없으면 저장된 값)
+    public Double combinedRating(Movie movie) {
+        RatingDelta pending = peek(ContentType.MOVIE, movie.getId());
+        return pending != null
+                ? movie.calculateCombinedRating(pending.getScoreSum(), pending.getCount())
+                : movie.getCombinedRating();
+    }
+
+    public Double combinedRating(Drama drama) {
+        RatingDelta pending = peek(ContentType.DRAMA, drama.getId());
+        return pending != null
+                ? drama.calculateCombinedRating(pending.getScoreSum(), pending.getCount())
+                : drama.getCombinedRating();
+    }
+
+    // 아직 반영되지 않은 별점 수 변화량 (투표 수 표시용)
+    public long pendingCount(ContentType contentType, Long contentId) {
+        RatingDelta pending = peek(contentType, contentId);
+        return pending != null ? pending.getCount() : 0L;
+    }
+
+    // 구간별로 맵을 통째로 교체해 누적된 변화량을 꺼냄
+    public Map<ContentKey, RatingDelta> drain() {
+        Map<ContentKey, RatingDelta> drained = new HashMap<>();
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            Map<ContentKey, RatingDelta> taken;
+            locks[i].lock();
+            try {
+                if (stripes[i].isEmpty()) continue;
+                taken = stripes[i];
+                stripes[i] = new HashMap<>();
+            } finally {
+                locks[i].unlock();
+            }
+            drained.putAll(taken);
+        }
+        return drained;
+    }
+
+    // 반영 실패한 변화량을 되돌려 놓음 (그 사이 들어온 변화량과 합산)
+    public void restore(Map<ContentKey, RatingDelta> deltas) {
+        deltas.forEach(this::merge);
+    }
+
+    /**
+     * 일괄 재계산으로 덮어쓰는 ID 구간의 변화량을 꺼내서 폐기 (ratings 테이블 기준 값에 이미 포함됨).
+     * 호출 전에 구간의 컨텐츠 행을 FOR UPDATE로 잠가 새 별점이 끼어들지 못하게 해야 하며,
+     * 이미 커밋됐지만 아직 합쳐지지 않은 변화량은 합쳐질 때까지 기다린다. 재계산이 롤백되면 돌려받은 값을 restore.
+     */
+    public Map<ContentKey, RatingDelta> discard(ContentType contentType, long fromId, long toId, long timeoutMillis) {
+        // 1) 대기분 정리 (행이 잠겨 있으므로 구간에 새 대기분은 생기지 않음)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            locks[i].lock();
+            try {
+                while (hasPendingInRange(pendingCounts[i], contentType, fromId, toId)) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("커밋된 별점 변화량이 버퍼에 합쳐지지 않음: type=" + contentType
+                                + ", range=" + fromId + "~" + toId);
+                    }
+                    settled[i].awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("별점 변화량 대기 중 중단됨", e);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+
+        // 2) 폐기
+        Map<ContentKey, RatingDelta> discarded = new HashMap<>();
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            locks[i].lock();
+            try {
+                Iterator<Map.Entry<ContentKey, RatingDelta>> iterator = stripes[i].entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<ContentKey, RatingDelta> entry = iterator.next();
+                    if (inRange(entry.getKey(), contentType, fromId, toId)) {
+                        discarded.put(entry.getKey(), entry.getValue());
+                        iterator.remove();
+                    }
+                }
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return discarded;
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            locks[i].lock();
+            try {
+                size += stripes[i].size();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return size;
+    }
+
+    private void merge(ContentKey key, RatingDelta delta) {
+        int stripe = stripeOf(key);
+        locks[stripe].lock();
+        try {
+            stripes[stripe].computeIfAbsent(key, k -> new RatingDelta()).merge(delta);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    private void addPending(ContentKey key) {
+        int stripe = stripeOf(key);
+        locks[stripe].lock();
+        try {
+            pendingCounts[stripe].merge(key, 1, Integer::sum);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // 대기분 해제 (커밋됐으면 delta 를 합치고, 롤백이면 null)
+    private void settle(ContentKey key, RatingDelta delta) {
+        int stripe = stripeOf(key);
+        locks[stripe].lock();
+        try {
+            pendingCounts[stripe].computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            if (delta != null) {
+                stripes[stripe].computeIfAbsent(key, k -> new RatingDelta()).merge(delta);
+            }
+            settled[stripe].signalAll();
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    private static boolean hasPendingInRange(Map<ContentKey, Integer> pending, ContentType contentType, long fromId, long toId) {
+        for (ContentKey key : pending.keySet()) {
+            if (inRange(key, contentType, fromId, toId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean inRange(ContentKey key, ContentType contentType, long fromId, long toId) {
+        return key.getContentType() == contentType && key.getContentId() >= fromId && key.getContentId() <= toId;
+    }
+
+    private int stripeOf(ContentKey key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPE_COUNT;
+    }
+
+    @Getter
+    public static final class ContentKey {
+        private final ContentType contentType;
+        private final Long contentId;
+
+        public ContentKey(ContentType contentType, Long contentId) {
+            this.contentType = contentType;
+            this.contentId = contentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ContentKey other)) return false;
+            return contentType == other.contentType && Objects.equals(contentId, other.contentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentType, contentId);
+        }
+    }
+
+    // 컨텐츠 하나의 누적 변화량 (점수 합계도 0.5점 단위 정수로 누적)
+    @Getter
+    public static final class RatingDelta {
+        private long halfStarSum;
+        private long count;
+        private final long[] bucketCounts = new long[ScoreHistogram.BUCKET_COUNT];
+
+        public double getScoreSum() {
+            return halfStarSum / 2.0;
+        }
+
+        private void add(int halfStars, int sign) {
+            halfStarSum += (long) sign * halfStars;
+            count += sign;
+            bucketCounts[halfStars - 1] += sign;
+        }
+
+        private void merge(RatingDelta other) {
+            halfStarSum += other.halfStarSum;
+            count += other.count;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] += other.bucketCounts[i];
+            }
+        }
+
+        private RatingDelta copy() {
+            RatingDelta copy = new RatingDelta();
+            copy.merge(this);
+            return copy;
+        }
+    }
+}
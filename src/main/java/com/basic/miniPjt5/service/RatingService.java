@@ -5,6 +5,7 @@ import com.basic.miniPjt5.entity.Drama;
 import com.basic.miniPjt5.entity.Movie;
 import com.basic.miniPjt5.entity.Rating;
 import com.basic.miniPjt5.entity.User;
+import com.basic.miniPjt5.enums.ContentType;
 import com.basic.miniPjt5.enums.UserStatus;
 import com.basic.miniPjt5.enums.UserRole;
 import com.basic.miniPjt5.exception.BusinessException;
@@ -13,17 +14,22 @@ import com.basic.miniPjt5.repository.DramaRepository;
 import com.basic.miniPjt5.repository.MovieRepository;
 import com.basic.miniPjt5.repository.RatingRepository;
 import com.basic.miniPjt5.repository.UserRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.RatingDelta;
+import com.basic.miniPjt5.util.HalfStarStatistics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +40,10 @@ public class RatingService {
     private final UserRepository userRepository;
     private final MovieRepository movieRepository;
     private final DramaRepository dramaRepository;
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final TrendingEngine trendingEngine;
+    private final UserRatingStatsService userRatingStatsService;
+    private final ScoreHistogramService scoreHistogramService;
 
     // 별점 생성 또는 수정
     @Transactional
@@ -48,12 +58,13 @@ public class RatingService {
         if (user.getStatus() != UserStatus.ACTIVE) {
             throw new BusinessException(ErrorCode.USER_SUSPENDED, "정상 상태의 사용자만 별점을 등록/수정할 수 있습니다.");
         }
+        userRatingStatsService.prepare(userId);
 
         Rating rating = null;
 
         if (requestDto.getMovieId() != null) {
-            // 영화 별점 처리
-            Movie movie = movieRepository.findById(requestDto.getMovieId())
+            // 영화 별점 처리 (공유 잠금: 같은 구간의 일괄 재계산과 겹치지 않도록)
+            Movie movie = movieRepository.findByIdForShare(requestDto.getMovieId())
                     .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
             Optional<Rating> existingRating = ratingRepository.findByUserIdAndMovieId(userId, requestDto.getMovieId());
@@ -66,18 +77,22 @@ public class RatingService {
                     throw new BusinessException(ErrorCode.RATING_ACCESS_DENIED);
                 }
 
+                int oldHalfStars = rating.getHalfStars();
                 rating.updateScore(requestDto.getScore());
+                // ⭐ 점수 변화량만 버퍼에 기록 (컨텐츠 행은 공유 잠금만)
+                ratingDeltaBuffer.record(ContentType.MOVIE, movie.getId(), oldHalfStars, rating.getHalfStars());
+                userRatingStatsService.record(rating, oldHalfStars, rating.getHalfStars());
             } else {
                 // 새 별점 생성
                 rating = new Rating(user, requestDto.getScore(), movie);
                 rating = ratingRepository.save(rating);
+                ratingDeltaBuffer.record(ContentType.MOVIE, movie.getId(), null, rating.getHalfStars());
+                userRatingStatsService.record(rating, null, rating.getHalfStars());
+                trendingEngine.record(ContentType.MOVIE, movie.getId(), TrendingEngine.Activity.RATING);
             }
-            Double newRating = calculateMovieCombinedRating(requestDto.getMovieId());
-            movie.setCombinedRating(newRating);
-            movieRepository.save(movie);
         } else {
             // 드라마 별점 처리
-            Drama drama = dramaRepository.findById(requestDto.getDramaId())
+            Drama drama = dramaRepository.findByIdForShare(requestDto.getDramaId())
                     .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
 
             Optional<Rating> existingRating = ratingRepository.findByUserIdAndDramaId(userId, requestDto.getDramaId());
@@ -90,15 +105,19 @@ public class RatingService {
                     throw new BusinessException(ErrorCode.RATING_ACCESS_DENIED);
                 }
 
+                int oldHalfStars = rating.getHalfStars();
                 rating.updateScore(requestDto.getScore());
+                // ⭐ 점수 변화량만 버퍼에 기록 (컨텐츠 행은 공유 잠금만)
+                ratingDeltaBuffer.record(ContentType.DRAMA, drama.getId(), oldHalfStars, rating.getHalfStars());
+                userRatingStatsService.record(rating, oldHalfStars, rating.getHalfStars());
             } else {
                 // 새 별점 생성
                 rating = new Rating(user, requestDto.getScore(), drama);
                 rating = ratingRepository.save(rating);
+                ratingDeltaBuffer.record(ContentType.DRAMA, drama.getId(), null, rating.getHalfStars());
+                userRatingStatsService.record(rating, null, rating.getHalfStars());
+                trendingEngine.record(ContentType.DRAMA, drama.getId(), TrendingEngine.Activity.RATING);
             }
-            Double newRating = calculateDramaCombinedRating(requestDto.getDramaId());
-            drama.setCombinedRating(newRating);
-            dramaRepository.save(drama);
         }
 
         return convertToResponseDto(rating);
@@ -124,26 +143,63 @@ public class RatingService {
 
         Long movieId = rating.getMovie() != null ? rating.getMovie().getId() : null;
         Long dramaId = rating.getDrama() != null ? rating.getDrama().getId() : null;
+        int deletedHalfStars = rating.getHalfStars();
 
+        // 삭제 전에 컨텐츠 행 공유 잠금 (변화량 버퍼 기록 규칙)
+        if (movieId != null) {
+            movieRepository.findByIdForShare(movieId);
+        }
+        if (dramaId != null) {
+            dramaRepository.findByIdForShare(dramaId);
+        }
+
+        userRatingStatsService.prepare(rating.getUser().getUserId());
         ratingRepository.deleteById(ratingId);
         ratingRepository.flush();
+        userRatingStatsService.record(rating, deletedHalfStars, null);
 
-        // ⭐ 평점 재계산
+        // ⭐ 삭제된 점수를 변화량 버퍼에 기록 (누적 값/통합 평점은 주기적으로 일괄 반영)
         if (movieId != null) {
-            Double newRating = calculateMovieCombinedRating(movieId);
-            Movie movie = movieRepository.findById(movieId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
-            movie.setCombinedRating(newRating);
-            movieRepository.save(movie);
+            ratingDeltaBuffer.record(ContentType.MOVIE, movieId, deletedHalfStars, null);
         }
         if (dramaId != null) {
-            Double newRating = calculateDramaCombinedRating(dramaId);
-            Drama drama = dramaRepository.findById(dramaId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
-            drama.setCombinedRating(newRating);
-            dramaRepository.save(drama);
+            ratingDeltaBuffer.record(ContentType.DRAMA, dramaId, deletedHalfStars, null);
         }
+    }
 
+    // 사용자 하드 삭제 전: 연쇄 삭제될 별점을 변화량 버퍼에 삭제로 기록 (누적 값/통합 평점/분포/장르 누적 값에서 차감)
+    @Transactional
+    public void retractUserRatings(Long userId) {
+        List<Object[]> rows = ratingRepository.findScoreRowsByUserId(userId);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Set<Long> movieIds = new TreeSet<>();
+        Set<Long> dramaIds = new TreeSet<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                movieIds.add((Long) row[0]);
+            } else if (row[1] != null) {
+                dramaIds.add((Long) row[1]);
+            }
+        }
+        // 별점 기록 규칙대로 컨텐츠 행 공유 잠금 (ID 순서로)
+        if (!movieIds.isEmpty()) {
+            movieRepository.findAllByIdForShare(movieIds);
+        }
+        if (!dramaIds.isEmpty()) {
+            dramaRepository.findAllByIdForShare(dramaIds);
+        }
+
+        for (Object[] row : rows) {
+            int halfStars = ((Number) row[2]).intValue();
+            if (row[0] != null) {
+                ratingDeltaBuffer.record(ContentType.MOVIE, (Long) row[0], halfStars, null);
+            } else if (row[1] != null) {
+                ratingDeltaBuffer.record(ContentType.DRAMA, (Long) row[1], halfStars, null);
+            }
+        }
     }
 
     // 사용자가 준 별점 조회
@@ -164,10 +220,17 @@ public class RatingService {
         Movie movie = movieRepository.findById(movieId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
-        // 사용자 평점만
-        Double combinedRating = movie.getCombinedRating() != null ?
-                movie.getCombinedRating() : movie.getVoteAverage();
-        Long userRatingCount = ratingRepository.countByMovieId(movieId);
+        // 아직 반영되지 않은 별점 변화량이 있으면 합쳐서 계산
+        RatingDelta pending = ratingDeltaBuffer.peek(ContentType.MOVIE, movieId);
+        Double combinedRating;
+        Long userRatingCount = movie.getUserRatingCount();
+        if (pending != null) {
+            combinedRating = movie.calculateCombinedRating(pending.getScoreSum(), pending.getCount());
+            userRatingCount += pending.getCount();
+        } else {
+            combinedRating = movie.getCombinedRating() != null ?
+                    movie.getCombinedRating() : movie.getVoteAverage();
+        }
 
         Long totalRatingCount = (long) movie.getVoteCount() + userRatingCount;
 
@@ -188,11 +251,17 @@ public class RatingService {
         Drama drama = dramaRepository.findById(dramaId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
 
-        Double combinedRating = drama.getCombinedRating() != null ?
-                drama.getCombinedRating() : drama.getVoteAverage();
-
-        // 사용자 평점 통계
-        Long userRatingCount = ratingRepository.countByDramaId(dramaId);
+        // 아직 반영되지 않은 별점 변화량이 있으면 합쳐서 계산
+        RatingDelta pending = ratingDeltaBuffer.peek(ContentType.DRAMA, dramaId);
+        Double combinedRating;
+        Long userRatingCount = drama.getUserRatingCount();
+        if (pending != null) {
+            combinedRating = drama.calculateCombinedRating(pending.getScoreSum(), pending.getCount());
+            userRatingCount += pending.getCount();
+        } else {
+            combinedRating = drama.getCombinedRating() != null ?
+                    drama.getCombinedRating() : drama.getVoteAverage();
+        }
 
         // 전체 투표 수 = TMDB 투표 수 + 사용자 투표 수
         Long totalRatingCount = (long) drama.getVoteCount() + userRatingCount;
@@ -230,6 +299,28 @@ public class RatingService {
         return ratings.map(this::convertToResponseDto);
     }
 
+    // COUNT 없는 영화별/드라마별/사용자별 별점 목록 조회
+    public Slice<RatingDTO.Response> getMovieRatingsSlice(Long movieId, Pageable pageable) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new BusinessException(ErrorCode.MOVIE_NOT_FOUND);
+        }
+        return ratingRepository.findSliceByMovieId(movieId, pageable).map(this::convertToResponseDto);
+    }
+
+    public Slice<RatingDTO.Response> getDramaRatingsSlice(Long dramaId, Pageable pageable) {
+        if (!dramaRepository.existsById(dramaId)) {
+            throw new BusinessException(ErrorCode.DRAMA_NOT_FOUND);
+        }
+        return ratingRepository.findSliceByDramaId(dramaId, pageable).map(this::convertToResponseDto);
+    }
+
+    public Slice<RatingDTO.Response> getUserRatingsSlice(Long userId, Pageable pageable) {
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        return ratingRepository.findSliceByUserId(userId, pageable).map(this::convertToResponseDto);
+    }
+
     // 사용자별 별점 목록 조회
     public Page<RatingDTO.Response> getUserRatings(Long userId, Pageable pageable) {
         // 사용자 존재 확인
@@ -241,48 +332,23 @@ public class RatingService {
         return ratings.map(this::convertToResponseDto);
     }
 
-    // 별점 분포 조회
+    // 별점 분포 조회 (컨텐츠별 분포 행 한 건으로 응답)
     public Map<String, Long> getScoreDistribution(Long movieId, Long dramaId) {
-        Object[][] distribution = null;
-
         if (movieId != null) {
             if (!movieRepository.existsById(movieId)) {
                 throw new BusinessException(ErrorCode.MOVIE_NOT_FOUND);
             }
-            distribution = ratingRepository.findScoreDistributionByMovieId(movieId);
-        } else if (dramaId != null) {
+            return scoreHistogramService.getStatistics(ContentType.MOVIE, movieId).toDistribution();
+        }
+        if (dramaId != null) {
             if (!dramaRepository.existsById(dramaId)) {
                 throw new BusinessException(ErrorCode.DRAMA_NOT_FOUND);
             }
-            distribution = ratingRepository.findScoreDistributionByDramaId(dramaId);
+            return scoreHistogramService.getStatistics(ContentType.DRAMA, dramaId).toDistribution();
         }
-
-        Map<String, Long> result = new HashMap<>();
-
-        // 0.5~5.0점 초기화 (0.5 단위)
-        for (int i = 1; i <= 10; i++) {
-            BigDecimal score = new BigDecimal(i).divide(new BigDecimal("2"));
-            result.put(score.toPlainString(), 0L);
-        }
-
-        // 실제 데이터 입력
-        if (distribution != null) {
-            for (Object[] row : distribution) {
-                if (row[0] != null && row[1] != null) {
-                    BigDecimal score;
-                    if (row[0] instanceof BigDecimal) {
-                        score = (BigDecimal) row[0];
-                    } else {
-                        score = new BigDecimal(row[0].toString());
-                    }
-                    Long count = ((Number) row[1]).longValue();
-                    result.put(score.toPlainString(), count);
-                }
-            }
-        }
-
-        return result;
+        return HalfStarStatistics.of(new long[HalfStarStatistics.BUCKET_COUNT]).toDistribution();
     }
+
     // 요청 검증
     private void validateRatingRequest(RatingDTO.Request requestDto) {
         if ((requestDto.getMovieId() == null && requestDto.getDramaId() == null) ||
@@ -326,33 +392,15 @@ public class RatingService {
         return Math.round(value * 100.0) / 100.0;
     }
 
+    // 누적 합계/개수 기반 통합 평점 계산 (AVG/COUNT 집계 없이 O(1))
     public Double calculateMovieCombinedRating(Long movieId) {
         Movie movie = movieRepository.findById(movieId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
-        if (movie.getVoteAverage() == null || movie.getVoteCount() == null) {
-            return 0.0;
-        }
-
-        // TMDB 총점
-        double tmdbTotalScore = movie.getVoteAverage() / 2 * movie.getVoteCount();
-
-        // 🔥 Repository 쿼리로 사용자 평점 계산 (컬렉션 참조 X)
-        Double userAverageScore = ratingRepository.findAverageScoreByMovieId(movieId).orElse(0.0);
-        Long userRatingCount = ratingRepository.countByMovieId(movieId);
-
-        // 전체 투표 수
-        int totalVotes = movie.getVoteCount() + userRatingCount.intValue();
-
-        if (totalVotes == 0) return 0.0;
-
-        // 사용자 총점
-        double userTotalScore = userAverageScore * userRatingCount;
-
-        // 통합 평균
-        double combinedAverage = (tmdbTotalScore + userTotalScore) / totalVotes;
-
-        return Math.round(combinedAverage * 100.0) / 100.0;
+        RatingDelta pending = ratingDeltaBuffer.peek(ContentType.MOVIE, movieId);
+        return pending != null
+                ? movie.calculateCombinedRating(pending.getScoreSum(), pending.getCount())
+                : movie.calculateCombinedRating();
     }
 
     // 🆕 드라마 통합 평점 계산 메서드
@@ -360,28 +408,9 @@ public class RatingService {
         Drama drama = dramaRepository.findById(dramaId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
 
-        if (drama.getVoteAverage() == null || drama.getVoteCount() == null) {
-            return 0.0;
-        }
-
-        // TMDB 총점
-        double tmdbTotalScore = drama.getVoteAverage() / 2 * drama.getVoteCount();
-
-        // 🔥 Repository 쿼리로 사용자 평점 계산 (컬렉션 참조 X)
-        Double userAverageScore = ratingRepository.findAverageScoreByDramaId(dramaId).orElse(0.0);
-        Long userRatingCount = ratingRepository.countByDramaId(dramaId);
-
-        // 전체 투표 수
-        int totalVotes = drama.getVoteCount() + userRatingCount.intValue();
-
-        if (totalVotes == 0) return 0.0;
-
-        // 사용자 총점
-        double userTotalScore = userAverageScore * userRatingCount;
-
-        // 통합 평균
-        double combinedAverage = (tmdbTotalScore + userTotalScore) / totalVotes;
-
-        return Math.round(combinedAverage * 100.0) / 100.0;
+        RatingDelta pending = ratingDeltaBuffer.peek(ContentType.DRAMA, dramaId);
+        return pending != null
+                ? drama.calculateCombinedRating(pending.getScoreSum(), pending.getCount())
+                : drama.calculateCombinedRating();
     }
-}
\ No newline at end of file
+}
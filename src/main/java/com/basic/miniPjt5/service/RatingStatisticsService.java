@@ -1,14 +1,20 @@
 package com.basic.miniPjt5.service;
 
 import com.basic.miniPjt5.DTO.RatingDTO;
+import com.basic.miniPjt5.DTO.RatingStatisticsSnapshot;
 import com.basic.miniPjt5.entity.Drama;
 import com.basic.miniPjt5.entity.Movie;
-import com.basic.miniPjt5.entity.Rating;
+import com.basic.miniPjt5.entity.UserRatingStats;
+import com.basic.miniPjt5.entity.UserRatingStats.TopRatedItem;
+import com.basic.miniPjt5.enums.ContentType;
 import com.basic.miniPjt5.exception.BusinessException;
 import com.basic.miniPjt5.exception.ErrorCode;
 import com.basic.miniPjt5.repository.DramaRepository;
 import com.basic.miniPjt5.repository.MovieRepository;
 import com.basic.miniPjt5.repository.RatingRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.RatingDelta;
+import com.basic.miniPjt5.util.HalfStarScore;
+import com.basic.miniPjt5.util.HalfStarStatistics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -28,184 +34,152 @@ public class RatingStatisticsService {
     private final RatingRepository ratingRepository;
     private final MovieRepository movieRepository;
     private final DramaRepository dramaRepository;
-    private final RatingService ratingService; // 🆕 추가
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final TrendingEngine trendingEngine;
+    private final ContentLeaderboard contentLeaderboard;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final UserRatingStatsService userRatingStatsService;
 
     /**
-     * 영화 평점 통계 상세 조회 (Repository 기반으로 수정)
+     * 영화 평점 통계 상세 조회 (컨텐츠 + 별점 분포 한 번 조회 후 메모리에서 조립)
      */
     public RatingDTO.StatisticsResponse getMovieStatistics(Long movieId) {
-        Movie movie = movieRepository.findById(movieId)
+        RatingStatisticsSnapshot snapshot = movieRepository.findRatingStatisticsSnapshot(movieId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
-        // 🔥 Repository 기반으로 사용자 평점 통계 조회 (컬렉션 참조 X)
-        Double userAverage = ratingRepository.findAverageScoreByMovieId(movieId).orElse(0.0);
-        Long userRatingCount = ratingRepository.countByMovieId(movieId);
-        Map<String, Long> distribution = getScoreDistribution(movieId, null);
-
-        // 🔥 Repository 기반으로 최고/최저점 계산
-        List<Rating> userRatings = ratingRepository.findByMovieId(movieId);
-        BigDecimal highestScore = userRatings.isEmpty() ? null :
-                userRatings.stream()
-                        .map(Rating::getScore)
-                        .max(BigDecimal::compareTo)
-                        .orElse(null);
-
-        BigDecimal lowestScore = userRatings.isEmpty() ? null :
-                userRatings.stream()
-                        .map(Rating::getScore)
-                        .min(BigDecimal::compareTo)
-                        .orElse(null);
-
-        // 사용자 총점
-        Double userTotalScore = userAverage * userRatingCount;
-
-        // TMDB 통계
-        Double tmdbTotalScore = movie.getVoteAverage() * movie.getVoteCount();
-
-        // 🔥 RatingService의 통합 평점 계산 메서드 사용
-        Double combinedRating = ratingService.calculateMovieCombinedRating(movieId);
-
-        return RatingDTO.StatisticsResponse.builder()
-                .contentId(movieId)
-                .contentType("MOVIE")
-                .contentTitle(movie.getTitle())
-                .posterPath(movie.getPosterPath())
-                .averageScore(combinedRating)                    // 통합 평점
-                .totalRatingCount((long)(movie.getVoteCount() + userRatingCount)) // 전체 투표 수
-                .scoreDistribution(distribution)                 // 사용자 평점 분포
-                .standardDeviation(calculateStandardDeviation(userRatings)) // 사용자 평점 표준편차
-                .tmdbRating(movie.getVoteAverage())             // TMDB 평점
-                .tmdbVoteCount(movie.getVoteCount())            // TMDB 투표 수
-                .highestScore(highestScore)                      // 사용자 최고점
-                .lowestScore(lowestScore)                        // 사용자 최저점
-                .recentTrends(null)                             // 추후 구현
-                .userAverageScore(userAverage)                   // 사용자 평균
-                .userRatingCount(userRatingCount.intValue())     // 사용자 투표 수
-                .tmdbTotalScore(tmdbTotalScore)                 // TMDB 총점
-                .userTotalScore(userTotalScore)                 // 사용자 총점
-                .build();
+        mergePending(snapshot, ContentType.MOVIE, movieId);
+        return buildStatisticsResponse("MOVIE", snapshot);
     }
 
     /**
-     * 드라마 평점 통계 상세 조회 (Repository 기반으로 수정)
+     * 드라마 평점 통계 상세 조회 (컨텐츠 + 별점 분포 한 번 조회 후 메모리에서 조립)
      */
     public RatingDTO.StatisticsResponse getDramaStatistics(Long dramaId) {
-        Drama drama = dramaRepository.findById(dramaId)
+        RatingStatisticsSnapshot snapshot = dramaRepository.findRatingStatisticsSnapshot(dramaId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
 
-        // 🔥 Repository 기반으로 사용자 평점 통계 조회 (컬렉션 참조 X)
-        Double userAverage = ratingRepository.findAverageScoreByDramaId(dramaId).orElse(0.0);
-        Long userRatingCount = ratingRepository.countByDramaId(dramaId);
-        Map<String, Long> distribution = getScoreDistribution(null, dramaId);
-
-        // 🔥 Repository 기반으로 최고/최저점 계산
-        List<Rating> userRatings = ratingRepository.findByDramaId(dramaId);
-        BigDecimal highestScore = userRatings.isEmpty() ? null :
-                userRatings.stream()
-                        .map(Rating::getScore)
-                        .max(BigDecimal::compareTo)
-                        .orElse(null);
+        mergePending(snapshot, ContentType.DRAMA, dramaId);
+        return buildStatisticsResponse("DRAMA", snapshot);
+    }
 
-        BigDecimal lowestScore = userRatings.isEmpty() ? null :
-                userRatings.stream()
-                        .map(Rating::getScore)
-                        .min(BigDecimal::compareTo)
-                        .orElse(null);
+    // 목록 표시용 통합 평점 (아직 반영되지 않은 별점 포함, 없으면 TMDB 평점)
+    private Double displayedRating(Movie movie) {
+        Double combinedRating = ratingDeltaBuffer.combinedRating(movie);
+        return combinedRating != null ? combinedRating : movie.getVoteAverage();
+    }
 
-        // 사용자 총점
-        Double userTotalScore = userAverage * userRatingCount;
+    private Double displayedRating(Drama drama) {
+        Double combinedRating = ratingDeltaBuffer.combinedRating(drama);
+        return combinedRating != null ? combinedRating : drama.getVoteAverage();
+    }
 
-        // TMDB 통계
-        Double tmdbTotalScore = drama.getVoteAverage() * drama.getVoteCount();
+    private void mergePending(RatingStatisticsSnapshot snapshot, ContentType contentType, Long contentId) {
+        RatingDelta pending = ratingDeltaBuffer.peek(contentType, contentId);
+        if (pending != null) {
+            snapshot.mergePending(pending.getScoreSum(), pending.getCount(), pending.getBucketCounts());
+        }
+    }
 
-        // 🔥 RatingService의 통합 평점 계산 메서드 사용
-        Double combinedRating = ratingService.calculateDramaCombinedRating(dramaId);
+    private RatingDTO.StatisticsResponse buildStatisticsResponse(String contentType, RatingStatisticsSnapshot snapshot) {
+        HalfStarStatistics statistics = snapshot.getStatistics();
+        Double voteAverage = snapshot.getVoteAverage();
+        Integer voteCount = snapshot.getVoteCount();
+        long userRatingCount = statistics.getCount();
 
         return RatingDTO.StatisticsResponse.builder()
-                .contentId(dramaId)
-                .contentType("DRAMA")
-                .contentTitle(drama.getTitle())
-                .posterPath(drama.getPosterPath())
-                .averageScore(combinedRating)
-                .totalRatingCount((long)(drama.getVoteCount() + userRatingCount))
-                .scoreDistribution(distribution)
-                .standardDeviation(calculateStandardDeviation(userRatings))
-                .tmdbRating(drama.getVoteAverage())
-                .tmdbVoteCount(drama.getVoteCount())
-                .highestScore(highestScore)
-                .lowestScore(lowestScore)
-                .recentTrends(null)
-                .userAverageScore(userAverage)
-                .userRatingCount(userRatingCount.intValue())
-                .tmdbTotalScore(tmdbTotalScore)
-                .userTotalScore(userTotalScore)
+                .contentId(snapshot.getContentId())
+                .contentType(contentType)
+                .contentTitle(snapshot.getTitle())
+                .posterPath(snapshot.getPosterPath())
+                .averageScore(snapshot.getCombinedRating())           // 통합 평점
+                .totalRatingCount(voteCount + userRatingCount)        // 전체 투표 수
+                .scoreDistribution(statistics.toDistribution())       // 사용자 평점 분포
+                .standardDeviation(statistics.getStandardDeviation()) // 사용자 평점 표준편차
+                .tmdbRating(voteAverage)                              // TMDB 평점
+                .tmdbVoteCount(voteCount)                             // TMDB 투표 수
+                .highestScore(statistics.getHighestScore())           // 사용자 최고점
+                .lowestScore(statistics.getLowestScore())             // 사용자 최저점
+                .recentTrends(null)                                   // 추후 구현
+                .userAverageScore(statistics.getMean())               // 사용자 평균
+                .userRatingCount((int) userRatingCount)               // 사용자 투표 수
+                .tmdbTotalScore(voteAverage * voteCount)              // TMDB 총점
+                .userTotalScore(statistics.getSum())                  // 사용자 총점
                 .build();
     }
 
     /**
-     * 평점 높은 영화 목록 조회
+     * 평점 높은 영화 목록 조회 (메모리 순위표에서 페이지 구간만 읽고 해당 영화만 IN 조회)
      */
     public Page<RatingDTO.SimpleRating> getTopRatedMovies(Pageable pageable) {
-        return ratingRepository.findTopRatedMovies(pageable)
-                .map(this::convertToSimpleRating);
+        return contentLeaderboard.getMoviePage(pageable)
+                .map(movie -> new RatingDTO.SimpleRating(
+                        movie.getId(), "MOVIE", movie.getTitle(),
+                        roundToTwoDecimals(displayedRating(movie)),
+                        movie.getVoteCount() + (movie.getUserRatingCount() != null ? movie.getUserRatingCount() : 0L)
+                                + ratingDeltaBuffer.pendingCount(ContentType.MOVIE, movie.getId()),
+                        movie.getPosterPath(), null
+                ));
     }
 
     /**
-     * 평점 높은 드라마 목록 조회
+     * 평점 높은 드라마 목록 조회 (메모리 순위표에서 페이지 구간만 읽고 해당 드라마만 IN 조회)
      */
     public Page<RatingDTO.SimpleRating> getTopRatedDramas(Pageable pageable) {
-        return ratingRepository.findTopRatedDramas(pageable)
-                .map(this::convertToSimpleRating);
+        return contentLeaderboard.getDramaPage(pageable)
+                .map(drama -> new RatingDTO.SimpleRating(
+                        drama.getId(), "DRAMA", drama.getTitle(),
+                        roundToTwoDecimals(displayedRating(drama)),
+                        drama.getVoteCount() + (drama.getUserRatingCount() != null ? drama.getUserRatingCount() : 0L)
+                                + ratingDeltaBuffer.pendingCount(ContentType.DRAMA, drama.getId()),
+                        drama.getPosterPath(), null
+                ));
     }
 
     /**
-     * 최근 평점이 많이 등록된 작품들 조회
+     * 최근 인기 작품 조회 (시간 감쇠 활동 점수 순, 메모리 순위 + 컨텐츠 정보 IN 조회)
      */
     public List<RatingDTO.SimpleRating> getRecentlyPopularContents(int limit) {
-        List<Object[]> recentMovies = ratingRepository.findRecentlyPopularMovies(limit / 2);
-        List<Object[]> recentDramas = ratingRepository.findRecentlyPopularDramas(limit / 2);
+        List<TrendingEngine.TrendingEntry> trending = trendingEngine.topN(limit);
 
-        List<RatingDTO.SimpleRating> results = new ArrayList<>();
-
-        // 영화 변환
-        recentMovies.forEach(result -> {
-            Long movieId = (Long) result[0];
-            String title = (String) result[1];
-            String posterPath = (String) result[2];
-            Double avgScore = (Double) result[3];
-            Long count = ((Number) result[4]).longValue();
-
-            results.add(new RatingDTO.SimpleRating(
-                    movieId, "MOVIE", title, roundToTwoDecimals(avgScore), count, posterPath, null
-            ));
-        });
-
-        // 드라마 변환
-        recentDramas.forEach(result -> {
-            Long dramaId = (Long) result[0];
-            String title = (String) result[1];
-            String posterPath = (String) result[2];
-            Double avgScore = (Double) result[3];
-            Long count = ((Number) result[4]).longValue();
-
-            results.add(new RatingDTO.SimpleRating(
-                    dramaId, "DRAMA", title, roundToTwoDecimals(avgScore), count, posterPath, null
-            ));
-        });
+        List<Long> movieIds = new ArrayList<>();
+        List<Long> dramaIds = new ArrayList<>();
+        for (TrendingEngine.TrendingEntry entry : trending) {
+            (entry.getContentType() == ContentType.MOVIE ? movieIds : dramaIds).add(entry.getContentId());
+        }
+        Map<Long, Movie> movies = movieRepository.findAllById(movieIds).stream()
+                .collect(Collectors.toMap(Movie::getId, movie -> movie));
+        Map<Long, Drama> dramas = dramaRepository.findAllById(dramaIds).stream()
+                .collect(Collectors.toMap(Drama::getId, drama -> drama));
 
-        // 평점 개수 순으로 정렬하여 반환
-        return results.stream()
-                .sorted((a, b) -> Long.compare(b.getRatingCount(), a.getRatingCount()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<RatingDTO.SimpleRating> results = new ArrayList<>();
+        for (TrendingEngine.TrendingEntry entry : trending) {
+            if (entry.getContentType() == ContentType.MOVIE) {
+                Movie movie = movies.get(entry.getContentId());
+                if (movie == null) continue;
+                results.add(new RatingDTO.SimpleRating(
+                        movie.getId(), "MOVIE", movie.getTitle(),
+                        roundToTwoDecimals(displayedRating(movie)),
+                        entry.getRatingCount(), movie.getPosterPath(), null
+                ));
+            } else {
+                Drama drama = dramas.get(entry.getContentId());
+                if (drama == null) continue;
+                results.add(new RatingDTO.SimpleRating(
+                        drama.getId(), "DRAMA", drama.getTitle(),
+                        roundToTwoDecimals(displayedRating(drama)),
+                        entry.getRatingCount(), drama.getPosterPath(), null
+                ));
+            }
+        }
+        return results;
     }
 
     /**
      * 장르별 평균 평점 조회
      */
     public List<Map<String, Object>> getAverageRatingByGenre() {
-        List<Object[]> movieGenreStats = ratingRepository.findAverageRatingByMovieGenre();
-        List<Object[]> dramaGenreStats = ratingRepository.findAverageRatingByDramaGenre();
+        List<Object[]> movieGenreStats = genreRatingRollupService.getAverages(ContentType.MOVIE);
+        List<Object[]> dramaGenreStats = genreRatingRollupService.getAverages(ContentType.DRAMA);
 
         List<Map<String, Object>> results = new ArrayList<>();
 
@@ -238,37 +212,38 @@ public class RatingStatisticsService {
     public Map<String, Object> getUserRatingStatistics(Long userId) {
         Map<String, Object> stats = new HashMap<>();
 
-        // 사용자가 준 총 평점 개수
-        Long totalRatings = ratingRepository.countByUserId(userId);
-
-        // 사용자 평균 평점
-        Double userAverageScore = ratingRepository.findAverageScoreByUserId(userId).orElse(0.0);
+        // 사용자별 통계 행 (기동 시 백필 이후에는 별점이 하나도 없는 사용자만 행이 없음 → 아래 집계는 빈 결과)
+        UserRatingStats userStats = userRatingStatsService.getStats(userId).orElse(null);
 
-        // 사용자 평점 분포
-        Object[][] userDistribution = ratingRepository.findScoreDistributionByUserId(userId);
-        Map<String, Long> distribution = new HashMap<>();
-
-        // 🔥 수정: 0.5~5.0 점수 범위로 변경 (기존 1~10에서 변경)
-        for (int i = 1; i <= 10; i++) {
-            BigDecimal score = new BigDecimal(i).divide(new BigDecimal("2"));
-            distribution.put(score.toPlainString(), 0L);
-        }
-
-        for (Object[] row : userDistribution) {
-            if (row[0] != null && row[1] != null) {
-                BigDecimal score;
-                if (row[0] instanceof BigDecimal) {
-                    score = (BigDecimal) row[0];
-                } else {
-                    score = new BigDecimal(row[0].toString());
+        long[] counts;
+        if (userStats != null) {
+            counts = userStats.getBuckets().toCounts();
+        } else {
+            // 0.5점 단위 정수 구간별 개수로 집계 후 응답 시에만 "0.5" ~ "5" 키로 변환
+            counts = new long[HalfStarStatistics.BUCKET_COUNT];
+            for (Object[] row : ratingRepository.findScoreDistributionByUserId(userId)) {
+                if (row[0] != null && row[1] != null) {
+                    int halfStars = ((Number) row[0]).intValue();
+                    counts[halfStars - 1] = ((Number) row[1]).longValue();
                 }
-                Long count = ((Number) row[1]).longValue();
-                distribution.put(score.toPlainString(), count);
             }
         }
-
-        // 최고점을 준 영화/드라마 (5.0점)
-        List<Object[]> topRatedContents = ratingRepository.findUserTopRatedContents(userId);
+        HalfStarStatistics statistics = HalfStarStatistics.of(counts);
+
+        Long totalRatings = statistics.getCount();
+        Double userAverageScore = statistics.getMean();
+        Map<String, Long> distribution = statistics.toDistribution();
+
+        // 최근 최고점(5.0점)을 준 영화/드라마 - 컨텐츠 타입, 제목, 점수, 등록 시각
+        List<TopRatedItem> recentTopRated = userStats != null && userStats.getRecentTopRated() != null
+                ? userStats.getRecentTopRated()
+                : userRatingStatsService.loadRecentTopRated(userId);
+        List<Object[]> topRatedContents = new ArrayList<>();
+        for (TopRatedItem item : recentTopRated) {
+            topRatedContents.add(new Object[]{
+                    item.getContentType(), item.getTitle(),
+                    HalfStarScore.toDecimal(HalfStarScore.MAX), item.getRatedAt()});
+        }
 
         stats.put("totalRatings", totalRatings);
         stats.put("averageScore", roundToTwoDecimals(userAverageScore));
@@ -279,74 +254,10 @@ public class RatingStatisticsService {
     }
 
     // 헬퍼 메서드들
-    private Map<String, Long> getScoreDistribution(Long movieId, Long dramaId) {
-        Object[][] distribution = null;
-
-        if (movieId != null) {
-            distribution = ratingRepository.findScoreDistributionByMovieId(movieId);
-        } else if (dramaId != null) {
-            distribution = ratingRepository.findScoreDistributionByDramaId(dramaId);
-        }
-
-        Map<String, Long> result = new HashMap<>();
-
-        // 0.5~5.0점 초기화
-        for (int i = 1; i <= 10; i++) {
-            BigDecimal score = new BigDecimal(i).divide(new BigDecimal("2"));
-            result.put(score.toPlainString(), 0L);
-        }
-
-        if (distribution != null) {
-            for (Object[] row : distribution) {
-                if (row[0] != null && row[1] != null) {
-                    BigDecimal score;
-                    if (row[0] instanceof BigDecimal) {
-                        score = (BigDecimal) row[0];
-                    } else {
-                        score = new BigDecimal(row[0].toString());
-                    }
-                    Long count = ((Number) row[1]).longValue();
-                    result.put(score.toPlainString(), count);
-                }
-            }
-        }
-
-        return result;
-    }
-
-    private RatingDTO.SimpleRating convertToSimpleRating(Object[] result) {
-        Long id = (Long) result[0];
-        String type = (String) result[1];
-        String title = (String) result[2];
-        String posterPath = (String) result[3];
-        Double avgScore = (Double) result[4];
-        Long count = ((Number) result[5]).longValue();
-
-        return new RatingDTO.SimpleRating(
-                id, type, title, roundToTwoDecimals(avgScore), count, posterPath, null
-        );
-    }
-
     private Double roundToTwoDecimals(Double value) {
         if (value == null) return 0.0;
         return BigDecimal.valueOf(value)
                 .setScale(2, RoundingMode.HALF_UP)
                 .doubleValue();
     }
-
-    private Double calculateStandardDeviation(List<Rating> ratings) {
-        if (ratings.size() < 2) return null;
-
-        double mean = ratings.stream()
-                .mapToDouble(rating -> rating.getScore().doubleValue())
-                .average()
-                .orElse(0.0);
-
-        double variance = ratings.stream()
-                .mapToDouble(rating -> Math.pow(rating.getScore().doubleValue() - mean, 2))
-                .average()
-                .orElse(0.0);
-
-        return Math.sqrt(variance);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,603 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Review;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.ReviewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 리뷰 본문 역색인 (키워드 검색용).
+ * 본문을 토큰으로 나눠 토큰 → 리뷰 ID 목록을 메모리에 두고, 검색어의 모든 토큰을 포함하는 리뷰를 최신순(ID 역순)으로 돌려준다.
+ * 한글은 조사/어미가 붙어도 찾을 수 있도록 음절 2-gram(+ 어절 마지막 음절), 영문/숫자는 단어 단위로 색인하고 접두사로 찾는다.
+ * 리뷰 작성/수정/삭제 시 커밋 후 갱신하고, 주기적으로 디스크에 스냅샷을 남겨
+ * 재기동 시에는 스냅샷 + 그 이후 바뀐 리뷰만 DB에서 읽어 맞춘다.
+ * 스냅샷은 리뷰 ID 구간(segment-span 개)별 파일로 나눠, 바뀐 구간만 다시 쓴다.
+ * 리뷰가 많아도 주기마다 쓰는 양은 그 사이 수정된 구간 수에 비례하고, 새 리뷰는 대부분 마지막 구간에 몰린다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewSearchIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x52564958;      // "RVIX"
+    private static final int SNAPSHOT_VERSION = 2;             // 토큰 규칙이 바뀌면 올려서 스냅샷을 버리고 재구성
+    private static final String MANIFEST_FILE = "review-index.manifest";
+    private static final String SEGMENT_PREFIX = "review-index-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final long CATCH_UP_MARGIN_MS = 60_000;     // 스냅샷 직전에 커밋된 변경까지 다시 읽도록
+
+    private final ReviewRepository reviewRepository;
+
+    @Value("${review.index.snapshot-dir:${java.io.tmpdir}/seenit-review-index}")
+    private String snapshotDir;
+
+    // 스냅샷 파일 하나에 담는 리뷰 ID 구간 크기
+    @Value("${review.index.segment-span:10000}")
+    private long segmentSpan;
+
+    private volatile Index index = new Index();
+    private final Set<Long> dirtySegments = ConcurrentHashMap.newKeySet();   // 마지막 스냅샷 이후 바뀐 구간
+
+    // 재구성/복원 중에 커밋된 변경. 새 색인으로 교체하기 직전에 다시 적용해 교체로 잃지 않도록 함
+    private final Object swapLock = new Object();
+    private List<Change> replayLog;
+
+    public void update(Review review) {
+        Long reviewId = review.getId();
+        Set<String> tokens = tokenize(review.getContent());
+        afterCommit(() -> apply(reviewId, tokens));
+    }
+
+    public void remove(Long reviewId) {
+        afterCommit(() -> apply(reviewId, null));
+    }
+
+    // 컨텐츠 삭제로 함께 지워지는 리뷰 (삭제 전에 호출)
+    public void removeContentReviews(ContentType contentType, Long contentId) {
+        removeAll(contentType == ContentType.MOVIE
+                ? reviewRepository.findIdsByMovieId(contentId)
+                : reviewRepository.findIdsByDramaId(contentId));
+    }
+
+    // 사용자 하드 삭제로 함께 지워지는 리뷰 (삭제 전에 호출)
+    public void removeUserReviews(Long userId) {
+        removeAll(reviewRepository.findIdsByUserId(userId));
+    }
+
+    private void removeAll(List<Long> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> reviewIds.forEach(reviewId -> apply(reviewId, null)));
+    }
+
+    private void apply(Long reviewId, Set<String> tokens) {
+        synchronized (swapLock) {
+            index.put(reviewId, tokens);
+            if (replayLog != null) {
+                replayLog.add(new Change(reviewId, tokens));
+            }
+        }
+        dirtySegments.add(segmentOf(reviewId));
+    }
+
+    // 검색어의 모든 토큰을 포함하는 리뷰 ID (최신순 = ID 내림차순)
+    public List<Long> search(String keyword) {
+        List<QueryTerm> terms = queryTerms(keyword);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return index.search(terms);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Path directory = Paths.get(snapshotDir);
+        Snapshot loaded = null;
+        if (Files.exists(directory.resolve(MANIFEST_FILE))) {
+            try {
+                loaded = readSnapshot(directory);
+            } catch (IOException | RuntimeException e) {
+                log.warn("리뷰 색인 스냅샷을 읽지 못해 전체 재구성합니다: dir={}", directory, e);
+            }
+        }
+        if (loaded == null) {
+            rebuild();
+            return;
+        }
+
+        // 스냅샷 이후: 없어진 리뷰는 제거, 새로 생기거나 수정된 리뷰는 다시 색인
+        // DB를 읽기 전부터 변경을 모아 두어, 읽는 동안 커밋된 변경도 교체 직전에 반영
+        startReplayLog();
+        try {
+            Index restored = loaded.index;
+            Set<Long> existing = new HashSet<>(reviewRepository.findAllIds());
+            List<Long> removed = restored.retainAll(existing);
+            LocalDateTime since = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(loaded.savedAt - CATCH_UP_MARGIN_MS), ZoneId.systemDefault());
+            List<Object[]> changed = reviewRepository.findContentRowsChangedAfter(restored.maxId(), since);
+            for (Object[] row : changed) {
+                restored.put((Long) row[0], tokenize((String) row[1]));
+                dirtySegments.add(segmentOf((Long) row[0]));
+            }
+            removed.forEach(reviewId -> dirtySegments.add(segmentOf(reviewId)));
+            int replayed = swap(restored);
+            log.info("리뷰 색인 스냅샷 로드: reviews={}, terms={}, removed={}, reindexed={}, replayed={}",
+                    restored.size(), restored.termCount(), removed.size(), changed.size(), replayed);
+        } finally {
+            stopReplayLog();
+        }
+    }
+
+    // DB 기준으로 새 색인을 만든 뒤 교체 (만드는 동안 커밋된 변경은 교체 직전에 다시 적용)
+    public synchronized void rebuild() {
+        startReplayLog();
+        try {
+            Index rebuilt = new Index();
+            List<Object[]> rows = reviewRepository.findContentRows();
+            for (Object[] row : rows) {
+                rebuilt.put((Long) row[0], tokenize((String) row[1]));
+            }
+            int replayed = swap(rebuilt);
+            // 전 구간을 다시 쓰고, 이제 리뷰가 없는 구간의 파일은 지움
+            dirtySegments.addAll(rebuilt.segments(segmentSpan));
+            dirtySegments.addAll(segmentFiles(Paths.get(snapshotDir)).keySet());
+            log.info("리뷰 색인 재구성 완료: reviews={}, terms={}, replayed={}", rows.size(), rebuilt.termCount(), replayed);
+        } finally {
+            stopReplayLog();
+        }
+    }
+
+    private void startReplayLog() {
+        synchronized (swapLock) {
+            replayLog = new ArrayList<>();
+        }
+    }
+
+    private void stopReplayLog() {
+        synchronized (swapLock) {
+            replayLog = null;
+        }
+    }
+
+    // 모아 둔 변경을 커밋 순서대로 새 색인에 적용하고 교체. 그 사이 들어오는 변경은 swapLock 에서 기다렸다가 새 색인에 적용됨
+    private int swap(Index built) {
+        synchronized (swapLock) {
+            for (Change change : replayLog) {
+                built.put(change.reviewId, change.tokens);
+            }
+            index = built;
+            return replayLog.size();
+        }
+    }
+
+    // 바뀐 구간만 파일로 저장한 뒤, 마지막에 저장 시각을 담은 manifest 를 교체
+    // 재기동 시에는 manifest 시각 이후 바뀐 리뷰를 DB에서 다시 읽으므로, 구간 파일과 manifest 사이에 멈춰도 맞춰짐
+    @Scheduled(fixedDelayString = "${review.index.snapshot-interval-ms:300000}")
+    public synchronized void saveSnapshot() {
+        if (dirtySegments.isEmpty()) {
+            return;
+        }
+        long savedAt = System.currentTimeMillis();
+        List<Long> segments = new ArrayList<>(dirtySegments);
+        segments.forEach(dirtySegments::remove);
+        Index current = index;
+        Path directory = Paths.get(snapshotDir);
+        int written = 0;
+        try {
+            Files.createDirectories(directory);
+            for (Long segment : segments) {
+                Map<Long, String[]> documents = current.documents(segment * segmentSpan, (segment + 1) * segmentSpan);
+                Path file = directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+                if (documents.isEmpty()) {
+                    Files.deleteIfExists(file);
+                } else {
+                    writeAtomically(file, out -> writeSegment(out, segment, documents));
+                    written++;
+                }
+            }
+            writeAtomically(directory.resolve(MANIFEST_FILE), out -> writeManifest(out, savedAt, segmentSpan));
+            log.debug("리뷰 색인 스냅샷 저장: segments={}, written={}", segments.size(), written);
+        } catch (IOException e) {
+            dirtySegments.addAll(segments);     // 다음 주기에 다시
+            log.warn("리뷰 색인 스냅샷 저장 실패: dir={}", snapshotDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        saveSnapshot();
+    }
+
+    /*
+     * 스냅샷 형식 (파일마다 [magic][version] + 본문 + [CRC32])
+     *   manifest: [저장 시각][구간 크기]
+     *   구간 파일: [구간 번호][리뷰 수] + 리뷰마다 [ID][토큰 수][토큰...]
+     * 역색인은 저장하지 않고 읽을 때 리뷰별 토큰으로 다시 만든다.
+     */
+    private static void writeManifest(DataOutputStream out, long savedAt, long segmentSpan) throws IOException {
+        out.writeLong(savedAt);
+        out.writeLong(segmentSpan);
+    }
+
+    private static void writeSegment(DataOutputStream out, long segment, Map<Long, String[]> documents) throws IOException {
+        out.writeLong(segment);
+        out.writeInt(documents.size());
+        for (Map.Entry<Long, String[]> document : documents.entrySet()) {
+            out.writeLong(document.getKey());
+            out.writeInt(document.getValue().length);
+            for (String token : document.getValue()) {
+                out.writeUTF(token);
+            }
+        }
+    }
+
+    // 임시 파일에 [magic][version] + 본문 + [CRC32] 로 쓴 뒤 교체
+    private static void writeAtomically(Path path, SnapshotWriter body) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            body.write(out);
+            out.writeLong(crc.getValue());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Snapshot readSnapshot(Path directory) throws IOException {
+        long[] manifest = new long[2];
+        readChecked(directory.resolve(MANIFEST_FILE), in -> {
+            manifest[0] = in.readLong();
+            manifest[1] = in.readLong();
+        });
+        if (manifest[1] != segmentSpan) {
+            throw new IOException("스냅샷 구간 크기 불일치: " + manifest[1]);
+        }
+        Index restored = new Index();
+        for (Map.Entry<Long, Path> file : segmentFiles(directory).entrySet()) {
+            readChecked(file.getValue(), in -> {
+                if (in.readLong() != file.getKey()) {
+                    throw new IOException("구간 번호 불일치: " + file.getValue());
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long reviewId = in.readLong();
+                    int tokenCount = in.readInt();
+                    Set<String> tokens = new HashSet<>(tokenCount * 2);
+                    for (int t = 0; t < tokenCount; t++) {
+                        tokens.add(in.readUTF());
+                    }
+                    restored.put(reviewId, tokens);
+                }
+            });
+        }
+        return new Snapshot(restored, manifest[0]);
+    }
+
+    private static void readChecked(Path path, SnapshotReader body) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path)), crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("스냅샷 형식/버전 불일치: " + path);
+            }
+            body.read(in);
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("스냅샷 CRC 불일치: " + path);
+            }
+        }
+    }
+
+    // 디렉터리의 구간 파일 (구간 번호 → 경로)
+    private static Map<Long, Path> segmentFiles(Path directory) {
+        Map<Long, Path> files = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    files.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    log.debug("구간 파일 이름이 아님: {}", name);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("리뷰 색인 스냅샷 디렉터리를 읽지 못했습니다: dir={}", directory, e);
+        }
+        return files;
+    }
+
+    private long segmentOf(Long reviewId) {
+        return reviewId / segmentSpan;
+    }
+
+    // 색인 토큰: 한글 어절은 음절 2-gram + 마지막 음절, 그 외 글자/숫자는 단어 전체 (NFC + 소문자)
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        for (String run : runs(text)) {
+            if (isHangul(run.charAt(0))) {
+                for (int i = 0; i + 2 <= run.length(); i++) {
+                    tokens.add(run.substring(i, i + 2));
+                }
+                tokens.add(run.substring(run.length() - 1));
+            } else {
+                tokens.add(run);
+            }
+        }
+        return tokens;
+    }
+
+    // 검색어 토큰: 한글 2글자 이상은 2-gram 정확히 일치, 한글 1글자와 영문/숫자 단어는 접두사 일치
+    static List<QueryTerm> queryTerms(String keyword) {
+        List<QueryTerm> terms = new ArrayList<>();
+        for (String run : runs(keyword)) {
+            if (isHangul(run.charAt(0)) && run.length() >= 2) {
+                for (int i = 0; i + 2 <= run.length(); i++) {
+                    terms.add(new QueryTerm(run.substring(i, i + 2), false));
+                }
+            } else {
+                terms.add(new QueryTerm(run, true));
+            }
+        }
+        return terms;
+    }
+
+    // 한글 음절 덩어리 / 그 외 글자·숫자 덩어리로 나눔 ("어벤져스2는" → 어벤져스, 2, 는)
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        if (text == null) {
+            return runs;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        boolean hangulRun = false;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c);
+            boolean hangul = wordChar && isHangul(c);
+            if (start >= 0 && (!wordChar || hangul != hangulRun)) {
+                runs.add(normalized.substring(start, i));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+                hangulRun = hangul;
+            }
+        }
+        return runs;
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SnapshotReader {
+        void read(DataInputStream in) throws IOException;
+    }
+
+    private static final class Change {
+        private final Long reviewId;
+        private final Set<String> tokens;      // null 이면 삭제
+
+        private Change(Long reviewId, Set<String> tokens) {
+            this.reviewId = reviewId;
+            this.tokens = tokens;
+        }
+    }
+
+    static final class QueryTerm {
+        private final String text;
+        private final boolean prefix;
+
+        QueryTerm(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Index index;
+        private final long savedAt;
+
+        private Snapshot(Index index, long savedAt) {
+            this.index = index;
+            this.savedAt = savedAt;
+        }
+    }
+
+    // 토큰 → 리뷰 ID (정렬) + 리뷰 ID → 토큰 (수정/삭제 시 이전 토큰 제거용). 조회끼리는 읽기 락으로 동시에
+    private static final class Index {
+        private final TreeMap<String, TreeSet<Long>> postings = new TreeMap<>();
+        private final TreeMap<Long, String[]> documents = new TreeMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // tokens == null 이면 삭제
+        void put(Long reviewId, Set<String> tokens) {
+            lock.writeLock().lock();
+            try {
+                String[] previous = tokens != null
+                        ? documents.put(reviewId, tokens.toArray(new String[0]))
+                        : documents.remove(reviewId);
+                if (previous != null) {
+                    for (String token : previous) {
+                        TreeSet<Long> ids = postings.get(token);
+                        if (ids != null) {
+                            ids.remove(reviewId);
+                            if (ids.isEmpty()) {
+                                postings.remove(token);
+                            }
+                        }
+                    }
+                }
+                if (tokens != null) {
+                    for (String token : tokens) {
+                        postings.computeIfAbsent(token, key -> new TreeSet<>()).add(reviewId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(List<QueryTerm> terms) {
+            lock.readLock().lock();
+            try {
+                // 토큰별 후보 집합을 구해 작은 것부터 교집합
+                List<NavigableSet<Long>> sets = new ArrayList<>(terms.size());
+                for (QueryTerm term : terms) {
+                    NavigableSet<Long> ids = matching(term);
+                    if (ids.isEmpty()) {
+                        return List.of();
+                    }
+                    sets.add(ids);
+                }
+                sets.sort(Comparator.comparingInt(Set::size));
+
+                List<Long> result = new ArrayList<>();
+                for (Long id : sets.get(0).descendingSet()) {
+                    boolean all = true;
+                    for (int i = 1; i < sets.size() && all; i++) {
+                        all = sets.get(i).contains(id);
+                    }
+                    if (all) {
+                        result.add(id);
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // 리뷰 ID 중 existing 에 없는 것 제거 (스냅샷 이후 삭제된 리뷰)
+        List<Long> retainAll(Set<Long> existing) {
+            List<Long> missing = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Long id : documents.keySet()) {
+                    if (!existing.contains(id)) {
+                        missing.add(id);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            missing.forEach(id -> put(id, null));
+            return missing;
+        }
+
+        // [fromId, toId) 구간의 리뷰별 토큰 사본
+        Map<Long, String[]> documents(long fromId, long toId) {
+            lock.readLock().lock();
+            try {
+                return new TreeMap<>(documents.subMap(fromId, toId));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Set<Long> segments(long segmentSpan) {
+            lock.readLock().lock();
+            try {
+                Set<Long> segments = new HashSet<>();
+                for (Long id : documents.keySet()) {
+                    segments.add(id / segmentSpan);
+                }
+                return segments;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long maxId() {
+            lock.readLock().lock();
+            try {
+                return documents.isEmpty() ? 0L : documents.lastKey();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documents.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int termCount() {
+            lock.readLock().lock();
+            try {
+                return postings.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private NavigableSet<Long> matching(QueryTerm term) {
+            if (!term.prefix) {
+                TreeSet<Long> ids = postings.get(term.text);
+                return ids != null ? ids : Collections.emptyNavigableSet();
+            }
+            SortedMap<String, TreeSet<Long>> range = postings.subMap(term.text, term.text + Character.MAX_VALUE);
+            if (range.size() == 1) {
+                return range.values().iterator().next();
+            }
+            TreeSet<Long> union = new TreeSet<>();
+            range.values().forEach(union::addAll);
+            return union;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.basic.miniPjt5.service;
 
 import com.basic.miniPjt5.DTO.ReviewDTO;
 import com.basic.miniPjt5.entity.*;
+import com.basic.miniPjt5.enums.ContentType;
 import com.basic.miniPjt5.enums.UserStatus;
 import com.basic.miniPjt5.enums.UserRole;
 import com.basic.miniPjt5.exception.BusinessException;
@@ -9,11 +10,18 @@ import com.basic.miniPjt5.exception.ErrorCode;
 import com.basic.miniPjt5.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,8 +32,12 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final MovieRepository movieRepository;
     private final DramaRepository dramaRepository;
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final TrendingEngine trendingEngine;
+    private final UserRatingStatsService userRatingStatsService;
     private final RatingRepository ratingRepository;
     private final RatingService ratingService;
+    private final ReviewSearchIndex reviewSearchIndex;
 
     // 🔥 수정된 리뷰 생성
     @Transactional
@@ -43,13 +55,15 @@ public class ReviewService {
 
         // 중복 리뷰 확인
         checkDuplicateReview(userId, requestDto);
+        userRatingStatsService.prepare(userId);
 
         Review review;
         Rating rating;
 
         // 영화 또는 드라마 설정
         if (requestDto.getMovieId() != null) {
-            Movie movie = movieRepository.findById(requestDto.getMovieId())
+            // 별점이 함께 생기므로 컨텐츠 행 공유 잠금 (변화량 버퍼 기록 규칙)
+            Movie movie = movieRepository.findByIdForShare(requestDto.getMovieId())
                     .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
 
             // 1. 리뷰 생성
@@ -67,14 +81,16 @@ public class ReviewService {
 
             // 3. 양방향 연결
             review.setRating(rating);
+            reviewSearchIndex.update(review);
 
-            // 4. 🔥 Repository 기반 평점 계산
-            Double newRating = ratingService.calculateMovieCombinedRating(requestDto.getMovieId());
-            movie.setCombinedRating(newRating);
-            movieRepository.save(movie);
+            // 4. 🔥 새 별점을 변화량 버퍼에 기록 (통합 평점은 주기적으로 일괄 반영)
+            ratingDeltaBuffer.record(ContentType.MOVIE, movie.getId(), null, rating.getHalfStars());
+            userRatingStatsService.record(rating, null, rating.getHalfStars());
+            trendingEngine.record(ContentType.MOVIE, movie.getId(), TrendingEngine.Activity.RATING);
+            trendingEngine.record(ContentType.MOVIE, movie.getId(), TrendingEngine.Activity.REVIEW);
 
         } else {
-            Drama drama = dramaRepository.findById(requestDto.getDramaId())
+            Drama drama = dramaRepository.findByIdForShare(requestDto.getDramaId())
                     .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
 
             // 1. 리뷰 생성
@@ -92,11 +108,13 @@ public class ReviewService {
 
             // 3. 양방향 연결
             review.setRating(rating);
+            reviewSearchIndex.update(review);
 
-            // 4. 🔥 Repository 기반 평점 계산
-            Double newRating = ratingService.calculateDramaCombinedRating(requestDto.getDramaId());
-            drama.setCombinedRating(newRating);
-            dramaRepository.save(drama);
+            // 4. 🔥 새 별점을 변화량 버퍼에 기록 (통합 평점은 주기적으로 일괄 반영)
+            ratingDeltaBuffer.record(ContentType.DRAMA, drama.getId(), null, rating.getHalfStars());
+            userRatingStatsService.record(rating, null, rating.getHalfStars());
+            trendingEngine.record(ContentType.DRAMA, drama.getId(), TrendingEngine.Activity.RATING);
+            trendingEngine.record(ContentType.DRAMA, drama.getId(), TrendingEngine.Activity.REVIEW);
         }
 
         return convertToResponseDto(review);
@@ -122,20 +140,22 @@ public class ReviewService {
         // 리뷰 수정
         review.setContent(requestDto.getContent());
         review.setIsSpoiler(requestDto.getIsSpoiler());
+        reviewSearchIndex.update(review);
 
         // 별점 수정 (있는 경우)
         if (requestDto.getRating() != null && review.getRating() != null) {
+            lockContentForRating(review);
+            userRatingStatsService.prepare(review.getUser().getUserId());
+            int oldHalfStars = review.getRating().getHalfStars();
             review.getRating().updateScore(requestDto.getRating());
+            int newHalfStars = review.getRating().getHalfStars();
+            userRatingStatsService.record(review.getRating(), oldHalfStars, newHalfStars);
 
-            // 🔥 Repository 기반 평점 재계산
+            // 🔥 점수 변화량만 버퍼에 기록
             if (review.getMovie() != null) {
-                Double newRating = ratingService.calculateMovieCombinedRating(review.getMovie().getId());
-                review.getMovie().setCombinedRating(newRating);
-                movieRepository.save(review.getMovie());
+                ratingDeltaBuffer.record(ContentType.MOVIE, review.getMovie().getId(), oldHalfStars, newHalfStars);
             } else if (review.getDrama() != null) {
-                Double newRating = ratingService.calculateDramaCombinedRating(review.getDrama().getId());
-                review.getDrama().setCombinedRating(newRating);
-                dramaRepository.save(review.getDrama());
+                ratingDeltaBuffer.record(ContentType.DRAMA, review.getDrama().getId(), oldHalfStars, newHalfStars);
             }
         }
 
@@ -163,13 +183,17 @@ public class ReviewService {
         Long movieId = review.getMovie() != null ? review.getMovie().getId() : null;
         Long dramaId = review.getDrama() != null ? review.getDrama().getId() : null;
         Rating rating = review.getRating();
+        Integer deletedHalfStars = rating != null ? rating.getHalfStars() : null;
 
         // 별점도 함께 삭제
         if (rating != null) {
+            lockContentForRating(review);
+            userRatingStatsService.prepare(rating.getUser().getUserId());
             ratingRepository.delete(rating);
         }
 
         reviewRepository.delete(review);
+        reviewSearchIndex.remove(reviewId);
 
         // 🔥 즉시 반영
         if (rating != null) {
@@ -177,20 +201,25 @@ public class ReviewService {
         }
         reviewRepository.flush();
 
-        // 🔥 Repository 기반 평점 재계산
-        if (movieId != null) {
-            Movie movie = movieRepository.findById(movieId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.MOVIE_NOT_FOUND));
-            Double newRating = ratingService.calculateMovieCombinedRating(movieId);
-            movie.setCombinedRating(newRating);
-            movieRepository.save(movie);
+        if (rating != null) {
+            userRatingStatsService.record(rating, deletedHalfStars, null);
         }
-        if (dramaId != null) {
-            Drama drama = dramaRepository.findById(dramaId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.DRAMA_NOT_FOUND));
-            Double newRating = ratingService.calculateDramaCombinedRating(dramaId);
-            drama.setCombinedRating(newRating);
-            dramaRepository.save(drama);
+
+        // 🔥 삭제된 별점을 변화량 버퍼에 기록
+        if (rating != null && movieId != null) {
+            ratingDeltaBuffer.record(ContentType.MOVIE, movieId, deletedHalfStars, null);
+        }
+        if (rating != null && dramaId != null) {
+            ratingDeltaBuffer.record(ContentType.DRAMA, dramaId, deletedHalfStars, null);
+        }
+    }
+
+    // 별점 변경 전 컨텐츠 행 공유 잠금 (같은 구간의 일괄 재계산과 겹치지 않도록)
+    private void lockContentForRating(Review review) {
+        if (review.getMovie() != null) {
+            movieRepository.findByIdForShare(review.getMovie().getId());
+        } else if (review.getDrama() != null) {
+            dramaRepository.findByIdForShare(review.getDrama().getId());
         }
     }
 
@@ -241,10 +270,51 @@ public class ReviewService {
         return reviews.map(this::convertToListResponseDto);
     }
 
-    // 키워드 검색
+    // COUNT 없는 영화별/드라마별/사용자별/최신 리뷰 목록 조회
+    public Slice<ReviewDTO.ListResponse> getMovieReviewsSlice(Long movieId, Pageable pageable) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new BusinessException(ErrorCode.MOVIE_NOT_FOUND);
+        }
+        return reviewRepository.findSliceByMovieId(movieId, pageable).map(this::convertToListResponseDto);
+    }
+
+    public Slice<ReviewDTO.ListResponse> getDramaReviewsSlice(Long dramaId, Pageable pageable) {
+        if (!dramaRepository.existsById(dramaId)) {
+            throw new BusinessException(ErrorCode.DRAMA_NOT_FOUND);
+        }
+        return reviewRepository.findSliceByDramaId(dramaId, pageable).map(this::convertToListResponseDto);
+    }
+
+    public Slice<ReviewDTO.ListResponse> getUserReviewsSlice(Long userId, Pageable pageable) {
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        return reviewRepository.findSliceByUserId(userId, pageable).map(this::convertToListResponseDto);
+    }
+
+    public Slice<ReviewDTO.ListResponse> getLatestReviewsSlice(Pageable pageable) {
+        return reviewRepository.findLatestReviewsSlice(pageable).map(this::convertToListResponseDto);
+    }
+
+    // 키워드 검색 - 본문 역색인에서 모든 검색어를 포함한 리뷰 ID를 최신순으로 구해 현재 페이지 분량만 조회
     public Page<ReviewDTO.SearchResponse> searchReviews(String keyword, Pageable pageable) {
-        Page<Review> reviews = reviewRepository.findByKeyword(keyword, pageable);
-        return reviews.map(review -> convertToSearchResponseDto(review, keyword));
+        List<Long> matchedIds = reviewSearchIndex.search(keyword);
+        int from = (int) Math.min(pageable.getOffset(), matchedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), matchedIds.size());
+        List<Long> pageIds = matchedIds.subList(from, to);
+
+        Map<Long, Review> reviewsById = reviewRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Review::getId, Function.identity()));
+        List<ReviewDTO.SearchResponse> content = new ArrayList<>(pageIds.size());
+        for (Long reviewId : pageIds) {
+            Review review = reviewsById.get(reviewId);
+            if (review != null) {   // 컨텐츠/회원 삭제로 함께 지워진 리뷰는 건너뜀
+                content.add(convertToSearchResponseDto(review, keyword));
+            } else {
+                reviewSearchIndex.remove(reviewId);
+            }
+        }
+        return new PageImpl<>(content, pageable, matchedIds.size());
     }
 
     // 좋아요 토글 (추가 기능)
@@ -0,0 +1,74 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.ScoreHistogram;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.ScoreHistogramRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.RatingDelta;
+import com.basic.miniPjt5.util.HalfStarStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 컨텐츠별 별점 분포 행 관리.
+ * 분포 행은 CombinedRatingFlusher만 갱신하므로(반영 작업은 flushLock으로 직렬화) 별도 행 잠금이 필요 없다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ScoreHistogramService {
+
+    private final ScoreHistogramRepository scoreHistogramRepository;
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+
+    // 버퍼에 모인 구간별 변화량 일괄 반영
+    @Transactional
+    public void applyDeltas(ContentType contentType, Map<Long, RatingDelta> deltas) {
+        if (deltas.isEmpty()) return;
+
+        Map<Long, ScoreHistogram> histograms = scoreHistogramRepository
+                .findByContentTypeAndContentIdIn(contentType, deltas.keySet()).stream()
+                .collect(Collectors.toMap(ScoreHistogram::getContentId, Function.identity()));
+
+        List<ScoreHistogram> changed = new ArrayList<>();
+        deltas.forEach((contentId, delta) -> {
+            ScoreHistogram histogram = histograms.get(contentId);
+            if (histogram == null) {
+                histogram = new ScoreHistogram(contentType, contentId);
+            }
+            histogram.applyDeltas(delta.getBucketCounts());
+            changed.add(histogram);
+        });
+        scoreHistogramRepository.saveAll(changed);
+    }
+
+    // 별점이 없는 컨텐츠는 빈 분포
+    public ScoreHistogram getHistogram(ContentType contentType, Long contentId) {
+        return scoreHistogramRepository.findByContentTypeAndContentId(contentType, contentId)
+                .orElseGet(() -> new ScoreHistogram(contentType, contentId));
+    }
+
+    // 분포 행 + 아직 반영되지 않은 버퍼 변화량
+    public HalfStarStatistics getStatistics(ContentType contentType, Long contentId) {
+        long[] counts = getHistogram(contentType, contentId).toCounts();
+        RatingDelta pending = ratingDeltaBuffer.peek(contentType, contentId);
+        if (pending != null) {
+            long[] bucketDeltas = pending.getBucketCounts();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = Math.max(0, counts[i] + bucketDeltas[i]);
+            }
+        }
+        return HalfStarStatistics.of(counts);
+    }
+
+    @Transactional
+    public void deleteHistogram(ContentType contentType, Long contentId) {
+        scoreHistogramRepository.deleteByContentTypeAndContentId(contentType, contentId);
+    }
+}
@@ -0,0 +1,356 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.enums.ContentType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 영화/드라마 검색 결과 캐시.
+ * 검색어를 정규화(NFC, 앞뒤 공백 제거, 연속 공백 하나로, 소문자)해 필터/정렬/페이지와 함께 키로 쓰고,
+ * 결과가 비어 있으면 짧은 TTL로만 보관해 로컬에 없는 검색어가 매번 TMDB까지 가지 않도록 한다.
+ * 컨텐츠가 저장/수정/삭제되면 그 제목에 포함되는 검색어(와 제목 없는 검색)의 항목만 커밋 후 무효화한다.
+ * 키는 검색어별로도 묶어 두어, 무효화할 때 전체 키를 훑지 않고 제목의 부분 문자열로 해당 검색어만 찾는다.
+ * 한 트랜잭션의 무효화(예: TMDB 일괄 저장)는 모아서 커밋 후 한 번에 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "searchResults";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // 결과 없는 검색 (새 컨텐츠가 저장되면 그 전에 무효화됨)
+    @Value("${search.cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    @Value("${search.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    // 검색 도중 일어난 무효화를 확인하려고 보관하는 최근 무효화 수 (이보다 오래 걸린 검색은 저장하지 않음)
+    private static final int RECENT_INVALIDATION_LIMIT = 1000;
+
+    private Cache<SearchKey, CachedResult> cache;
+
+    // 아래 색인/무효화 기록은 lock 으로 보호 (저장과 무효화가 서로 엇갈리지 않도록)
+    private final Object lock = new Object();
+    private final Map<ContentType, Map<String, Set<SearchKey>>> keysByQuery = new EnumMap<>(ContentType.class);
+    private int maxQueryLength;
+    private final AtomicLong invalidationSeq = new AtomicLong();
+    private final Deque<Invalidation> recentInvalidations = new ArrayDeque<>();
+
+    @PostConstruct
+    void init() {
+        for (ContentType type : ContentType.values()) {
+            keysByQuery.put(type, new HashMap<>());
+        }
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<SearchKey, CachedResult>() {
+                    @Override
+                    public long expireAfterCreate(SearchKey key, CachedResult value, long currentTime) {
+                        return value.isEmpty() ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(SearchKey key, CachedResult value, long currentTime, long currentDuration) {
+                        return value.isEmpty() ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(SearchKey key, CachedResult value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((SearchKey key, CachedResult value, RemovalCause cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        unindex(key);
+                    }
+                })
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss} 등 기본 지표 + 적중률 + 캐시로 아낀 검색 시간(search.cache.saved)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        meterRegistry.gauge("search.cache.hit.ratio", cache, c -> c.stats().hitRate());
+    }
+
+    // 캐시에 있으면 그대로, 없으면 검색 후 커밋 시점에 저장 (검색 중 저장된 컨텐츠의 무효화가 먼저 처리되도록)
+    public <T> T get(SearchKey key, Supplier<T> search, Predicate<T> isEmpty) {
+        return get(key, search, isEmpty, () -> true);
+    }
+
+    // cacheable 이 false 면 (예: TMDB 보강이 아직 진행 중인 잠정 결과) 검색만 하고 저장하지 않음
+    @SuppressWarnings("unchecked")
+    public <T> T get(SearchKey key, Supplier<T> search, Predicate<T> isEmpty, BooleanSupplier cacheable) {
+        CachedResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            meterRegistry.counter("search.cache.requests", "type", key.getContentType().name(),
+                    "result", cached.isEmpty() ? "negative_hit" : "hit").increment();
+            meterRegistry.timer("search.cache.saved", "type", key.getContentType().name())
+                    .record(Duration.ofNanos(cached.getLoadNanos()));
+            return (T) cached.getValue();
+        }
+
+        long invalidationsBefore = invalidationSeq.get();
+        long start = System.nanoTime();
+        T result = search.get();
+        CachedResult loaded = new CachedResult(result, isEmpty.test(result), System.nanoTime() - start);
+        meterRegistry.counter("search.cache.requests", "type", key.getContentType().name(), "result", "miss").increment();
+        meterRegistry.timer("search.cache.load", "type", key.getContentType().name())
+                .record(Duration.ofNanos(loaded.getLoadNanos()));
+
+        if (cacheable.getAsBoolean()) {
+            afterCommit(() -> store(key, loaded, invalidationsBefore));
+        }
+        return result;
+    }
+
+    // 검색 도중 이 키에 해당하는 무효화가 있었으면 결과가 이미 낡았을 수 있으므로 저장하지 않음 (다른 검색어의 무효화는 무관)
+    private void store(SearchKey key, CachedResult loaded, long invalidationsBefore) {
+        synchronized (lock) {
+            if (invalidatedSince(key, invalidationsBefore)) {
+                return;
+            }
+            cache.put(key, loaded);
+            keysByQuery.get(key.getContentType()).computeIfAbsent(key.getQuery(), query -> new HashSet<>()).add(key);
+            maxQueryLength = Math.max(maxQueryLength, key.getQuery().length());
+        }
+    }
+
+    private boolean invalidatedSince(SearchKey key, long invalidationsBefore) {
+        if (invalidationSeq.get() == invalidationsBefore) {
+            return false;
+        }
+        Invalidation oldest = recentInvalidations.peekFirst();
+        if (oldest == null || oldest.seq > invalidationsBefore + 1) {
+            return true;    // 기록이 밀려나 확인할 수 없음
+        }
+        for (Iterator<Invalidation> it = recentInvalidations.descendingIterator(); it.hasNext(); ) {
+            Invalidation invalidation = it.next();
+            if (invalidation.seq <= invalidationsBefore) {
+                break;
+            }
+            if (invalidation.matches(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 캐시에서 빠진 키를 검색어 색인에서도 제거 (그 사이 같은 키가 다시 저장됐으면 그대로 둠)
+    private void unindex(SearchKey key) {
+        synchronized (lock) {
+            if (cache.asMap().containsKey(key)) {
+                return;
+            }
+            Map<String, Set<SearchKey>> byQuery = keysByQuery.get(key.getContentType());
+            Set<SearchKey> keys = byQuery.get(key.getQuery());
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                byQuery.remove(key.getQuery());
+            }
+        }
+    }
+
+    // 제목이 title 인 컨텐츠가 생기거나 바뀌거나 사라졌을 때: 이 제목에 포함되는 검색어와 제목 조건 없는 검색만 무효화
+    // 트랜잭션 안이면 제목을 모아 두었다가 커밋 후 한 번에 처리
+    public void invalidate(ContentType contentType, String title) {
+        String normalizedTitle = normalize(title);
+        Map<ContentType, Set<String>> pending = pendingTitles();
+        if (pending == null) {
+            invalidateNow(Map.of(contentType, Set.of(normalizedTitle)));
+            return;
+        }
+        pending.computeIfAbsent(contentType, type -> new HashSet<>()).add(normalizedTitle);
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            record(new Invalidation(invalidationSeq.incrementAndGet(), null, Set.of()));
+            keysByQuery.values().forEach(Map::clear);
+            cache.invalidateAll();
+        }
+    }
+
+    // 제목의 부분 문자열 중 캐시에 있는 검색어(와 빈 검색어)의 키만 골라 제거
+    private void invalidateNow(Map<ContentType, Set<String>> titlesByType) {
+        synchronized (lock) {
+            for (Map.Entry<ContentType, Set<String>> entry : titlesByType.entrySet()) {
+                ContentType contentType = entry.getKey();
+                Set<String> titles = entry.getValue();
+                record(new Invalidation(invalidationSeq.incrementAndGet(), contentType, titles));
+
+                Map<String, Set<SearchKey>> byQuery = keysByQuery.get(contentType);
+                List<SearchKey> stale = new ArrayList<>();
+                collect(byQuery.remove(""), stale);
+                for (String title : titles) {
+                    for (int from = 0; from < title.length() && !byQuery.isEmpty(); from++) {
+                        int maxTo = Math.min(title.length(), from + maxQueryLength);
+                        for (int to = from + 1; to <= maxTo; to++) {
+                            collect(byQuery.remove(title.substring(from, to)), stale);
+                        }
+                    }
+                }
+                cache.invalidateAll(stale);
+                log.debug("검색 캐시 무효화: type={}, titles={}, removed={}", contentType, titles.size(), stale.size());
+            }
+        }
+    }
+
+    private static void collect(Set<SearchKey> keys, List<SearchKey> stale) {
+        if (keys != null) {
+            stale.addAll(keys);
+        }
+    }
+
+    private void record(Invalidation invalidation) {
+        recentInvalidations.addLast(invalidation);
+        while (recentInvalidations.size() > RECENT_INVALIDATION_LIMIT) {
+            recentInvalidations.removeFirst();
+        }
+    }
+
+    // 트랜잭션별로 모은 무효화 제목 (처음 모을 때 커밋 후 처리와 정리를 등록), 트랜잭션 밖이면 null
+    @SuppressWarnings("unchecked")
+    private Map<ContentType, Set<String>> pendingTitles() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<ContentType, Set<String>> pending =
+                (Map<ContentType, Set<String>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<ContentType, Set<String>> created = new EnumMap<>(ContentType.class);
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SearchResultCache.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    // NFC + 앞뒤 공백 제거 + 연속 공백 하나로 + 소문자 (제목 검색은 대소문자를 구분하지 않음)
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC)
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 검색 키: 타입 + 정규화된 검색어 + 나머지 조건(필터/정렬/페이지/조회 방식)을 이어 붙인 문자열
+    @Getter
+    public static final class SearchKey {
+        private final ContentType contentType;
+        private final String query;
+        private final String conditions;
+
+        public SearchKey(ContentType contentType, String query, Object... conditions) {
+            this.contentType = contentType;
+            this.query = normalize(query);
+            StringBuilder builder = new StringBuilder();
+            for (Object condition : conditions) {
+                builder.append(condition).append('|');
+            }
+            this.conditions = builder.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey other)) return false;
+            return contentType == other.contentType && query.equals(other.query) && conditions.equals(other.conditions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentType, query, conditions);
+        }
+    }
+
+    // 무효화 기록: contentType == null 이면 전체
+    private static final class Invalidation {
+        private final long seq;
+        private final ContentType contentType;
+        private final Set<String> titles;
+
+        private Invalidation(long seq, ContentType contentType, Set<String> titles) {
+            this.seq = seq;
+            this.contentType = contentType;
+            this.titles = titles;
+        }
+
+        boolean matches(SearchKey key) {
+            if (contentType == null) {
+                return true;
+            }
+            if (contentType != key.getContentType()) {
+                return false;
+            }
+            return key.getQuery().isEmpty() || titles.stream().anyMatch(title -> title.contains(key.getQuery()));
+        }
+    }
+
+    @Getter
+    private static final class CachedResult {
+        private final Object value;
+        private final boolean empty;
+        private final long loadNanos;   // 처음 검색에 걸린 시간 (적중할 때마다 아낀 시간으로 기록)
+
+        private CachedResult(Object value, boolean empty, long loadNanos) {
+            this.value = value;
+            this.empty = empty;
+            this.loadNanos = loadNanos;
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.basic.miniPjt5.entity.Movie;
 import com.basic.miniPjt5.repository.DramaRepository;
 import com.basic.miniPjt5.repository.GenreRepository;
 import com.basic.miniPjt5.repository.MovieRepository;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,13 +20,16 @@ public class StatisticsService {
     private final MovieRepository movieRepository;
     private final DramaRepository dramaRepository;
     private final GenreRepository genreRepository;
+    private final ContentLeaderboard contentLeaderboard;
     
     public StatisticsService(MovieRepository movieRepository,
                            DramaRepository dramaRepository,
-                           GenreRepository genreRepository) {
+                           GenreRepository genreRepository,
+                           ContentLeaderboard contentLeaderboard) {
         this.movieRepository = movieRepository;
         this.dramaRepository = dramaRepository;
         this.genreRepository = genreRepository;
+        this.contentLeaderboard = contentLeaderboard;
     }
     
     public Map<String, Object> getContentStatistics() {
@@ -53,13 +55,12 @@ public class StatisticsService {
         return stats;
     }
     
-    @Cacheable(value = "topRatedMovies")
+    // 메모리 순위표 기준 (별점 반영 즉시 갱신되므로 별도 캐시 불필요)
     public List<Movie> getTopRatedMovies() {
-        return movieRepository.findTop20ByOrderByCombinedRatingDesc();
+        return contentLeaderboard.getTopMovies(20);
     }
     
-    @Cacheable(value = "topRatedDramas")
     public List<Drama> getTopRatedDramas() {
-        return dramaRepository.findTop20ByOrderByCombinedRatingDesc();
+        return contentLeaderboard.getTopDramas(20);
     }
 }
\ No newline at end of file
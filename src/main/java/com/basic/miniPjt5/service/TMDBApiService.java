@@ -1,21 +1,43 @@
 package com.basic.miniPjt5.service;
 
+import com.basic.miniPjt5.response.TMDBDrama;
 import com.basic.miniPjt5.response.TMDBGenreResponse;
+import com.basic.miniPjt5.response.TMDBMovie;
 import com.basic.miniPjt5.response.TMDBMovieResponse;
 import com.basic.miniPjt5.response.TMDBTVResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 @Service
 public class TMDBApiService {
     
     private static final Logger logger = LoggerFactory.getLogger(TMDBApiService.class);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
     
     @Value("${tmdb.api.key}")
     private String apiKey;
@@ -23,114 +45,286 @@ public class TMDBApiService {
     @Value("${tmdb.api.base-url:https://api.themoviedb.org/3}")
     private String baseUrl;
     
-    private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final TmdbRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final TmdbResponseCache responseCache;
+    // 429/5xx/연결 오류만 지터를 준 지수 백오프로 재시도 (재시도마다 토큰을 다시 받음)
+    private final RetryBackoffSpec retrySpec;
+    // 여러 페이지를 한꺼번에 가져올 때 동시에 보내는 요청 수
+    private final int concurrency;
+    // Spring 기본 JSON 변환기와 같은 설정 (응답/디스크 캐시 본문 역직렬화용)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
     
-    public TMDBApiService(RestTemplateBuilder restTemplateBuilder) {
-        this.restTemplate = restTemplateBuilder
-                .connectTimeout(Duration.ofSeconds(10))
-                .readTimeout(Duration.ofSeconds(30))
-                .build();
+    // 같은 URL(엔드포인트 + 파라미터) 호출은 진행 중인 요청 하나를 공유하고, 끝난 결과는 잠시 재사용 (실패한 호출은 바로 제거됨)
+    private final AsyncCache<String, Object> inFlightCalls;
+    
+    public TMDBApiService(WebClient tmdbWebClient,
+                          TmdbRateLimiter rateLimiter,
+                          MeterRegistry meterRegistry,
+                          TmdbResponseCache responseCache,
+                          @Value("${tmdb.api.memo-seconds:30}") long memoSeconds,
+                          @Value("${tmdb.client.concurrency:4}") int concurrency,
+                          @Value("${tmdb.client.max-retries:3}") int maxRetries,
+                          @Value("${tmdb.client.retry-min-backoff-ms:500}") long retryMinBackoffMs) {
+        this.webClient = tmdbWebClient;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.responseCache = responseCache;
+        this.concurrency = concurrency;
+        this.retrySpec = Retry.backoff(maxRetries, Duration.ofMillis(retryMinBackoffMs))
+                .maxBackoff(Duration.ofSeconds(10))
+                .jitter(0.5)
+                .filter(TMDBApiService::isRetryable)
+                .doBeforeRetry(signal -> meterRegistry.counter("tmdb.api.retries",
+                        "reason", retryReason(signal.failure())).increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.inFlightCalls = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(memoSeconds))
+                .maximumSize(1_000)
+                .buildAsync();
     }
     
+    // 동기 메서드는 기존 호출부(검색 보강, 헬스 체크)용: 같은 논블로킹 호출의 결과를 기다림
     public TMDBMovieResponse getPopularMovies(int page) {
+        return getPopularMoviesAsync(page).block();
+    }
+    
+    public Mono<TMDBMovieResponse> getPopularMoviesAsync(int page) {
         int tmdbPage = page + 1;
         String url = String.format("%s/movie/popular?api_key=%s&page=%d&language=ko-KR", 
                                  baseUrl, apiKey, tmdbPage);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBMovieResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to fetch popular movies from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
-        }
+
+        return fetch(url, TMDBMovieResponse.class, "Failed to fetch popular movies from TMDB API");
     }
     
     public TMDBMovieResponse getTopRatedMovies(int page) {
+        return getTopRatedMoviesAsync(page).block();
+    }
+    
+    public Mono<TMDBMovieResponse> getTopRatedMoviesAsync(int page) {
         int tmdbPage = page + 1;
         String url = String.format("%s/movie/top_rated?api_key=%s&page=%d&language=ko-KR", 
                                  baseUrl, apiKey, tmdbPage);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBMovieResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to fetch top rated movies from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
-        }
+
+        return fetch(url, TMDBMovieResponse.class, "Failed to fetch top rated movies from TMDB API");
     }
     
     public TMDBTVResponse getPopularTVShows(int page) {
+        return getPopularTVShowsAsync(page).block();
+    }
+    
+    public Mono<TMDBTVResponse> getPopularTVShowsAsync(int page) {
         int tmdbPage = page + 1;
         String url = String.format("%s/tv/popular?api_key=%s&page=%d&language=ko-KR", 
                                  baseUrl, apiKey, tmdbPage);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBTVResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to fetch popular TV shows from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
-        }
+
+        return fetch(url, TMDBTVResponse.class, "Failed to fetch popular TV shows from TMDB API");
     }
     
     public TMDBTVResponse getTopRatedTVShows(int page) {
+        return getTopRatedTVShowsAsync(page).block();
+    }
+    
+    public Mono<TMDBTVResponse> getTopRatedTVShowsAsync(int page) {
         int tmdbPage = page + 1;
         String url = String.format("%s/tv/top_rated?api_key=%s&page=%d&language=ko-KR", 
                                  baseUrl, apiKey, tmdbPage);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBTVResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to fetch top rated TV shows from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
-        }
+
+        return fetch(url, TMDBTVResponse.class, "Failed to fetch top rated TV shows from TMDB API");
     }
     
     public TMDBGenreResponse getMovieGenres() {
+        return getMovieGenresAsync().block();
+    }
+    
+    public Mono<TMDBGenreResponse> getMovieGenresAsync() {
         String url = String.format("%s/genre/movie/list?api_key=%s&language=ko-KR", 
                                  baseUrl, apiKey);
-        
+
+        return fetch(url, TMDBGenreResponse.class, "Failed to fetch movie genres from TMDB API");
+    }
+    
+    // 헬스 체크용: 메모/디스크 캐시와 요청 한도를 거치지 않고 TMDB에 가벼운 요청 하나를 바로 보냄 (재시도 없음)
+    public void probe() {
+        String url = String.format("%s/configuration?api_key=%s", baseUrl, apiKey);
+        meterRegistry.counter("tmdb.api.calls", "result", "probe").increment();
         try {
-            return restTemplate.getForObject(url, TMDBGenreResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to fetch movie genres from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
+            webClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(PROBE_TIMEOUT)
+                    .block();
+        } catch (WebClientResponseException e) {
+            // 예외 메시지에는 API 키가 들어간 URL이 있으므로 상태 코드만 돌려줌
+            throw new RuntimeException("TMDB API 응답 오류: status=" + e.getStatusCode().value());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("TMDB API 연결 실패: " + e.getClass().getSimpleName());
         }
     }
     
     public TMDBGenreResponse getTVGenres() {
+        return getTVGenresAsync().block();
+    }
+    
+    public Mono<TMDBGenreResponse> getTVGenresAsync() {
         String url = String.format("%s/genre/tv/list?api_key=%s&language=ko-KR", 
                                  baseUrl, apiKey);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBGenreResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to fetch TV genres from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
-        }
+
+        return fetch(url, TMDBGenreResponse.class, "Failed to fetch TV genres from TMDB API");
     }
     
     public TMDBMovieResponse searchMovies(String query, int page) {
+        return searchMoviesAsync(query, page).block();
+    }
+    
+    public Mono<TMDBMovieResponse> searchMoviesAsync(String query, int page) {
         int tmdbPage = page + 1;
         String url = String.format("%s/search/movie?api_key=%s&query=%s&page=%d&language=ko-KR", 
                                  baseUrl, apiKey, query, tmdbPage);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBMovieResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to search movies from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
-        }
+
+        return fetch(url, TMDBMovieResponse.class, "Failed to search movies from TMDB API");
     }
     
     public TMDBTVResponse searchTVShows(String query, int page) {
+        return searchTVShowsAsync(query, page).block();
+    }
+    
+    public Mono<TMDBTVResponse> searchTVShowsAsync(String query, int page) {
         int tmdbPage = page + 1;
         String url = String.format("%s/search/tv?api_key=%s&query=%s&page=%d&language=ko-KR", 
                                  baseUrl, apiKey, query, tmdbPage);
-        
-        try {
-            return restTemplate.getForObject(url, TMDBTVResponse.class);
-        } catch (Exception e) {
-            logger.error("Failed to search TV shows from TMDB API", e);
-            throw new RuntimeException("TMDB API 호출 실패", e);
+
+        return fetch(url, TMDBTVResponse.class, "Failed to search TV shows from TMDB API");
+    }
+    
+    // 🔥 인기/평점순 목록 여러 페이지를 동시에(concurrency 개씩) 가져와 페이지 순서대로 흘려보냄 (속도는 토큰 버킷이 맞춤)
+    public Flux<TMDBMovie> getPopularMoviesPages(int pages) {
+        return pages(pages, this::getPopularMoviesAsync, TMDBMovieResponse::getResults);
+    }
+    
+    public Flux<TMDBMovie> getTopRatedMoviesPages(int pages) {
+        return pages(pages, this::getTopRatedMoviesAsync, TMDBMovieResponse::getResults);
+    }
+    
+    public Flux<TMDBDrama> getPopularTVShowsPages(int pages) {
+        return pages(pages, this::getPopularTVShowsAsync, TMDBTVResponse::getResults);
+    }
+    
+    public Flux<TMDBDrama> getTopRatedTVShowsPages(int pages) {
+        return pages(pages, this::getTopRatedTVShowsAsync, TMDBTVResponse::getResults);
+    }
+    
+    private <R, T> Flux<T> pages(int pages, IntFunction<Mono<R>> page, Function<R, List<T>> results) {
+        // 한 페이지가 실패해도(재시도 소진) 나머지 페이지는 그대로 흘려보냄
+        return Flux.range(0, pages)
+                .flatMapSequential(index -> page.apply(index)
+                        .onErrorResume(e -> {
+                            logger.warn("TMDB 목록 페이지 조회 실패 - 건너뜀: page={}, error={}", index + 1, e.getMessage());
+                            return Mono.empty();
+                        }), concurrency)
+                .flatMapIterable(response -> {
+                    List<T> items = results.apply(response);
+                    return items != null ? items : List.of();
+                });
+    }
+    
+    // 🔥 single-flight: 처음 구독한 호출만 HTTP 요청을 보내고, 동시에 들어온 같은 호출은 그 결과를 함께 사용
+    private <T> Mono<T> fetch(String url, Class<T> responseType, String failureMessage) {
+        return Mono.defer(() -> {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlightCalls.asMap().putIfAbsent(url, created);
+            
+            if (existing != null) {
+                meterRegistry.counter("tmdb.api.calls", "result", existing.isDone() ? "memo" : "shared").increment();
+                // 한 구독자가 취소해도 공유 중인 요청은 취소하지 않음
+                return Mono.fromFuture(existing, true).map(responseType::cast);
+            }
+            
+            meterRegistry.counter("tmdb.api.calls", "result", "request").increment();
+            getBody(url)
+                    .flatMap(body -> Mono.fromCallable(() -> (Object) objectMapper.readValue(body, responseType)))
+                    .subscribe(created::complete, e -> {
+                        // WebClient 예외 메시지에는 API 키가 들어간 URL이 있으므로 상태 코드/예외 종류와 캐시 키만 남김
+                        String reason = failureReason(e);
+                        logger.error("{}: key={}, reason={}", failureMessage, cacheKey(url), reason);
+                        // 실패한 결과는 캐시에서 빠지고, 기다리던 호출도 같은 예외를 받음
+                        created.completeExceptionally(new RuntimeException("TMDB API 호출 실패: " + reason));
+                    });
+            return Mono.fromFuture(created, true).map(responseType::cast);
+        });
+    }
+    
+    // 디스크 캐시가 신선하면 그대로, 아니면 ETag/Last-Modified로 조건부 요청 (304면 캐시 본문 재사용)
+    private Mono<byte[]> getBody(String url) {
+        return Mono.defer(() -> {
+            String cacheKey = cacheKey(url);
+            TmdbResponseCache.CachedResponse cached = responseCache.get(cacheKey);
+            if (cached != null && cached.isFresh()) {
+                meterRegistry.counter("tmdb.cache.requests", "result", "fresh").increment();
+                return Mono.just(cached.getBody());
+            }
+            
+            Mono<ResponseEntity<byte[]>> exchange = rateLimiter.acquire()
+                    .then(Mono.defer(() -> webClient.get()
+                            .uri(url)
+                            .headers(headers -> {
+                                if (cached != null && cached.getEtag() != null) {
+                                    headers.setIfNoneMatch(cached.getEtag());
+                                }
+                                if (cached != null && cached.getLastModified() != null) {
+                                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+                                }
+                            })
+                            .retrieve()
+                            .toEntity(byte[].class)))
+                    .retryWhen(retrySpec);
+            
+            // 디스크 캐시 기록과 역직렬화는 네트워크 스레드 밖에서
+            return exchange
+                    .publishOn(Schedulers.boundedElastic())
+                    .flatMap(response -> {
+                        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            meterRegistry.counter("tmdb.cache.requests", "result", "revalidated").increment();
+                            responseCache.revalidated(cacheKey, response.getHeaders());
+                            return Mono.just(cached.getBody());
+                        }
+                        meterRegistry.counter("tmdb.cache.requests", "result", cached != null ? "modified" : "miss").increment();
+                        byte[] body = response.getBody();
+                        if (body == null) {
+                            return Mono.error(new IOException("TMDB 응답 본문 없음: status=" + response.getStatusCode()));
+                        }
+                        responseCache.put(cacheKey, body, response.getHeaders());
+                        return Mono.just(body);
+                    });
+        });
+    }
+    
+    // API 키는 디스크/로그에 남기지 않음
+    private String cacheKey(String url) {
+        return url.replace("api_key=" + apiKey + "&", "");
+    }
+    
+    private static String failureReason(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return "status=" + response.getStatusCode().value();
         }
+        return e.getClass().getSimpleName();
+    }
+    
+    // 요청 한도 초과(429), 서버 오류(5xx), 연결/타임아웃 오류만 재시도
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                    || response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException;
+    }
+    
+    private static String retryReason(Throwable e) {
+        return e instanceof WebClientResponseException response
+                ? String.valueOf(response.getStatusCode().value())
+                : "connection";
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,7 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -31,15 +32,30 @@ public class TMDBDataInitializationService {
     private final GenreRepository genreRepository;
     private final MovieRepository movieRepository;
     private final DramaRepository dramaRepository;
+    private final ContentLeaderboard contentLeaderboard;
+    private final GenreRatingRollupService genreRatingRollupService;
+    private final TitleNgramIndex titleNgramIndex;
+    private final ContentSuggestIndex contentSuggestIndex;
+    private final SearchResultCache searchResultCache;
 
     public TMDBDataInitializationService(TMDBApiService tmdbApiService,
                                        GenreRepository genreRepository,
                                        MovieRepository movieRepository,
-                                       DramaRepository dramaRepository) {
+                                       DramaRepository dramaRepository,
+                                       ContentLeaderboard contentLeaderboard,
+                                       GenreRatingRollupService genreRatingRollupService,
+                                       TitleNgramIndex titleNgramIndex,
+                                       ContentSuggestIndex contentSuggestIndex,
+                                       SearchResultCache searchResultCache) {
         this.tmdbApiService = tmdbApiService;
         this.genreRepository = genreRepository;
         this.movieRepository = movieRepository;
         this.dramaRepository = dramaRepository;
+        this.contentLeaderboard = contentLeaderboard;
+        this.genreRatingRollupService = genreRatingRollupService;
+        this.titleNgramIndex = titleNgramIndex;
+        this.contentSuggestIndex = contentSuggestIndex;
+        this.searchResultCache = searchResultCache;
     }
 
     public ContentSimpleDTO getContentSummary(ContentType contentType, Long contentId) {
@@ -115,38 +131,17 @@ public class TMDBDataInitializationService {
     private void initializeMovies() {
         logger.info("영화 데이터 초기화 시작");
 
-        // 인기 영화 가져오기 (처음 5페이지)
-        for (int page = 1; page <= 5; page++) {
-            TMDBMovieResponse response = tmdbApiService.getPopularMovies(page-1);
-            if (response != null && response.getResults() != null) {
-                for (TMDBMovie tmdbMovie : response.getResults()) {
-                    saveMovieIfNotExists(tmdbMovie);
-                }
-            }
-
-            // API 호출 제한을 위한 딜레이
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-
-        // 평점 높은 영화 가져오기 (처음 3페이지)
-        for (int page = 1; page <= 3; page++) {
-            TMDBMovieResponse response = tmdbApiService.getTopRatedMovies(page-1);
-            if (response != null && response.getResults() != null) {
-                for (TMDBMovie tmdbMovie : response.getResults()) {
-                    saveMovieIfNotExists(tmdbMovie);
-                }
-            }
-
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+        // 인기 영화(처음 5페이지)와 평점 높은 영화(처음 3페이지)를 동시에 가져옴 - 호출 속도는 TMDB 토큰 버킷이 맞춤
+        List<TMDBMovie> tmdbMovies = Flux.mergeSequential(
+                        tmdbApiService.getPopularMoviesPages(5),
+                        tmdbApiService.getTopRatedMoviesPages(3))
+                .collectList()
+                .block();
+
+        // 저장은 이 트랜잭션의 스레드에서
+        if (tmdbMovies != null) {
+            for (TMDBMovie tmdbMovie : tmdbMovies) {
+                saveMovieIfNotExists(tmdbMovie);
             }
         }
 
@@ -175,6 +170,12 @@ public class TMDBDataInitializationService {
             }
 
             movieRepository.save(movie);
+            contentLeaderboard.update(movie);
+            titleNgramIndex.update(movie);
+            contentSuggestIndex.update(movie);
+            searchResultCache.invalidate(ContentType.MOVIE, movie.getTitle());
+            genreRatingRollupService.applyMembershipChange(ContentType.MOVIE, List.of(), null,
+                    movie.getGenres(), GenreRatingRollupService.scoreOf(movie));
             logger.info("새 영화 저장: {} (TMDB ID: {})", movie.getTitle(), movie.getTmdbId());
         }
     }
@@ -182,37 +183,16 @@ public class TMDBDataInitializationService {
     private void initializeDramas() {
         logger.info("드라마 데이터 초기화 시작");
 
-        // 인기 드라마 가져오기 (처음 5페이지)
-        for (int page = 1; page <= 5; page++) {
-            TMDBTVResponse response = tmdbApiService.getPopularTVShows(page-1);
-            if (response != null && response.getResults() != null) {
-                for (TMDBDrama tmdbDrama : response.getResults()) {
-                    saveDramaIfNotExists(tmdbDrama);
-                }
-            }
-
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-
-        // 평점 높은 드라마 가져오기 (처음 3페이지)
-        for (int page = 1; page <= 3; page++) {
-            TMDBTVResponse response = tmdbApiService.getTopRatedTVShows(page-1);
-            if (response != null && response.getResults() != null) {
-                for (TMDBDrama tmdbDrama : response.getResults()) {
-                    saveDramaIfNotExists(tmdbDrama);
-                }
-            }
+        // 인기 드라마(처음 5페이지)와 평점 높은 드라마(처음 3페이지)를 동시에 가져옴
+        List<TMDBDrama> tmdbDramas = Flux.mergeSequential(
+                        tmdbApiService.getPopularTVShowsPages(5),
+                        tmdbApiService.getTopRatedTVShowsPages(3))
+                .collectList()
+                .block();
 
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+        if (tmdbDramas != null) {
+            for (TMDBDrama tmdbDrama : tmdbDramas) {
+                saveDramaIfNotExists(tmdbDrama);
             }
         }
 
@@ -243,6 +223,12 @@ public class TMDBDataInitializationService {
             }
 
             dramaRepository.save(drama);
+            contentLeaderboard.update(drama);
+            titleNgramIndex.update(drama);
+            contentSuggestIndex.update(drama);
+            searchResultCache.invalidate(ContentType.DRAMA, drama.getTitle());
+            genreRatingRollupService.applyMembershipChange(ContentType.DRAMA, List.of(), null,
+                    drama.getGenres(), GenreRatingRollupService.scoreOf(drama));
             logger.info("새 드라마 저장: {} (TMDB ID: {})", drama.getTitle(), drama.getTmdbId());
         }
     }
@@ -0,0 +1,253 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 영화/드라마 제목 n-gram 역색인.
+ * 제목을 정규화(NFC, 공백 정리, 소문자)한 뒤 위치마다 n-gram(한글로 시작하면 2글자, 그 외 3글자)을 뽑아 gram → 컨텐츠 ID 목록을 메모리에 유지하고,
+ * 부분 일치 검색은 검색어의 gram 목록 교집합으로 후보 ID를 구해 원문 포함 여부로 확인한다 (LIKE '%...%' 전체 스캔 대신).
+ * 제목이 바뀌는 곳(컨텐츠 생성/수정/삭제, TMDB 저장)에서 커밋 후 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TitleNgramIndex {
+
+    private static final int HANGUL_GRAM_LENGTH = 2;
+    private static final int DEFAULT_GRAM_LENGTH = 3;
+
+    private final MovieRepository movieRepository;
+    private final DramaRepository dramaRepository;
+
+    // 후보 ID 가 이보다 많으면 (짧은 검색어) IN 목록 대신 LIKE 조건으로 조회
+    @Value("${title.index.max-in-list:1000}")
+    private int maxInListSize;
+
+    private final Map<ContentType, Index> indexes = new ConcurrentHashMap<>();
+
+    public void update(Movie movie) {
+        apply(ContentType.MOVIE, movie.getId(), movie.getTitle());
+    }
+
+    public void update(Drama drama) {
+        apply(ContentType.DRAMA, drama.getId(), drama.getTitle());
+    }
+
+    public void remove(ContentType contentType, Long contentId) {
+        apply(contentType, contentId, null);
+    }
+
+    // 제목에 검색어가 (대소문자 무시) 포함된 컨텐츠 ID
+    public Set<Long> search(ContentType contentType, String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return Set.of();
+        }
+        String normalized = normalize(query.trim());
+        Set<Long> matched = index(contentType).search(normalized);
+
+        // 같은 트랜잭션에서 방금 저장/삭제한 컨텐츠는 커밋 전이라 색인에 없으므로 직접 반영
+        Map<Long, String> pending = pendingChanges(contentType, false);
+        if (pending == null || pending.isEmpty()) {
+            return matched;
+        }
+        Set<Long> merged = new HashSet<>(matched);
+        pending.forEach((id, title) -> {
+            if (title != null && normalize(title).contains(normalized)) {
+                merged.add(id);
+            } else {
+                merged.remove(id);
+            }
+        });
+        return merged;
+    }
+
+    // 후보가 너무 많아 IN 목록으로 넘기면 쿼리 파싱/실행 계획 비용이 스캔보다 커지는 경우
+    public boolean exceedsInListLimit(Collection<Long> ids) {
+        return ids.size() > maxInListSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        for (ContentType type : ContentType.values()) {
+            rebuild(type);
+        }
+    }
+
+    // DB 기준으로 새 색인을 만든 뒤 통째로 교체
+    public void rebuild(ContentType contentType) {
+        List<Object[]> rows = contentType == ContentType.MOVIE
+                ? movieRepository.findTitleRows()
+                : dramaRepository.findTitleRows();
+
+        Index rebuilt = new Index();
+        for (Object[] row : rows) {
+            rebuilt.put((Long) row[0], (String) row[1]);
+        }
+        indexes.put(contentType, rebuilt);
+        log.info("제목 n-gram 색인 재구성 완료: type={}, contents={}, grams={}", contentType, rows.size(), rebuilt.gramCount());
+    }
+
+    // 검색 캐시 키와 같은 규칙 (조합형/완성형 한글이 섞여도 같은 제목으로)
+    private static String normalize(String text) {
+        return SearchResultCache.normalize(text);
+    }
+
+    // 색인과 검색어에 같은 규칙 적용: 검색어가 제목의 부분 문자열이면 검색어의 모든 gram이 제목에도 있음
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            int length = isHangul(text.charAt(i)) ? HANGUL_GRAM_LENGTH : DEFAULT_GRAM_LENGTH;
+            if (i + length <= text.length()) {
+                grams.add(text.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL;
+    }
+
+    private Index index(ContentType contentType) {
+        return indexes.computeIfAbsent(contentType, type -> new Index());
+    }
+
+    // 트랜잭션 안이면 커밋 후 색인에 반영하고, 그 전까지는 트랜잭션별 변경 목록에 보관 (title == null 이면 삭제)
+    private void apply(ContentType contentType, Long contentId, String title) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(contentType).put(contentId, title);
+            return;
+        }
+        pendingChanges(contentType, true).put(contentId, title);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(contentType).put(contentId, title);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, String> pendingChanges(ContentType contentType, boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<ContentType, Map<Long, String>> changes =
+                (Map<ContentType, Map<Long, String>>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            if (!create) {
+                return null;
+            }
+            changes = new EnumMap<>(ContentType.class);
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TitleNgramIndex.this);
+                }
+            });
+        }
+        return create ? changes.computeIfAbsent(contentType, type -> new HashMap<>()) : changes.get(contentType);
+    }
+
+    // 타입 하나의 색인 (조회끼리는 읽기 락으로 동시에, 갱신은 쓰기 락)
+    private static final class Index {
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final Map<Long, String> titles = new HashMap<>();   // ID → 정규화된 제목 (후보 확인용)
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // title == null 이면 삭제
+        void put(Long contentId, String title) {
+            String normalized = title != null ? normalize(title) : null;
+            lock.writeLock().lock();
+            try {
+                String previous = normalized != null ? titles.put(contentId, normalized) : titles.remove(contentId);
+                if (previous != null) {
+                    for (String gram : grams(previous)) {
+                        Set<Long> ids = postings.get(gram);
+                        if (ids != null) {
+                            ids.remove(contentId);
+                            if (ids.isEmpty()) {
+                                postings.remove(gram);
+                            }
+                        }
+                    }
+                }
+                if (normalized != null) {
+                    for (String gram : grams(normalized)) {
+                        postings.computeIfAbsent(gram, key -> new HashSet<>()).add(contentId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Set<Long> search(String query) {
+            lock.readLock().lock();
+            try {
+                Set<String> grams = grams(query);
+                if (grams.isEmpty()) {
+                    // gram보다 짧은 검색어 (영문 1~2글자, 한글 1글자): 메모리의 제목 목록에서 직접 확인
+                    return matching(titles.keySet(), query);
+                }
+
+                // 가장 짧은 목록부터 교집합 (하나라도 없으면 결과 없음)
+                List<Set<Long>> lists = new ArrayList<>(grams.size());
+                for (String gram : grams) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids == null) {
+                        return Set.of();
+                    }
+                    lists.add(ids);
+                }
+                lists.sort(Comparator.comparingInt(Set::size));
+
+                Set<Long> candidates = new HashSet<>(lists.get(0));
+                for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                    candidates.retainAll(lists.get(i));
+                }
+                // gram이 모두 있어도 순서/위치가 다를 수 있으므로 원문으로 확인
+                return matching(candidates, query);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int gramCount() {
+            lock.readLock().lock();
+            try {
+                return postings.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Set<Long> matching(Collection<Long> candidates, String query) {
+            Set<Long> matched = new HashSet<>();
+            for (Long id : candidates) {
+                String title = titles.get(id);
+                if (title != null && title.contains(query)) {
+                    matched.add(id);
+                }
+            }
+            return matched;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.basic.miniPjt5.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TMDB 호출 전체가 함께 쓰는 토큰 버킷.
+ * 초당 requests-per-second 개씩 토큰이 차고 최대 burst 개까지 모아 둘 수 있다.
+ * 토큰이 없으면 스레드를 재우지 않고, 다음 토큰이 생기는 시점까지 지연된 Mono 를 돌려준다 (대기 순서대로 예약).
+ */
+@Component
+@RequiredArgsConstructor
+public class TmdbRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+
+    // TMDB 허용량(IP당 초당 약 40~50건)보다 약간 낮게
+    @Value("${tmdb.rate-limit.requests-per-second:40}")
+    private double requestsPerSecond;
+
+    @Value("${tmdb.rate-limit.burst:20}")
+    private int burst;
+
+    private long intervalNanos;
+    private double storedTokens;
+    private long nextFreeNanos;     // 모아 둔 토큰이 없을 때 다음 토큰을 쓸 수 있는 시각
+
+    @PostConstruct
+    void init() {
+        intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        storedTokens = burst;
+        nextFreeNanos = System.nanoTime();
+    }
+
+    // 구독할 때 토큰 하나를 예약하고, 그 토큰을 쓸 수 있을 때 완료됨 (재시도로 다시 구독하면 다시 예약)
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            meterRegistry.timer("tmdb.rate-limit.wait").record(waitNanos, TimeUnit.NANOSECONDS);
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then() : Mono.empty();
+        });
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        if (now > nextFreeNanos) {
+            storedTokens = Math.min(burst, storedTokens + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+        long waitNanos = nextFreeNanos - now;
+        if (storedTokens >= 1) {
+            storedTokens -= 1;
+        } else {
+            nextFreeNanos += intervalNanos;
+        }
+        return waitNanos;
+    }
+}
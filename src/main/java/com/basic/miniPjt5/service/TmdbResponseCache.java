@@ -0,0 +1,395 @@
+package com.basic.miniPjt5.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * TMDB 응답 디스크 캐시 (HTTP 조건부 요청용).
+ * 응답 본문을 ETag / Last-Modified / 만료 시각(Cache-Control max-age, 없으면 기본 TTL)과 함께
+ * 메모리 매핑된 세그먼트 파일에 순서대로 덧붙이고, 키 → 위치 색인은 메모리에 둔다.
+ * 기동 시 세그먼트를 처음부터 읽어 색인을 다시 만들고, CRC가 맞지 않는 레코드부터는 버린다 (쓰다 죽은 꼬리 복구).
+ * 전체 크기가 한도를 넘으면 가장 오래된 세그먼트부터 통째로 지운다.
+ * 동기화는 읽기/쓰기 락으로 (조회끼리는 동시에).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TmdbResponseCache {
+
+    private static final int MAGIC = 0x544D4442;            // "TMDB"
+    private static final int HEADER_SIZE = 20;              // magic + 길이 + 만료 시각 + CRC
+    private static final int EXPIRES_AT_OFFSET = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tmdb.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tmdb.cache.dir:${java.io.tmpdir}/seenit-tmdb-cache}")
+    private String directory;
+
+    @Value("${tmdb.cache.segment-size-mb:16}")
+    private int segmentSizeMb;
+
+    @Value("${tmdb.cache.max-size-mb:256}")
+    private long maxSizeMb;
+
+    // 응답에 max-age가 없을 때의 신선 기간
+    @Value("${tmdb.cache.default-ttl-minutes:60}")
+    private long defaultTtlMinutes;
+
+    private final Map<String, Location> index = new HashMap<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();     // 오래된 순 (마지막이 쓰기 중인 세그먼트)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Path root;
+    private int segmentSize;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        segmentSize = (int) Math.min(Integer.MAX_VALUE, segmentSizeMb * 1024L * 1024L);
+        try {
+            root = Paths.get(directory);
+            Files.createDirectories(root);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(root)) {
+                files = listing.filter(path -> segmentId(path) >= 0)
+                        .sorted(Comparator.comparingLong(TmdbResponseCache::segmentId))
+                        .toList();
+            }
+
+            int recovered = 0;
+            int corrupted = 0;
+            for (Path file : files) {
+                Segment segment = Segment.open(file, segmentId(file), segmentSize);
+                segments.addLast(segment);
+                ScanResult scan = scan(segment);
+                recovered += scan.records;
+                corrupted += scan.corrupted ? 1 : 0;
+            }
+            if (segments.isEmpty()) {
+                segments.addLast(Segment.open(segmentPath(1), 1, segmentSize));
+            }
+            evictOverflow();
+
+            meterRegistry.gauge("tmdb.cache.entries", index, Map::size);
+            log.info("TMDB 응답 디스크 캐시 로드: dir={}, segments={}, entries={}, records={}, corruptedSegments={}",
+                    root, segments.size(), index.size(), recovered, corrupted);
+        } catch (IOException | RuntimeException e) {
+            // 캐시를 못 쓰면 항상 TMDB로 요청 (서비스에는 영향 없음)
+            log.warn("TMDB 응답 디스크 캐시를 사용할 수 없어 비활성화합니다: dir={}", directory, e);
+            enabled = false;
+        }
+    }
+
+    public CachedResponse get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            byte[] body = new byte[location.bodyLength];
+            location.segment.buffer.duplicate().position(location.bodyOffset).get(body);
+            return new CachedResponse(body, location.etag, location.lastModified,
+                    System.currentTimeMillis() < location.expiresAt);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 200 응답 저장 (no-store 면 저장하지 않고 이전 항목도 제거)
+    public void put(String key, byte[] body, HttpHeaders headers) {
+        if (!enabled || body == null) {
+            return;
+        }
+        String cacheControl = headers.getCacheControl();
+        lock.writeLock().lock();
+        try {
+            if (cacheControl != null && cacheControl.contains("no-store")) {
+                index.remove(key);
+                return;
+            }
+            append(key, body, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), expiresAt(cacheControl));
+        } catch (IOException e) {
+            log.warn("TMDB 응답 디스크 캐시 저장 실패: key={}", key, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 304 응답: 본문은 그대로 두고 레코드의 만료 시각만 제자리에서 갱신
+    public void revalidated(String key, HttpHeaders headers) {
+        if (!enabled) {
+            return;
+        }
+        long expiresAt = expiresAt(headers.getCacheControl());
+        lock.writeLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location != null) {
+                location.segment.buffer.putLong(location.offset + EXPIRES_AT_OFFSET, expiresAt);
+                location.expiresAt = expiresAt;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long expiresAt(String cacheControl) {
+        long now = System.currentTimeMillis();
+        if (cacheControl != null) {
+            if (cacheControl.contains("no-cache")) {
+                return now;     // 저장은 하되 매번 재검증
+            }
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return now + TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return now + TimeUnit.MINUTES.toMillis(defaultTtlMinutes);
+    }
+
+    /*
+     * 레코드 형식 (big-endian):
+     * [magic:int][길이:int][만료 시각:long][CRC32:int]
+     * [키 길이:short][키][ETag 길이:short][ETag][Last-Modified 길이:short][Last-Modified][본문 길이:int][본문]
+     * CRC는 만료 시각 이후(키부터 본문까지)만 계산 - 304 재검증 때 만료 시각을 제자리에서 바꿀 수 있도록
+     */
+    private void append(String key, byte[] body, String etag, String lastModified, long expiresAt) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] etagBytes = etag != null ? etag.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] lastModifiedBytes = lastModified != null ? lastModified.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int length = HEADER_SIZE + 2 + keyBytes.length + 2 + etagBytes.length + 2 + lastModifiedBytes.length + 4 + body.length;
+        if (length > segmentSize || keyBytes.length > Short.MAX_VALUE) {
+            log.debug("TMDB 응답이 세그먼트보다 커서 캐시하지 않음: key={}, bytes={}", key, length);
+            return;
+        }
+
+        Segment segment = segments.peekLast();
+        if (segment.writePosition + length > segmentSize) {
+            segment.buffer.force();
+            segment = Segment.open(segmentPath(segment.id + 1), segment.id + 1, segmentSize);
+            segments.addLast(segment);
+            evictOverflow();
+        }
+
+        int offset = segment.writePosition;
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(offset + HEADER_SIZE);
+        buffer.putShort((short) keyBytes.length).put(keyBytes);
+        buffer.putShort((short) etagBytes.length).put(etagBytes);
+        buffer.putShort((short) lastModifiedBytes.length).put(lastModifiedBytes);
+        buffer.putInt(body.length);
+        int bodyOffset = buffer.position();
+        buffer.put(body);
+
+        // 본문을 먼저 쓰고 헤더(magic)를 마지막에 써서, 중간에 죽으면 기동 시 이 레코드에서 스캔이 끝나도록
+        buffer.position(offset + 4);
+        buffer.putInt(length).putLong(expiresAt).putInt(crc(segment.buffer, offset + HEADER_SIZE, length - HEADER_SIZE));
+        buffer.putInt(offset, MAGIC);
+        segment.buffer.force(offset, length);
+        segment.writePosition = offset + length;
+
+        index.put(key, new Location(segment, offset, bodyOffset, body.length, expiresAt,
+                etag, lastModified));
+    }
+
+    // 세그먼트를 앞에서부터 읽어 색인 재구성 (같은 키는 뒤 레코드가 최신) - 손상된 레코드를 만나면 거기서부터 다시 씀
+    private ScanResult scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int offset = 0;
+        int records = 0;
+        boolean corrupted = false;
+        while (offset + HEADER_SIZE <= segmentSize) {
+            int magic = buffer.getInt(offset);
+            if (magic != MAGIC) {
+                // 0이면 정상적인 끝, 그 외는 쓰다 만 레코드
+                corrupted = magic != 0;
+                break;
+            }
+            try {
+                int length = buffer.getInt(offset + 4);
+                if (length < HEADER_SIZE || offset + length > segmentSize
+                        || buffer.getInt(offset + 16) != crc(segment.buffer, offset + HEADER_SIZE, length - HEADER_SIZE)) {
+                    corrupted = true;
+                    break;
+                }
+                long expiresAt = buffer.getLong(offset + EXPIRES_AT_OFFSET);
+                buffer.position(offset + HEADER_SIZE);
+                String key = readString(buffer);
+                String etag = readString(buffer);
+                String lastModified = readString(buffer);
+                int bodyLength = buffer.getInt();
+                int bodyOffset = buffer.position();
+                if (bodyLength < 0 || bodyOffset + bodyLength != offset + length) {
+                    corrupted = true;
+                    break;
+                }
+                index.put(key, new Location(segment, offset, bodyOffset, bodyLength, expiresAt,
+                        etag.isEmpty() ? null : etag, lastModified.isEmpty() ? null : lastModified));
+                records++;
+                offset += length;
+            } catch (RuntimeException e) {
+                corrupted = true;
+                break;
+            }
+        }
+        if (corrupted) {
+            log.warn("TMDB 응답 캐시 세그먼트 손상 - 손상 위치 이후 버림: file={}, validBytes={}", segment.path, offset);
+            // 다음 기동 때 같은 위치에서 다시 멈추도록 표시를 지우고 이어서 씀
+            segment.buffer.putInt(offset, 0);
+        }
+        segment.writePosition = offset;
+        return new ScanResult(records, corrupted);
+    }
+
+    // 전체 크기가 한도를 넘으면 가장 오래된 세그먼트부터 삭제 (쓰기 중인 세그먼트는 남김)
+    private void evictOverflow() {
+        long maxBytes = maxSizeMb * 1024L * 1024L;
+        while (segments.size() > 1 && (long) segments.size() * segmentSize > maxBytes) {
+            Segment oldest = segments.pollFirst();
+            index.values().removeIf(location -> location.segment == oldest);
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                log.warn("TMDB 응답 캐시 세그먼트 삭제 실패: file={}", oldest.path, e);
+            }
+            meterRegistry.counter("tmdb.cache.evictions").increment();
+            log.debug("TMDB 응답 캐시 세그먼트 제거: file={}", oldest.path);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return root.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            throw new IllegalStateException("잘못된 문자열 길이: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer source, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(source.duplicate().position(offset).limit(offset + length));
+        return (int) crc.getValue();
+    }
+
+    @Getter
+    public static final class CachedResponse {
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final boolean fresh;        // 신선 기간 안이면 TMDB에 묻지 않고 그대로 사용
+
+        private CachedResponse(byte[] body, String etag, String lastModified, boolean fresh) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fresh = fresh;
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        // 고정 크기 파일을 통째로 매핑 (새 파일은 0으로 채워져 있어 magic 0 = 데이터 끝)
+        static Segment open(Path path, long id, int size) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+                 FileChannel channel = file.getChannel()) {
+                if (file.length() != size) {
+                    file.setLength(size);
+                }
+                return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int bodyOffset;
+        private final int bodyLength;
+        private long expiresAt;
+        private final String etag;
+        private final String lastModified;
+
+        private Location(Segment segment, int offset, int bodyOffset, int bodyLength, long expiresAt,
+                         String etag, String lastModified) {
+            this.segment = segment;
+            this.offset = offset;
+            this.bodyOffset = bodyOffset;
+            this.bodyLength = bodyLength;
+            this.expiresAt = expiresAt;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static final class ScanResult {
+        private final int records;
+        private final boolean corrupted;
+
+        private ScanResult(int records, boolean corrupted) {
+            this.records = records;
+            this.corrupted = corrupted;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.enums.ContentType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 제목 검색의 TMDB 보강(검색 + 저장)을 백그라운드에서 실행.
+ * 검색 요청은 로컬 결과를 바로 돌려주고, TMDB 검색/저장은 크기 제한 큐의 작업자 스레드가 처리한다 (stale-while-revalidate).
+ * 같은 (타입, 정규화된 검색어, 페이지)는 진행 중이면 합치고, 끝난 뒤 freshness 시간 동안은 다시 보내지 않는다.
+ * 큐가 가득 차면 버리고 다음 검색 때 다시 요청한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TmdbSearchRefresher {
+
+    private final ContentSearchService contentSearchService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tmdb.refresh.workers:2}")
+    private int workers;
+
+    @Value("${tmdb.refresh.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 보강이 끝난 검색어를 다시 TMDB에 보내지 않는 시간
+    @Value("${tmdb.refresh.freshness-minutes:10}")
+    private long freshnessMinutes;
+
+    private final Set<RefreshKey> inFlight = ConcurrentHashMap.newKeySet();
+    private Cache<RefreshKey, Boolean> recentlyRefreshed;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        recentlyRefreshed = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(freshnessMinutes))
+                .maximumSize(10_000)
+                .build();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "tmdb-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("tmdb.refresh.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * TMDB 보강 요청. 보강이 진행 중(이번에 넣었거나 이미 진행 중)이면 true - 잠시 후 다시 조회하면 결과가 늘어날 수 있음.
+     * 검색어가 비었거나 최근에 보강했거나 큐가 가득 차면 false.
+     */
+    public boolean request(ContentType contentType, String normalizedQuery, int page) {
+        if (normalizedQuery == null || normalizedQuery.isEmpty()) {
+            return false;
+        }
+        RefreshKey key = new RefreshKey(contentType, normalizedQuery, page);
+        if (recentlyRefreshed.getIfPresent(key) != null) {
+            count(contentType, "fresh");
+            return false;
+        }
+        if (!inFlight.add(key)) {
+            count(contentType, "deduplicated");
+            return true;
+        }
+
+        try {
+            executor.execute(() -> refresh(key));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            count(contentType, "rejected");
+            log.debug("TMDB 보강 큐가 가득 차 요청을 버림: type={}, query={}", contentType, normalizedQuery);
+            return false;
+        }
+        count(contentType, "enqueued");
+        return true;
+    }
+
+    // 보강이 아직 끝나지 않았는지 (응답의 refreshing 플래그용)
+    public boolean isPending(ContentType contentType, String normalizedQuery, int page) {
+        return normalizedQuery != null && inFlight.contains(new RefreshKey(contentType, normalizedQuery, page));
+    }
+
+    private void refresh(RefreshKey key) {
+        long start = System.nanoTime();
+        try {
+            // 실패해도 빈 목록을 돌려주므로 같은 검색어를 계속 재시도하지 않도록 완료로 기록
+            int saved = key.contentType == ContentType.MOVIE
+                    ? contentSearchService.searchAndSaveMovies(key.query, key.page).size()
+                    : contentSearchService.searchAndSaveDramas(key.query, key.page).size();
+            log.debug("TMDB 보강 완료: type={}, query={}, page={}, results={}", key.contentType, key.query, key.page, saved);
+        } catch (RuntimeException e) {
+            log.warn("TMDB 보강 실패: type={}, query={}, page={}", key.contentType, key.query, key.page, e);
+        } finally {
+            recentlyRefreshed.put(key, Boolean.TRUE);
+            inFlight.remove(key);
+            meterRegistry.timer("tmdb.refresh.duration", "type", key.contentType.name())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void count(ContentType contentType, String result) {
+        meterRegistry.counter("tmdb.refresh", "type", contentType.name(), "result", result).increment();
+    }
+
+    private static final class RefreshKey {
+        private final ContentType contentType;
+        private final String query;
+        private final int page;
+
+        private RefreshKey(ContentType contentType, String query, int page) {
+            this.contentType = contentType;
+            this.query = query;
+            this.page = page;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RefreshKey other)) return false;
+            return contentType == other.contentType && page == other.page && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentType, query, page);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.PostRepository;
+import com.basic.miniPjt5.repository.RatingRepository;
+import com.basic.miniPjt5.repository.ReviewRepository;
+import com.basic.miniPjt5.service.RatingDeltaBuffer.ContentKey;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근 활동(별점/리뷰/게시글) 기반 인기 작품 순위.
+ * 컨텐츠마다 시간 단위 카운터 링 버퍼를 두고, 오래된 시간대일수록 지수적으로 감쇠한 가중합을 점수로 사용한다.
+ * 활동이 있었던 컨텐츠만 메모리에 유지하며, 기동 시 DB의 최근 활동으로 다시 채운다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingEngine {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    // 활동 종류별 가중치
+    public enum Activity {
+        RATING(1.0), REVIEW(2.0), POST(1.5);
+
+        private final double weight;
+
+        Activity(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final RatingRepository ratingRepository;
+    private final ReviewRepository reviewRepository;
+    private final PostRepository postRepository;
+
+    @Value("${trending.window-hours:168}")
+    private int windowHours;
+
+    @Value("${trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    // 재구성 시에는 새 맵을 만들어 참조를 바꿈 (조회 중에 빈 순위가 보이지 않도록)
+    private volatile Map<ContentKey, HourlyCounter> counters = new ConcurrentHashMap<>();
+    private volatile double[] decayByAge;
+
+    // 재구성 중에 커밋된 활동 (교체 직전에 새 맵에 다시 반영)
+    private final Object swapLock = new Object();
+    private List<RecordedActivity> replayLog;
+
+    // 커밋된 활동만 반영
+    public void record(ContentType contentType, Long contentId, Activity activity) {
+        long hour = currentHour();
+        afterCommit(() -> add(new ContentKey(contentType, contentId), activity, hour));
+    }
+
+    // 상위 N개 (점수 내림차순)
+    public List<TrendingEntry> topN(int limit) {
+        if (limit <= 0) return List.of();
+
+        long now = currentHour();
+        double[] decay = decayTable();
+        PriorityQueue<TrendingEntry> heap = new PriorityQueue<>(Comparator.comparingDouble(TrendingEntry::getScore));
+        Map<ContentKey, HourlyCounter> current = counters;
+        current.forEach((key, counter) -> {
+            TrendingEntry entry = counter.snapshot(key, now, decay);
+            if (entry.getScore() <= 0) return;
+
+            if (heap.size() < limit) {
+                heap.offer(entry);
+            } else if (entry.getScore() > heap.peek().getScore()) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        });
+
+        List<TrendingEntry> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(TrendingEntry::getScore).reversed());
+        return result;
+    }
+
+    // DB의 최근 활동으로 새 맵을 채운 뒤 교체 (JPQL만 사용 - MariaDB/H2 공통)
+    // 재구성 중에 커밋된 활동은 기록해 두었다가, 해당 종류의 조회가 시작된 뒤 커밋된 것만 새 맵에 다시 반영 (조회 결과와 중복 방지)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        synchronized (swapLock) {
+            replayLog = new ArrayList<>();
+        }
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+            Map<ContentKey, HourlyCounter> rebuilt = new ConcurrentHashMap<>();
+            Map<Activity, Long> readStartedAt = new EnumMap<>(Activity.class);
+
+            readStartedAt.put(Activity.RATING, System.nanoTime());
+            for (Object[] row : ratingRepository.findActivitySince(since)) {
+                addRow(rebuilt, row, Activity.RATING);
+            }
+            readStartedAt.put(Activity.REVIEW, System.nanoTime());
+            for (Object[] row : reviewRepository.findActivitySince(since)) {
+                addRow(rebuilt, row, Activity.REVIEW);
+            }
+            readStartedAt.put(Activity.POST, System.nanoTime());
+            for (Object[] row : postRepository.findActivitySince(since)) {
+                ContentKey key = new ContentKey((ContentType) row[0], (Long) row[1]);
+                rebuilt.computeIfAbsent(key, k -> new HourlyCounter(windowHours))
+                        .add(Activity.POST, toHour((LocalDateTime) row[2]));
+            }
+
+            int replayed = 0;
+            synchronized (swapLock) {
+                for (RecordedActivity recorded : replayLog) {
+                    if (recorded.committedAt - readStartedAt.get(recorded.activity) > 0) {
+                        rebuilt.computeIfAbsent(recorded.key, k -> new HourlyCounter(windowHours))
+                                .add(recorded.activity, recorded.hour);
+                        replayed++;
+                    }
+                }
+                counters = rebuilt;
+            }
+            log.info("인기 작품 순위 재구성 완료: contents={}, replayed={}", rebuilt.size(), replayed);
+        } finally {
+            synchronized (swapLock) {
+                replayLog = null;
+            }
+        }
+    }
+
+    // 윈도우 밖으로 밀려난 컨텐츠 정리
+    @Scheduled(fixedDelayString = "${trending.evict-interval-ms:3600000}")
+    public void evictExpired() {
+        long now = currentHour();
+        // add() 가 꺼낸 카운터를 그 사이에 지워 새 활동이 맵 밖 카운터에 쌓이지 않도록 같은 락에서
+        synchronized (swapLock) {
+            counters.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+        }
+    }
+
+    private void addRow(Map<ContentKey, HourlyCounter> target, Object[] row, Activity activity) {
+        Long movieId = (Long) row[0];
+        Long dramaId = (Long) row[1];
+        ContentKey key = movieId != null
+                ? new ContentKey(ContentType.MOVIE, movieId)
+                : new ContentKey(ContentType.DRAMA, dramaId);
+        target.computeIfAbsent(key, k -> new HourlyCounter(windowHours))
+                .add(activity, toHour((LocalDateTime) row[2]));
+    }
+
+    private void add(ContentKey key, Activity activity, long hour) {
+        synchronized (swapLock) {
+            counters.computeIfAbsent(key, k -> new HourlyCounter(windowHours)).add(activity, hour);
+            if (replayLog != null) {
+                replayLog.add(new RecordedActivity(key, activity, hour, System.nanoTime()));
+            }
+        }
+    }
+
+    // age(시간) → 감쇠 계수, 반감기 기준
+    private double[] decayTable() {
+        double[] table = decayByAge;
+        if (table == null || table.length != windowHours) {
+            table = new double[windowHours];
+            double lambda = Math.log(2) / halfLifeHours;
+            for (int age = 0; age < windowHours; age++) {
+                table[age] = Math.exp(-lambda * age);
+            }
+            decayByAge = table;
+        }
+        return table;
+    }
+
+    private long currentHour() {
+        return System.currentTimeMillis() / MILLIS_PER_HOUR;
+    }
+
+    private long toHour(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / MILLIS_PER_HOUR;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class RecordedActivity {
+        private final ContentKey key;
+        private final Activity activity;
+        private final long hour;
+        private final long committedAt;     // System.nanoTime() (커밋 후 반영 시각)
+
+        private RecordedActivity(ContentKey key, Activity activity, long hour, long committedAt) {
+            this.key = key;
+            this.activity = activity;
+            this.hour = hour;
+            this.committedAt = committedAt;
+        }
+    }
+
+    // 컨텐츠 하나의 시간 단위 링 버퍼 (슬롯 = epochHour % windowHours)
+    private static final class HourlyCounter {
+        private final double[] weighted;
+        private final long[] ratings;
+        private long latestHour = Long.MIN_VALUE;
+
+        HourlyCounter(int windowHours) {
+            this.weighted = new double[windowHours];
+            this.ratings = new long[windowHours];
+        }
+
+        synchronized void add(Activity activity, long hour) {
+            advance(hour);
+            if (hour <= latestHour - weighted.length) return;  // 윈도우 밖 (재구성 시 오래된 행)
+
+            int slot = (int) Math.floorMod(hour, (long) weighted.length);
+            weighted[slot] += activity.weight;
+            if (activity == Activity.RATING) {
+                ratings[slot]++;
+            }
+        }
+
+        synchronized TrendingEntry snapshot(ContentKey key, long now, double[] decay) {
+            advance(now);
+            double score = 0.0;
+            long ratingCount = 0;
+            for (int age = 0; age < weighted.length; age++) {
+                int slot = (int) Math.floorMod(now - age, (long) weighted.length);
+                score += weighted[slot] * decay[age];
+                ratingCount += ratings[slot];
+            }
+            return new TrendingEntry(key.getContentType(), key.getContentId(), score, ratingCount);
+        }
+
+        synchronized boolean isExpired(long now) {
+            return latestHour != Long.MIN_VALUE && now - latestHour >= weighted.length;
+        }
+
+        // 현재 시각까지 지나간 슬롯 비우기
+        private void advance(long hour) {
+            if (latestHour == Long.MIN_VALUE) {
+                latestHour = hour;
+                return;
+            }
+            if (hour <= latestHour) return;
+
+            long gap = Math.min(hour - latestHour, weighted.length);
+            for (long h = latestHour + 1; h <= latestHour + gap; h++) {
+                int slot = (int) Math.floorMod(h, (long) weighted.length);
+                weighted[slot] = 0.0;
+                ratings[slot] = 0;
+            }
+            latestHour = hour;
+        }
+    }
+
+    @Getter
+    public static final class TrendingEntry {
+        private final ContentType contentType;
+        private final Long contentId;
+        private final double score;
+        private final long ratingCount;  // 윈도우 내 별점 등록 수
+
+        TrendingEntry(ContentType contentType, Long contentId, double score, long ratingCount) {
+            this.contentType = contentType;
+            this.contentId = contentId;
+            this.score = score;
+            this.ratingCount = ratingCount;
+        }
+    }
+}
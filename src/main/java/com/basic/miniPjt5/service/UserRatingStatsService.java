@@ -0,0 +1,136 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Rating;
+import com.basic.miniPjt5.entity.UserRatingStats;
+import com.basic.miniPjt5.entity.UserRatingStats.TopRatedItem;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.RatingRepository;
+import com.basic.miniPjt5.repository.UserRatingStatsRepository;
+import com.basic.miniPjt5.util.HalfStarScore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사용자별 별점 통계 행 관리.
+ * 별점 등록/수정/삭제 시 같은 트랜잭션에서 개수/합계/분포와 최근 5점 목록을 갱신해
+ * 개인 통계 조회가 사용자 ID 한 번 조회로 끝나도록 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class UserRatingStatsService {
+
+    // 최근 5점 작품 보관 개수
+    public static final int RECENT_TOP_RATED_LIMIT = 20;
+
+    private final UserRatingStatsRepository userRatingStatsRepository;
+    private final RatingRepository ratingRepository;
+
+    // 기동 시 통계 행이 없는 (별점이 있는) 사용자 행을 한 번에 생성
+    @Value("${rating.user-stats.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // 통계 행 도입 전부터 별점이 있던 사용자는 행이 없어 조회할 때마다 ratings 를 집계하므로 미리 채움
+    // 이미 행이 있는 사용자는 건너뛰므로 반복 실행해도 안전 (이관이 끝나면 꺼도 됨)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillMissingStats() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        int created = userRatingStatsRepository.backfillMissing();
+        if (created > 0) {
+            log.info("사용자 별점 통계 행 생성: users={}", created);
+        }
+    }
+
+    // 별점을 바꾸기 전에 호출: 통계 행이 없으면 현재 ratings 기준으로 생성 (이번 변경은 record로 반영)
+    @Transactional
+    public void prepare(Long userId) {
+        if (!userRatingStatsRepository.existsById(userId)) {
+            userRatingStatsRepository.initializeFromRatings(userId);
+        }
+    }
+
+    // 별점 변경 반영 (old == null: 신규, new == null: 삭제) - prepare 이후에 호출
+    @Transactional
+    public void record(Rating rating, Integer oldHalfStars, Integer newHalfStars) {
+        Long userId = rating.getUser().getUserId();
+        UserRatingStats stats = userRatingStatsRepository.findByIdForUpdate(userId).orElse(null);
+        if (stats == null) return;
+
+        stats.applyChange(oldHalfStars, newHalfStars);
+
+        boolean wasTopRated = oldHalfStars != null && oldHalfStars == HalfStarScore.MAX;
+        boolean isTopRated = newHalfStars != null && newHalfStars == HalfStarScore.MAX;
+
+        if (stats.getRecentTopRated() == null) {
+            // 이번 변경까지 반영된 ratings 기준으로 채움
+            ratingRepository.flush();
+            stats.replaceRecentTopRated(loadRecentTopRated(userId));
+        } else if (isTopRated) {
+            stats.addRecentTopRated(toItem(rating), RECENT_TOP_RATED_LIMIT);
+        } else if (wasTopRated) {
+            TopRatedItem removed = toItem(rating);
+            stats.removeRecentTopRated(removed.getContentType(), removed.getContentId());
+            if (stats.isRecentTopRatedIncomplete(RECENT_TOP_RATED_LIMIT)) {
+                // 목록 밖에 있던 더 오래된 5점 작품으로 다시 채움
+                ratingRepository.flush();
+                stats.replaceRecentTopRated(loadRecentTopRated(userId));
+            }
+        }
+    }
+
+    // 컨텐츠 삭제 전 호출 (별점은 컨텐츠와 함께 삭제됨)
+    @Transactional
+    public void subtractContentRatings(ContentType contentType, Long contentId) {
+        if (contentType == ContentType.MOVIE) {
+            userRatingStatsRepository.subtractMovieRatings(contentId);
+        } else {
+            userRatingStatsRepository.subtractDramaRatings(contentId);
+        }
+    }
+
+    @Transactional
+    public void deleteStats(Long userId) {
+        if (userRatingStatsRepository.existsById(userId)) {
+            userRatingStatsRepository.deleteById(userId);
+        }
+    }
+
+    public Optional<UserRatingStats> getStats(Long userId) {
+        return userRatingStatsRepository.findById(userId);
+    }
+
+    public List<TopRatedItem> loadRecentTopRated(Long userId) {
+        List<TopRatedItem> items = new ArrayList<>();
+        for (Object[] row : ratingRepository.findRecentTopRatedByUserId(userId, PageRequest.of(0, RECENT_TOP_RATED_LIMIT))) {
+            boolean movie = row[0] != null;
+            items.add(new TopRatedItem(
+                    movie ? "MOVIE" : "DRAMA",
+                    (Long) (movie ? row[0] : row[2]),
+                    (String) (movie ? row[1] : row[3]),
+                    (LocalDateTime) row[4]));
+        }
+        return items;
+    }
+
+    private TopRatedItem toItem(Rating rating) {
+        if (rating.getMovie() != null) {
+            return new TopRatedItem("MOVIE", rating.getMovie().getId(), rating.getMovie().getTitle(), rating.getCreatedAt());
+        }
+        return new TopRatedItem("DRAMA", rating.getDrama().getId(), rating.getDrama().getTitle(), rating.getCreatedAt());
+    }
+}
@@ -17,6 +17,9 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserRatingStatsService userRatingStatsService;
+    private final RatingService ratingService;
+    private final ReviewSearchIndex reviewSearchIndex;
 
     private static final String USER_NOT_FOUND = "사용자를 찾을 수 없습니다.";
 
@@ -81,7 +84,11 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("해당 사용자를 찾을 수 없습니다."));
 
         if (newStatus == UserStatus.DELETED) {
+            // 연쇄 삭제되는 별점만큼 컨텐츠 누적 값/분포/장르 누적 값에서 먼저 차감
+            ratingService.retractUserRatings(userId);
+            reviewSearchIndex.removeUserReviews(userId);
             userRepository.delete(user); // ✅ 하드 삭제
+            userRatingStatsService.deleteStats(userId);
             return null; // 컨트롤러에서 처리
         }
 
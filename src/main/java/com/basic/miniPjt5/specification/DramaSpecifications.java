@@ -4,6 +4,7 @@ import com.basic.miniPjt5.entity.Drama;
 import com.basic.miniPjt5.entity.Genre;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.*;
+import java.util.Collection;
 import java.util.List;
 
 public class DramaSpecifications {
@@ -20,33 +21,60 @@ public class DramaSpecifications {
         };
     }
 
+    // 후보 ID 목록으로 제한 (제목 n-gram 색인 결과) - null 이면 조건 없음, 비어 있으면 결과 없음
+    public static Specification<Drama> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> {
+            if (ids == null) {
+                return criteriaBuilder.conjunction();
+            }
+            if (ids.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            return root.get("id").in(ids);
+        };
+    }
+
+    // 장르 중 하나라도 속하면 (EXISTS 세미 조인 - 본 쿼리에 조인/DISTINCT 가 없어 행 중복·임시 테이블 정렬이 생기지 않음)
     public static Specification<Drama> hasGenres(List<Long> genreIds) {
         return (root, query, criteriaBuilder) -> {
             if (genreIds == null || genreIds.isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
-            
-            Join<Drama, Genre> genreJoin = root.join("genres");
-            return genreJoin.get("id").in(genreIds);
+
+            Subquery<Integer> genreMatch = query.subquery(Integer.class);
+            Root<Drama> correlated = genreMatch.correlate(root);
+            Join<Drama, Genre> genreJoin = correlated.join("genres");
+            genreMatch.select(criteriaBuilder.literal(1))
+                    .where(genreJoin.get("id").in(genreIds));
+            return criteriaBuilder.exists(genreMatch);
         };
     }
 
-    public static Specification<Drama> ratingBetween(Double minRating, Double maxRating) {
+    // 통합 평점 범위 (통합 평점이 없으면 TMDB 평점을 5점 만점으로 환산)
+    public static Specification<Drama> combinedRatingBetween(Double minRating, Double maxRating) {
         return (root, query, criteriaBuilder) -> {
             if (minRating == null && maxRating == null) {
                 return criteriaBuilder.conjunction();
             }
-            
+
+            Expression<Double> rating = criteriaBuilder.coalesce(
+                    root.<Double>get("combinedRating"),
+                    criteriaBuilder.quot(root.<Double>get("voteAverage"), 2.0).as(Double.class));
             if (minRating != null && maxRating != null) {
-                return criteriaBuilder.between(root.get("voteAverage"), minRating, maxRating);
+                return criteriaBuilder.between(rating, minRating, maxRating);
             } else if (minRating != null) {
-                return criteriaBuilder.greaterThanOrEqualTo(root.get("voteAverage"), minRating);
+                return criteriaBuilder.greaterThanOrEqualTo(rating, minRating);
             } else {
-                return criteriaBuilder.lessThanOrEqualTo(root.get("voteAverage"), maxRating);
+                return criteriaBuilder.lessThanOrEqualTo(rating, maxRating);
             }
         };
     }
 
+    // 평점 범위 = 통합 평점 기준 (예전에는 TMDB 평점(10점 만점)과 비교해 5점 만점 입력과 어긋났음)
+    public static Specification<Drama> ratingBetween(Double minRating, Double maxRating) {
+        return combinedRatingBetween(minRating, maxRating);
+    }
+
     public static Specification<Drama> seasonsBetween(Integer minSeasons, Integer maxSeasons) {
         return (root, query, criteriaBuilder) -> {
             if (minSeasons == null && maxSeasons == null) {
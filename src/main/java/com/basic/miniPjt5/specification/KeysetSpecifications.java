@@ -0,0 +1,63 @@
+package com.basic.miniPjt5.specification;
+
+import com.basic.miniPjt5.exception.BusinessException;
+import com.basic.miniPjt5.exception.ErrorCode;
+import com.basic.miniPjt5.util.KeysetCursor;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class KeysetSpecifications {
+
+    // 정렬 기준 + ID (정렬 값이 같은 행의 순서를 고정해야 커서가 행을 건너뛰거나 중복하지 않음)
+    public static Sort sort(String sortKey, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, sortKey).and(Sort.by(direction, "id"));
+    }
+
+    // 커서 행 다음부터 (MariaDB 정렬에서 NULL 은 가장 작은 값: ASC 맨 앞, DESC 맨 뒤)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path key = root.get(cursor.getSortKey());
+            Path<Long> id = root.get("id");
+            Comparable value = cursor.getValue() != null ? toKeyValue(cursor.getValue(), key.getJavaType()) : null;
+
+            if (cursor.isDescending()) {
+                if (value == null) {
+                    return criteriaBuilder.and(criteriaBuilder.isNull(key), criteriaBuilder.lessThan(id, cursor.getId()));
+                }
+                return criteriaBuilder.or(
+                        criteriaBuilder.lessThan(key, value),
+                        criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.lessThan(id, cursor.getId())),
+                        criteriaBuilder.isNull(key));
+            }
+
+            if (value == null) {
+                return criteriaBuilder.or(
+                        criteriaBuilder.isNotNull(key),
+                        criteriaBuilder.and(criteriaBuilder.isNull(key), criteriaBuilder.greaterThan(id, cursor.getId())));
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(key, value),
+                    criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.greaterThan(id, cursor.getId())));
+        };
+    }
+
+    private static Comparable<?> toKeyValue(String value, Class<?> type) {
+        try {
+            if (type == Double.class) {
+                return Double.valueOf(value);
+            } else if (type == Integer.class) {
+                return Integer.valueOf(value);
+            } else if (type == Long.class) {
+                return Long.valueOf(value);
+            } else if (type == String.class) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "커서 방식으로 정렬할 수 없는 기준입니다.");
+    }
+}
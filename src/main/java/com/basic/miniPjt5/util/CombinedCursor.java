@@ -0,0 +1,87 @@
+package com.basic.miniPjt5.util;
+
+import com.basic.miniPjt5.exception.BusinessException;
+import com.basic.miniPjt5.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 영화/드라마를 합쳐 정렬한 결과의 커서: 타입별로 마지막으로 내려준 행의 키셋 커서를 함께 담는다.
+ * 타입마다 "처음부터"(아직 내려준 행 없음), "여기 다음부터"(키셋 커서), "끝"(더 없음) 중 하나.
+ */
+public final class CombinedCursor {
+
+    private static final String SEPARATOR = "~";
+    private static final String START = "S";
+    private static final String END = "E";
+    private static final String AFTER = "C";
+
+    private final String movieCursor;   // null 이면 처음부터
+    private final boolean movieDone;
+    private final String dramaCursor;
+    private final boolean dramaDone;
+
+    private CombinedCursor(String movieCursor, boolean movieDone, String dramaCursor, boolean dramaDone) {
+        this.movieCursor = movieCursor;
+        this.movieDone = movieDone;
+        this.dramaCursor = dramaCursor;
+        this.dramaDone = dramaDone;
+    }
+
+    public static CombinedCursor of(String movieCursor, boolean movieDone, String dramaCursor, boolean dramaDone) {
+        return new CombinedCursor(movieCursor, movieDone, dramaCursor, dramaDone);
+    }
+
+    public String encode() {
+        String raw = part(movieCursor, movieDone) + SEPARATOR + part(dramaCursor, dramaDone);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CombinedCursor decode(String cursor) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        if (parts.length != 2) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        return new CombinedCursor(keyset(parts[0]), END.equals(parts[0]), keyset(parts[1]), END.equals(parts[1]));
+    }
+
+    private static String part(String keysetCursor, boolean done) {
+        if (done) {
+            return END;
+        }
+        return keysetCursor == null ? START : AFTER + keysetCursor;
+    }
+
+    private static String keyset(String part) {
+        if (START.equals(part) || END.equals(part)) {
+            return null;
+        }
+        if (!part.startsWith(AFTER) || part.length() == 1) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        return part.substring(1);
+    }
+
+    public String getMovieCursor() {
+        return movieCursor;
+    }
+
+    public boolean isMovieDone() {
+        return movieDone;
+    }
+
+    public String getDramaCursor() {
+        return dramaCursor;
+    }
+
+    public boolean isDramaDone() {
+        return dramaDone;
+    }
+}
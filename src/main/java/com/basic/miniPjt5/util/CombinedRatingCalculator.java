@@ -0,0 +1,33 @@
+package com.basic.miniPjt5.util;
+
+// 통합 평점 (TMDB + 사용자) 계산 유틸리티
+public final class CombinedRatingCalculator {
+
+    private CombinedRatingCalculator() {
+    }
+
+    /**
+     * TMDB 평점(10점 만점)을 5점 만점으로 환산한 총점과 사용자 별점 총점을 합산해 통합 평균을 구한다.
+     * 집계 쿼리 없이 누적 합계/개수만으로 O(1)에 계산된다.
+     */
+    public static Double calculate(Double voteAverage, Integer voteCount, Double userScoreSum, Long userRatingCount) {
+        if (voteAverage == null || voteCount == null) {
+            return 0.0;
+        }
+
+        double userSum = userScoreSum != null ? userScoreSum : 0.0;
+        long userCount = userRatingCount != null ? userRatingCount : 0L;
+
+        // 전체 투표 수
+        long totalVotes = voteCount + userCount;
+        if (totalVotes <= 0) return 0.0;
+
+        // TMDB 총점
+        double tmdbTotalScore = voteAverage / 2 * voteCount;
+
+        // 통합 평균
+        double combinedAverage = (tmdbTotalScore + userSum) / totalVotes;
+
+        return Math.round(combinedAverage * 100.0) / 100.0;
+    }
+}
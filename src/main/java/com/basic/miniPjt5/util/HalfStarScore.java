@@ -0,0 +1,62 @@
+package com.basic.miniPjt5.util;
+
+import java.math.BigDecimal;
+
+/**
+ * 별점 고정소수점 표현: 0.5점 단위 정수(1 ~ 10).
+ * 내부 저장/집계는 정수로 하고, BigDecimal 변환은 DTO 경계에서만 미리 만들어 둔 값을 재사용한다.
+ */
+public final class HalfStarScore {
+
+    public static final int MIN = 1;
+    public static final int MAX = 10;
+
+    private static final BigDecimal[] DECIMALS = new BigDecimal[MAX + 1];
+    private static final String[] LABELS = new String[MAX + 1];
+
+    static {
+        for (int halfStars = MIN; halfStars <= MAX; halfStars++) {
+            DECIMALS[halfStars] = BigDecimal.valueOf(halfStars).divide(BigDecimal.valueOf(2));
+            LABELS[halfStars] = DECIMALS[halfStars].toPlainString();
+        }
+    }
+
+    private HalfStarScore() {
+    }
+
+    // 0.5 ~ 5.0 (0.5 단위) → 1 ~ 10
+    public static int fromDecimal(BigDecimal score) {
+        if (score == null) {
+            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
+        }
+        BigDecimal doubled = score.multiply(BigDecimal.valueOf(2));
+        if (doubled.stripTrailingZeros().scale() > 0) {
+            throw new IllegalArgumentException("별점은 0.5 단위여야 합니다.");
+        }
+        int halfStars = doubled.intValue();
+        if (halfStars < MIN || halfStars > MAX) {
+            throw new IllegalArgumentException("별점은 0.5~5 사이여야 합니다.");
+        }
+        return halfStars;
+    }
+
+    public static BigDecimal toDecimal(int halfStars) {
+        return DECIMALS[checkRange(halfStars)];
+    }
+
+    public static double toDouble(int halfStars) {
+        return halfStars / 2.0;
+    }
+
+    // 분포 맵 키 ("0.5", "1", ..., "5")
+    public static String label(int halfStars) {
+        return LABELS[checkRange(halfStars)];
+    }
+
+    private static int checkRange(int halfStars) {
+        if (halfStars < MIN || halfStars > MAX) {
+            throw new IllegalArgumentException("잘못된 별점 값입니다: " + halfStars);
+        }
+        return halfStars;
+    }
+}
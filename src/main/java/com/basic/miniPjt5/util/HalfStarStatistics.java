@@ -0,0 +1,90 @@
+package com.basic.miniPjt5.util;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 0.5점 단위 별점 분포(10개 구간 개수)에서 개수/합계/제곱합/최저/최고를 한 번 훑어 계산한다.
+ * counts[0] = 0.5점 개수, ..., counts[9] = 5.0점 개수.
+ */
+public final class HalfStarStatistics {
+
+    public static final int BUCKET_COUNT = HalfStarScore.MAX;
+
+    private final long[] counts;
+    private final long count;
+    private final long halfPointSum;        // 0.5점 단위 정수 합계
+    private final long halfPointSquareSum;  // 0.5점 단위 정수 제곱합
+    private final int lowestBucket;
+    private final int highestBucket;
+
+    private HalfStarStatistics(long[] counts) {
+        this.counts = counts;
+
+        long total = 0, sum = 0, squareSum = 0;
+        int lowest = 0, highest = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts[i];
+            if (c <= 0) continue;
+
+            int halfPoints = i + 1;
+            total += c;
+            sum += halfPoints * c;
+            squareSum += (long) halfPoints * halfPoints * c;
+            if (lowest == 0) lowest = halfPoints;
+            highest = halfPoints;
+        }
+
+        this.count = total;
+        this.halfPointSum = sum;
+        this.halfPointSquareSum = squareSum;
+        this.lowestBucket = lowest;
+        this.highestBucket = highest;
+    }
+
+    public static HalfStarStatistics of(long[] counts) {
+        if (counts.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException("별점 구간은 10개여야 합니다: " + counts.length);
+        }
+        return new HalfStarStatistics(counts);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return halfPointSum / 2.0;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : getSum() / count;
+    }
+
+    // 모표준편차 (2개 미만이면 null): sqrt(E[x²] - E[x]²)
+    public Double getStandardDeviation() {
+        if (count < 2) return null;
+
+        double meanHalfPoints = (double) halfPointSum / count;
+        double variance = (double) halfPointSquareSum / count - meanHalfPoints * meanHalfPoints;
+        return Math.sqrt(Math.max(0.0, variance)) / 2.0;
+    }
+
+    public BigDecimal getLowestScore() {
+        return lowestBucket == 0 ? null : HalfStarScore.toDecimal(lowestBucket);
+    }
+
+    public BigDecimal getHighestScore() {
+        return highestBucket == 0 ? null : HalfStarScore.toDecimal(highestBucket);
+    }
+
+    // "0.5" ~ "5" 키의 분포 맵
+    public Map<String, Long> toDistribution() {
+        Map<String, Long> distribution = new HashMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            distribution.put(HalfStarScore.label(i + 1), counts[i]);
+        }
+        return distribution;
+    }
+}
@@ -0,0 +1,53 @@
+package com.basic.miniPjt5.util;
+
+/**
+ * 한글 초성 변환.
+ * 완성형 음절(가~힣)은 초성 자모(ㄱ, ㄲ, ㄴ ...)로 바꾸고 나머지 문자는 그대로 둔다. ("기생충" → "ㄱㅅㅊ")
+ */
+public final class HangulChoseong {
+
+    private static final char SYLLABLE_BEGIN = '가';   // 가
+    private static final char SYLLABLE_END = '힣';     // 힣
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private HangulChoseong() {
+    }
+
+    public static String toChoseong(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            builder.append(isSyllable(c) ? CHOSEONG[(c - SYLLABLE_BEGIN) / SYLLABLES_PER_CHOSEONG] : c);
+        }
+        return builder.toString();
+    }
+
+    // 초성 자모(ㄱ~ㅎ)가 하나라도 있는지 (초성 검색어 판별용)
+    public static boolean containsChoseong(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'ㄱ' && c <= 'ㅎ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean containsSyllable(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isSyllable(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+    }
+}
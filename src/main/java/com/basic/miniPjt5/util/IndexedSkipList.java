@@ -0,0 +1,148 @@
+package com.basic.miniPjt5.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 순위(0부터 시작)로 바로 접근할 수 있는 스킵 리스트.
+ * 각 노드가 레벨별로 다음 노드까지 건너뛰는 원소 수(span)를 기록해 두어
+ * 추가/삭제는 O(log n), offset 위치 탐색도 O(log n)으로 처리하고 이후 limit만큼 순서대로 읽는다.
+ * comparator는 같은 원소끼리만 0을 반환하는 전순서여야 하며, 동기화는 호출하는 쪽에서 담당한다.
+ */
+public final class IndexedSkipList<E> {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double PROMOTE_PROBABILITY = 0.25;
+
+    private final Comparator<? super E> comparator;
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private int level = 1;
+    private int size = 0;
+
+    public IndexedSkipList(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(E value) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<E>[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node<E> node = new Node<>(value, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    // 같은 원소(comparator 기준 0)가 있으면 삭제
+    public boolean remove(E value) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<E>[] update = new Node[MAX_LEVEL];
+
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node<E> target = x.next[0];
+        if (target == null || comparator.compare(target.value, value) != 0) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    // offset 번째부터 최대 limit개 (순서대로)
+    public List<E> range(int offset, int limit) {
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return List.of();
+        }
+
+        // 1부터 시작하는 순위 offset + 1 노드까지 span을 따라 내려감
+        int targetRank = offset + 1;
+        int traversed = 0;
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0 && traversed < targetRank; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= targetRank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+
+        List<E> result = new ArrayList<>(Math.min(limit, size - offset));
+        for (; x != null && result.size() < limit; x = x.next[0]) {
+            result.add(x.value);
+        }
+        return result;
+    }
+
+    private int randomLevel() {
+        int newLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (newLevel < MAX_LEVEL && random.nextDouble() < PROMOTE_PROBABILITY) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final Node<E>[] next;
+        private final int[] span;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(E value, int level) {
+            this.value = value;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
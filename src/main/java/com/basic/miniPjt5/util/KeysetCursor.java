@@ -0,0 +1,84 @@
+package com.basic.miniPjt5.util;
+
+import com.basic.miniPjt5.exception.BusinessException;
+import com.basic.miniPjt5.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(시크) 페이지네이션 커서: 마지막으로 내려준 행의 (정렬 값, ID).
+ * 클라이언트에는 Base64(URL-safe) 문자열로만 노출하고, 정렬 기준/방향이 요청과 다르면 거부한다.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "N";
+    private static final String PRESENT_VALUE = "V";
+
+    private final String sortKey;
+    private final boolean descending;
+    private final String value;   // null 이면 정렬 값이 NULL 인 행
+    private final Long id;
+
+    private KeysetCursor(String sortKey, boolean descending, String value, Long id) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(String sortKey, boolean descending, Object value, Long id) {
+        return new KeysetCursor(sortKey, descending, value != null ? value.toString() : null, id);
+    }
+
+    // 형식: 정렬기준|A/D|ID|N 또는 V정렬값 (정렬 값에 구분자가 들어갈 수 있으므로 맨 뒤에 둠)
+    public String encode() {
+        String raw = sortKey + SEPARATOR + (descending ? "D" : "A") + SEPARATOR + id + SEPARATOR
+                + (value == null ? NULL_VALUE : PRESENT_VALUE + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor, String expectedSortKey, boolean expectedDescending) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\" + SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        // 방향은 A/D, 정렬 값은 N 또는 V로 시작해야 함 (그 외는 변조된 커서)
+        if (parts.length != 4 || !(parts[1].equals("A") || parts[1].equals("D"))
+                || !(parts[3].equals(NULL_VALUE) || parts[3].startsWith(PRESENT_VALUE))) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        if (!parts[0].equals(expectedSortKey) || parts[1].equals("D") != expectedDescending) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "커서의 정렬 조건이 요청과 다릅니다.");
+        }
+
+        Long id;
+        try {
+            id = Long.valueOf(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+        String value = parts[3].startsWith(PRESENT_VALUE) ? parts[3].substring(1) : null;
+        return new KeysetCursor(parts[0], expectedDescending, value, id);
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
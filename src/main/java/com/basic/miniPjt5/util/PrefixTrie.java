@@ -0,0 +1,173 @@
+package com.basic.miniPjt5.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 간선에 문자열을 두는 압축 접두사 트라이(radix tree).
+ * 노드마다 서브트리 값 중 상위 capacity개(comparator 순, 중복 없음)를 미리 정렬해 두어
+ * 접두사 조회는 O(접두사 길이)로 노드를 찾은 뒤 목록 앞부분을 복사하는 것으로 끝난다.
+ * 같은 값을 여러 키로 넣을 수 있고(값 동등성은 equals), 값이 바뀌면 이전 값으로 remove 후 다시 insert 한다.
+ * 동기화는 호출하는 쪽에서 담당한다.
+ */
+public final class PrefixTrie<T> {
+
+    private final Comparator<? super T> comparator;
+    private final int capacity;
+    private final Node<T> root = new Node<>("");
+
+    public PrefixTrie(Comparator<? super T> comparator, int capacity) {
+        this.comparator = comparator;
+        this.capacity = capacity;
+    }
+
+    public void insert(String key, T value) {
+        Node<T> node = root;
+        offer(node, value);
+        int i = 0;
+        while (i < key.length()) {
+            Node<T> child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                i = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // 간선 중간에서 갈라지면 공통 부분까지를 새 노드로 분리 (분리된 노드의 상위 목록은 기존 자식과 같음)
+                    Node<T> split = new Node<>(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    split.top.addAll(child.top);
+                    node.children.put(key.charAt(i), split);
+                    child = split;
+                }
+                i += common;
+            }
+            node = child;
+            offer(node, value);
+        }
+        node.values.add(value);
+    }
+
+    // 키에 연결된 값 하나를 제거 (없으면 false)
+    public boolean remove(String key, T value) {
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node<T> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return false;
+            }
+            i += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        if (!node.values.remove(value)) {
+            return false;
+        }
+
+        // 아래에서부터: 빈 잎은 떼어 내고, 값 없이 자식 하나만 남은 노드는 자식과 합치고, 목록에 있던 노드는 다시 계산
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node<T> current = path.get(depth);
+            if (depth > 0 && current.values.isEmpty() && current.children.size() <= 1) {
+                Node<T> parent = path.get(depth - 1);
+                char edge = current.label.charAt(0);
+                if (current.children.isEmpty()) {
+                    parent.children.remove(edge);
+                    continue;
+                }
+                Node<T> only = current.children.values().iterator().next();
+                only.label = current.label + only.label;
+                parent.children.put(edge, only);
+                continue;
+            }
+            if (current.top.contains(value)) {
+                recompute(current);
+            }
+        }
+        return true;
+    }
+
+    // 접두사로 시작하는 키의 값 중 상위 limit개
+    public List<T> top(String prefix, int limit) {
+        Node<T> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<T> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int remaining = prefix.length() - i;
+            if (child.label.length() <= remaining) {
+                if (!prefix.startsWith(child.label, i)) {
+                    return Collections.emptyList();
+                }
+                i += child.label.length();
+            } else {
+                // 접두사가 간선 중간에서 끝남
+                if (!child.label.startsWith(prefix.substring(i))) {
+                    return Collections.emptyList();
+                }
+                i = prefix.length();
+            }
+            node = child;
+        }
+        return new ArrayList<>(node.top.subList(0, Math.min(limit, node.top.size())));
+    }
+
+    private void offer(Node<T> node, T value) {
+        if (node.top.contains(value)) {
+            return;
+        }
+        int index = Collections.binarySearch(node.top, value, comparator);
+        int position = index >= 0 ? index : -index - 1;
+        if (position >= capacity) {
+            return;
+        }
+        node.top.add(position, value);
+        if (node.top.size() > capacity) {
+            node.top.remove(node.top.size() - 1);
+        }
+    }
+
+    // 서브트리 상위 목록 = 자기 값 + 자식들의 상위 목록 중 상위 capacity개
+    private void recompute(Node<T> node) {
+        Set<T> candidates = new LinkedHashSet<>(node.values);
+        for (Node<T> child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        List<T> sorted = new ArrayList<>(candidates);
+        sorted.sort(comparator);
+        node.top.clear();
+        node.top.addAll(sorted.subList(0, Math.min(capacity, sorted.size())));
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node<T> {
+        private String label;                                      // 부모에서 이 노드로 오는 간선 문자열
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private final List<T> values = new ArrayList<>();          // 이 노드에서 끝나는 키의 값
+        private final List<T> top = new ArrayList<>();             // 서브트리 상위 값 (정렬)
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.basic.miniPjt5.benchmark;
+
+import com.basic.miniPjt5.util.HalfStarStatistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨텐츠 평점 통계 조회: 기존 경로(조회 7~8회 + 별점 전체 로딩)와 한 번의 조회(컨텐츠 + 별점 분포 행) 비교.
+ * 인메모리 H2에 합성 데이터를 넣고 JDBC로 같은 SQL을 실행한다 (JPA/스프링 컨텍스트 없이 쿼리 수와 로딩량 차이만 측정).
+ *
+ * 실행: IDE에서 main 실행, 또는 mvn test-compile 후 테스트 클래스패스로
+ *   java -cp target/test-classes:target/classes:<의존성> com.basic.miniPjt5.benchmark.RatingStatisticsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RatingStatisticsBenchmark {
+
+    private static final int MOVIE_COUNT = 50;
+
+    // 컨텐츠 하나당 사용자 별점 수
+    @Param({"100", "1000", "10000"})
+    public int ratingsPerMovie;
+
+    private Connection connection;
+    private PreparedStatement findMovie;
+    private PreparedStatement averageScore;
+    private PreparedStatement countRatings;
+    private PreparedStatement scoreDistribution;
+    private PreparedStatement findRatings;
+    private PreparedStatement snapshot;
+    private long nextMovie;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:rating-stats-" + ratingsPerMovie + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE movies (id BIGINT PRIMARY KEY, title VARCHAR(255), poster_path VARCHAR(255), "
+                    + "vote_average DOUBLE, vote_count INT, user_score_sum BIGINT, user_rating_count BIGINT)");
+            ddl.execute("CREATE TABLE ratings (rating_id BIGINT AUTO_INCREMENT PRIMARY KEY, movie_id BIGINT, "
+                    + "user_id BIGINT, score_half_stars INT, created_at TIMESTAMP)");
+            ddl.execute("CREATE INDEX idx_ratings_movie ON ratings (movie_id)");
+            StringBuilder buckets = new StringBuilder();
+            for (int i = 1; i <= HalfStarStatistics.BUCKET_COUNT; i++) {
+                buckets.append(", bucket_").append(i).append(" BIGINT");
+            }
+            ddl.execute("CREATE TABLE score_histograms (content_type VARCHAR(10), content_id BIGINT" + buckets
+                    + ", PRIMARY KEY (content_type, content_id))");
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement movie = connection.prepareStatement("INSERT INTO movies VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement rating = connection.prepareStatement(
+                     "INSERT INTO ratings (movie_id, user_id, score_half_stars, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)");
+             PreparedStatement histogram = connection.prepareStatement(
+                     "INSERT INTO score_histograms VALUES ('MOVIE', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long movieId = 1; movieId <= MOVIE_COUNT; movieId++) {
+                long[] counts = new long[HalfStarStatistics.BUCKET_COUNT];
+                long sum = 0;
+                for (int i = 0; i < ratingsPerMovie; i++) {
+                    int halfStars = random.nextInt(1, HalfStarStatistics.BUCKET_COUNT + 1);
+                    counts[halfStars - 1]++;
+                    sum += halfStars;
+                    rating.setLong(1, movieId);
+                    rating.setLong(2, i + 1);
+                    rating.setInt(3, halfStars);
+                    rating.addBatch();
+                }
+                rating.executeBatch();
+
+                movie.setLong(1, movieId);
+                movie.setString(2, "movie " + movieId);
+                movie.setString(3, "/poster/" + movieId + ".jpg");
+                movie.setDouble(4, random.nextDouble(1.0, 10.0));
+                movie.setInt(5, random.nextInt(10, 5000));
+                movie.setLong(6, sum);
+                movie.setLong(7, ratingsPerMovie);
+                movie.executeUpdate();
+
+                histogram.setLong(1, movieId);
+                for (int i = 0; i < counts.length; i++) {
+                    histogram.setLong(i + 2, counts[i]);
+                }
+                histogram.executeUpdate();
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        findMovie = connection.prepareStatement(
+                "SELECT id, title, poster_path, vote_average, vote_count FROM movies WHERE id = ?");
+        averageScore = connection.prepareStatement(
+                "SELECT AVG(score_half_stars / 2.0) FROM ratings WHERE movie_id = ?");
+        countRatings = connection.prepareStatement("SELECT COUNT(*) FROM ratings WHERE movie_id = ?");
+        scoreDistribution = connection.prepareStatement(
+                "SELECT score_half_stars, COUNT(*) FROM ratings WHERE movie_id = ? GROUP BY score_half_stars");
+        findRatings = connection.prepareStatement(
+                "SELECT rating_id, movie_id, user_id, score_half_stars, created_at FROM ratings WHERE movie_id = ?");
+        snapshot = connection.prepareStatement(
+                "SELECT m.id, m.title, m.poster_path, m.vote_average, m.vote_count, m.user_score_sum, m.user_rating_count, "
+                        + "h.bucket_1, h.bucket_2, h.bucket_3, h.bucket_4, h.bucket_5, "
+                        + "h.bucket_6, h.bucket_7, h.bucket_8, h.bucket_9, h.bucket_10 "
+                        + "FROM movies m LEFT JOIN score_histograms h ON h.content_type = 'MOVIE' AND h.content_id = m.id "
+                        + "WHERE m.id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    // 기존: 컨텐츠 조회 + AVG + COUNT + 분포 GROUP BY + 별점 전체 로딩(최고/최저/표준편차) + 통합 평점 재계산(조회 + AVG + COUNT)
+    @Benchmark
+    public void roundTrips(Blackhole blackhole) throws SQLException {
+        long movieId = nextMovieId();
+
+        blackhole.consume(queryRow(findMovie, movieId));
+        double userAverage = queryDouble(averageScore, movieId);
+        long userCount = queryLong(countRatings, movieId);
+
+        Map<String, Long> distribution = new HashMap<>();
+        scoreDistribution.setLong(1, movieId);
+        try (ResultSet rs = scoreDistribution.executeQuery()) {
+            while (rs.next()) {
+                distribution.put(String.valueOf(rs.getInt(1) / 2.0), rs.getLong(2));
+            }
+        }
+
+        List<Integer> scores = new ArrayList<>();
+        findRatings.setLong(1, movieId);
+        try (ResultSet rs = findRatings.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+                blackhole.consume(rs.getLong(3));
+                blackhole.consume(rs.getTimestamp(5));
+                scores.add(rs.getInt(4));
+            }
+        }
+        int highest = scores.stream().mapToInt(Integer::intValue).max().orElse(0);
+        int lowest = scores.stream().mapToInt(Integer::intValue).min().orElse(0);
+        double mean = scores.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+        double variance = scores.stream().mapToDouble(s -> (s - mean) * (s - mean)).sum() / Math.max(1, scores.size());
+
+        // 통합 평점 재계산 (컨텐츠 조회 + AVG + COUNT 반복)
+        blackhole.consume(queryRow(findMovie, movieId));
+        blackhole.consume(queryDouble(averageScore, movieId));
+        blackhole.consume(queryLong(countRatings, movieId));
+
+        blackhole.consume(userAverage * userCount);
+        blackhole.consume(distribution);
+        blackhole.consume(highest + lowest);
+        blackhole.consume(Math.sqrt(variance) / 2.0);
+    }
+
+    // 변경 후: 컨텐츠 + 별점 분포 행을 한 번에 조회하고 통계는 분포에서 계산
+    @Benchmark
+    public void singleSnapshot(Blackhole blackhole) throws SQLException {
+        long movieId = nextMovieId();
+
+        snapshot.setLong(1, movieId);
+        try (ResultSet rs = snapshot.executeQuery()) {
+            if (!rs.next()) {
+                return;
+            }
+            blackhole.consume(rs.getString(2));
+            blackhole.consume(rs.getString(3));
+            blackhole.consume(rs.getDouble(4) * rs.getInt(5));
+            long[] counts = new long[HalfStarStatistics.BUCKET_COUNT];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = rs.getLong(8 + i);
+            }
+            HalfStarStatistics statistics = HalfStarStatistics.of(counts);
+            blackhole.consume(statistics.getMean());
+            blackhole.consume(statistics.getSum());
+            blackhole.consume(statistics.getStandardDeviation());
+            blackhole.consume(statistics.getHighestScore());
+            blackhole.consume(statistics.getLowestScore());
+            blackhole.consume(statistics.toDistribution());
+        }
+    }
+
+    private long nextMovieId() {
+        return nextMovie++ % MOVIE_COUNT + 1;
+    }
+
+    private static Object[] queryRow(PreparedStatement statement, long id) throws SQLException {
+        statement.setLong(1, id);
+        try (ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            Object[] row = new Object[rs.getMetaData().getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        }
+    }
+
+    private static double queryDouble(PreparedStatement statement, long id) throws SQLException {
+        statement.setLong(1, id);
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getDouble(1) : 0.0;
+        }
+    }
+
+    private static long queryLong(PreparedStatement statement, long id) throws SQLException {
+        statement.setLong(1, id);
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RatingStatisticsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
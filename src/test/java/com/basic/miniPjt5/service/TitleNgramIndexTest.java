@@ -0,0 +1,138 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.enums.ContentType;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TitleNgramIndexTest {
+
+    private final MovieRepository movieRepository = mock(MovieRepository.class);
+    private final DramaRepository dramaRepository = mock(DramaRepository.class);
+    private TitleNgramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(movieRepository.findTitleRows()).thenReturn(List.of(
+                new Object[]{1L, "기생충"},
+                new Object[]{2L, "기생수: 파트1"},
+                new Object[]{3L, "괴물"},
+                new Object[]{10L, "The Dark Knight"},
+                new Object[]{11L, "Knight and Day"},
+                new Object[]{12L, "Darkness"},
+                new Object[]{13L, "abc bcd"},
+                new Object[]{14L, "Up"}));
+        when(dramaRepository.findTitleRows()).thenReturn(List.of(
+                new Object[]{1L, "더 글로리"},
+                new Object[]{2L, "Dark"}));
+
+        index = new TitleNgramIndex(movieRepository, dramaRepository);
+        ReflectionTestUtils.setField(index, "maxInListSize", 2);
+        index.rebuildAll();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(index);
+    }
+
+    @Test
+    void findsHangulSubstrings() {
+        assertThat(index.search(ContentType.MOVIE, "기생")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search(ContentType.MOVIE, "생충")).containsExactly(1L);
+        // gram(2글자)보다 짧은 검색어는 제목 목록에서 직접 확인
+        assertThat(index.search(ContentType.MOVIE, "물")).containsExactly(3L);
+        assertThat(index.search(ContentType.MOVIE, "  기생충  ")).containsExactly(1L);
+        assertThat(index.search(ContentType.MOVIE, "기생충2")).isEmpty();
+    }
+
+    @Test
+    void findsLatinSubstringsIgnoringCase() {
+        assertThat(index.search(ContentType.MOVIE, "DARK")).containsExactlyInAnyOrder(10L, 12L);
+        assertThat(index.search(ContentType.MOVIE, "knight")).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(index.search(ContentType.MOVIE, "up")).containsExactly(14L);
+        // 타입별 색인은 따로
+        assertThat(index.search(ContentType.DRAMA, "dark")).containsExactly(2L);
+    }
+
+    @Test
+    void rejectsCandidatesWhoseGramsAreNotContiguous() {
+        // "abc", "bcd" 두 gram 은 모두 있지만 "abcd" 는 제목에 없음
+        assertThat(index.search(ContentType.MOVIE, "abcd")).isEmpty();
+        assertThat(index.search(ContentType.MOVIE, "abc b")).containsExactly(13L);
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        assertThat(index.search(ContentType.MOVIE, null)).isEmpty();
+        assertThat(index.search(ContentType.MOVIE, "   ")).isEmpty();
+    }
+
+    @Test
+    void normalizesDecomposedHangul() {
+        String decomposed = Normalizer.normalize("살인의 추억", Normalizer.Form.NFD);
+        index.update(Movie.builder().id(20L).title(decomposed).build());
+
+        assertThat(index.search(ContentType.MOVIE, "추억")).containsExactly(20L);
+        assertThat(index.search(ContentType.MOVIE, Normalizer.normalize("기생", Normalizer.Form.NFD)))
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void updateReplacesOldTitleAndRemoveDropsIt() {
+        index.update(Movie.builder().id(3L).title("괴물 2").build());
+        assertThat(index.search(ContentType.MOVIE, "괴물 2")).containsExactly(3L);
+
+        index.update(Movie.builder().id(3L).title("마더").build());
+        assertThat(index.search(ContentType.MOVIE, "괴물")).isEmpty();
+        assertThat(index.search(ContentType.MOVIE, "마더")).containsExactly(3L);
+
+        index.remove(ContentType.MOVIE, 3L);
+        assertThat(index.search(ContentType.MOVIE, "마더")).isEmpty();
+    }
+
+    @Test
+    void pendingChangesAreVisibleInTheirTransactionAndAppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.update(Drama.builder().id(3L).title("오징어 게임").build());
+        index.remove(ContentType.DRAMA, 1L);
+
+        // 같은 트랜잭션에서는 커밋 전 변경이 보임
+        assertThat(index.search(ContentType.DRAMA, "오징어")).containsExactly(3L);
+        assertThat(index.search(ContentType.DRAMA, "글로리")).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        // 트랜잭션 밖에서는 아직 이전 색인
+        assertThat(index.search(ContentType.DRAMA, "오징어")).isEmpty();
+        assertThat(index.search(ContentType.DRAMA, "글로리")).containsExactly(1L);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(index.search(ContentType.DRAMA, "오징어")).containsExactly(3L);
+        assertThat(index.search(ContentType.DRAMA, "글로리")).isEmpty();
+    }
+
+    @Test
+    void inListLimitUsesConfiguredSize() {
+        assertThat(index.exceedsInListLimit(List.of(1L, 2L))).isFalse();
+        assertThat(index.exceedsInListLimit(List.of(1L, 2L, 3L))).isTrue();
+    }
+}
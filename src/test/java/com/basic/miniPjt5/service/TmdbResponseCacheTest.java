@@ -0,0 +1,222 @@
+package com.basic.miniPjt5.service;
+
+import com.basic.miniPjt5.response.TMDBGenreResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TMDB 응답 디스크 캐시: 손상/잘린 세그먼트 복구, 오래된 세그먼트 제거, 304 재검증.
+ * 재검증은 로컬 스텁 서버(JDK HttpServer)를 상대로 실제 WebClient 로 확인한다.
+ */
+class TmdbResponseCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String GENRES = "{\"genres\":[{\"id\":28,\"name\":\"액션\"}]}";
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void corruptedRecordIsDroppedAndWritingResumesThere() throws IOException {
+        TmdbResponseCache cache = open(1, 16);
+        cache.put("a", body('a', 100), new HttpHeaders());
+        cache.put("b", body('b', 100), new HttpHeaders());
+
+        // b 본문 한 바이트를 바꿔 CRC 불일치
+        Path segment = segment(1);
+        long bOffset = indexOf(segment, body('b', 100));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(bOffset + 10);
+            file.write('x');
+        }
+
+        TmdbResponseCache reopened = open(1, 16);
+        assertThat(reopened.get("a").getBody()).isEqualTo(body('a', 100));
+        assertThat(reopened.get("b")).isNull();
+
+        // 손상 위치부터 이어 쓰고, 다시 열어도 그대로 남아 있어야 함
+        reopened.put("c", body('c', 100), new HttpHeaders());
+        TmdbResponseCache again = open(1, 16);
+        assertThat(again.get("a").getBody()).isEqualTo(body('a', 100));
+        assertThat(again.get("b")).isNull();
+        assertThat(again.get("c").getBody()).isEqualTo(body('c', 100));
+    }
+
+    @Test
+    void truncatedSegmentKeepsRecordsBeforeTheCut() throws IOException {
+        TmdbResponseCache cache = open(1, 16);
+        cache.put("a", body('a', 100), new HttpHeaders());
+        cache.put("b", body('b', 100), new HttpHeaders());
+
+        // 쓰다 죽은 것처럼 b 레코드 중간에서 파일을 자름
+        Path segment = segment(1);
+        long bOffset = indexOf(segment, body('b', 100));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(bOffset + 50);
+        }
+
+        TmdbResponseCache reopened = open(1, 16);
+        assertThat(reopened.get("a").getBody()).isEqualTo(body('a', 100));
+        assertThat(reopened.get("b")).isNull();
+        assertThat(Files.size(segment)).isEqualTo(1024L * 1024L);
+    }
+
+    @Test
+    void oldestSegmentIsEvictedWhenOverLimit() {
+        // 세그먼트 1MB, 전체 2MB - 400KB 응답은 세그먼트마다 두 개씩 들어감
+        TmdbResponseCache cache = open(1, 2);
+        for (int i = 0; i < 6; i++) {
+            cache.put("k" + i, body((char) ('0' + i), 400 * 1024), new HttpHeaders());
+        }
+
+        assertThat(cache.get("k0")).isNull();
+        assertThat(cache.get("k1")).isNull();
+        for (int i = 2; i < 6; i++) {
+            assertThat(cache.get("k" + i)).isNotNull();
+        }
+        assertThat(Files.exists(segment(1))).isFalse();
+        assertThat(meterRegistry.counter("tmdb.cache.evictions").count()).isEqualTo(1.0);
+
+        // 다시 열어도 제거된 항목은 돌아오지 않음
+        TmdbResponseCache reopened = open(1, 2);
+        assertThat(reopened.get("k1")).isNull();
+        assertThat(reopened.get("k5").getBody()).isEqualTo(body('5', 400 * 1024));
+    }
+
+    @Test
+    void notModifiedReusesCachedBody() throws IOException {
+        List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/3/genre/movie/list", exchange -> {
+            String etag = exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            ifNoneMatch.add(String.valueOf(etag));
+            exchange.getResponseHeaders().set(HttpHeaders.ETAG, ETAG);
+            // 저장은 하되 매번 재검증하도록
+            exchange.getResponseHeaders().set(HttpHeaders.CACHE_CONTROL, "no-cache");
+            if (ETAG.equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] bytes = GENRES.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+
+        TmdbResponseCache cache = open(1, 16);
+        TMDBApiService service = apiService(cache, "http://localhost:" + server.getAddress().getPort() + "/3");
+
+        TMDBGenreResponse first = service.getMovieGenres();
+        TMDBGenreResponse second = service.getMovieGenres();
+
+        assertThat(ifNoneMatch).containsExactly("null", ETAG);
+        assertThat(first.getGenres()).hasSize(1);
+        assertThat(second.getGenres()).hasSize(1);
+        assertThat(second.getGenres().get(0).getName()).isEqualTo("액션");
+        assertThat(meterRegistry.counter("tmdb.cache.requests", "result", "miss").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("tmdb.cache.requests", "result", "revalidated").count()).isEqualTo(1.0);
+        // 디스크에는 API 키 없는 키로 저장됨
+        assertThat(cache.get("http://localhost:" + server.getAddress().getPort() + "/3/genre/movie/list?language=ko-KR"))
+                .isNotNull();
+    }
+
+    @Test
+    void probeBypassesCaches() throws IOException {
+        List<String> requests = new CopyOnWriteArrayList<>();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/3/configuration", exchange -> {
+            requests.add(exchange.getRequestURI().getPath());
+            exchange.getResponseHeaders().set(HttpHeaders.CACHE_CONTROL, "max-age=3600");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        TMDBApiService service = apiService(open(1, 16), "http://localhost:" + server.getAddress().getPort() + "/3");
+        service.probe();
+        service.probe();
+
+        assertThat(requests).hasSize(2);
+    }
+
+    private TmdbResponseCache open(int segmentSizeMb, long maxSizeMb) {
+        TmdbResponseCache cache = new TmdbResponseCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "directory", directory.toString());
+        ReflectionTestUtils.setField(cache, "segmentSizeMb", segmentSizeMb);
+        ReflectionTestUtils.setField(cache, "maxSizeMb", maxSizeMb);
+        ReflectionTestUtils.setField(cache, "defaultTtlMinutes", 60L);
+        cache.init();
+        return cache;
+    }
+
+    private TMDBApiService apiService(TmdbResponseCache cache, String baseUrl) {
+        TmdbRateLimiter rateLimiter = new TmdbRateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "requestsPerSecond", 40.0);
+        ReflectionTestUtils.setField(rateLimiter, "burst", 20);
+        rateLimiter.init();
+
+        // 메모 캐시는 끄고(0초) 재시도도 하지 않음
+        TMDBApiService service = new TMDBApiService(WebClient.create(), rateLimiter, meterRegistry, cache, 0, 1, 0, 1);
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "baseUrl", baseUrl);
+        return service;
+    }
+
+    private Path segment(long id) {
+        return directory.resolve(String.format("segment-%08d.dat", id));
+    }
+
+    private static byte[] body(char fill, int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) fill);
+        return bytes;
+    }
+
+    private static long indexOf(Path file, byte[] needle) throws IOException {
+        byte[] haystack = Files.readAllBytes(file);
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("not found");
+    }
+}
@@ -0,0 +1,147 @@
+package com.basic.miniPjt5.specification;
+
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.repository.MovieRepository;
+import com.basic.miniPjt5.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키셋 시크 조건: 커서를 따라 끝까지 읽은 결과가 한 번에 정렬한 결과와 같아야 한다 (H2, NULL 은 가장 작은 값).
+ * 정렬 값이 NULL 인 행과 같은 값이 여러 개인 행을 페이지 경계에 걸치도록 넣는다.
+ */
+@DataJpaTest
+class KeysetSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        saveMovie(1L, "Heat", 4.5, "1995-12-15");
+        saveMovie(2L, "alien", null, null);
+        saveMovie(3L, "Amelie", 4.5, "2001-04-25");
+        saveMovie(4L, "Up", null, "2009-05-29");
+        saveMovie(5L, "Brazil", 3.0, null);
+        saveMovie(6L, "Oldboy", 4.5, "2003-11-21");
+        saveMovie(7L, "Memento", null, "2000-09-05");
+        saveMovie(8L, "Zodiac", 3.0, "2007-03-02");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void descendingPutsNullsLastAndVisitsEveryRowOnce() {
+        List<Movie> scrolled = scrollAll("combinedRating", true, 2);
+
+        assertThat(scrolled).extracting(Movie::getId).containsExactlyElementsOf(sortedIds("combinedRating", true));
+        assertThat(scrolled).extracting(Movie::getCombinedRating).containsExactly(4.5, 4.5, 4.5, 3.0, 3.0, null, null, null);
+    }
+
+    @Test
+    void ascendingPutsNullsFirstAndVisitsEveryRowOnce() {
+        List<Movie> scrolled = scrollAll("combinedRating", false, 2);
+
+        assertThat(scrolled).extracting(Movie::getId).containsExactlyElementsOf(sortedIds("combinedRating", false));
+        assertThat(scrolled).extracting(Movie::getCombinedRating).containsExactly(null, null, null, 3.0, 3.0, 4.5, 4.5, 4.5);
+    }
+
+    @Test
+    void everyPageSizeGivesSameOrder() {
+        for (boolean descending : new boolean[]{true, false}) {
+            for (String sortKey : List.of("combinedRating", "releaseDate", "title", "voteCount")) {
+                List<Long> expected = sortedIds(sortKey, descending);
+                for (int size = 1; size <= 8; size++) {
+                    assertThat(scrollAll(sortKey, descending, size)).extracting(Movie::getId)
+                            .as("sortKey=%s, descending=%s, size=%d", sortKey, descending, size)
+                            .containsExactlyElementsOf(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void cursorOnNullValueSeeksWithinNullsById() {
+        // NULL 행은 alien < Up < Memento 순으로 저장되어 ID 도 그 순서
+        Long alien = idOf("alien");
+        Long up = idOf("Up");
+        Long memento = idOf("Memento");
+
+        // DESC: Memento 다음은 ID 가 더 작은 NULL 행만
+        List<Movie> afterNull = movieRepository.findAll(
+                KeysetSpecifications.after(KeysetCursor.of("combinedRating", true, null, memento)),
+                KeysetSpecifications.sort("combinedRating", true));
+        assertThat(afterNull).extracting(Movie::getId).containsExactly(up, alien);
+
+        // ASC: Up 다음은 ID 가 더 큰 NULL 행, 그 뒤 값이 있는 행 전부
+        List<Movie> afterNullAscending = movieRepository.findAll(
+                KeysetSpecifications.after(KeysetCursor.of("combinedRating", false, null, up)),
+                KeysetSpecifications.sort("combinedRating", false));
+        assertThat(afterNullAscending).extracting(Movie::getCombinedRating).containsExactly(null, 3.0, 3.0, 4.5, 4.5, 4.5);
+        assertThat(afterNullAscending.get(0).getId()).isEqualTo(memento);
+    }
+
+    // 서비스의 커서 조회와 같은 방식으로 size + 1개씩 읽으며 끝까지 진행
+    private List<Movie> scrollAll(String sortKey, boolean descending, int size) {
+        List<Movie> scrolled = new ArrayList<>();
+        KeysetCursor cursor = null;
+        while (true) {
+            Specification<Movie> spec = cursor != null
+                    ? Specification.where(KeysetSpecifications.<Movie>after(cursor))
+                    : Specification.where(null);
+            List<Movie> rows = movieRepository.findBy(spec, query -> query
+                    .sortBy(KeysetSpecifications.sort(sortKey, descending))
+                    .limit(size + 1)
+                    .all());
+            boolean hasNext = rows.size() > size;
+            List<Movie> page = hasNext ? rows.subList(0, size) : rows;
+            scrolled.addAll(page);
+            if (!hasNext) {
+                return scrolled;
+            }
+            Movie last = page.get(page.size() - 1);
+            Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(sortKey);
+            // 클라이언트를 거쳐 돌아오는 것처럼 인코딩/디코딩
+            cursor = KeysetCursor.decode(KeysetCursor.of(sortKey, descending, lastValue, last.getId()).encode(),
+                    sortKey, descending);
+        }
+    }
+
+    private List<Long> sortedIds(String sortKey, boolean descending) {
+        return movieRepository.findAll(KeysetSpecifications.sort(sortKey, descending)).stream()
+                .map(Movie::getId)
+                .toList();
+    }
+
+    private Long idOf(String title) {
+        return movieRepository.findAll().stream()
+                .filter(movie -> movie.getTitle().equals(title))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private void saveMovie(Long tmdbId, String title, Double combinedRating, String releaseDate) {
+        entityManager.persist(Movie.builder()
+                .tmdbId(tmdbId)
+                .title(title)
+                .voteCount((int) (tmdbId % 3))
+                .voteAverage(7.0)
+                .combinedRating(combinedRating)
+                .releaseDate(releaseDate)
+                .build());
+    }
+}
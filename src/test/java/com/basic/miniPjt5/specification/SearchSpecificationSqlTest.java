@@ -0,0 +1,184 @@
+package com.basic.miniPjt5.specification;
+
+import com.basic.miniPjt5.entity.Drama;
+import com.basic.miniPjt5.entity.Genre;
+import com.basic.miniPjt5.entity.Movie;
+import com.basic.miniPjt5.repository.DramaRepository;
+import com.basic.miniPjt5.repository.GenreRepository;
+import com.basic.miniPjt5.repository.MovieRepository;
+import com.basic.miniPjt5.repository.SpecificationSliceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 Specification 이 만드는 SQL 모양 확인 (H2).
+ * 장르 조건은 EXISTS 세미 조인이고 본 쿼리에 장르 조인/DISTINCT 가 없어야 하며, Slice 조회는 COUNT 를 실행하지 않아야 한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.basic.miniPjt5.specification.SqlCapture",
+        "spring.jpa.show-sql=false"
+})
+@Import(SpecificationSliceRepository.class)
+class SearchSpecificationSqlTest {
+
+    private static final Pattern EXISTS = Pattern.compile("exists\\s*\\(");
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "combinedRating"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private DramaRepository dramaRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private SpecificationSliceRepository specificationSliceRepository;
+
+    private Genre action;
+    private Genre drama;
+
+    @BeforeEach
+    void setUp() {
+        action = genreRepository.save(Genre.builder().id(28L).name("Action").movies(new ArrayList<>()).dramas(new ArrayList<>()).build());
+        drama = genreRepository.save(Genre.builder().id(18L).name("Drama").movies(new ArrayList<>()).dramas(new ArrayList<>()).build());
+
+        // 장르 두 개에 모두 속한 작품이 있어도 결과에 한 번만 나와야 함
+        saveMovie(1L, "Heat", 4.5, action, drama);
+        saveMovie(2L, "Alien", 4.0, action);
+        saveMovie(3L, "Amelie", 3.5, drama);
+        saveMovie(4L, "Up", null);
+        saveDrama(1L, "Chernobyl", 4.8, drama);
+        saveDrama(2L, "Reacher", 3.9, action, drama);
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.clear();
+    }
+
+    @Test
+    void moviePageWithGenreFilterUsesExistsWithoutDistinctJoin() {
+        Specification<Movie> spec = Specification.where(MovieSpecifications.hasGenres(List.of(action.getId(), drama.getId())))
+                .and(MovieSpecifications.ratingBetween(3.0, 5.0));
+
+        Page<Movie> page = movieRepository.findAll(spec, FIRST_PAGE);
+
+        assertThat(page.getContent()).extracting(Movie::getTitle).containsExactly("Heat", "Alien");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+
+        List<String> selects = SqlCapture.selects();
+        assertThat(selects).hasSize(2);
+        for (String sql : selects) {
+            assertNoDistinctJoin(sql);
+            assertThat(sql).containsPattern(EXISTS).contains("combined_rating");
+        }
+        // 별도의 가벼운 COUNT (DISTINCT 없이)
+        assertThat(selects).filteredOn(sql -> sql.contains("count(")).singleElement()
+                .satisfies(sql -> assertThat(sql).doesNotContain("count(distinct").doesNotContain("order by"));
+    }
+
+    @Test
+    void movieSliceRunsNoCountQuery() {
+        Specification<Movie> spec = Specification.where(MovieSpecifications.hasGenres(List.of(action.getId(), drama.getId())));
+
+        Slice<Movie> slice = specificationSliceRepository.findSlice(Movie.class, spec, FIRST_PAGE);
+
+        assertThat(slice.getContent()).extracting(Movie::getTitle).containsExactly("Heat", "Alien");
+        assertThat(slice.hasNext()).isTrue();
+
+        List<String> selects = SqlCapture.selects();
+        assertThat(selects).hasSize(1);
+        assertThat(selects.get(0)).doesNotContain("count(").containsPattern(EXISTS);
+        assertNoDistinctJoin(selects.get(0));
+    }
+
+    @Test
+    void unfilteredSliceHasNoJoinOrCount() {
+        Slice<Movie> slice = specificationSliceRepository.findSlice(Movie.class, Specification.where(null), FIRST_PAGE);
+
+        assertThat(slice.getContent()).hasSize(2);
+        List<String> selects = SqlCapture.selects();
+        assertThat(selects).hasSize(1);
+        assertThat(selects.get(0)).doesNotContain("count(").doesNotContain("join").doesNotContainPattern(EXISTS);
+    }
+
+    @Test
+    void dramaSearchUsesExistsAndSliceRunsNoCount() {
+        Specification<Drama> spec = Specification.where(DramaSpecifications.hasGenres(List.of(action.getId(), drama.getId())))
+                .and(DramaSpecifications.ratingBetween(3.0, null));
+
+        Page<Drama> page = dramaRepository.findAll(spec, FIRST_PAGE);
+        assertThat(page.getContent()).extracting(Drama::getTitle).containsExactly("Chernobyl", "Reacher");
+        assertThat(SqlCapture.selects()).hasSize(2).allSatisfy(sql -> {
+            assertNoDistinctJoin(sql);
+            assertThat(sql).containsPattern(EXISTS);
+        });
+
+        SqlCapture.clear();
+        Slice<Drama> slice = specificationSliceRepository.findSlice(Drama.class, spec, FIRST_PAGE);
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(SqlCapture.selects()).singleElement()
+                .satisfies(sql -> assertThat(sql).doesNotContain("count("));
+    }
+
+    @Test
+    void emptyTitleCandidatesShortCircuitWithoutInList() {
+        Slice<Movie> slice = specificationSliceRepository.findSlice(
+                Movie.class, Specification.where(MovieSpecifications.idIn(List.of())), FIRST_PAGE);
+
+        assertThat(slice.getContent()).isEmpty();
+        assertThat(SqlCapture.selects()).singleElement()
+                .satisfies(sql -> assertThat(sql).doesNotContain(" in ("));
+    }
+
+    // 본 쿼리(EXISTS 바깥)에는 DISTINCT 도 장르 조인도 없어야 함
+    private static void assertNoDistinctJoin(String sql) {
+        assertThat(sql).doesNotContain("distinct");
+        Matcher exists = EXISTS.matcher(sql);
+        String outer = exists.find() ? sql.substring(0, exists.start()) : sql;
+        assertThat(outer).doesNotContain("join");
+    }
+
+    private void saveMovie(Long tmdbId, String title, Double combinedRating, Genre... genres) {
+        entityManager.persist(Movie.builder()
+                .tmdbId(tmdbId)
+                .title(title)
+                .voteCount(100)
+                .voteAverage(5.0)
+                .combinedRating(combinedRating)
+                .genres(new ArrayList<>(List.of(genres)))
+                .build());
+    }
+
+    private void saveDrama(Long tmdbId, String title, Double combinedRating, Genre... genres) {
+        entityManager.persist(Drama.builder()
+                .tmdbId(tmdbId)
+                .title(title)
+                .voteCount(100)
+                .voteAverage(5.0)
+                .combinedRating(combinedRating)
+                .genres(new ArrayList<>(List.of(genres)))
+                .build());
+    }
+}
@@ -0,0 +1,30 @@
+package com.basic.miniPjt5.specification;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트용: Hibernate 가 실행하는 SQL 을 순서대로 기록 (hibernate.session_factory.statement_inspector 로 등록).
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    // 기록된 SELECT 문 (소문자)
+    public static List<String> selects() {
+        return STATEMENTS.stream().filter(sql -> sql.trim().startsWith("select")).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.basic.miniPjt5.util;
+
+import com.basic.miniPjt5.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CombinedCursorTest {
+
+    @Test
+    void roundTripKeepsEachTypePosition() {
+        String movie = KeysetCursor.of("combinedRating", true, 4.5, 10L).encode();
+
+        CombinedCursor decoded = CombinedCursor.decode(CombinedCursor.of(movie, false, null, true).encode());
+
+        assertThat(decoded.getMovieCursor()).isEqualTo(movie);
+        assertThat(decoded.isMovieDone()).isFalse();
+        assertThat(decoded.getDramaCursor()).isNull();
+        assertThat(decoded.isDramaDone()).isTrue();
+        // 타입별 커서는 그대로 다시 읽을 수 있어야 함
+        assertThat(KeysetCursor.decode(decoded.getMovieCursor(), "combinedRating", true).getId()).isEqualTo(10L);
+    }
+
+    @Test
+    void startAndEndAreDistinct() {
+        CombinedCursor decoded = CombinedCursor.decode(CombinedCursor.of(null, false, null, true).encode());
+
+        assertThat(decoded.getMovieCursor()).isNull();
+        assertThat(decoded.isMovieDone()).isFalse();
+        assertThat(decoded.getDramaCursor()).isNull();
+        assertThat(decoded.isDramaDone()).isTrue();
+    }
+
+    @Test
+    void doneWinsOverKeysetCursor() {
+        String drama = KeysetCursor.of("title", false, "Reacher", 2L).encode();
+
+        CombinedCursor decoded = CombinedCursor.decode(CombinedCursor.of(null, false, drama, true).encode());
+
+        assertThat(decoded.getDramaCursor()).isNull();
+        assertThat(decoded.isDramaDone()).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> CombinedCursor.decode("%%%")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CombinedCursor.decode(raw("S"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CombinedCursor.decode(raw("S~E~S"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CombinedCursor.decode(raw("C~E"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CombinedCursor.decode(raw("Xabc~E"))).isInstanceOf(BusinessException.class);
+    }
+
+    private static String raw(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
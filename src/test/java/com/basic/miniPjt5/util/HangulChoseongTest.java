@@ -0,0 +1,37 @@
+package com.basic.miniPjt5.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulChoseongTest {
+
+    @Test
+    void convertsSyllablesAndKeepsOtherCharacters() {
+        assertThat(HangulChoseong.toChoseong("기생충")).isEqualTo("ㄱㅅㅊ");
+        assertThat(HangulChoseong.toChoseong("어벤져스: 엔드게임")).isEqualTo("ㅇㅂㅈㅅ: ㅇㄷㄱㅇ");
+        assertThat(HangulChoseong.toChoseong("007 스카이폴")).isEqualTo("007 ㅅㅋㅇㅍ");
+        assertThat(HangulChoseong.toChoseong("")).isEmpty();
+    }
+
+    @Test
+    void coversSyllableRangeBoundariesAndDoubleConsonants() {
+        assertThat(HangulChoseong.toChoseong("가")).isEqualTo("ㄱ");
+        assertThat(HangulChoseong.toChoseong("힣")).isEqualTo("ㅎ");
+        assertThat(HangulChoseong.toChoseong("까따빠싸짜")).isEqualTo("ㄲㄸㅃㅆㅉ");
+        // 자모만 있는 글자는 음절이 아니므로 그대로
+        assertThat(HangulChoseong.toChoseong("ㄱㅏ")).isEqualTo("ㄱㅏ");
+    }
+
+    @Test
+    void detectsChoseongAndSyllables() {
+        assertThat(HangulChoseong.containsChoseong("ㄱㅅㅊ")).isTrue();
+        assertThat(HangulChoseong.containsChoseong("기생ㅊ")).isTrue();
+        assertThat(HangulChoseong.containsChoseong("기생충")).isFalse();
+        assertThat(HangulChoseong.containsChoseong("heat")).isFalse();
+
+        assertThat(HangulChoseong.containsSyllable("기생ㅊ")).isTrue();
+        assertThat(HangulChoseong.containsSyllable("ㄱㅅㅊ")).isFalse();
+        assertThat(HangulChoseong.containsSyllable("heat")).isFalse();
+    }
+}
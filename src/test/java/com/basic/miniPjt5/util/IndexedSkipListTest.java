@@ -0,0 +1,77 @@
+package com.basic.miniPjt5.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedSkipListTest {
+
+    @Test
+    void rangeReadsFromRank() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        for (int i = 9; i >= 0; i--) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(10);
+        assertThat(list.range(0, 3)).containsExactly(0, 1, 2);
+        assertThat(list.range(7, 5)).containsExactly(7, 8, 9);
+        assertThat(list.range(9, 1)).containsExactly(9);
+        assertThat(list.range(10, 1)).isEmpty();
+        assertThat(list.range(-1, 1)).isEmpty();
+        assertThat(list.range(0, 0)).isEmpty();
+    }
+
+    @Test
+    void removeKeepsRanks() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.remove(0)).isTrue();
+        assertThat(list.remove(5)).isTrue();
+        assertThat(list.remove(5)).isFalse();
+        assertThat(list.remove(42)).isFalse();
+
+        assertThat(list.size()).isEqualTo(8);
+        assertThat(list.range(0, 10)).containsExactly(1, 2, 3, 4, 6, 7, 8, 9);
+        assertThat(list.range(4, 2)).containsExactly(6, 7);
+    }
+
+    // 무작위 추가/삭제 후 모든 순위에서 정렬된 리스트와 같은 결과 (span 계산이 어긋나면 offset 위치가 밀림)
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        Random random = new Random(20240601L);
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int value = random.nextInt(2_000);
+            int position = Collections.binarySearch(expected, value);
+            if (position >= 0) {
+                assertThat(list.remove(value)).isTrue();
+                expected.remove(position);
+            } else {
+                list.add(value);
+                expected.add(-position - 1, value);
+            }
+
+            if (step % 100 == 0) {
+                assertThat(list.size()).isEqualTo(expected.size());
+                for (int offset = 0; offset < expected.size(); offset += 7) {
+                    int limit = 1 + random.nextInt(5);
+                    assertThat(list.range(offset, limit))
+                            .isEqualTo(expected.subList(offset, Math.min(expected.size(), offset + limit)));
+                }
+            }
+        }
+        assertThat(list.range(0, expected.size())).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,77 @@
+package com.basic.miniPjt5.util;
+
+import com.basic.miniPjt5.exception.BusinessException;
+import com.basic.miniPjt5.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripKeepsValueAndId() {
+        String encoded = KeysetCursor.of("combinedRating", true, 4.5, 42L).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(encoded, "combinedRating", true);
+
+        assertThat(decoded.getSortKey()).isEqualTo("combinedRating");
+        assertThat(decoded.isDescending()).isTrue();
+        assertThat(decoded.getValue()).isEqualTo("4.5");
+        assertThat(decoded.getId()).isEqualTo(42L);
+        // URL 에 그대로 넣을 수 있어야 함
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void roundTripKeepsNullAndEmptyValuesApart() {
+        KeysetCursor nullValue = KeysetCursor.decode(KeysetCursor.of("title", false, null, 7L).encode(), "title", false);
+        KeysetCursor emptyValue = KeysetCursor.decode(KeysetCursor.of("title", false, "", 7L).encode(), "title", false);
+
+        assertThat(nullValue.getValue()).isNull();
+        assertThat(emptyValue.getValue()).isEmpty();
+    }
+
+    @Test
+    void valueMayContainSeparatorAndHangul() {
+        String title = "기생충 | Parasite";
+
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.of("title", false, title, 3L).encode(), "title", false);
+
+        assertThat(decoded.getValue()).isEqualTo(title);
+        assertThat(decoded.getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void rejectsCursorForAnotherSort() {
+        String encoded = KeysetCursor.of("combinedRating", true, 4.5, 42L).encode();
+
+        assertRejected(() -> KeysetCursor.decode(encoded, "voteCount", true));
+        assertRejected(() -> KeysetCursor.decode(encoded, "combinedRating", false));
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        assertRejected(() -> KeysetCursor.decode("not base64!", "title", false));
+        assertRejected(() -> KeysetCursor.decode(raw("title|A|7"), "title", false));
+        assertRejected(() -> KeysetCursor.decode(raw("title|A|abc|VHeat"), "title", false));
+        assertRejected(() -> KeysetCursor.decode(raw("title|A|7|"), "title", false));
+        assertRejected(() -> KeysetCursor.decode(raw("title|X|7|VHeat"), "title", false));
+        assertRejected(() -> KeysetCursor.decode(raw("title|A|7|QHeat"), "title", false));
+        assertRejected(() -> KeysetCursor.decode(raw("title|A|7|Nx"), "title", false));
+    }
+
+    private static String raw(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertRejected(Runnable decode) {
+        assertThatThrownBy(decode::run)
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_INPUT_VALUE);
+    }
+}
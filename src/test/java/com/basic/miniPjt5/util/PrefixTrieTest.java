@@ -0,0 +1,142 @@
+package com.basic.miniPjt5.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    // 점수 내림차순, 같으면 이름순
+    private static final Comparator<Item> BY_SCORE = Comparator.comparingInt(Item::score).reversed()
+            .thenComparing(Item::name);
+
+    @Test
+    void topReturnsBestValuesUnderPrefix() {
+        PrefixTrie<Item> trie = new PrefixTrie<>(BY_SCORE, 3);
+        trie.insert("heat", new Item("heat", 5));
+        trie.insert("her", new Item("her", 7));
+        trie.insert("hereditary", new Item("hereditary", 9));
+        trie.insert("alien", new Item("alien", 8));
+
+        assertThat(names(trie.top("he", 10))).containsExactly("hereditary", "her", "heat");
+        assertThat(names(trie.top("her", 10))).containsExactly("hereditary", "her");
+        // 접두사가 간선 중간에서 끝나는 경우
+        assertThat(names(trie.top("here", 10))).containsExactly("hereditary");
+        assertThat(names(trie.top("", 2))).containsExactly("hereditary", "alien");
+        assertThat(trie.top("hx", 10)).isEmpty();
+        assertThat(trie.top("hereditaryx", 10)).isEmpty();
+    }
+
+    @Test
+    void sameValueUnderSeveralKeysIsListedOnce() {
+        PrefixTrie<Item> trie = new PrefixTrie<>(BY_SCORE, 5);
+        Item parasite = new Item("기생충", 9);
+        trie.insert("기생충", parasite);
+        trie.insert("ㄱㅅㅊ", parasite);
+        trie.insert("parasite", parasite);
+
+        assertThat(trie.top("", 5)).containsExactly(parasite);
+        assertThat(trie.top("기생", 5)).containsExactly(parasite);
+        assertThat(trie.top("ㄱㅅ", 5)).containsExactly(parasite);
+    }
+
+    @Test
+    void removeRecomputesTopAndMergesEdges() {
+        PrefixTrie<Item> trie = new PrefixTrie<>(BY_SCORE, 2);
+        Item heat = new Item("heat", 5);
+        Item her = new Item("her", 7);
+        Item hereditary = new Item("hereditary", 9);
+        trie.insert("heat", heat);
+        trie.insert("her", her);
+        trie.insert("hereditary", hereditary);
+
+        // 용량 2 라서 heat 는 "he" 목록에 없다가, 상위 값이 빠지면 다시 올라와야 함
+        assertThat(trie.remove("hereditary", hereditary)).isTrue();
+        assertThat(names(trie.top("he", 10))).containsExactly("her", "heat");
+        assertThat(trie.top("here", 10)).isEmpty();
+
+        assertThat(trie.remove("her", her)).isTrue();
+        assertThat(names(trie.top("h", 10))).containsExactly("heat");
+        assertThat(trie.remove("her", her)).isFalse();
+        assertThat(trie.remove("he", heat)).isFalse();
+
+        // 합쳐진 간선에 다시 넣어도 정상 분리
+        trie.insert("hex", new Item("hex", 1));
+        assertThat(names(trie.top("he", 10))).containsExactly("heat", "hex");
+    }
+
+    // 무작위 추가/삭제 후 모든 접두사에서 전수 계산 결과와 같아야 함
+    @Test
+    void matchesBruteForceUnderRandomUpdates() {
+        Random random = new Random(7L);
+        int capacity = 4;
+        PrefixTrie<Item> trie = new PrefixTrie<>(BY_SCORE, capacity);
+        Map<String, Item> live = new HashMap<>();
+
+        for (int step = 0; step < 3_000; step++) {
+            String key = randomKey(random);
+            Item current = live.get(key);
+            if (current != null && random.nextBoolean()) {
+                assertThat(trie.remove(key, current)).isTrue();
+                live.remove(key);
+            } else if (current == null) {
+                Item item = new Item(key, random.nextInt(100));
+                trie.insert(key, item);
+                live.put(key, item);
+            }
+
+            if (step % 50 == 0) {
+                for (String prefix : prefixes(live.keySet())) {
+                    List<Item> expected = live.entrySet().stream()
+                            .filter(entry -> entry.getKey().startsWith(prefix))
+                            .map(Map.Entry::getValue)
+                            .sorted(BY_SCORE)
+                            .limit(capacity)
+                            .toList();
+                    assertThat(trie.top(prefix, capacity)).as("prefix=%s", prefix).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    private static String randomKey(Random random) {
+        char[] alphabet = {'a', 'b', 'c'};
+        int length = 1 + random.nextInt(5);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static Set<String> prefixes(Set<String> keys) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        prefixes.add("");
+        for (String key : keys) {
+            for (int i = 1; i <= key.length(); i++) {
+                prefixes.add(key.substring(0, i));
+            }
+        }
+        return prefixes;
+    }
+
+    private static List<String> names(List<Item> items) {
+        List<String> names = new ArrayList<>(items.size());
+        for (Item item : items) {
+            names.add(item.name());
+        }
+        return names;
+    }
+
+    private record Item(String name, int score) {
+    }
+}